@@ -0,0 +1,146 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.api4.jsonapi4j.benchmarks.SampleAppFixture.PluginsSetup;
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsResolver;
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsTreeResult;
+import pro.api4.jsonapi4j.compound.docs.DefaultDomainSettingsResolver;
+import pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
+import pro.api4.jsonapi4j.compound.docs.config.Propagation;
+import pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static pro.api4.jsonapi4j.sampleapp.domain.user.UserResource.USERS;
+
+/**
+ * {@link CompoundDocsResolver} resolving 'included' for a page of users against the sample domain served over
+ * loopback HTTP, with and without the resource cache and for growing include depths:
+ * <ul>
+ *     <li>1 - {@code citizenships,placeOfBirth}</li>
+ *     <li>2 - {@code citizenships.currencies,placeOfBirth}</li>
+ *     <li>3 - {@code relatives.citizenships.currencies}</li>
+ * </ul>
+ * Measures the whole resolution including the downstream round-trips, parsing and writing the resulting document.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompoundDocsResolverBenchmark {
+
+    private static final int USERS_COUNT = 200;
+    private static final int RELATIONSHIPS_PER_USER = 3;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    @Param({"1", "2", "3"})
+    public int includeDepth;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private LoopbackJsonApiServer server;
+    private ExecutorService executorService;
+    private CompoundDocsResolver resolver;
+    private CompoundDocsRequest compoundDocsRequest;
+    private byte[] primaryResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = JsonApi4jServletContainerInitializer.createObjectMapper();
+        SampleAppFixture fixture = SampleAppFixture.create(PluginsSetup.NONE, USERS_COUNT, RELATIONSHIPS_PER_USER);
+        server = LoopbackJsonApiServer.start(fixture, objectMapper);
+
+        List<String> includes = includesOfDepth(includeDepth);
+        primaryResponse = objectMapper.writeValueAsBytes(fixture.jsonApi4j().execute(fixture.parseGetRequest(
+                "/" + USERS,
+                "page%5Blimit%5D=" + pageSize + "&page%5Boffset%5D=0&include=" + String.join(",", includes)
+        )));
+        compoundDocsRequest = new CompoundDocsRequest(
+                "GET",
+                includes,
+                Map.of(),
+                Map.of(),
+                "/" + USERS,
+                Map.of(),
+                server.baseUrl()
+        );
+
+        CompoundDocsResolverConfig config = new CompoundDocsResolverConfig(
+                true,
+                includeDepth,
+                10_000,
+                ErrorStrategy.FAIL,
+                List.of(Propagation.FIELDS, Propagation.CUSTOM_QUERY_PARAMS, Propagation.HEADERS),
+                true,
+                5_000,
+                10_000,
+                false,
+                64,
+                300_000,
+                cacheEnabled,
+                10_000,
+                0,
+                0
+        );
+        executorService = Executors.newVirtualThreadPerTaskExecutor();
+        resolver = new CompoundDocsResolver(
+                config,
+                DefaultDomainSettingsResolver.from(Map.of(), Map.of(), 20),
+                objectMapper,
+                executorService,
+                cacheEnabled ? new InMemoryCompoundDocsResourceCache(10_000) : null
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        resolver.close();
+        executorService.shutdownNow();
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] resolveCompoundDocs() {
+        CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(primaryResponse, compoundDocsRequest);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(primaryResponse.length * 4);
+        resolver.writeCompoundDocs(result, out);
+        return out.toByteArray();
+    }
+
+    private static List<String> includesOfDepth(int depth) {
+        return switch (depth) {
+            case 1 -> List.of("citizenships", "placeOfBirth");
+            case 2 -> List.of("citizenships.currencies", "placeOfBirth");
+            case 3 -> List.of("relatives.citizenships.currencies");
+            default -> throw new IllegalArgumentException("Unsupported include depth: " + depth);
+        };
+    }
+
+}
@@ -0,0 +1,103 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.benchmarks.SampleAppFixture.PluginsSetup;
+import pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer;
+import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static pro.api4.jsonapi4j.sampleapp.domain.user.UserResource.USERS;
+
+/**
+ * {@link JsonApi4j#execute(JsonApiRequest)} for the sample domain 'users' resource: operation lookup, validation,
+ * data retrieval, relationships resolution, plugin visitors and document composition. The last benchmark adds JSON
+ * serialization on top, i.e. everything the servlet does except for the HTTP request parsing.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecuteBenchmark {
+
+    private static final int USERS_COUNT = 1000;
+    private static final int RELATIONSHIPS_PER_USER = 3;
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    @Param({"none", "placeOfBirth", "citizenships;placeOfBirth;relatives"})
+    public String includes;
+
+    @Param({"NONE", "SF", "AC", "SF_AC"})
+    public PluginsSetup plugins;
+
+    private JsonApi4j jsonApi4j;
+    private ObjectMapper objectMapper;
+    private JsonApiRequest readMultipleUsersRequest;
+    private JsonApiRequest readUserByIdRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SampleAppFixture fixture = SampleAppFixture.create(plugins, USERS_COUNT, RELATIONSHIPS_PER_USER);
+        jsonApi4j = fixture.jsonApi4j();
+        objectMapper = JsonApi4jServletContainerInitializer.createObjectMapper();
+        String query = "fields%5Busers%5D=fullName,email" + includeQueryParam(includes);
+        readMultipleUsersRequest = fixture.parseGetRequest(
+                "/" + USERS,
+                "page%5Blimit%5D=" + pageSize + "&page%5Boffset%5D=0&" + query
+        );
+        readUserByIdRequest = fixture.parseGetRequest("/" + USERS + "/1", query);
+        // thread-scoped state is set up by the benchmark thread itself
+        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(SampleAppFixture.principal());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(null);
+    }
+
+    @Benchmark
+    public Object readMultipleUsers() {
+        return jsonApi4j.execute(readMultipleUsersRequest);
+    }
+
+    @Benchmark
+    public Object readUserById() {
+        return jsonApi4j.execute(readUserByIdRequest);
+    }
+
+    @Benchmark
+    public byte[] readMultipleUsersAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jsonApi4j.execute(readMultipleUsersRequest));
+    }
+
+    /**
+     * JMH splits parameter values by comma, so includes are separated by semicolon in {@link Param}s.
+     */
+    private static String includeQueryParam(String includes) {
+        if ("none".equals(includes)) {
+            return "";
+        }
+        return "&include=" + includes.replace(';', ',');
+    }
+
+}
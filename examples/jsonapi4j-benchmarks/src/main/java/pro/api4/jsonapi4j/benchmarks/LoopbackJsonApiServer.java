@@ -0,0 +1,104 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.http.HttpServletRequest;
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.exception.JsonApi4jException;
+import pro.api4.jsonapi4j.request.JsonApiMediaType;
+import pro.api4.jsonapi4j.servlet.request.HttpServletRequestJsonApiRequestSupplier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the sample domain over HTTP on the loopback interface, so that {@code CompoundDocsResolver} can be measured
+ * against a real downstream without a servlet container. Responses are cacheable for a minute.
+ */
+public final class LoopbackJsonApiServer implements AutoCloseable {
+
+    private static final String CACHE_CONTROL = "max-age=60";
+
+    private final HttpServer server;
+    private final ExecutorService executorService;
+    private final JsonApi4j jsonApi4j;
+    private final HttpServletRequestJsonApiRequestSupplier requestSupplier;
+    private final ObjectMapper objectMapper;
+
+    private LoopbackJsonApiServer(SampleAppFixture fixture,
+                                  ObjectMapper objectMapper) throws IOException {
+        this.jsonApi4j = fixture.jsonApi4j();
+        this.objectMapper = objectMapper;
+        this.requestSupplier = fixture.requestSupplier();
+        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executorService);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public static LoopbackJsonApiServer start(SampleAppFixture fixture,
+                                              ObjectMapper objectMapper) throws IOException {
+        return new LoopbackJsonApiServer(fixture, objectMapper);
+    }
+
+    /**
+     * @return JSON:API root of the server, e.g. {@code http://127.0.0.1:54321}
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        byte[] body;
+        try {
+            HttpServletRequest servletRequest = StubHttpServletRequest.of(
+                    exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath(),
+                    exchange.getRequestURI().getRawQuery(),
+                    firstValues(exchange.getRequestHeaders())
+            );
+            body = objectMapper.writeValueAsBytes(jsonApi4j.execute(requestSupplier.from(servletRequest)));
+            status = 200;
+            exchange.getResponseHeaders().set("Cache-Control", CACHE_CONTROL);
+        } catch (JsonApi4jException e) {
+            status = e.getHttpStatus();
+            body = String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            status = 500;
+            body = String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().set("Content-Type", JsonApiMediaType.MEDIA_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> firstValues(Map<String, List<String>> headers) {
+        Map<String, String> result = new HashMap<>();
+        headers.forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                result.put(name, values.getFirst());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+
+}
@@ -0,0 +1,91 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.benchmarks.SampleAppFixture.PluginsSetup;
+import pro.api4.jsonapi4j.config.ExecutionMode;
+import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesDoc;
+import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
+import pro.api4.jsonapi4j.processor.multi.resource.MultipleResourcesTerminalStage;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static pro.api4.jsonapi4j.sampleapp.domain.user.UserResource.USERS;
+
+/**
+ * Read multiple resources pipeline down to {@link MultipleResourcesTerminalStage#toMultipleResourcesDoc()} with
+ * growing relationship fan-out. Every user on the page has {@code relationshipsPerUser} relatives and citizenships
+ * that are all requested in 'include', so the cost of relationships resolution dominates.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MultipleResourcesDocBenchmark {
+
+    private static final int USERS_COUNT = 1000;
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"1", "10", "50"})
+    public int relationshipsPerUser;
+
+    @Param({"NONE", "SF_AC"})
+    public PluginsSetup plugins;
+
+    @Param({"INLINE", "EXECUTOR", "VIRTUAL_THREADS"})
+    public String execution;
+
+    private ExecutorService executorService;
+    private JsonApi4j jsonApi4j;
+    private JsonApiRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SampleAppFixture fixture;
+        if ("INLINE".equals(execution)) {
+            fixture = SampleAppFixture.create(plugins, USERS_COUNT, relationshipsPerUser);
+        } else {
+            executorService = ExecutionMode.valueOf(execution).newExecutorService();
+            fixture = SampleAppFixture.create(plugins, USERS_COUNT, relationshipsPerUser, executorService);
+        }
+        jsonApi4j = fixture.jsonApi4j();
+        request = fixture.parseGetRequest(
+                "/" + USERS,
+                "page%5Blimit%5D=" + pageSize + "&page%5Boffset%5D=0&include=citizenships,placeOfBirth,relatives"
+        );
+        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(SampleAppFixture.principal());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(null);
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public MultipleResourcesDoc<?> readMultipleUsers() {
+        return jsonApi4j.forResourceType(new ResourceType(USERS)).readMultipleResources(request);
+    }
+
+}
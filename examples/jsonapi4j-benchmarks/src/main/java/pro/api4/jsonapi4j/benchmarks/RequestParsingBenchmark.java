@@ -0,0 +1,90 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.api4.jsonapi4j.benchmarks.SampleAppFixture.PluginsSetup;
+import pro.api4.jsonapi4j.request.JsonApiMediaType;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.servlet.request.HttpServletRequestJsonApiRequestSupplier;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpServletRequestJsonApiRequestSupplier#from(HttpServletRequest)}: route resolution, query string and
+ * headers parsing into a {@link JsonApiRequest}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestParsingBenchmark {
+
+    @Param({"READ_BY_ID", "READ_RELATIONSHIP", "FIRST_PAGE", "COMPLEX_QUERY"})
+    public RequestShape request;
+
+    private HttpServletRequestJsonApiRequestSupplier requestSupplier;
+    private HttpServletRequest servletRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestSupplier = SampleAppFixture.create(PluginsSetup.NONE, 0, 0).requestSupplier();
+        servletRequest = StubHttpServletRequest.of(
+                "GET",
+                request.path,
+                request.query,
+                Map.of(
+                        "Accept", JsonApiMediaType.MEDIA_TYPE,
+                        "Host", "localhost:8080",
+                        "User-Agent", "jmh",
+                        "X-Authenticated-User-Id", "1",
+                        "X-Authenticated-Client-Access-Tier", "ADMIN",
+                        "X-Authenticated-User-Granted-Scopes", "users.sensitive.read users.citizenships.read"
+                )
+        );
+    }
+
+    @Benchmark
+    public JsonApiRequest parse() {
+        return requestSupplier.from(servletRequest);
+    }
+
+    public enum RequestShape {
+
+        READ_BY_ID("/users/1", null),
+        READ_RELATIONSHIP("/users/1/relationships/citizenships", "include=citizenships"),
+        FIRST_PAGE("/users", "page%5Blimit%5D=20&page%5Boffset%5D=0"),
+        COMPLEX_QUERY(
+                "/users",
+                "filter%5Bid%5D=1,2,3,4,5,6,7,8,9,10"
+                        + "&include=citizenships.currencies,placeOfBirth,relatives.citizenships"
+                        + "&fields%5Busers%5D=fullName,email&fields%5Bcountries%5D=name,region"
+                        + "&sort=-fullName,email"
+                        + "&page%5Bcursor%5D=DoJu"
+                        + "&tenant=acme&locale=en"
+        );
+
+        private final String path;
+        private final String query;
+
+        RequestShape(String path, String query) {
+            this.path = path;
+            this.query = query;
+        }
+
+    }
+
+}
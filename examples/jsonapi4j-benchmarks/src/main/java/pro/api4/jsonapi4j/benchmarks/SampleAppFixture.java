@@ -0,0 +1,250 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.JsonApi4jBuilder;
+import pro.api4.jsonapi4j.domain.DomainRegistry;
+import pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer;
+import pro.api4.jsonapi4j.operation.OperationsRegistry;
+import pro.api4.jsonapi4j.plugin.JsonApi4jPlugin;
+import pro.api4.jsonapi4j.plugin.ac.DefaultAccessControlEvaluator;
+import pro.api4.jsonapi4j.plugin.ac.JsonApiAccessControlPlugin;
+import pro.api4.jsonapi4j.plugin.ac.config.DefaultAcProperties;
+import pro.api4.jsonapi4j.plugin.sf.JsonApiSparseFieldsetsPlugin;
+import pro.api4.jsonapi4j.plugin.sf.config.DefaultSfProperties;
+import pro.api4.jsonapi4j.principal.DefaultPrincipal;
+import pro.api4.jsonapi4j.principal.Principal;
+import pro.api4.jsonapi4j.principal.tier.DefaultAccessTierRegistry;
+import pro.api4.jsonapi4j.principal.tier.TierAdmin;
+import pro.api4.jsonapi4j.request.JsonApiMediaType;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.sampleapp.config.datasource.model.country.CountryRef;
+import pro.api4.jsonapi4j.sampleapp.config.datasource.model.user.RelativeRef;
+import pro.api4.jsonapi4j.sampleapp.config.datasource.model.user.RelativeRef.RelationshipType;
+import pro.api4.jsonapi4j.sampleapp.config.datasource.model.user.UserDbEntity;
+import pro.api4.jsonapi4j.sampleapp.domain.country.CountryCurrenciesRelationship;
+import pro.api4.jsonapi4j.sampleapp.domain.country.CountryResource;
+import pro.api4.jsonapi4j.sampleapp.domain.currency.CurrencyResource;
+import pro.api4.jsonapi4j.sampleapp.domain.user.UserCitizenshipsRelationship;
+import pro.api4.jsonapi4j.sampleapp.domain.user.UserPlaceOfBirthRelationship;
+import pro.api4.jsonapi4j.sampleapp.domain.user.UserRelativesRelationship;
+import pro.api4.jsonapi4j.sampleapp.domain.user.UserResource;
+import pro.api4.jsonapi4j.sampleapp.operations.CountriesClient;
+import pro.api4.jsonapi4j.sampleapp.operations.CountriesInMemoryClient;
+import pro.api4.jsonapi4j.sampleapp.operations.UserDb;
+import pro.api4.jsonapi4j.sampleapp.operations.UserInMemoryDb;
+import pro.api4.jsonapi4j.sampleapp.operations.country.ReadCountryByIdOperation;
+import pro.api4.jsonapi4j.sampleapp.operations.country.ReadCountryCurrenciesRelationshipOperation;
+import pro.api4.jsonapi4j.sampleapp.operations.country.ReadMultipleCountriesOperation;
+import pro.api4.jsonapi4j.sampleapp.operations.currency.CurrencyOperations;
+import pro.api4.jsonapi4j.sampleapp.operations.user.UserCitizenshipsOperations;
+import pro.api4.jsonapi4j.sampleapp.operations.user.UserOperations;
+import pro.api4.jsonapi4j.sampleapp.operations.user.UserPlaceOfBirthOperations;
+import pro.api4.jsonapi4j.sampleapp.operations.user.UserRelativesOperations;
+import pro.api4.jsonapi4j.servlet.request.HttpServletRequestJsonApiRequestSupplier;
+import pro.api4.jsonapi4j.servlet.request.OperationDetailsResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * The sample app domain (users, countries, currencies) wired the same way as the sample apps do it, but with a
+ * configurable amount of data:
+ * <ul>
+ *     <li>{@code users} users are generated on top of the seeded ones</li>
+ *     <li>every generated user has {@code relationshipsPerUser} relatives and up to {@code relationshipsPerUser}
+ *     citizenships (the countries client only knows 5 countries)</li>
+ * </ul>
+ */
+public final class SampleAppFixture {
+
+    private static final List<String> COUNTRY_CODES = List.of("NO", "FI", "US", "TG", "YT");
+    private static final RelationshipType[] RELATIONSHIP_TYPES = RelationshipType.values();
+
+    private final List<JsonApi4jPlugin> plugins;
+    private final DomainRegistry domainRegistry;
+    private final OperationsRegistry operationsRegistry;
+    private final JsonApi4j jsonApi4j;
+    private final HttpServletRequestJsonApiRequestSupplier requestSupplier;
+
+    private SampleAppFixture(PluginsSetup pluginsSetup,
+                             int users,
+                             int relationshipsPerUser,
+                             Executor executor) {
+        this.plugins = pluginsSetup.createPlugins();
+        this.domainRegistry = DomainRegistry.builder(plugins)
+                .resource(new UserResource())
+                .resource(new CountryResource())
+                .resource(new CurrencyResource())
+                .relationship(new UserCitizenshipsRelationship())
+                .relationship(new UserPlaceOfBirthRelationship())
+                .relationship(new UserRelativesRelationship())
+                .relationship(new CountryCurrenciesRelationship())
+                .build();
+
+        UserDb userDb = populate(new UserInMemoryDb(), users, relationshipsPerUser);
+        CountriesClient countriesClient = new CountriesInMemoryClient();
+        this.operationsRegistry = OperationsRegistry.builder(plugins)
+                .operation(new UserOperations(userDb))
+                .operation(new UserCitizenshipsOperations(userDb))
+                .operation(new UserPlaceOfBirthOperations(userDb))
+                .operation(new UserRelativesOperations(userDb))
+                .operation(new ReadCountryByIdOperation(countriesClient))
+                .operation(new ReadMultipleCountriesOperation(countriesClient))
+                .operation(new ReadCountryCurrenciesRelationshipOperation(countriesClient))
+                .operation(new CurrencyOperations(countriesClient))
+                .build();
+
+        JsonApi4jBuilder builder = JsonApi4j.builder()
+                .plugins(plugins)
+                .domainRegistry(domainRegistry)
+                .operationsRegistry(operationsRegistry);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.jsonApi4j = builder.build();
+        this.requestSupplier = new HttpServletRequestJsonApiRequestSupplier(
+                JsonApi4jServletContainerInitializer.createObjectMapper(),
+                new OperationDetailsResolver(domainRegistry)
+        );
+    }
+
+    /**
+     * Relationships are resolved sequentially in the calling thread.
+     */
+    public static SampleAppFixture create(PluginsSetup pluginsSetup,
+                                          int users,
+                                          int relationshipsPerUser) {
+        return new SampleAppFixture(pluginsSetup, users, relationshipsPerUser, null);
+    }
+
+    /**
+     * Relationships are resolved in parallel by the given executor.
+     */
+    public static SampleAppFixture create(PluginsSetup pluginsSetup,
+                                          int users,
+                                          int relationshipsPerUser,
+                                          Executor executor) {
+        return new SampleAppFixture(pluginsSetup, users, relationshipsPerUser, executor);
+    }
+
+    /**
+     * Authenticated principal that owns user '1' and has all the scopes the sample domain asks for, so Access Control
+     * plugin evaluates (and partially allows) every annotated member instead of short-cutting on anonymous requests.
+     *
+     * @return principal to put into the request context
+     */
+    public static Principal principal() {
+        return new DefaultPrincipal(
+                new TierAdmin(),
+                Set.of("users.sensitive.read", "users.citizenships.read"),
+                "1"
+        );
+    }
+
+    /**
+     * Parses a GET request the same way the servlet does.
+     *
+     * @param path  path relative to the JSON:API root, e.g. {@code /users}
+     * @param query raw (URL-encoded) query string, can be {@code null}
+     * @return parsed request
+     */
+    public JsonApiRequest parseGetRequest(String path, String query) {
+        return requestSupplier.from(StubHttpServletRequest.of(
+                "GET",
+                path,
+                query,
+                Map.of("Accept", JsonApiMediaType.MEDIA_TYPE)
+        ));
+    }
+
+    private static UserDb populate(UserDb userDb,
+                                   int users,
+                                   int relationshipsPerUser) {
+        List<String> userIds = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            UserDbEntity user = userDb.createUser(
+                    "First" + i,
+                    "Last" + i,
+                    "user" + i + "@jsonapi4j.pro",
+                    String.valueOf(100_000_000L + i)
+            );
+            userIds.add(user.getId());
+        }
+        for (int i = 0; i < userIds.size(); i++) {
+            String userId = userIds.get(i);
+            List<CountryRef> citizenships = new ArrayList<>();
+            List<RelativeRef> relatives = new ArrayList<>();
+            for (int j = 0; j < relationshipsPerUser; j++) {
+                if (j < COUNTRY_CODES.size()) {
+                    citizenships.add(new CountryRef(COUNTRY_CODES.get((i + j) % COUNTRY_CODES.size())));
+                }
+                relatives.add(new RelativeRef(
+                        userIds.get((i + j + 1) % userIds.size()),
+                        RELATIONSHIP_TYPES[j % RELATIONSHIP_TYPES.length]
+                ));
+            }
+            userDb.updateUserCitizenships(userId, citizenships);
+            userDb.updateUserRelatives(userId, relatives);
+            userDb.updateUserPlaceOfBirth(userId, new CountryRef(COUNTRY_CODES.get(i % COUNTRY_CODES.size())));
+        }
+        return userDb;
+    }
+
+    public List<JsonApi4jPlugin> plugins() {
+        return plugins;
+    }
+
+    public DomainRegistry domainRegistry() {
+        return domainRegistry;
+    }
+
+    public OperationsRegistry operationsRegistry() {
+        return operationsRegistry;
+    }
+
+    public JsonApi4j jsonApi4j() {
+        return jsonApi4j;
+    }
+
+    public HttpServletRequestJsonApiRequestSupplier requestSupplier() {
+        return requestSupplier;
+    }
+
+    /**
+     * Plugin combinations the request pipeline is measured with.
+     */
+    public enum PluginsSetup {
+
+        NONE(false, false),
+        SF(true, false),
+        AC(false, true),
+        SF_AC(true, true);
+
+        private final boolean sparseFieldsets;
+        private final boolean accessControl;
+
+        PluginsSetup(boolean sparseFieldsets, boolean accessControl) {
+            this.sparseFieldsets = sparseFieldsets;
+            this.accessControl = accessControl;
+        }
+
+        List<JsonApi4jPlugin> createPlugins() {
+            List<JsonApi4jPlugin> plugins = new ArrayList<>();
+            if (accessControl) {
+                plugins.add(new JsonApiAccessControlPlugin(
+                        new DefaultAccessControlEvaluator(new DefaultAccessTierRegistry()),
+                        DefaultAcProperties.toAcProperties(Map.of())
+                ));
+            }
+            if (sparseFieldsets) {
+                plugins.add(new JsonApiSparseFieldsetsPlugin(DefaultSfProperties.toSfProperties(Map.of())));
+            }
+            return plugins;
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package pro.api4.jsonapi4j.benchmarks;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Minimal read-only {@link HttpServletRequest} for the benchmarks, so the request parsing can be measured without a
+ * servlet container. Only the methods the JsonApi4j request suppliers rely on are supported, the rest throw
+ * {@link UnsupportedOperationException}.
+ */
+public final class StubHttpServletRequest {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private StubHttpServletRequest() {
+
+    }
+
+    /**
+     * @param method   HTTP method
+     * @param pathInfo path relative to the JSON:API root, e.g. {@code /users/1}
+     * @param query    raw (URL-encoded) query string, can be {@code null}
+     * @param headers  request headers
+     * @return stub request
+     */
+    public static HttpServletRequest of(String method,
+                                        String pathInfo,
+                                        String query,
+                                        Map<String, String> headers) {
+        Map<String, String[]> parameters = parseQuery(query);
+        Map<String, String> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitiveHeaders.putAll(headers);
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "getMethod" -> method;
+                    case "getPathInfo" -> pathInfo;
+                    case "getRequestURI" -> pathInfo;
+                    case "getContextPath" -> "";
+                    case "getQueryString" -> query;
+                    case "getScheme" -> "http";
+                    case "getServerName" -> "localhost";
+                    case "getServerPort" -> 8080;
+                    case "getCharacterEncoding" -> StandardCharsets.UTF_8.name();
+                    case "getContentType" -> caseInsensitiveHeaders.get("Content-Type");
+                    case "getParameterMap" -> parameters;
+                    case "getParameterNames" -> Collections.enumeration(parameters.keySet());
+                    case "getParameterValues" -> parameters.get((String) args[0]);
+                    case "getParameter" -> {
+                        String[] values = parameters.get((String) args[0]);
+                        yield values == null ? null : values[0];
+                    }
+                    case "getHeader" -> caseInsensitiveHeaders.get((String) args[0]);
+                    case "getHeaders" -> {
+                        String value = caseInsensitiveHeaders.get((String) args[0]);
+                        yield Collections.enumeration(value == null ? List.of() : List.of(value));
+                    }
+                    case "getHeaderNames" -> Collections.enumeration(caseInsensitiveHeaders.keySet());
+                    case "getInputStream" -> new EmptyServletInputStream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> method + " " + pathInfo + (query != null ? "?" + query : "");
+                    default -> throw new UnsupportedOperationException(m.getName());
+                }
+        );
+    }
+
+    private static Map<String, String[]> parseQuery(String query) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        if (query != null && !query.isEmpty()) {
+            for (String pair : query.split("&")) {
+                int idx = pair.indexOf('=');
+                String name = URLDecoder.decode(idx < 0 ? pair : pair.substring(0, idx), StandardCharsets.UTF_8);
+                String value = idx < 0 ? "" : URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8);
+                result.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+            }
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        result.forEach((name, values) -> parameters.put(name, values.toArray(String[]::new)));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    private static final class EmptyServletInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream delegate = new ByteArrayInputStream(EMPTY_BODY);
+
+        @Override
+        public boolean isFinished() {
+            return delegate.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("setReadListener");
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+    }
+
+}
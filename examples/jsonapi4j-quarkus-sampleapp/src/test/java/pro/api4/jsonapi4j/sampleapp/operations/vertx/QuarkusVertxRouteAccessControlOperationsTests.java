@@ -0,0 +1,36 @@
+package pro.api4.jsonapi4j.sampleapp.operations.vertx;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.sampleapp.VertxRouteAccessControlTestProfile;
+import pro.api4.jsonapi4j.sampleapp.testsuite.AccessControlOperationsTests;
+
+import static pro.api4.jsonapi4j.principal.DefaultPrincipalResolver.DEFAULT_ACCESS_TIER_HEADER_NAME;
+import static pro.api4.jsonapi4j.principal.DefaultPrincipalResolver.DEFAULT_SCOPES_HEADER_NAME;
+import static pro.api4.jsonapi4j.principal.DefaultPrincipalResolver.DEFAULT_USER_ID_HEADER_NAME;
+
+@QuarkusTest
+@TestProfile(VertxRouteAccessControlTestProfile.class)
+public class QuarkusVertxRouteAccessControlOperationsTests extends AccessControlOperationsTests {
+
+    public QuarkusVertxRouteAccessControlOperationsTests(@ConfigProperty(name = "jsonapi4j.rootPath") String jsonApiRootPath,
+                                                         @ConfigProperty(name = "quarkus.http.port") int appPort) {
+        super(
+                jsonApiRootPath,
+                appPort,
+                DEFAULT_ACCESS_TIER_HEADER_NAME,
+                DEFAULT_SCOPES_HEADER_NAME,
+                DEFAULT_USER_ID_HEADER_NAME
+        );
+    }
+
+    @Test
+    @Disabled("Compound documents are resolved by a servlet filter that doesn't apply to the Vert.x route")
+    @Override
+    public void test_headersPropagatedThroughCompoundDocs_sensitiveDataVisibleInIncluded() {
+    }
+
+}
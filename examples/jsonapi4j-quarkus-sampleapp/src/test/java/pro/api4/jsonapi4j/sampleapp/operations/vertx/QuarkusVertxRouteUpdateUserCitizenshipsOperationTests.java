@@ -0,0 +1,18 @@
+package pro.api4.jsonapi4j.sampleapp.operations.vertx;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import pro.api4.jsonapi4j.sampleapp.VertxRouteTestProfile;
+import pro.api4.jsonapi4j.sampleapp.testsuite.domain.user.UpdateUserCitizenshipsOperationTests;
+
+@QuarkusTest
+@TestProfile(VertxRouteTestProfile.class)
+public class QuarkusVertxRouteUpdateUserCitizenshipsOperationTests extends UpdateUserCitizenshipsOperationTests {
+
+    public QuarkusVertxRouteUpdateUserCitizenshipsOperationTests(@ConfigProperty(name = "jsonapi4j.rootPath") String jsonApiRootPath,
+                                                                 @ConfigProperty(name = "quarkus.http.port") int appPort) {
+        super(jsonApiRootPath, appPort);
+    }
+
+}
@@ -10,6 +10,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * Black-box tests for compound-docs resource caching: a cache hit must avoid re-fetching downstream resources, a
@@ -99,6 +100,67 @@ public abstract class CacheCompoundDocsTests {
                 .header("Cache-Control", "max-age=60");
     }
 
+    @Test
+    public void test_conditionalGet_compoundDocumentWithMatchingETagAnsweredWith304() {
+        String etag = given()
+                .header("Content-Type", JsonApiMediaType.MEDIA_TYPE)
+                .header("If-None-Match", "\"stale\"")
+                .queryParam(IncludeAwareRequest.INCLUDE_PARAM, "citizenships")
+                .pathParam("userId", "1")
+                .get(url("/users/{userId}"))
+                .then()
+                .statusCode(200)
+                .body("included", hasSize(3))
+                .extract()
+                .header("ETag");
+        assertThat(etag).isNotBlank();
+
+        given()
+                .header("Content-Type", JsonApiMediaType.MEDIA_TYPE)
+                .header("If-None-Match", etag)
+                .queryParam(IncludeAwareRequest.INCLUDE_PARAM, "citizenships")
+                .pathParam("userId", "1")
+                .get(url("/users/{userId}"))
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+    }
+
+    @Test
+    public void test_conditionalGet_primaryDocumentWithStaleETagAnsweredWith200() {
+        String etag = given()
+                .header("Content-Type", JsonApiMediaType.MEDIA_TYPE)
+                .header("If-None-Match", "\"stale\"")
+                .pathParam("userId", "1")
+                .get(url("/users/{userId}"))
+                .then()
+                .statusCode(200)
+                .body("data.id", equalTo("1"))
+                .extract()
+                .header("ETag");
+        assertThat(etag).isNotBlank();
+
+        given()
+                .header("Content-Type", JsonApiMediaType.MEDIA_TYPE)
+                .header("If-None-Match", etag)
+                .pathParam("userId", "1")
+                .get(url("/users/{userId}"))
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+    }
+
+    @Test
+    public void test_unconditionalGet_noETagComputed() {
+        given()
+                .header("Content-Type", JsonApiMediaType.MEDIA_TYPE)
+                .pathParam("userId", "1")
+                .get(url("/users/{userId}"))
+                .then()
+                .statusCode(200)
+                .header("ETag", nullValue());
+    }
+
     private void readUser1Citizenships() {
         given()
                 .header("Content-Type", JsonApiMediaType.MEDIA_TYPE)
@@ -0,0 +1,37 @@
+package pro.api4.jsonapi4j.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Defines what threads run concurrent work of a request: relationship resolvers and compound documents
+ * fetches.
+ */
+public enum ExecutionMode {
+
+    /**
+     * Work is submitted to the configured executor. Integrations default it to a cached platform thread pool.
+     */
+    EXECUTOR,
+
+    /**
+     * Every task gets its own virtual thread. Blocking downstream calls don't occupy platform threads, so no pool
+     * sizing is needed.
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * Creates an executor service suitable for this mode. The caller owns it and is responsible for shutting it down.
+     *
+     * @return cached thread pool for {@link #EXECUTOR}, virtual-thread-per-task executor for {@link #VIRTUAL_THREADS}
+     */
+    public ExecutorService newExecutorService() {
+        return switch (this) {
+            case EXECUTOR -> Executors.newCachedThreadPool();
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("jsonapi4j-virtual-", 0).factory()
+            );
+        };
+    }
+
+}
@@ -0,0 +1,29 @@
+package pro.api4.jsonapi4j.config;
+
+/**
+ * Configuration of concurrent request processing, bound from {@code jsonapi4j.execution.*}.
+ */
+public interface ExecutionProperties {
+
+    String MODE_PROPERTY = "mode";
+    String RELATIONSHIPS_TIMEOUT_MS_PROPERTY = "relationshipsTimeoutMs";
+
+    String DEFAULT_MODE = "EXECUTOR";
+    String DEFAULT_RELATIONSHIPS_TIMEOUT_MS = "0";
+
+    /**
+     * @return threads that run relationship resolvers and compound documents fetches. Default {@link ExecutionMode#EXECUTOR}.
+     */
+    default ExecutionMode mode() {
+        return ExecutionMode.valueOf(DEFAULT_MODE);
+    }
+
+    /**
+     * @return deadline in milliseconds for all relationship resolvers of a single request. Once it's exceeded the
+     * unfinished resolvers are cancelled and the request fails with 504. {@code 0} means no deadline. Default {@code 0}.
+     */
+    default long relationshipsTimeoutMs() {
+        return Long.parseLong(DEFAULT_RELATIONSHIPS_TIMEOUT_MS);
+    }
+
+}
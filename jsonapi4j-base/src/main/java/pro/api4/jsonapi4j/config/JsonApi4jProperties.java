@@ -8,6 +8,7 @@ public interface JsonApi4jProperties {
 
     String ROOT_PATH_PROPERTY = "rootPath";
     String META_PROPERTY = "meta";
+    String EXECUTION_PROPERTY = "execution";
 
     String DEFAULT_ROOT_PATH = "/jsonapi";
 
@@ -19,4 +20,6 @@ public interface JsonApi4jProperties {
 
     MetaProperties meta();
 
+    ExecutionProperties execution();
+
 }
@@ -0,0 +1,227 @@
+package pro.api4.jsonapi4j.context;
+
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.principal.Principal;
+import pro.api4.jsonapi4j.util.TaskScope;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Context of the request being processed: the authenticated {@link Principal} and the response headers and status
+ * that operations propagate to the client-facing response.
+ *
+ * <p>The principal is immutable - {@link #withPrincipal(Principal)} derives a new context that still collects response
+ * headers and status into the same request. Collected headers and status are thread-safe, so they can be propagated
+ * from any thread working on the request.
+ *
+ * <p>A context is bound to the current thread by {@link #bind()}, {@link #run(Runnable)} or {@link #call(Supplier)}
+ * and is inherited by subtasks forked via {@link TaskScope}, tasks wrapped by {@link #wrap(Runnable)} and tasks
+ * submitted to an executor wrapped by {@link #propagating(Executor)}. No per-task copying of the principal is needed.
+ *
+ * <p>Backed by a {@link ThreadLocal}: {@code ScopedValue} is not a final API in all supported JDKs.
+ */
+public final class RequestContext {
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    private final Principal principal;
+    private final Map<String, List<String>> responseHeaders;
+    private final AtomicReference<HttpStatusCodes> responseStatus;
+
+    private RequestContext(Principal principal,
+                           Map<String, List<String>> responseHeaders,
+                           AtomicReference<HttpStatusCodes> responseStatus) {
+        this.principal = principal;
+        this.responseHeaders = responseHeaders;
+        this.responseStatus = responseStatus;
+    }
+
+    /**
+     * Creates a context of a new request. Not bound to any thread yet.
+     *
+     * @param principal principal the request is processed on behalf of, nullable
+     * @return new context with no response headers and status collected
+     */
+    public static RequestContext of(Principal principal) {
+        return new RequestContext(principal, new ConcurrentHashMap<>(), new AtomicReference<>());
+    }
+
+    /**
+     * Returns the context bound to the current thread. If there is none, returns a new empty context that is not
+     * bound to any thread, so headers and status propagated outside any request scope are discarded instead of
+     * leaking into later work on the same thread.
+     *
+     * @return context of the current thread, never {@code null}
+     */
+    public static RequestContext current() {
+        RequestContext context = CURRENT.get();
+        return context != null ? context : of(null);
+    }
+
+    /**
+     * Unbinds the context bound to the current thread, if any, together with the response headers and status it has
+     * collected.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the principal of the context bound to the current thread without binding a new context.
+     *
+     * @return principal of the current request, or an empty {@link Optional}
+     */
+    public static Optional<Principal> currentPrincipal() {
+        RequestContext context = CURRENT.get();
+        return context != null ? Optional.ofNullable(context.principal) : Optional.empty();
+    }
+
+    /**
+     * Wraps the task so that it runs with the context of the current thread, whatever thread runs it.
+     *
+     * @param task task to wrap
+     * @return wrapped task
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestContext context = current();
+        return () -> context.run(task);
+    }
+
+    /**
+     * Wraps the executor so that every submitted task runs with the context of the submitting thread.
+     *
+     * @param executor executor to wrap
+     * @return wrapped executor
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * @param principal principal, nullable
+     * @return context of the same request with another principal
+     */
+    public RequestContext withPrincipal(Principal principal) {
+        return new RequestContext(principal, responseHeaders, responseStatus);
+    }
+
+    /**
+     * Binds this context to the current thread until the returned scope is closed. Closing the scope restores the
+     * context that was bound before.
+     *
+     * @return scope to close once the work on the request is done
+     */
+    public Scope bind() {
+        RequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs the task with this context bound to the current thread.
+     *
+     * @param task task
+     */
+    public void run(Runnable task) {
+        try (Scope ignored = bind()) {
+            task.run();
+        }
+    }
+
+    /**
+     * Computes a result with this context bound to the current thread.
+     *
+     * @param task task
+     * @param <T>  result type
+     * @return result of the task
+     */
+    public <T> T call(Supplier<T> task) {
+        try (Scope ignored = bind()) {
+            return task.get();
+        }
+    }
+
+    /**
+     * @return principal the request is processed on behalf of, nullable
+     */
+    public Principal getPrincipal() {
+        return principal;
+    }
+
+    /**
+     * @return read-only view of the response headers collected so far
+     */
+    public Map<String, List<String>> getResponseHeaders() {
+        return Collections.unmodifiableMap(responseHeaders);
+    }
+
+    /**
+     * Adds a value to the response header, keeping the values collected before.
+     */
+    public void addResponseHeader(String name, String value) {
+        responseHeaders.computeIfAbsent(name, k -> new CopyOnWriteArrayList<>()).add(value);
+    }
+
+    /**
+     * Replaces all values of the response header collected before.
+     */
+    public void setResponseHeader(String name, String value) {
+        responseHeaders.put(name, new CopyOnWriteArrayList<>(List.of(value)));
+    }
+
+    /**
+     * Removes all collected response headers.
+     *
+     * @return removed headers by name in no particular order
+     */
+    public Map<String, List<String>> drainResponseHeaders() {
+        Map<String, List<String>> drained = new LinkedHashMap<>();
+        for (String name : responseHeaders.keySet()) {
+            List<String> values = responseHeaders.remove(name);
+            if (values != null) {
+                drained.put(name, values);
+            }
+        }
+        return drained;
+    }
+
+    public void setResponseStatus(HttpStatusCodes status) {
+        responseStatus.set(status);
+    }
+
+    /**
+     * Removes the response status set before.
+     *
+     * @return removed status, or an empty {@link Optional}
+     */
+    public Optional<HttpStatusCodes> drainResponseStatus() {
+        return Optional.ofNullable(responseStatus.getAndSet(null));
+    }
+
+    /**
+     * Binding of a {@link RequestContext} to a thread.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package pro.api4.jsonapi4j.exception;
+
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.model.document.error.DefaultErrorCodes;
+
+/**
+ * Signals that a group of downstream calls (e.g. relationship resolvers of a single request) didn't complete
+ * within the configured deadline (HTTP 504).
+ * <p>
+ * By the time this exception is thrown all unfinished calls of the group have already been cancelled.
+ *
+ * @see pro.api4.jsonapi4j.util.TaskScope
+ */
+public class DeadlineExceededException extends JsonApi4jException {
+
+    public DeadlineExceededException(String detail) {
+        super(
+                HttpStatusCodes.SC_504_GATEWAY_TIMEOUT.getCode(),
+                DefaultErrorCodes.GATEWAY_TIMEOUT,
+                detail
+        );
+    }
+
+}
@@ -17,6 +17,14 @@ public enum HttpHeaders {
     CACHE_CONTROL("Cache-Control"),
     /** The standard {@code Location} response header (used on 201 Created responses). */
     LOCATION("Location"),
+    /** The standard {@code ETag} response header, a validator of the returned representation. */
+    ETAG("ETag"),
+    /** The standard {@code Last-Modified} response header, a date-based validator of the returned representation. */
+    LAST_MODIFIED("Last-Modified"),
+    /** The standard {@code If-None-Match} conditional request header, carries previously received {@code ETag}s. */
+    IF_NONE_MATCH("If-None-Match"),
+    /** The standard {@code If-Modified-Since} conditional request header, carries a previous {@code Last-Modified}. */
+    IF_MODIFIED_SINCE("If-Modified-Since"),
     /**
      * Custom header that instructs the compound-documents resolver to skip
      * {@code included} relationship expansion for the current request.
@@ -6,10 +6,12 @@ package pro.api4.jsonapi4j.http.cache;
  *
  * <p>Restrictive directives ({@code no-store}, {@code no-cache}, {@code private})
  * are sticky — once any source sets them, the aggregated result includes them.
- * TTL values ({@code max-age}, {@code s-maxage}) use the minimum across all sources.
+ * TTL values ({@code max-age}, {@code s-maxage}) use the minimum across all sources. Stale windows
+ * ({@code stale-while-revalidate}, {@code stale-if-error}) use the minimum too, but only survive if every source
+ * allows them.
  *
- * <p>Instantiated once per compound docs resolution. Not thread-safe — directives
- * are added sequentially between hops (after {@code CompletableFuture.join()}).
+ * <p>Instantiated once per compound docs resolution. Not thread-safe — callers adding
+ * directives from concurrently completing fetches must synchronize on the aggregator.
  *
  * @see CacheControlParser#format(CacheControlDirectives)
  */
@@ -20,6 +22,10 @@ public class CacheControlAggregator {
     private boolean noStore;
     private boolean noCache;
     private boolean privateCacheControl;
+    private Long minStaleWhileRevalidate;
+    private Long minStaleIfError;
+    private boolean allStaleWhileRevalidate = true;
+    private boolean allStaleIfError = true;
     private boolean hasDirectives;
 
     /**
@@ -52,6 +58,18 @@ public class CacheControlAggregator {
             minSMaxAge = minSMaxAge == null ? directives.getSMaxAge()
                     : Math.min(minSMaxAge, directives.getSMaxAge());
         }
+        if (directives.getStaleWhileRevalidate() == null) {
+            allStaleWhileRevalidate = false;
+        } else {
+            minStaleWhileRevalidate = minStaleWhileRevalidate == null ? directives.getStaleWhileRevalidate()
+                    : Math.min(minStaleWhileRevalidate, directives.getStaleWhileRevalidate());
+        }
+        if (directives.getStaleIfError() == null) {
+            allStaleIfError = false;
+        } else {
+            minStaleIfError = minStaleIfError == null ? directives.getStaleIfError()
+                    : Math.min(minStaleIfError, directives.getStaleIfError());
+        }
     }
 
     /**
@@ -65,6 +83,8 @@ public class CacheControlAggregator {
         if (!hasDirectives) {
             return null;
         }
-        return new CacheControlDirectives(minMaxAge, minSMaxAge, noStore, noCache, privateCacheControl);
+        return new CacheControlDirectives(minMaxAge, minSMaxAge, noStore, noCache, privateCacheControl,
+                allStaleWhileRevalidate ? minStaleWhileRevalidate : null,
+                allStaleIfError ? minStaleIfError : null);
     }
 }
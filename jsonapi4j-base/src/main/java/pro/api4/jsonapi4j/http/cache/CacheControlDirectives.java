@@ -12,6 +12,7 @@ import java.time.Duration;
  * {@link #NON_CACHEABLE} constant.
  *
  * @see <a href="https://httpwg.org/specs/rfc9111.html">RFC 9111 - HTTP Caching</a>
+ * @see <a href="https://httpwg.org/specs/rfc5861.html">RFC 5861 - HTTP Cache-Control Extensions for Stale Content</a>
  */
 @Getter
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
@@ -54,6 +55,24 @@ public class CacheControlDirectives {
     private final boolean noStore;
     private final boolean noCache;
     private final boolean privateCacheControl;
+    /**
+     * {@code stale-while-revalidate} (RFC 5861): for how many seconds after expiration a stale response may still be
+     * served while it is being revalidated in the background, or {@code null} if absent.
+     */
+    private final Long staleWhileRevalidate;
+    /**
+     * {@code stale-if-error} (RFC 5861): for how many seconds after expiration a stale response may still be served
+     * if revalidating it fails, or {@code null} if absent.
+     */
+    private final Long staleIfError;
+
+    CacheControlDirectives(Long maxAge,
+                           Long sMaxAge,
+                           boolean noStore,
+                           boolean noCache,
+                           boolean privateCacheControl) {
+        this(maxAge, sMaxAge, noStore, noCache, privateCacheControl, null, null);
+    }
 
     /**
      * Returns the effective TTL in seconds.
@@ -65,6 +84,20 @@ public class CacheControlDirectives {
         return sMaxAge != null ? sMaxAge : maxAge;
     }
 
+    /**
+     * @return {@code stale-while-revalidate} in seconds, or {@code 0} if absent
+     */
+    public long getStaleWhileRevalidateSeconds() {
+        return staleWhileRevalidate != null ? staleWhileRevalidate : 0;
+    }
+
+    /**
+     * @return {@code stale-if-error} in seconds, or {@code 0} if absent
+     */
+    public long getStaleIfErrorSeconds() {
+        return staleIfError != null ? staleIfError : 0;
+    }
+
     /**
      * Returns {@code true} if the response is cacheable:
      * <ul>
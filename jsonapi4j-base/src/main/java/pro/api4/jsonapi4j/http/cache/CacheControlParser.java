@@ -7,7 +7,8 @@ import java.util.List;
  * Parses {@code Cache-Control} HTTP header values into {@link CacheControlDirectives}.
  *
  * <p>Handles the following directives (case-insensitive):
- * {@code max-age}, {@code s-maxage}, {@code no-store}, {@code no-cache}, {@code private}.
+ * {@code max-age}, {@code s-maxage}, {@code no-store}, {@code no-cache}, {@code private},
+ * {@code stale-while-revalidate}, {@code stale-if-error}.
  * Unknown directives are silently ignored.
  *
  * @see <a href="https://httpwg.org/specs/rfc9111.html#field.cache-control">RFC 9111 - Cache-Control</a>
@@ -35,6 +36,8 @@ public final class CacheControlParser {
         boolean noStore = false;
         boolean noCache = false;
         boolean privateCacheControl = false;
+        Long staleWhileRevalidate = null;
+        Long staleIfError = null;
 
         String[] tokens = headerValue.split(",");
         for (String token : tokens) {
@@ -50,10 +53,15 @@ public final class CacheControlParser {
                 maxAge = parseNonNegativeLong(directive.substring("max-age=".length()));
             } else if (directive.startsWith("s-maxage=")) {
                 sMaxAge = parseNonNegativeLong(directive.substring("s-maxage=".length()));
+            } else if (directive.startsWith("stale-while-revalidate=")) {
+                staleWhileRevalidate = parseNonNegativeLong(directive.substring("stale-while-revalidate=".length()));
+            } else if (directive.startsWith("stale-if-error=")) {
+                staleIfError = parseNonNegativeLong(directive.substring("stale-if-error=".length()));
             }
         }
 
-        return new CacheControlDirectives(maxAge, sMaxAge, noStore, noCache, privateCacheControl);
+        return new CacheControlDirectives(maxAge, sMaxAge, noStore, noCache, privateCacheControl,
+                staleWhileRevalidate, staleIfError);
     }
 
     /**
@@ -80,6 +88,12 @@ public final class CacheControlParser {
         if (directives.getMaxAge() != null) {
             parts.add("max-age=" + directives.getMaxAge());
         }
+        if (directives.getStaleWhileRevalidate() != null) {
+            parts.add("stale-while-revalidate=" + directives.getStaleWhileRevalidate());
+        }
+        if (directives.getStaleIfError() != null) {
+            parts.add("stale-if-error=" + directives.getStaleIfError());
+        }
         return parts.isEmpty() ? null : String.join(", ", parts);
     }
 
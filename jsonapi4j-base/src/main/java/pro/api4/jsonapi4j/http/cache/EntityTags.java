@@ -0,0 +1,67 @@
+package pro.api4.jsonapi4j.http.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes and compares {@code ETag} validators.
+ *
+ * <p>{@link #strong(byte[])} derives a strong entity tag from the exact bytes of a response body, so two responses
+ * share a tag if and only if they are byte-for-byte identical (up to a 128-bit hash collision).
+ * {@link #matches(String, String)} evaluates an {@code If-None-Match} header against a tag using the weak comparison
+ * RFC 9110 prescribes for that header.
+ *
+ * @see <a href="https://httpwg.org/specs/rfc9110.html#field.etag">RFC 9110 - ETag</a>
+ */
+public final class EntityTags {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final int TAG_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param body response body
+     * @return a quoted strong entity tag, e.g. {@code "5d41402abc4b2a76b9719d911017c592"}
+     */
+    public static String strong(byte[] body) {
+        byte[] digest = sha256().digest(body);
+        return '"' + HexFormat.of().formatHex(digest, 0, TAG_BYTES) + '"';
+    }
+
+    /**
+     * @param ifNoneMatch value of an {@code If-None-Match} header: {@code *} or a comma-separated list of entity
+     *                    tags, may be null
+     * @param etag        entity tag of the current representation, may be null
+     * @return {@code true} if the header matches the tag, i.e. the client's copy is still current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
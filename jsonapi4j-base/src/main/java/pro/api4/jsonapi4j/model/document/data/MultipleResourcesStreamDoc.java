@@ -0,0 +1,117 @@
+package pro.api4.jsonapi4j.model.document.data;
+
+import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.model.document.LinksObject;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streamed counterpart of {@link MultipleResourcesDoc} produced for
+ * {@code StreamingReadMultipleResourcesOperation}s.
+ * <p>
+ * Primary resources are not materialized up front: each element of {@link #getWindows()} is a window of resources
+ * that is composed (relationships included) only when the window is pulled, so a serializer can write the resources
+ * of one window before the next one is read. Top-level {@code "links"} and {@code "meta"} depend on the pagination
+ * state at the end of the stream, hence they must only be requested once all windows have been consumed. The same
+ * applies to the top-level {@code "jsonapi"} member.
+ * <p>
+ * Serialized as <code>{"data": [...], "links": {...}, "meta": {...}, "jsonapi": {...}}</code> - the {@code "data"}
+ * member goes first.
+ * Must be closed once written, which releases the underlying data source stream.
+ *
+ * @param <PRIMARY_RESOURCE> type of the primary resource
+ */
+public final class MultipleResourcesStreamDoc<PRIMARY_RESOURCE extends ResourceObject<?, ?>> implements AutoCloseable {
+
+    private final Stream<List<PRIMARY_RESOURCE>> windows;
+    private final Supplier<LinksObject> linksSupplier;
+    private final Supplier<Object> metaSupplier;
+    private final Supplier<JsonApiObject> jsonapiSupplier;
+
+    public MultipleResourcesStreamDoc(Stream<List<PRIMARY_RESOURCE>> windows,
+                                      Supplier<LinksObject> linksSupplier,
+                                      Supplier<Object> metaSupplier,
+                                      Supplier<JsonApiObject> jsonapiSupplier) {
+        Validate.notNull(windows, "windows can't be null");
+        Validate.notNull(linksSupplier, "linksSupplier can't be null");
+        Validate.notNull(metaSupplier, "metaSupplier can't be null");
+        Validate.notNull(jsonapiSupplier, "jsonapiSupplier can't be null");
+        this.windows = windows;
+        this.linksSupplier = linksSupplier;
+        this.metaSupplier = metaSupplier;
+        this.jsonapiSupplier = jsonapiSupplier;
+    }
+
+    public MultipleResourcesStreamDoc(Stream<List<PRIMARY_RESOURCE>> windows,
+                                      Supplier<LinksObject> linksSupplier,
+                                      Supplier<Object> metaSupplier) {
+        this(windows, linksSupplier, metaSupplier, () -> null);
+    }
+
+    /**
+     * Wraps an already materialized document, e.g. the one a plugin returned before any data was read.
+     *
+     * @param doc                materialized document
+     * @param <PRIMARY_RESOURCE> type of the primary resource
+     * @return single-window stream document
+     */
+    public static <PRIMARY_RESOURCE extends ResourceObject<?, ?>> MultipleResourcesStreamDoc<PRIMARY_RESOURCE> of(
+            MultipleResourcesDoc<PRIMARY_RESOURCE> doc
+    ) {
+        Validate.notNull(doc, "doc can't be null");
+        return new MultipleResourcesStreamDoc<>(
+                doc.getData() != null ? Stream.of(doc.getData()) : Stream.empty(),
+                doc::getLinks,
+                doc::getMeta,
+                doc::getJsonapi
+        );
+    }
+
+    /**
+     * @return lazily composed windows of primary resources, can be consumed once
+     */
+    public Iterator<List<PRIMARY_RESOURCE>> getWindows() {
+        return windows.iterator();
+    }
+
+    /**
+     * Must only be called once all windows have been consumed.
+     *
+     * @return top-level links, nullable
+     */
+    public LinksObject getLinks() {
+        return linksSupplier.get();
+    }
+
+    /**
+     * Must only be called once all windows have been consumed.
+     *
+     * @return top-level meta, nullable
+     */
+    public Object getMeta() {
+        return metaSupplier.get();
+    }
+
+    /**
+     * Must only be called once all windows have been consumed.
+     *
+     * @return top-level jsonapi object, nullable
+     */
+    public JsonApiObject getJsonapi() {
+        return jsonapiSupplier.get();
+    }
+
+    @Override
+    public void close() {
+        windows.close();
+    }
+
+    @Override
+    public String toString() {
+        return MultipleResourcesStreamDoc.class.getSimpleName() + "(streamed)";
+    }
+
+}
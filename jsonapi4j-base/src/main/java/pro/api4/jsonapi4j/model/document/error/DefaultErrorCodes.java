@@ -36,6 +36,7 @@ public enum DefaultErrorCodes implements ErrorCode {
     INVALID_PAYLOAD("INVALID_PAYLOAD"),
 
     BAD_GATEWAY("BAD_GATEWAY"),
+    GATEWAY_TIMEOUT("GATEWAY_TIMEOUT"),
     CONFLICT("CONFLICT"),
     MAX_AMOUNT_OF_RESOURCES("MAX_AMOUNT_OF_RESOURCES"),
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR"),
@@ -2,9 +2,11 @@ package pro.api4.jsonapi4j.operation;
 
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.util.CompletionStages;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * This is an advanced concept - it's not required to make the framework works for main scenarios. It only helps
@@ -23,6 +25,8 @@ import java.util.Map;
 public interface BatchReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO>
         extends ReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO> {
 
+    String READ_BATCHES_ASYNC_METHOD_NAME = "readBatchesAsync";
+
     /**
      * Reads a resource linkage objects that relates to this relationship in batch.
      * If no relationship exist returns <code>null</code> {@link PaginationAwareResponse}
@@ -34,4 +38,22 @@ public interface BatchReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP
     Map<RESOURCE_DTO, PaginationAwareResponse<RELATIONSHIP_DTO>> readBatches(JsonApiRequest originalRequest,
                                                                              List<RESOURCE_DTO> resourceDtos);
 
+    /**
+     * Asynchronous variant of {@link #readBatches(JsonApiRequest, List)}. Override it if the data source has a
+     * non-blocking client.
+     * <p>
+     * By default, falling back to {@link #readBatches(JsonApiRequest, List)} invocation in the calling thread.
+     *
+     * @param originalRequest incoming {@link JsonApiRequest}
+     * @param resourceDtos    contextual list of primary resource's {@link RESOURCE_DTO}
+     * @return stage completed with map of ({@link RESOURCE_DTO} / {@link PaginationAwareResponse} of
+     * {@link RELATIONSHIP_DTO}) pairs
+     */
+    default CompletionStage<Map<RESOURCE_DTO, PaginationAwareResponse<RELATIONSHIP_DTO>>> readBatchesAsync(
+            JsonApiRequest originalRequest,
+            List<RESOURCE_DTO> resourceDtos
+    ) {
+        return CompletionStages.supply(() -> readBatches(originalRequest, resourceDtos));
+    }
+
 }
@@ -3,6 +3,9 @@ package pro.api4.jsonapi4j.operation;
 import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+import pro.api4.jsonapi4j.util.CompletionStages;
+
+import java.util.concurrent.CompletionStage;
 
 /**
  * Implement this interface to let jsonapi4j framework to know how to read multiple resources. This implies both
@@ -59,6 +62,7 @@ import pro.api4.jsonapi4j.response.PaginationAwareResponse;
 public interface ReadMultipleResourcesOperation<RESOURCE_DTO> extends ResourceOperation {
 
     String READ_PAGE_METHOD_NAME = "readPage";
+    String READ_PAGE_ASYNC_METHOD_NAME = "readPageAsync";
     String ID_FILTER_NAME = "id";
 
     /**
@@ -73,4 +77,17 @@ public interface ReadMultipleResourcesOperation<RESOURCE_DTO> extends ResourceOp
      */
     PaginationAwareResponse<RESOURCE_DTO> readPage(JsonApiRequest request);
 
+    /**
+     * Asynchronous variant of {@link #readPage(JsonApiRequest)}. Override it if the data source has a non-blocking
+     * client, so that no thread is held while the downstream call is in flight.
+     * <p>
+     * By default, falling back to {@link #readPage(JsonApiRequest)} invocation in the calling thread.
+     *
+     * @param request incoming {@link JsonApiRequest}
+     * @return stage completed with {@link PaginationAwareResponse} of downstream {@link RESOURCE_DTO}
+     */
+    default CompletionStage<PaginationAwareResponse<RESOURCE_DTO>> readPageAsync(JsonApiRequest request) {
+        return CompletionStages.supply(() -> readPage(request));
+    }
+
 }
@@ -2,6 +2,9 @@ package pro.api4.jsonapi4j.operation;
 
 import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.util.CompletionStages;
+
+import java.util.concurrent.CompletionStage;
 
 /**
  * Implement this interface to let jsonapi4j framework to know how to read a resource by id.
@@ -27,6 +30,7 @@ import pro.api4.jsonapi4j.request.JsonApiRequest;
 public interface ReadResourceByIdOperation<RESOURCE_DTO> extends ResourceOperation {
 
     String READ_BY_ID_METHOD_NAME = "readById";
+    String READ_BY_ID_ASYNC_METHOD_NAME = "readByIdAsync";
 
     /**
      * Reads a single resource.
@@ -36,4 +40,18 @@ public interface ReadResourceByIdOperation<RESOURCE_DTO> extends ResourceOperati
      */
     RESOURCE_DTO readById(JsonApiRequest request);
 
+    /**
+     * Asynchronous variant of {@link #readById(JsonApiRequest)}. Override it if the data source has a non-blocking
+     * client. The framework also uses it to read resources concurrently when it mimics
+     * {@link ReadMultipleResourcesOperation} via this operation.
+     * <p>
+     * By default, falling back to {@link #readById(JsonApiRequest)} invocation in the calling thread.
+     *
+     * @param request incoming {@link JsonApiRequest}
+     * @return stage completed with {@link RESOURCE_DTO} instance that relates to the current resource
+     */
+    default CompletionStage<RESOURCE_DTO> readByIdAsync(JsonApiRequest request) {
+        return CompletionStages.supply(() -> readById(request));
+    }
+
 }
@@ -3,6 +3,9 @@ package pro.api4.jsonapi4j.operation;
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
 import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
+import pro.api4.jsonapi4j.util.CompletionStages;
+
+import java.util.concurrent.CompletionStage;
 
 /**
  * Implement this interface to let jsonapi4j framework to know how to resolve this to-many relationship of the given resource.
@@ -28,6 +31,7 @@ import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
 public interface ReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO> extends RelationshipOperation {
 
     String READ_MANY_METHOD_NAME = "readMany";
+    String READ_MANY_FOR_RESOURCE_ASYNC_METHOD_NAME = "readManyForResourceAsync";
 
     /**
      * Triggered when the standalone relationship request is sent
@@ -60,4 +64,24 @@ public interface ReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO>
         return readMany(relationshipRequest);
     }
 
+    /**
+     * Asynchronous variant of {@link #readManyForResource(JsonApiRequest, Object)}. Override it if the data source
+     * has a non-blocking client: the framework then resolves this relationship for all primary resources without
+     * holding a thread per downstream call.
+     * <p>
+     * By default, falling back to {@link #readManyForResource(JsonApiRequest, Object)} invocation in the calling
+     * thread.
+     *
+     * @param relationshipRequest relationship {@link JsonApiRequest}
+     * @param resourceDto         parent resource DTO
+     * @return stage completed with {@link PaginationAwareResponse} containing the first page of
+     * {@link RELATIONSHIP_DTO} items
+     */
+    default CompletionStage<PaginationAwareResponse<RELATIONSHIP_DTO>> readManyForResourceAsync(
+            JsonApiRequest relationshipRequest,
+            RESOURCE_DTO resourceDto
+    ) {
+        return CompletionStages.supply(() -> readManyForResource(relationshipRequest, resourceDto));
+    }
+
 }
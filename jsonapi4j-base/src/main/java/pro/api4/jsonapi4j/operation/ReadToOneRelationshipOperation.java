@@ -2,6 +2,9 @@ package pro.api4.jsonapi4j.operation;
 
 import pro.api4.jsonapi4j.request.JsonApiRequest;
 import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
+import pro.api4.jsonapi4j.util.CompletionStages;
+
+import java.util.concurrent.CompletionStage;
 
 /**
  * Implement this interface to let jsonapi4j framework to know how to resolve this to-one relationship of the given resource.
@@ -27,6 +30,7 @@ import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
 public interface ReadToOneRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO> extends RelationshipOperation {
 
     String READ_ONE_METHOD_NAME = "readOne";
+    String READ_ONE_FOR_RESOURCE_ASYNC_METHOD_NAME = "readOneForResourceAsync";
 
     /**
      * Triggered when the standalone request is sent for this relationship.
@@ -61,4 +65,21 @@ public interface ReadToOneRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO>
         return readOne(relationshipRequest);
     }
 
+    /**
+     * Asynchronous variant of {@link #readOneForResource(JsonApiRequest, Object)}. Override it if the data source
+     * has a non-blocking client: the framework then resolves this relationship for all primary resources without
+     * holding a thread per downstream call.
+     * <p>
+     * By default, falling back to {@link #readOneForResource(JsonApiRequest, Object)} invocation in the calling
+     * thread.
+     *
+     * @param relationshipRequest relationship {@link JsonApiRequest}
+     * @param resourceDto         parent resource DTO
+     * @return stage completed with {@link RELATIONSHIP_DTO} item
+     */
+    default CompletionStage<RELATIONSHIP_DTO> readOneForResourceAsync(JsonApiRequest relationshipRequest,
+                                                                      RESOURCE_DTO resourceDto) {
+        return CompletionStages.supply(() -> readOneForResource(relationshipRequest, resourceDto));
+    }
+
 }
@@ -0,0 +1,54 @@
+package pro.api4.jsonapi4j.operation;
+
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+import pro.api4.jsonapi4j.response.PaginationAwareStream;
+
+/**
+ * Streaming variant of {@link ReadMultipleResourcesOperation} for very large pages and exports.
+ * <p>
+ * Instead of a whole page the operation returns a {@link PaginationAwareStream}. The framework consumes it in windows
+ * of {@link #windowSize()} items: every window goes through the regular pipeline - attributes, links, meta, plugins
+ * and relationship resolution, including batch relationship operations invoked once per window - and its resources
+ * are written to the response before the next window is read. Memory use is bounded by the window, not by the page.
+ * <p>
+ * Streaming starts once the response is committed. Failures occurring after that can't be turned into an error
+ * document anymore; the response is then aborted. Response headers and status propagated by relationship operations
+ * of the streamed windows are ignored for the same reason.
+ * <p>
+ * {@link #readPage(JsonApiRequest)} is implemented by consuming the whole stream into memory. It's used wherever the
+ * framework needs a materialized page, e.g. by {@code JsonApi4j#readMultipleResources}.
+ *
+ * @param <RESOURCE_DTO> a downstream object type that encapsulates internal model implementation and of this
+ *                       JSON:API resource
+ */
+public interface StreamingReadMultipleResourcesOperation<RESOURCE_DTO> extends ReadMultipleResourcesOperation<RESOURCE_DTO> {
+
+    String READ_PAGE_STREAM_METHOD_NAME = "readPageStream";
+    int DEFAULT_WINDOW_SIZE = 500;
+
+    /**
+     * Opens a stream of the requested resources. The framework closes it once the response is written or the
+     * request fails.
+     *
+     * @param request incoming {@link JsonApiRequest}
+     * @return {@link PaginationAwareStream} of downstream {@link RESOURCE_DTO}
+     */
+    PaginationAwareStream<RESOURCE_DTO> readPageStream(JsonApiRequest request);
+
+    /**
+     * Number of resources processed and written at once. Batch relationship operations are invoked once per window,
+     * so it's also the size of their batches. {@link #DEFAULT_WINDOW_SIZE} by default.
+     *
+     * @return positive window size
+     */
+    default int windowSize() {
+        return DEFAULT_WINDOW_SIZE;
+    }
+
+    @Override
+    default PaginationAwareResponse<RESOURCE_DTO> readPage(JsonApiRequest request) {
+        return readPageStream(request).toResponse();
+    }
+
+}
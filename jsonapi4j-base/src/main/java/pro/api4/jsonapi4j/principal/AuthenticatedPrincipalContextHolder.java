@@ -1,5 +1,6 @@
 package pro.api4.jsonapi4j.principal;
 
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.principal.tier.AccessTier;
 
 import java.util.Map;
@@ -7,37 +8,42 @@ import java.util.Optional;
 import java.util.Set;
 
 /**
- * Thread-local holder for the {@link Principal} of the currently authenticated request.
+ * Holder for the {@link Principal} of the currently authenticated request.
  * <p>
- * The servlet layer sets the principal on the incoming thread at the start of each request
- * and clears it when the request completes. Plugins and application code can read the
- * principal at any point during request processing using the static accessor methods.
- * <p>
- * Not thread-safe for cross-thread use — all accesses must occur on the same request thread.
+ * The servlet layer binds a {@link RequestContext} with the principal at the start of each request
+ * and unbinds it when the request completes. Plugins and application code can read the
+ * principal at any point during request processing using the static accessor methods, also from
+ * subtasks forked via {@link pro.api4.jsonapi4j.util.TaskScope} which inherit the request context.
  */
 public class AuthenticatedPrincipalContextHolder {
 
-    private static final ThreadLocal<Principal> PRINCIPAL = new ThreadLocal<>();
-
     /**
-     * Stores the given {@link Principal} in the current thread's context.
-     * Called by the principal-resolving servlet filter at the start of each request.
+     * Stores the given {@link Principal} in the current thread's {@link RequestContext}.
+     * Response headers and status collected by the context are kept, unless the context is cleared.
      *
      * @param principal the authenticated principal, or {@code null} to clear the context
      */
     public static void setAuthenticatedPrincipalContext(Principal principal) {
-        PRINCIPAL.set(principal);
+        if (principal == null) {
+            RequestContext.clear();
+            return;
+        }
+        // the binding is never closed, it lasts until the context is cleared or another one is bound to the thread
+        //noinspection resource
+        RequestContext.current().withPrincipal(principal).bind();
     }
 
     /**
      * Returns a defensive copy of the current thread's {@link Principal}, or {@code null}
-     * if no principal is set. The copy shares the same field values but is a separate object,
-     * safe to pass to asynchronous contexts.
+     * if no principal is set. The copy shares the same field values but is a separate object.
      *
      * @return a copy of the current principal, or {@code null}
+     * @deprecated not needed to pass the principal to asynchronous tasks anymore, subtasks forked via
+     * {@link pro.api4.jsonapi4j.util.TaskScope} or wrapped by {@link RequestContext#wrap(Runnable)} inherit it
      */
+    @Deprecated
     public static Principal copy() {
-        Principal principal = PRINCIPAL.get();
+        Principal principal = getPrincipal().orElse(null);
         if (principal == null) {
             return null;
         }
@@ -71,7 +77,7 @@ public class AuthenticatedPrincipalContextHolder {
      * @return optional access tier
      */
     public static Optional<AccessTier> getAccessTier() {
-        return Optional.ofNullable(PRINCIPAL.get()).map(Principal::authenticatedClientAccessTier);
+        return RequestContext.currentPrincipal().map(Principal::authenticatedClientAccessTier);
     }
 
     /**
@@ -81,7 +87,7 @@ public class AuthenticatedPrincipalContextHolder {
      * @return optional set of scope strings
      */
     public static Optional<Set<String>> getScopes() {
-        return Optional.ofNullable(PRINCIPAL.get()).map(Principal::authenticatedClientScopes);
+        return RequestContext.currentPrincipal().map(Principal::authenticatedClientScopes);
     }
 
     /**
@@ -91,7 +97,7 @@ public class AuthenticatedPrincipalContextHolder {
      * @return optional user id
      */
     public static Optional<String> getAuthenticatedUserId() {
-        return Optional.ofNullable(PRINCIPAL.get()).map(Principal::authenticatedUserId);
+        return RequestContext.currentPrincipal().map(Principal::authenticatedUserId);
     }
 
     /**
@@ -101,7 +107,7 @@ public class AuthenticatedPrincipalContextHolder {
      * @return optional user-specific claims
      */
     public static Optional<Map<String, Object>> getAttributes() {
-        return Optional.ofNullable(PRINCIPAL.get()).map(Principal::attributes);
+        return RequestContext.currentPrincipal().map(Principal::attributes);
     }
 
     /**
@@ -111,7 +117,7 @@ public class AuthenticatedPrincipalContextHolder {
      * @return optional principal
      */
     public static Optional<Principal> getPrincipal() {
-        return Optional.ofNullable(PRINCIPAL.get());
+        return RequestContext.currentPrincipal();
     }
 
 }
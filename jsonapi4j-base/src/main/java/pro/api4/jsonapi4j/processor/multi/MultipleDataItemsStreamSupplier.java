@@ -0,0 +1,26 @@
+package pro.api4.jsonapi4j.processor.multi;
+
+import pro.api4.jsonapi4j.processor.exception.DataRetrievalException;
+import pro.api4.jsonapi4j.response.PaginationAwareStream;
+
+/**
+ * Streaming counterpart of {@link MultipleDataItemsSupplier}. Opens a lazily consumed stream of downstream DTOs that
+ * the processor reads window by window.
+ *
+ * @param <REQUEST>       the request type
+ * @param <DATA_ITEM_DTO> the downstream DTO type returned by the data source
+ */
+@FunctionalInterface
+public interface MultipleDataItemsStreamSupplier<REQUEST, DATA_ITEM_DTO> {
+
+    /**
+     * Opens the stream of downstream DTOs for the given request.
+     *
+     * @param request the current request
+     * @return a {@link PaginationAwareStream}, <code>null</code> is treated the same way as a <code>null</code>
+     *         {@link pro.api4.jsonapi4j.response.PaginationAwareResponse}
+     * @throws DataRetrievalException if the underlying data retrieval fails
+     */
+    PaginationAwareStream<DATA_ITEM_DTO> get(REQUEST request) throws DataRetrievalException;
+
+}
@@ -1,9 +1,11 @@
 package pro.api4.jsonapi4j.processor.resolvers;
 
 import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipObject;
+import pro.api4.jsonapi4j.util.CompletionStages;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Functional interface that resolves to-many relationship data for multiple resources in one call.
@@ -33,4 +35,25 @@ public interface BatchToManyRelationshipResolver<REQUEST, DATA_SOURCE_DTO> {
     Map<DATA_SOURCE_DTO, ToManyRelationshipObject> resolveRequestedData(REQUEST request,
                                                                         List<DATA_SOURCE_DTO> dataSourceDtos);
 
+    /**
+     * Non-blocking variant of the resolver. Processors compose the returned stages instead of occupying a thread
+     * per invocation, so a single thread can wait for any number of downstream calls.
+     */
+    @FunctionalInterface
+    interface Async<REQUEST, DATA_SOURCE_DTO> extends BatchToManyRelationshipResolver<REQUEST, DATA_SOURCE_DTO> {
+
+        CompletionStage<Map<DATA_SOURCE_DTO, ToManyRelationshipObject>> resolveRequestedDataAsync(REQUEST request,
+                                                                                                  List<DATA_SOURCE_DTO> dataSourceDtos);
+
+        /**
+         * Blocks until {@link #resolveRequestedDataAsync} completes.
+         */
+        @Override
+        default Map<DATA_SOURCE_DTO, ToManyRelationshipObject> resolveRequestedData(REQUEST request,
+                                                                                    List<DATA_SOURCE_DTO> dataSourceDtos) {
+            return CompletionStages.join(resolveRequestedDataAsync(request, dataSourceDtos));
+        }
+
+    }
+
 }
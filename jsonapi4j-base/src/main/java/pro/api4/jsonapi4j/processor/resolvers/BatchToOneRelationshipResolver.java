@@ -2,9 +2,11 @@ package pro.api4.jsonapi4j.processor.resolvers;
 
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipDoc;
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
+import pro.api4.jsonapi4j.util.CompletionStages;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Functional interface that resolves to-one relationship data for multiple resources in one call.
@@ -34,4 +36,25 @@ public interface BatchToOneRelationshipResolver<REQUEST, DATA_SOURCE_DTO> {
     Map<DATA_SOURCE_DTO, ToOneRelationshipObject> resolveRequestedData(REQUEST request,
                                                                        List<DATA_SOURCE_DTO> dataSourceDtos);
 
+    /**
+     * Non-blocking variant of the resolver. Processors compose the returned stages instead of occupying a thread
+     * per invocation, so a single thread can wait for any number of downstream calls.
+     */
+    @FunctionalInterface
+    interface Async<REQUEST, DATA_SOURCE_DTO> extends BatchToOneRelationshipResolver<REQUEST, DATA_SOURCE_DTO> {
+
+        CompletionStage<Map<DATA_SOURCE_DTO, ToOneRelationshipObject>> resolveRequestedDataAsync(REQUEST request,
+                                                                                                 List<DATA_SOURCE_DTO> dataSourceDtos);
+
+        /**
+         * Blocks until {@link #resolveRequestedDataAsync} completes.
+         */
+        @Override
+        default Map<DATA_SOURCE_DTO, ToOneRelationshipObject> resolveRequestedData(REQUEST request,
+                                                                                   List<DATA_SOURCE_DTO> dataSourceDtos) {
+            return CompletionStages.join(resolveRequestedDataAsync(request, dataSourceDtos));
+        }
+
+    }
+
 }
@@ -1,6 +1,9 @@
 package pro.api4.jsonapi4j.processor.resolvers;
 
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
+import pro.api4.jsonapi4j.util.CompletionStages;
+
+import java.util.concurrent.CompletionStage;
 
 /**
  * Functional interface that resolves the to-one relationship data for a single resource.
@@ -25,4 +28,25 @@ public interface ToOneRelationshipResolver<REQUEST, DATA_SOURCE_DTO> {
     ToOneRelationshipObject resolveRequestedData(REQUEST request,
                                                  DATA_SOURCE_DTO dataSourceDto);
 
+    /**
+     * Non-blocking variant of the resolver. Processors compose the returned stages instead of occupying a thread
+     * per invocation, so a single thread can wait for any number of downstream calls.
+     */
+    @FunctionalInterface
+    interface Async<REQUEST, DATA_SOURCE_DTO> extends ToOneRelationshipResolver<REQUEST, DATA_SOURCE_DTO> {
+
+        CompletionStage<ToOneRelationshipObject> resolveRequestedDataAsync(REQUEST request,
+                                                                           DATA_SOURCE_DTO dataSourceDto);
+
+        /**
+         * Blocks until {@link #resolveRequestedDataAsync} completes.
+         */
+        @Override
+        default ToOneRelationshipObject resolveRequestedData(REQUEST request,
+                                                             DATA_SOURCE_DTO dataSourceDto) {
+            return CompletionStages.join(resolveRequestedDataAsync(request, dataSourceDto));
+        }
+
+    }
+
 }
@@ -1,5 +1,6 @@
 package pro.api4.jsonapi4j.request;
 
+import static pro.api4.jsonapi4j.request.util.JsonApiRequestParsingUtil.isBracketedParam;
 
 /**
  * Composite request mixin that exposes both cursor-based and limit-offset pagination parameters.
@@ -18,8 +19,7 @@ public interface PaginationAwareRequest extends LimitOffsetAwareRequest, CursorA
         if (paramName == null) {
             return false;
         }
-        String regex = "^page\\[.+]$";
-        return paramName.matches(regex);
+        return isBracketedParam(paramName, "page[");
     }
 
 }
@@ -4,9 +4,10 @@ import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static pro.api4.jsonapi4j.request.util.JsonApiRequestParsingUtil.isBracketedParam;
+
 /**
  * Request mixin that exposes JSON:API sparse fieldsets query parameters.
  *
@@ -35,19 +36,16 @@ public interface SparseFieldsetsAwareRequest {
         if (paramName == null) {
             return false;
         }
-        String regex = "^fields\\[.+]$";
-        return paramName.matches(regex);
+        return isBracketedParam(paramName, "fields[");
     }
 
     static String extractResourceType(String paramName) {
         if (paramName == null) {
             return null;
         }
-        Matcher matcher = PATTERN.matcher(paramName);
-        if (matcher.matches()) {
-            return matcher.group(1);
-        }
-        return null;
+        return isBracketedParam(paramName, "fields[")
+                ? paramName.substring("fields[".length(), paramName.length() - 1)
+                : null;
     }
 
     /**
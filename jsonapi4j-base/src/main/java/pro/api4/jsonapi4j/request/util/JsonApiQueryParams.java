@@ -0,0 +1,45 @@
+package pro.api4.jsonapi4j.request.util;
+
+import pro.api4.jsonapi4j.request.SortAwareRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query parameters of a JSON:API request, classified in a single pass by
+ * {@link JsonApiRequestParsingUtil#parseQueryParams(Map)}.
+ *
+ * <p>All collections are unmodifiable. Filters and field sets are ordered by their keys, all value lists are sorted
+ * and hold no duplicates.
+ *
+ * @param filters           {@code filter[<name>]} values by filter name
+ * @param fieldSets         {@code fields[<type>]} values by resource type
+ * @param includes          {@code include} paths
+ * @param sortBy            {@code sort} fields with their order
+ * @param cursor            {@code page[cursor]}, nullable
+ * @param limit             {@code page[limit]}, nullable
+ * @param offset            {@code page[offset]}, nullable
+ * @param customQueryParams all parameters that are not reserved by JSON:API
+ */
+public record JsonApiQueryParams(Map<String, List<String>> filters,
+                                 Map<String, List<String>> fieldSets,
+                                 List<String> includes,
+                                 Map<String, SortAwareRequest.SortOrder> sortBy,
+                                 String cursor,
+                                 Long limit,
+                                 Long offset,
+                                 Map<String, List<String>> customQueryParams) {
+
+    public static final JsonApiQueryParams EMPTY = new JsonApiQueryParams(
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            null,
+            null,
+            null,
+            Collections.emptyMap()
+    );
+
+}
@@ -4,22 +4,15 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pro.api4.jsonapi4j.request.CursorAwareRequest;
 import pro.api4.jsonapi4j.request.IncludeAwareRequest;
 import pro.api4.jsonapi4j.request.JsonApiMediaType;
+import pro.api4.jsonapi4j.request.LimitOffsetAwareRequest;
 import pro.api4.jsonapi4j.request.SortAwareRequest;
-import pro.api4.jsonapi4j.util.CustomCollectors;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static pro.api4.jsonapi4j.request.FiltersAwareRequest.extractFilterName;
-import static pro.api4.jsonapi4j.request.FiltersAwareRequest.isJsonApiFilterParam;
-import static pro.api4.jsonapi4j.request.PaginationAwareRequest.isJsonApiPaginationParam;
-import static pro.api4.jsonapi4j.request.SparseFieldsetsAwareRequest.extractResourceType;
-import static pro.api4.jsonapi4j.request.SparseFieldsetsAwareRequest.isJsonApiFieldsParam;
 
 /**
  * Utility class for parsing raw HTTP request data into structured JSON:API request components.
@@ -32,6 +25,10 @@ public final class JsonApiRequestParsingUtil {
 
     private static final Logger log = LoggerFactory.getLogger(JsonApiRequestParsingUtil.class);
 
+    private static final String FILTER_PARAM_PREFIX = "filter[";
+    private static final String FIELDS_PARAM_PREFIX = "fields[";
+    private static final String PAGE_PARAM_PREFIX = "page[";
+
     private JsonApiRequestParsingUtil() {
 
     }
@@ -49,25 +46,33 @@ public final class JsonApiRequestParsingUtil {
     }
 
     public static List<String> parseEffectiveIncludes(List<String> paramValue) {
-        return parseCommaSeparatedParam(paramValue)
-                .map(include -> include.split("\\.")[0])
-                .sorted()
-                .toList();
+        List<String> originalIncludes = parseCommaSeparatedParam(paramValue);
+        if (originalIncludes.isEmpty()) {
+            return originalIncludes;
+        }
+        List<String> effectiveIncludes = new ArrayList<>(originalIncludes.size());
+        for (String include : originalIncludes) {
+            int dot = include.indexOf('.');
+            effectiveIncludes.add(dot < 0 ? include : include.substring(0, dot));
+        }
+        effectiveIncludes.sort(null);
+        return Collections.unmodifiableList(effectiveIncludes);
     }
 
     public static List<String> parseOriginalIncludes(List<String> paramValue) {
-        return parseCommaSeparatedParam(paramValue)
-                .sorted()
-                .toList();
+        return parseCommaSeparatedParam(paramValue);
     }
 
     public static Map<String, SortAwareRequest.SortOrder> parseSortBy(List<String> paramValue) {
-        return parseCommaSeparatedParam(paramValue)
-                .sorted()
-                .collect(CustomCollectors.toOrderedMap(
-                        SortAwareRequest::extractSortBy,
-                        SortAwareRequest::extractSortOrder
-                ));
+        List<String> sortBy = parseCommaSeparatedParam(paramValue);
+        if (sortBy.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, SortAwareRequest.SortOrder> result = new LinkedHashMap<>();
+        for (String sortByParam : sortBy) {
+            result.put(SortAwareRequest.extractSortBy(sortByParam), SortAwareRequest.extractSortOrder(sortByParam));
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     public static String parseCursor(List<String> cursorParamValue) {
@@ -105,43 +110,106 @@ public final class JsonApiRequestParsingUtil {
         }).orElse(null);
     }
 
+    /**
+     * Classifies every query parameter of a request in a single pass, without regular expressions. Prefer this over
+     * calling the individual {@code parse*} methods one after another, each of which scans all parameters again.
+     *
+     * @param params query parameters as returned by {@code ServletRequest#getParameterMap()}, nullable
+     * @return parsed parameters, never {@code null}
+     */
+    public static JsonApiQueryParams parseQueryParams(Map<String, String[]> params) {
+        if (params == null || params.isEmpty()) {
+            return JsonApiQueryParams.EMPTY;
+        }
+        Map<String, List<String>> filters = null;
+        Map<String, List<String>> fieldSets = null;
+        Map<String, List<String>> customQueryParams = null;
+        List<String> includes = Collections.emptyList();
+        Map<String, SortAwareRequest.SortOrder> sortBy = Collections.emptyMap();
+        String cursor = null;
+        Long limit = null;
+        Long offset = null;
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            String name = param.getKey();
+            if (name == null || param.getValue() == null) {
+                continue;
+            }
+            List<String> values = Arrays.asList(param.getValue());
+            switch (name) {
+                case IncludeAwareRequest.INCLUDE_PARAM -> includes = parseOriginalIncludes(values);
+                case SortAwareRequest.SORT_PARAM -> sortBy = parseSortBy(values);
+                case CursorAwareRequest.CURSOR_PARAM -> cursor = parseCursor(values);
+                case LimitOffsetAwareRequest.LIMIT_PARAM -> limit = parseLimit(values);
+                case LimitOffsetAwareRequest.OFFSET_PARAM -> offset = parseOffset(values);
+                default -> {
+                    if (isBracketedParam(name, FILTER_PARAM_PREFIX)) {
+                        filters = putBracketedParam(filters, name, FILTER_PARAM_PREFIX, values);
+                    } else if (isBracketedParam(name, FIELDS_PARAM_PREFIX)) {
+                        fieldSets = putBracketedParam(fieldSets, name, FIELDS_PARAM_PREFIX, values);
+                    } else if (!isBracketedParam(name, PAGE_PARAM_PREFIX) && hasNonBlankValue(values)) {
+                        if (customQueryParams == null) {
+                            customQueryParams = new LinkedHashMap<>();
+                        }
+                        customQueryParams.put(name, parseCommaSeparatedParam(values));
+                    }
+                }
+            }
+        }
+        return new JsonApiQueryParams(
+                unmodifiableOrEmpty(filters),
+                unmodifiableOrEmpty(fieldSets),
+                includes,
+                sortBy,
+                cursor,
+                limit,
+                offset,
+                unmodifiableOrEmpty(customQueryParams)
+        );
+    }
+
     public static Map<String, List<String>> parseFilter(Map<String, List<String>> params) {
-        return params.entrySet()
-                .stream()
-                .sorted(Map.Entry.comparingByKey())
-                .filter(e -> isJsonApiFilterParam(e.getKey()))
-                .collect(Collectors.groupingBy(
-                        e -> extractFilterName(e.getKey()),
-                        LinkedHashMap::new,
-                        Collectors.flatMapping(
-                                e -> parseCommaSeparatedParam(e.getValue()),
-                                Collectors.collectingAndThen(Collectors.toList(),
-                                        values -> values.stream().sorted().toList())
-                        )
-                ));
+        Map<String, List<String>> filters = null;
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            if (isBracketedParam(param.getKey(), FILTER_PARAM_PREFIX)) {
+                filters = putBracketedParam(filters, param.getKey(), FILTER_PARAM_PREFIX, param.getValue());
+            }
+        }
+        return unmodifiableOrEmpty(filters);
     }
 
     public static Map<String, List<String>> parseFieldSets(Map<String, List<String>> params) {
-        return params.entrySet()
-                .stream()
-                .filter(e -> isJsonApiFieldsParam(e.getKey()))
-                .sorted(Map.Entry.comparingByKey())
-                .collect(CustomCollectors.toOrderedMap(
-                        e -> extractResourceType(e.getKey()),
-                        e -> parseCommaSeparatedParam(e.getValue()).sorted().toList()
-                ));
+        Map<String, List<String>> fieldSets = null;
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            if (isBracketedParam(param.getKey(), FIELDS_PARAM_PREFIX)) {
+                fieldSets = putBracketedParam(fieldSets, param.getKey(), FIELDS_PARAM_PREFIX, param.getValue());
+            }
+        }
+        return unmodifiableOrEmpty(fieldSets);
     }
 
     public static Map<String, List<String>> parseCustomQueryParams(Map<String, List<String>> params) {
-        return params.entrySet()
-                .stream()
-                .filter(e -> isNotJsonApiParam(e.getKey()))
-                .filter(e -> !e.getValue().isEmpty())
-                .filter(e -> e.getValue().stream().anyMatch(StringUtils::isNotBlank))
-                .collect(CustomCollectors.toOrderedMap(
-                        Map.Entry::getKey,
-                        e -> parseCommaSeparatedParam(e.getValue()).sorted().toList())
-                );
+        Map<String, List<String>> customQueryParams = null;
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            if (isNotJsonApiParam(param.getKey()) && hasNonBlankValue(param.getValue())) {
+                if (customQueryParams == null) {
+                    customQueryParams = new LinkedHashMap<>();
+                }
+                customQueryParams.put(param.getKey(), parseCommaSeparatedParam(param.getValue()));
+            }
+        }
+        return unmodifiableOrEmpty(customQueryParams);
+    }
+
+    /**
+     * @param paramName parameter name, nullable
+     * @param prefix    parameter family including the opening bracket, e.g. {@code filter[}
+     * @return {@code true} if the name is {@code <prefix><non-empty key>]}
+     */
+    public static boolean isBracketedParam(String paramName, String prefix) {
+        return paramName != null
+                && paramName.length() > prefix.length() + 1
+                && paramName.startsWith(prefix)
+                && paramName.charAt(paramName.length() - 1) == ']';
     }
 
     public static URI parseExt(String contentType) {
@@ -177,26 +245,84 @@ public final class JsonApiRequestParsingUtil {
         return input.substring(start, end);
     }
 
-    private static Stream<String> parseCommaSeparatedParam(List<String> paramValue) {
+    /**
+     * Splits comma-separated values of a parameter into a sorted list of distinct, trimmed, non-blank values.
+     */
+    private static List<String> parseCommaSeparatedParam(List<String> paramValue) {
+        if (paramValue == null || paramValue.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        for (String value : paramValue) {
+            if (value != null) {
+                splitCommaSeparated(value, values);
+            }
+        }
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        values.sort(null);
+        int distinct = 1;
+        for (int i = 1; i < values.size(); i++) {
+            if (!values.get(i).equals(values.get(distinct - 1))) {
+                values.set(distinct++, values.get(i));
+            }
+        }
+        return Collections.unmodifiableList(distinct == values.size() ? values : values.subList(0, distinct));
+    }
+
+    private static void splitCommaSeparated(String value, List<String> target) {
+        int start = 0;
+        while (true) {
+            int comma = value.indexOf(',', start);
+            int from = start;
+            int to = comma < 0 ? value.length() : comma;
+            while (from < to && value.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && value.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            if (from < to) {
+                target.add(value.substring(from, to));
+            }
+            if (comma < 0) {
+                return;
+            }
+            start = comma + 1;
+        }
+    }
+
+    private static Map<String, List<String>> putBracketedParam(Map<String, List<String>> target,
+                                                               String paramName,
+                                                               String prefix,
+                                                               List<String> paramValue) {
+        Map<String, List<String>> result = target != null ? target : new TreeMap<>();
+        result.put(paramName.substring(prefix.length(), paramName.length() - 1), parseCommaSeparatedParam(paramValue));
+        return result;
+    }
+
+    private static boolean hasNonBlankValue(List<String> paramValue) {
         if (paramValue != null) {
-            return paramValue.stream()
-                    .filter(Objects::nonNull)
-                    .filter(v -> !v.isBlank())
-                    .map(String::trim)
-                    .flatMap(v -> Arrays.stream(v.split(",")))
-                    .filter(v -> !v.isBlank())
-                    .map(String::trim)
-                    .distinct();
+            for (String value : paramValue) {
+                if (StringUtils.isNotBlank(value)) {
+                    return true;
+                }
+            }
         }
-        return Stream.empty();
+        return false;
+    }
 
+    private static <V> Map<String, V> unmodifiableOrEmpty(Map<String, V> map) {
+        return map == null ? Collections.emptyMap() : Collections.unmodifiableMap(map);
     }
 
     private static boolean isNotJsonApiParam(String paramName) {
-        return !isJsonApiPaginationParam(paramName) &&
+        return paramName != null &&
+                !isBracketedParam(paramName, PAGE_PARAM_PREFIX) &&
                 !paramName.equals(IncludeAwareRequest.INCLUDE_PARAM) &&
-                !isJsonApiFieldsParam(paramName) &&
-                !isJsonApiFilterParam(paramName) &&
+                !isBracketedParam(paramName, FIELDS_PARAM_PREFIX) &&
+                !isBracketedParam(paramName, FILTER_PARAM_PREFIX) &&
                 !paramName.equals(SortAwareRequest.SORT_PARAM);
     }
 
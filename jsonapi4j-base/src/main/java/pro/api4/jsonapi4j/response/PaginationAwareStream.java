@@ -0,0 +1,147 @@
+package pro.api4.jsonapi4j.response;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streamed counterpart of {@link PaginationAwareResponse}. Items are consumed lazily, one window at a time, so
+ * the whole page never has to be in memory. Typical sources are a database cursor, a paged downstream API, or a
+ * file being exported.
+ * <p>
+ * The pagination context is resolved only after all items have been consumed, so it can depend on them - e.g. a
+ * keyset cursor built from the last item.
+ * <p>
+ * Must be closed once consumed. Closing it closes the underlying {@link Stream}, so resources registered via
+ * {@link Stream#onClose(Runnable)} (connections, result sets) are released.
+ *
+ * @param <DATA_SOURCE_DTO> type of downstream dto
+ */
+public final class PaginationAwareStream<DATA_SOURCE_DTO> implements AutoCloseable {
+
+    private final Stream<DATA_SOURCE_DTO> items;
+    private final Supplier<PaginationContext> paginationContextSupplier;
+    private PaginationContext paginationContext;
+    private boolean paginationContextResolved;
+
+    private PaginationAwareStream(Stream<DATA_SOURCE_DTO> items,
+                                  Supplier<PaginationContext> paginationContextSupplier) {
+        Validate.notNull(items, "items can't be null");
+        Validate.notNull(paginationContextSupplier, "paginationContextSupplier can't be null");
+        this.items = items.filter(Objects::nonNull);
+        this.paginationContextSupplier = paginationContextSupplier;
+    }
+
+    /**
+     * Creates a stream with <code>null</code> pagination context, e.g. for exports that always return everything.
+     *
+     * @param items stream of downstream dtos
+     * @param <T>   type of downstream dto
+     * @return an instance of {@link PaginationAwareStream}
+     */
+    public static <T> PaginationAwareStream<T> fromItemsNotPageable(Stream<T> items) {
+        return new PaginationAwareStream<>(items, () -> null);
+    }
+
+    /**
+     * Variation of {@link #fromItemsNotPageable(Stream)} for iterator-based sources.
+     *
+     * @param items iterator over downstream dtos
+     * @param <T>   type of downstream dto
+     * @return an instance of {@link PaginationAwareStream}
+     */
+    public static <T> PaginationAwareStream<T> fromItemsNotPageable(Iterator<T> items) {
+        return fromItemsNotPageable(toStream(items));
+    }
+
+    /**
+     * Creates a stream with a 'Limit-offset' pagination context.
+     *
+     * @param items      stream of downstream dtos
+     * @param totalItems total items amount on the server
+     * @param <T>        type of downstream dto
+     * @return an instance of {@link PaginationAwareStream}
+     */
+    public static <T> PaginationAwareStream<T> limitOffsetAware(Stream<T> items,
+                                                                long totalItems) {
+        PaginationContext paginationContext = PaginationContext.builder()
+                .mode(PaginationMode.LIMIT_OFFSET)
+                .totalItems(totalItems)
+                .build();
+        return new PaginationAwareStream<>(items, () -> paginationContext);
+    }
+
+    /**
+     * Creates a stream with a 'Cursor' pagination context. The next cursor is requested only after all items have
+     * been consumed.
+     *
+     * @param items              stream of downstream dtos
+     * @param nextCursorSupplier supplies the next cursor string value (generated server-side), or <code>null</code>
+     *                           if it's the last page
+     * @param <T>                type of downstream dto
+     * @return an instance of {@link PaginationAwareStream}
+     */
+    public static <T> PaginationAwareStream<T> cursorAware(Stream<T> items,
+                                                           Supplier<String> nextCursorSupplier) {
+        Validate.notNull(nextCursorSupplier, "nextCursorSupplier can't be null");
+        return new PaginationAwareStream<>(
+                items,
+                () -> PaginationContext.builder()
+                        .mode(PaginationMode.CURSOR)
+                        .nextCursor(nextCursorSupplier.get())
+                        .build()
+        );
+    }
+
+    /**
+     * @return lazily consumed stream of downstream dtos, <code>null</code> items are skipped
+     */
+    public Stream<DATA_SOURCE_DTO> getItems() {
+        return items;
+    }
+
+    /**
+     * Must only be called once all items have been consumed. The context is resolved on the first call.
+     *
+     * @return pagination context, nullable
+     */
+    public PaginationContext getPaginationContext() {
+        if (!paginationContextResolved) {
+            paginationContext = paginationContextSupplier.get();
+            paginationContextResolved = true;
+        }
+        return paginationContext;
+    }
+
+    /**
+     * Consumes all items into memory. Used where a page is needed as a whole.
+     *
+     * @return {@link PaginationAwareResponse} with all the items of this stream
+     */
+    public PaginationAwareResponse<DATA_SOURCE_DTO> toResponse() {
+        try {
+            PaginationAwareResponse<DATA_SOURCE_DTO> response = PaginationAwareResponse.fromItemsNotPageable(items.toList());
+            response.setPaginationContext(getPaginationContext());
+            return response;
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        items.close();
+    }
+
+    private static <T> Stream<T> toStream(Iterator<T> items) {
+        Validate.notNull(items, "items can't be null");
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false);
+    }
+
+}
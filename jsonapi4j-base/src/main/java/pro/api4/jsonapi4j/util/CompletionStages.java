@@ -0,0 +1,83 @@
+package pro.api4.jsonapi4j.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * {@link CompletionStage} utilities behind the asynchronous operation SPI.
+ *
+ * <p>Used by the default {@code *Async} methods of the operations to fall back to their synchronous counterparts,
+ * and by the framework to wait for a stage where the processing can't go on without its result.
+ */
+public final class CompletionStages {
+
+    private CompletionStages() {
+
+    }
+
+    /**
+     * Invokes the supplier in the calling thread.
+     *
+     * @param supplier synchronous computation
+     * @param <T>      result type
+     * @return stage completed with the result, or completed exceptionally if the supplier threw
+     */
+    public static <T> CompletionStage<T> supply(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.completedFuture(supplier.get());
+        } catch (RuntimeException | Error e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for the stage. Rethrows its failure as is if it's unchecked, wraps it into
+     * {@link CompletionException} otherwise.
+     *
+     * @param stage stage to wait for
+     * @param <T>   result type
+     * @return result of the stage
+     */
+    public static <T> T join(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * @param t failure of a stage
+     * @return the actual failure, i.e. the cause of a {@link CompletionException} or an {@link ExecutionException}
+     */
+    public static Throwable unwrap(Throwable t) {
+        Throwable result = t;
+        while ((result instanceof CompletionException || result instanceof ExecutionException)
+                && result.getCause() != null) {
+            result = result.getCause();
+        }
+        return result;
+    }
+
+    /**
+     * Rethrows the actual failure of a stage as is if it's unchecked, wraps it into {@link CompletionException}
+     * otherwise. Declared to return an exception so callers can {@code throw} it to satisfy flow analysis.
+     *
+     * @param t failure of a stage
+     * @return never returns normally
+     */
+    public static RuntimeException rethrow(Throwable t) {
+        Throwable cause = unwrap(t);
+        if (cause instanceof RuntimeException re) {
+            throw re;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new CompletionException(cause);
+    }
+
+}
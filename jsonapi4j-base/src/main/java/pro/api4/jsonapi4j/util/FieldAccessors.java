@@ -0,0 +1,287 @@
+package pro.api4.jsonapi4j.util;
+
+import org.apache.commons.lang3.Validate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cached field accessors backed by {@link MethodHandle}s.
+ *
+ * <p>Field lookup, {@link Field#setAccessible(boolean)} and method handle creation happen once per
+ * (class, field name) pair - subsequent reads and writes go straight through the cached handles. Nested
+ * paths (with dot ('.') as a path delimiter) are resolved segment by segment against the runtime type of
+ * every intermediate object, so polymorphic values are supported. Split paths are cached as well.
+ *
+ * <p>Field resolution follows {@link ReflectionUtils}: fields of the target class and all of its
+ * superclasses are taken into account.
+ */
+public final class FieldAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, FieldAccessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, FieldAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // field names and paths may come from request parameters, so caching of arbitrary input is bounded
+    private static final int CACHE_LIMIT = 1024;
+    private static final ConcurrentMap<String, String[]> SPLIT_PATHS = new ConcurrentHashMap<>();
+
+    private FieldAccessors() {
+
+    }
+
+    /**
+     * Resolves a cached accessor for a particular field of the given type.
+     *
+     * @param type      target type
+     * @param fieldName field name, doesn't support nesting
+     * @return accessor, or {@code null} if neither the type nor its superclasses declare such a field
+     */
+    public static FieldAccessor find(Class<?> type, String fieldName) {
+        ConcurrentMap<String, FieldAccessor> accessors = ACCESSORS.get(type);
+        FieldAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            accessor = createAccessor(type, fieldName);
+            // existing fields are bounded by the class itself, unknown names are cached up to a limit
+            if (accessor != FieldAccessor.MISSING || accessors.size() < CACHE_LIMIT) {
+                FieldAccessor existing = accessors.putIfAbsent(fieldName, accessor);
+                if (existing != null) {
+                    accessor = existing;
+                }
+            }
+        }
+        return accessor == FieldAccessor.MISSING ? null : accessor;
+    }
+
+    /**
+     * Same as {@link #find(Class, String)} but throws an exception if the field doesn't exist.
+     *
+     * @param type      target type
+     * @param fieldName field name, doesn't support nesting
+     * @return accessor
+     */
+    public static FieldAccessor get(Class<?> type, String fieldName) {
+        FieldAccessor accessor = find(type, fieldName);
+        if (accessor == null) {
+            throw new IllegalArgumentException("Field '" + fieldName + "' not found on an object of type: " + type.getSimpleName());
+        }
+        return accessor;
+    }
+
+    /**
+     * Gets field value. Supports nesting (with dot ('.') as a path delimiter).
+     * Throws an exception if path is wrong or any intermediate value is null.
+     *
+     * @param object    target object
+     * @param fieldPath field path
+     * @return value
+     */
+    public static Object getValue(Object object, String fieldPath) {
+        Validate.notNull(object, "object must not be null");
+        Validate.notBlank(fieldPath, "fieldPath must not be blank");
+        Object current = object;
+        for (String segment : splitPath(fieldPath)) {
+            Validate.notNull(current, "object must not be null");
+            current = get(current.getClass(), segment).getValue(current);
+        }
+        return current;
+    }
+
+    /**
+     * Checks if field path exists for a given object, i.e. if {@link #getValue(Object, String)} would succeed.
+     * Doesn't rely on exceptions.
+     *
+     * @param object    target object
+     * @param fieldPath field path
+     * @return true if exists, false - otherwise
+     */
+    public static boolean pathExists(Object object, String fieldPath) {
+        if (object == null || fieldPath == null || fieldPath.isBlank()) {
+            return false;
+        }
+        Object current = object;
+        String[] segments = splitPath(fieldPath);
+        for (int i = 0; i < segments.length; i++) {
+            if (current == null) {
+                return false;
+            }
+            FieldAccessor accessor = find(current.getClass(), segments[i]);
+            if (accessor == null) {
+                return false;
+            }
+            if (i < segments.length - 1) {
+                current = accessor.getValue(current);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets value to a particular object field. Doesn't support nesting.
+     * Throws an exception if field doesn't exist or the value can't be assigned to it.
+     *
+     * @param object    target object
+     * @param fieldName field name
+     * @param value     value to set
+     */
+    public static void setValue(Object object, String fieldName, Object value) {
+        Validate.notNull(object, "object must not be null");
+        Validate.notBlank(fieldName, "fieldName must not be blank");
+        get(object.getClass(), fieldName).setValue(object, value);
+    }
+
+    /**
+     * Sets value to an object following its field path. Supports nesting (with dot ('.') as a path delimiter).
+     * Does nothing if any intermediate value is null, throws an exception if path is wrong.
+     *
+     * @param object    target object
+     * @param fieldPath field path
+     * @param value     value to set
+     */
+    public static void setPathValue(Object object, String fieldPath, Object value) {
+        Validate.notNull(object, "object must not be null");
+        Validate.notBlank(fieldPath, "fieldPath must not be blank");
+        String[] segments = splitPath(fieldPath);
+        Object current = object;
+        for (int i = 0; i < segments.length - 1; i++) {
+            current = get(current.getClass(), segments[i]).getValue(current);
+            if (current == null) {
+                return;
+            }
+        }
+        get(current.getClass(), segments[segments.length - 1]).setValue(current, value);
+    }
+
+    private static String[] splitPath(String fieldPath) {
+        String[] segments = SPLIT_PATHS.get(fieldPath);
+        if (segments == null) {
+            segments = fieldPath.split("\\.");
+            if (SPLIT_PATHS.size() < CACHE_LIMIT) {
+                SPLIT_PATHS.putIfAbsent(fieldPath, segments);
+            }
+        }
+        return segments;
+    }
+
+    private static FieldAccessor createAccessor(Class<?> type, String fieldName) {
+        Field field = findField(type, fieldName);
+        if (field == null) {
+            return FieldAccessor.MISSING;
+        }
+        field.setAccessible(true);
+        MethodHandle getter;
+        try {
+            getter = toInstanceForm(field, LOOKUP.unreflectGetter(field)).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access field '" + fieldName + "'", e);
+        }
+        return new FieldAccessor(fieldName, field.getType(), getter, unreflectSetter(field));
+    }
+
+    private static MethodHandle unreflectSetter(Field field) {
+        try {
+            return toInstanceForm(field, LOOKUP.unreflectSetter(field)).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // e.g. record components or static final fields - the field stays readable
+            return null;
+        }
+    }
+
+    private static MethodHandle toInstanceForm(Field field, MethodHandle handle) {
+        // static field handles take no receiver, the passed object is ignored - same as Field#get and Field#set
+        return Modifier.isStatic(field.getModifiers())
+                ? MethodHandles.dropArguments(handle, 0, Object.class)
+                : handle;
+    }
+
+    private static Field findField(Class<?> type, String fieldName) {
+        // superclass fields take precedence over the shadowing ones, same as in ReflectionUtils
+        Field result = null;
+        Class<?> currentType = type;
+        while (currentType != null) {
+            for (Field f : currentType.getDeclaredFields()) {
+                if (f.getName().equals(fieldName)) {
+                    result = f;
+                }
+            }
+            currentType = currentType.getSuperclass();
+        }
+        return result;
+    }
+
+    /**
+     * Compiled getter/setter pair of a single field.
+     */
+    public static final class FieldAccessor {
+
+        private static final FieldAccessor MISSING = new FieldAccessor(null, null, null, null);
+
+        private final String fieldName;
+        private final Class<?> fieldType;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldAccessor(String fieldName,
+                              Class<?> fieldType,
+                              MethodHandle getter,
+                              MethodHandle setter) {
+            this.fieldName = fieldName;
+            this.fieldType = fieldType;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public Class<?> getFieldType() {
+            return fieldType;
+        }
+
+        public Object getValue(Object object) {
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not access field '" + fieldName + "'", e);
+            }
+        }
+
+        public boolean isWritable() {
+            return setter != null;
+        }
+
+        public void setValue(Object object, Object value) {
+            if (setter == null) {
+                throw new IllegalArgumentException("Field '" + fieldName + "' is read-only");
+            }
+            try {
+                setter.invokeExact(object, value);
+            } catch (ClassCastException | NullPointerException e) {
+                // wrong value type or null for a primitive field, same contract as Field#set
+                String valueType = value == null ? "null" : value.getClass().getSimpleName();
+                throw new IllegalArgumentException("Could not set field '" + fieldName + "' value with an object of type: " + valueType, e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not set field '" + fieldName + "'", e);
+            }
+        }
+
+    }
+
+}
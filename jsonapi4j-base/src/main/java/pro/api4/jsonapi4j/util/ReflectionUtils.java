@@ -5,14 +5,12 @@ import org.apache.commons.lang3.Validate;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toMap;
 
@@ -36,41 +34,22 @@ public final class ReflectionUtils {
      * @param object    target object
      * @param fieldPath field path
      * @return value
+     * @see FieldAccessors#getValue(Object, String)
      */
     public static Object getFieldValueThrowing(Object object, String fieldPath) {
-        Validate.notNull(object, "object must not be null");
-        Validate.notBlank(fieldPath, "fieldPath must not be blank");
-        String[] fieldPathParts = fieldPath.split("\\.");
-        if (fieldPathParts.length > 1) {
-            Object nestedFieldValue = getFieldValueThrowing(object, fieldPathParts[0]);
-            String nestedFieldPath = Arrays.stream(fieldPathParts)
-                    .skip(1L)
-                    .collect(Collectors.joining("."));
-            return getFieldValueThrowing(nestedFieldValue, nestedFieldPath);
-        }
-        try {
-            Field field = findField(object, fieldPath);
-            field.setAccessible(true);
-            return field.get(object);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Could not access field '" + fieldPath + "'", e);
-        }
+        return FieldAccessors.getValue(object, fieldPath);
     }
 
     /**
-     * Checks if field path exist for a given object. Using {@link #getFieldValueThrowing(Object, String)} as a backbone.
+     * Checks if field path exist for a given object.
      *
      * @param object target object
      * @param fieldPath field path
      * @return true if exists, false - otherwise
+     * @see FieldAccessors#pathExists(Object, String)
      */
     public static boolean fieldPathExists(Object object, String fieldPath) {
-        try {
-            getFieldValueThrowing(object, fieldPath);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return FieldAccessors.pathExists(object, fieldPath);
     }
 
     /**
@@ -80,20 +59,12 @@ public final class ReflectionUtils {
      * @param object    target object
      * @param fieldName field name
      * @param value     value to set
+     * @see FieldAccessors#setValue(Object, String, Object)
      */
     public static void setFieldValueThrowing(Object object,
                                              String fieldName,
                                              Object value) {
-        Validate.notNull(object, "object must not be null");
-        Validate.notBlank(fieldName, "fieldName must not be blank");
-        try {
-            Field field = findField(object, fieldName);
-            field.setAccessible(true);
-            field.set(object, value);
-        } catch (IllegalAccessException e) {
-            String valueType = value == null ? "null" : value.getClass().getSimpleName();
-            throw new IllegalArgumentException("Could not set field '" + fieldName + "' value with an object of type: " + valueType, e);
-        }
+        FieldAccessors.setValue(object, fieldName, value);
     }
 
     /**
@@ -103,26 +74,12 @@ public final class ReflectionUtils {
      * @param object    target object
      * @param fieldPath field path (use dot ('.') as delimiter)
      * @param value     value to set
+     * @see FieldAccessors#setPathValue(Object, String, Object)
      */
     public static void setFieldPathValueThrowing(Object object,
                                                  String fieldPath,
                                                  Object value) {
-        Validate.notNull(object, "object must not be null");
-        Validate.notBlank(fieldPath, "fieldPath must not be blank");
-        String[] pathSegments = fieldPath.split("\\.");
-        Object currentObject = object;
-        for (int i = 0; i <= pathSegments.length - 1; i++) {
-            if (currentObject == null) {
-                break;
-            }
-            String fieldName = pathSegments[i];
-            if (pathSegments.length - 1 == i) {
-                setFieldValueThrowing(currentObject, fieldName, value);
-                break;
-            } else {
-                currentObject = getFieldValueThrowing(currentObject, fieldName);
-            }
-        }
+        FieldAccessors.setPathValue(object, fieldPath, value);
     }
 
     /**
@@ -350,16 +307,6 @@ public final class ReflectionUtils {
         }
     }
 
-    private static Field findField(Object object, String fieldName) {
-        Class<?> type = object.getClass();
-        Map<String, Field> allFields = getAllFields(type);
-        Field field = allFields.get(fieldName);
-        if (field == null) {
-            throw new IllegalArgumentException("Field '" + fieldName + "' not found on an object of type: " + object.getClass().getSimpleName());
-        }
-        return field;
-    }
-
     private static Map<String, Field> getAllFields(Class<?> type) {
         return Collections.unmodifiableMap(getAllFieldsRecursively(new HashMap<>(), type));
     }
@@ -0,0 +1,218 @@
+package pro.api4.jsonapi4j.util;
+
+import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.context.RequestContext;
+import pro.api4.jsonapi4j.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Scope for a group of subtasks that belong to the same request, e.g. relationship resolvers.
+ *
+ * <p>Mimics the 'shutdown on failure' policy of structured concurrency, which is still a preview API in the
+ * supported JDKs:
+ * <ul>
+ *     <li>the first failed subtask cancels (interrupts) all its siblings, no new subtasks are started</li>
+ *     <li>{@link #join()} waits for all subtasks, but not longer than the scope deadline. Once the deadline is
+ *     exceeded all unfinished subtasks are cancelled and {@link DeadlineExceededException} is thrown</li>
+ *     <li>{@link #close()} cancels everything that is still running, so no subtask outlives the scope</li>
+ * </ul>
+ * Cancellation relies on interruption, which blocking I/O on virtual threads reacts to promptly.
+ *
+ * <p>Non-blocking subtasks are registered via {@link #forkAsync(Supplier)}: they don't occupy an executor thread
+ * while waiting, but follow the same failure, deadline and cancellation policy.
+ *
+ * <p>Subtasks run with the {@link RequestContext} of the thread that forked them.
+ *
+ * <p>Subtasks must be forked and joined by the thread that opened the scope.
+ */
+public final class TaskScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final Duration timeout;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final Queue<Future<?>> subtasks = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private TaskScope(Executor executor, Duration timeout) {
+        Validate.notNull(executor, "executor must not be null");
+        this.executor = executor;
+        this.timeout = timeout;
+        this.hasDeadline = timeout != null && timeout.isPositive();
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + timeout.toNanos() : 0L;
+    }
+
+    /**
+     * @param executor executor that runs subtasks
+     * @param timeout  deadline for all subtasks of the scope counting from now, {@code null} or zero means no deadline
+     * @return new scope
+     */
+    public static TaskScope open(Executor executor, Duration timeout) {
+        return new TaskScope(executor, timeout);
+    }
+
+    /**
+     * Submits a subtask to the executor. Does nothing if one of the previously forked subtasks has already failed.
+     *
+     * @param task subtask
+     */
+    public void fork(Runnable task) {
+        if (failure.get() != null) {
+            return;
+        }
+        Subtask subtask = new Subtask(RequestContext.wrap(task));
+        subtasks.add(subtask);
+        executor.execute(subtask);
+    }
+
+    /**
+     * Starts a non-blocking subtask in the calling thread and registers the returned stage in the scope. Does nothing
+     * if one of the previously forked subtasks has already failed. Cancelling the scope cancels the stage, if it
+     * supports {@link CompletionStage#toCompletableFuture()}.
+     *
+     * @param task starts the subtask and returns the stage that completes with it
+     */
+    public void forkAsync(Supplier<? extends CompletionStage<?>> task) {
+        if (failure.get() != null) {
+            return;
+        }
+        AsyncSubtask subtask = new AsyncSubtask();
+        subtasks.add(subtask);
+        try {
+            subtask.await(task.get());
+        } catch (RuntimeException | Error e) {
+            subtask.fail(e);
+        }
+    }
+
+    /**
+     * Waits for all forked subtasks. Rethrows the first subtask failure as is if it's unchecked, wraps it into
+     * {@link CompletionException} otherwise.
+     *
+     * @throws DeadlineExceededException if subtasks haven't completed within the scope deadline
+     */
+    public void join() {
+        for (Future<?> subtask : subtasks) {
+            try {
+                if (hasDeadline) {
+                    subtask.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } else {
+                    subtask.get();
+                }
+            } catch (ExecutionException e) {
+                // the subtask may complete before its failure is recorded
+                onFailure(e.getCause());
+                break;
+            } catch (CancellationException e) {
+                // cancelled by a failed sibling
+                break;
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new DeadlineExceededException("Downstream calls haven't completed within " + timeout.toMillis() + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new CancellationException("Interrupted while waiting for subtasks");
+            }
+        }
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException re) {
+            throw re;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        if (t != null) {
+            throw new CompletionException(t);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void onFailure(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        subtasks.forEach(subtask -> subtask.cancel(true));
+    }
+
+    private final class AsyncSubtask extends CompletableFuture<Void> {
+
+        private volatile CompletionStage<?> stage;
+
+        private void await(CompletionStage<?> stage) {
+            this.stage = stage;
+            stage.whenComplete((result, t) -> {
+                if (t != null) {
+                    fail(t);
+                } else {
+                    complete(null);
+                }
+            });
+            if (isCancelled()) {
+                cancelStage();
+            }
+        }
+
+        private void fail(Throwable t) {
+            Throwable cause = CompletionStages.unwrap(t);
+            completeExceptionally(cause);
+            onFailure(cause);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            cancelStage();
+            return cancelled;
+        }
+
+        private void cancelStage() {
+            CompletionStage<?> s = stage;
+            if (s != null) {
+                try {
+                    s.toCompletableFuture().cancel(true);
+                } catch (UnsupportedOperationException e) {
+                    // the stage can't be cancelled, its result is ignored
+                }
+            }
+        }
+
+    }
+
+    private final class Subtask extends FutureTask<Void> {
+
+        private Subtask(Runnable task) {
+            super(task, null);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            super.setException(t);
+            onFailure(t);
+        }
+
+    }
+
+}
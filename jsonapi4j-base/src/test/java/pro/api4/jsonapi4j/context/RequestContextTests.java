@@ -0,0 +1,108 @@
+package pro.api4.jsonapi4j.context;
+
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
+import pro.api4.jsonapi4j.principal.Principal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class RequestContextTests {
+
+    private final Principal principal = mock(Principal.class);
+
+    @Test
+    public void bind_closed_previousContextRestored() {
+        // given
+        RequestContext outer = RequestContext.of(null);
+        RequestContext inner = RequestContext.of(principal);
+
+        // when
+        try (RequestContext.Scope ignored = outer.bind()) {
+            try (RequestContext.Scope ignored2 = inner.bind()) {
+                assertThat(AuthenticatedPrincipalContextHolder.getPrincipal()).containsSame(principal);
+            }
+
+            // then
+            assertThat(RequestContext.current()).isSameAs(outer);
+        }
+    }
+
+    @Test
+    public void propagating_taskOnAnotherThread_seesPrincipalAndCollectsHeadersIntoTheRequest() throws Exception {
+        // given
+        RequestContext context = RequestContext.of(principal);
+
+        // when
+        Optional<Principal> seenPrincipal;
+        try (ExecutorService executor = Executors.newSingleThreadExecutor();
+             RequestContext.Scope ignored = context.bind()) {
+            seenPrincipal = CompletableFuture.supplyAsync(
+                    () -> {
+                        RequestContext.current().addResponseHeader("X-Downstream", "a");
+                        RequestContext.current().setResponseStatus(HttpStatusCodes.SC_202_ACCEPTED);
+                        return AuthenticatedPrincipalContextHolder.getPrincipal();
+                    },
+                    RequestContext.propagating(executor)
+            ).get();
+        }
+
+        // then
+        assertThat(seenPrincipal).containsSame(principal);
+        assertThat(context.drainResponseHeaders()).isEqualTo(Map.of("X-Downstream", List.of("a")));
+        assertThat(context.drainResponseStatus()).contains(HttpStatusCodes.SC_202_ACCEPTED);
+        assertThat(context.getResponseHeaders()).isEmpty();
+        assertThat(context.drainResponseStatus()).isEmpty();
+    }
+
+    @Test
+    public void withPrincipal_sharesCollectedHeaders() {
+        // given
+        RequestContext context = RequestContext.of(null);
+
+        // when
+        RequestContext derived = context.withPrincipal(principal);
+        derived.setResponseHeader("Cache-Control", "max-age=60");
+
+        // then
+        assertThat(derived.getPrincipal()).isSameAs(principal);
+        assertThat(context.getPrincipal()).isNull();
+        assertThat(context.getResponseHeaders()).containsEntry("Cache-Control", List.of("max-age=60"));
+    }
+
+    @Test
+    public void setAuthenticatedPrincipalContext_null_clearsContext() {
+        // given
+        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principal);
+        RequestContext.current().addResponseHeader("X-Downstream", "a");
+
+        // when
+        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(null);
+
+        // then
+        assertThat(AuthenticatedPrincipalContextHolder.getPrincipal()).isEmpty();
+        assertThat(RequestContext.current().getResponseHeaders()).isEmpty();
+        RequestContext.clear();
+    }
+
+    @Test
+    public void current_nothingBound_returnsUnboundContext() {
+        // given
+        RequestContext.clear();
+
+        // when
+        RequestContext.current().addResponseHeader("X-Downstream", "a");
+
+        // then
+        assertThat(RequestContext.current().getResponseHeaders()).isEmpty();
+    }
+
+}
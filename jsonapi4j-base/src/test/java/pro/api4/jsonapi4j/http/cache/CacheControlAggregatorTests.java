@@ -208,4 +208,18 @@ class CacheControlAggregatorTests {
         assertThat(result).isNotNull();
         assertThat(result.getMaxAge()).isEqualTo(300L);
     }
+
+    @Test
+    void add_staleWindows_minimumKeptOnlyIfAllSourcesAllowThem() {
+        CacheControlAggregator aggregator = new CacheControlAggregator();
+        aggregator.add(CacheControlParser.parse("max-age=300, stale-while-revalidate=60, stale-if-error=600"));
+        aggregator.add(CacheControlParser.parse("max-age=60, stale-while-revalidate=30"));
+
+        CacheControlDirectives result = aggregator.getResult();
+
+        assertThat(result.getMaxAge()).isEqualTo(60L);
+        assertThat(result.getStaleWhileRevalidate()).isEqualTo(30L);
+        assertThat(result.getStaleIfError()).isNull();
+    }
+
 }
@@ -162,4 +162,23 @@ public class CacheControlParserTests {
         assertThat(result.getMaxAge()).isEqualTo(300L);
     }
 
+    @Test
+    public void parse_staleDirectives_returnsStaleWindows() {
+        CacheControlDirectives result = CacheControlParser.parse("max-age=60, stale-while-revalidate=30, stale-if-error=600");
+
+        assertThat(result.getEffectiveTtlSeconds()).isEqualTo(60L);
+        assertThat(result.getStaleWhileRevalidateSeconds()).isEqualTo(30L);
+        assertThat(result.getStaleIfErrorSeconds()).isEqualTo(600L);
+        assertThat(CacheControlParser.format(result)).isEqualTo("max-age=60, stale-while-revalidate=30, stale-if-error=600");
+    }
+
+    @Test
+    public void parse_noStaleDirectives_staleWindowsAreZero() {
+        CacheControlDirectives result = CacheControlParser.parse("max-age=60");
+
+        assertThat(result.getStaleWhileRevalidate()).isNull();
+        assertThat(result.getStaleWhileRevalidateSeconds()).isZero();
+        assertThat(result.getStaleIfErrorSeconds()).isZero();
+    }
+
 }
@@ -0,0 +1,51 @@
+package pro.api4.jsonapi4j.http.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagsTests {
+
+    private static final byte[] BODY = "{\"data\":{\"type\":\"countries\",\"id\":\"FI\"}}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void strong_sameBody_sameQuotedTag() {
+        String etag = EntityTags.strong(BODY);
+
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+        assertThat(EntityTags.strong(BODY.clone())).isEqualTo(etag);
+    }
+
+    @Test
+    void strong_differentBody_differentTag() {
+        byte[] other = "{\"data\":{\"type\":\"countries\",\"id\":\"NO\"}}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(EntityTags.strong(other)).isNotEqualTo(EntityTags.strong(BODY));
+    }
+
+    @Test
+    void matches_tagInList_returnsTrue() {
+        String etag = EntityTags.strong(BODY);
+
+        assertThat(EntityTags.matches(etag, etag)).isTrue();
+        assertThat(EntityTags.matches("\"other\", " + etag, etag)).isTrue();
+        assertThat(EntityTags.matches("*", etag)).isTrue();
+    }
+
+    @Test
+    void matches_weakTag_comparedWeakly() {
+        assertThat(EntityTags.matches("W/\"abc\"", "\"abc\"")).isTrue();
+        assertThat(EntityTags.matches("\"abc\"", "W/\"abc\"")).isTrue();
+    }
+
+    @Test
+    void matches_noMatchOrMissingHeader_returnsFalse() {
+        assertThat(EntityTags.matches("\"other\"", "\"abc\"")).isFalse();
+        assertThat(EntityTags.matches(null, "\"abc\"")).isFalse();
+        assertThat(EntityTags.matches(" ", "\"abc\"")).isFalse();
+        assertThat(EntityTags.matches("\"abc\"", null)).isFalse();
+    }
+
+}
@@ -0,0 +1,161 @@
+package pro.api4.jsonapi4j.plugin.utils;
+
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.util.FieldAccessors;
+import pro.api4.jsonapi4j.util.FieldAccessors.FieldAccessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FieldAccessorsTests {
+
+    @Test
+    public void get_sameField_returnsCachedAccessor() {
+        // when
+        FieldAccessor first = FieldAccessors.get(Child.class, "name");
+        FieldAccessor second = FieldAccessors.get(Child.class, "name");
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(first.getFieldType()).isEqualTo(String.class);
+    }
+
+    @Test
+    public void find_nonExistingField_returnsNull() {
+        // when - then
+        assertThat(FieldAccessors.find(Child.class, "foo")).isNull();
+        assertThatThrownBy(() -> FieldAccessors.get(Child.class, "foo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("foo");
+    }
+
+    @Test
+    public void getValue_nestedPathAndSuperclassField_checkResult() {
+        // given
+        Child child = new Child("parent");
+        child.setName("child");
+        child.setChild(new Child("nested-parent"));
+
+        // when - then
+        assertThat(FieldAccessors.getValue(child, "name")).isEqualTo("child");
+        assertThat(FieldAccessors.getValue(child, "parentName")).isEqualTo("parent");
+        assertThat(FieldAccessors.getValue(child, "child.parentName")).isEqualTo("nested-parent");
+    }
+
+    @Test
+    public void getValue_nullIntermediateValue_throwsException() {
+        // given
+        Child child = new Child("parent");
+
+        // when - then
+        assertThatThrownBy(() -> FieldAccessors.getValue(child, "child.name"))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void setValue_finalField_checkResult() {
+        // given
+        Child child = new Child("parent");
+
+        // when
+        FieldAccessors.setValue(child, "parentName", "updated");
+
+        // then
+        assertThat(child.getParentName()).isEqualTo("updated");
+    }
+
+    @Test
+    public void setValue_incompatibleValue_throwsIllegalArgumentException() {
+        // given
+        Child child = new Child("parent");
+
+        // when - then
+        assertThatThrownBy(() -> FieldAccessors.setValue(child, "name", 42))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Integer");
+        assertThatThrownBy(() -> FieldAccessors.setValue(child, "age", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void recordComponent_readableButNotWritable() {
+        // given
+        Point point = new Point(1, 2);
+
+        // when
+        FieldAccessor accessor = FieldAccessors.get(Point.class, "x");
+
+        // then
+        assertThat(accessor.getValue(point)).isEqualTo(1);
+        assertThat(accessor.isWritable()).isFalse();
+        assertThatThrownBy(() -> accessor.setValue(point, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("read-only");
+    }
+
+    @Test
+    public void staticFields_checkResult() {
+        // given
+        Statics statics = new Statics();
+
+        // when
+        FieldAccessors.setValue(statics, "counter", 5);
+
+        // then
+        assertThat(FieldAccessors.getValue(statics, "counter")).isEqualTo(5);
+        assertThat(FieldAccessors.getValue(statics, "CONSTANT")).isEqualTo("constant");
+        assertThat(FieldAccessors.get(Statics.class, "CONSTANT").isWritable()).isFalse();
+    }
+
+    @Test
+    public void setPathValue_nullIntermediateValue_doesNothing() {
+        // given
+        Child child = new Child("parent");
+
+        // when
+        FieldAccessors.setPathValue(child, "child.name", "foo");
+
+        // then
+        assertThat(child.getChild()).isNull();
+    }
+
+    @Test
+    public void pathExists_checkResult() {
+        // given
+        Child child = new Child("parent");
+        child.setChild(new Child("nested-parent"));
+
+        // when - then
+        assertThat(FieldAccessors.pathExists(child, "child.name")).isTrue();
+        assertThat(FieldAccessors.pathExists(child, "child.child.name")).isFalse();
+        assertThat(FieldAccessors.pathExists(child, "child.foo")).isFalse();
+        assertThat(FieldAccessors.pathExists(child, "")).isFalse();
+        assertThat(FieldAccessors.pathExists(null, "name")).isFalse();
+    }
+
+    private record Point(int x, int y) {
+    }
+
+    private static class Statics {
+        private static final String CONSTANT = "constant";
+        private static int counter;
+    }
+
+    @Data
+    private static class Parent {
+        private final String parentName;
+    }
+
+    @Data
+    private static class Child extends Parent {
+        private String name;
+        private int age;
+        private Child child;
+
+        Child(String parentName) {
+            super(parentName);
+        }
+    }
+
+}
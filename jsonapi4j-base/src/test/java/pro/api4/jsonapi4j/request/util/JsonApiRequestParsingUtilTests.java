@@ -415,4 +415,62 @@ class JsonApiRequestParsingUtilTests {
         assertThat(result).isEqualTo(URI.create("https://example.com/profile"));
     }
 
+    // --- parseQueryParams ---
+
+    @Test
+    void parseQueryParams_classifiesEveryParam() {
+        // given
+        Map<String, String[]> params = new LinkedHashMap<>();
+        params.put("filter[region]", new String[]{"europe, africa,europe"});
+        params.put("filter[id]", new String[]{"NO", "FI"});
+        params.put("fields[countries]", new String[]{"region,name"});
+        params.put("include", new String[]{"currencies,citizenships.currencies"});
+        params.put("sort", new String[]{"-name"});
+        params.put("page[cursor]", new String[]{"DoJu"});
+        params.put("page[limit]", new String[]{"20"});
+        params.put("page[offset]", new String[]{"40"});
+        params.put("page[size]", new String[]{"10"});
+        params.put("myCustomParam", new String[]{"b,a"});
+        params.put("blankParam", new String[]{" "});
+
+        // when
+        JsonApiQueryParams result = JsonApiRequestParsingUtil.parseQueryParams(params);
+
+        // then
+        assertThat(result.filters()).containsExactly(
+                Map.entry("id", List.of("FI", "NO")),
+                Map.entry("region", List.of("africa", "europe"))
+        );
+        assertThat(result.fieldSets()).containsExactly(Map.entry("countries", List.of("name", "region")));
+        assertThat(result.includes()).containsExactly("citizenships.currencies", "currencies");
+        assertThat(result.sortBy()).containsExactly(Map.entry("name", SortAwareRequest.SortOrder.DESC));
+        assertThat(result.cursor()).isEqualTo("DoJu");
+        assertThat(result.limit()).isEqualTo(20L);
+        assertThat(result.offset()).isEqualTo(40L);
+        assertThat(result.customQueryParams()).containsExactly(Map.entry("myCustomParam", List.of("a", "b")));
+    }
+
+    @Test
+    void parseQueryParams_noParams_returnsEmpty() {
+        // when
+        JsonApiQueryParams result = JsonApiRequestParsingUtil.parseQueryParams(null);
+
+        // then
+        assertThat(result).isSameAs(JsonApiQueryParams.EMPTY);
+        assertThat(JsonApiRequestParsingUtil.parseQueryParams(Collections.emptyMap())).isSameAs(JsonApiQueryParams.EMPTY);
+    }
+
+    @Test
+    void parseQueryParams_emptyBracketedName_treatedAsCustomParam() {
+        // given
+        Map<String, String[]> params = Map.of("filter[]", new String[]{"x"});
+
+        // when
+        JsonApiQueryParams result = JsonApiRequestParsingUtil.parseQueryParams(params);
+
+        // then
+        assertThat(result.filters()).isEmpty();
+        assertThat(result.customQueryParams()).containsOnlyKeys("filter[]");
+    }
+
 }
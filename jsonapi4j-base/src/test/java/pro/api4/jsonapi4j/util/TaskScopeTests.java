@@ -0,0 +1,203 @@
+package pro.api4.jsonapi4j.util;
+
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.context.RequestContext;
+import pro.api4.jsonapi4j.exception.DeadlineExceededException;
+import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
+import pro.api4.jsonapi4j.principal.Principal;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class TaskScopeTests {
+
+    @Test
+    public void join_allSubtasksSucceed_checkAllExecuted() {
+        // given
+        AtomicInteger counter = new AtomicInteger();
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             TaskScope scope = TaskScope.open(executor, Duration.ofSeconds(10))) {
+            for (int i = 0; i < 10; i++) {
+                scope.fork(counter::incrementAndGet);
+            }
+            scope.join();
+        }
+
+        // then
+        assertThat(counter).hasValue(10);
+    }
+
+    @Test
+    public void join_subtaskFails_siblingsCancelledAndFailureRethrown() throws Exception {
+        // given
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             TaskScope scope = TaskScope.open(executor, null)) {
+            scope.fork(() -> {
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(10_000L);
+                } catch (InterruptedException e) {
+                    slowInterrupted.countDown();
+                }
+            });
+            scope.fork(() -> {
+                await(slowStarted);
+                throw new IllegalStateException("boom");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("boom");
+        }
+
+        // then
+        assertThat(slowInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void fork_afterFailure_subtaskNotStarted() {
+        // given
+        AtomicBoolean executed = new AtomicBoolean();
+
+        // when
+        try (TaskScope scope = TaskScope.open(Runnable::run, null)) {
+            scope.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+            scope.fork(() -> executed.set(true));
+
+            assertThatThrownBy(scope::join).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        // then
+        assertThat(executed).isFalse();
+    }
+
+    @Test
+    public void join_deadlineExceeded_checkThrowsDeadlineExceededException() throws Exception {
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             TaskScope scope = TaskScope.open(executor, Duration.ofMillis(50))) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000L);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(DeadlineExceededException.class)
+                    .satisfies(e -> assertThat(((DeadlineExceededException) e).getHttpStatus()).isEqualTo(504));
+        }
+
+        // then
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void fork_subtaskRunsWithContextOfForkingThread() {
+        // given
+        Principal principal = mock(Principal.class);
+        AtomicReference<Principal> seenPrincipal = new AtomicReference<>();
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             RequestContext.Scope ignored = RequestContext.of(principal).bind();
+             TaskScope scope = TaskScope.open(executor, Duration.ofSeconds(10))) {
+            scope.fork(() -> seenPrincipal.set(AuthenticatedPrincipalContextHolder.getPrincipal().orElse(null)));
+            scope.join();
+        }
+
+        // then
+        assertThat(seenPrincipal).hasValue(principal);
+    }
+
+    @Test
+    public void forkAsync_stagesCompletedByAnotherThread_joinWaitsWithoutExecutorThreads() {
+        // given
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        AtomicReference<String> results = new AtomicReference<>("");
+
+        // when
+        try (TaskScope scope = TaskScope.open(task -> {
+            throw new AssertionError("no executor threads expected");
+        }, Duration.ofSeconds(10))) {
+            scope.forkAsync(() -> first.thenAccept(r -> results.accumulateAndGet(r, String::concat)));
+            scope.forkAsync(() -> second.thenAccept(r -> results.accumulateAndGet(r, String::concat)));
+            CompletableFuture.runAsync(() -> {
+                first.complete("a");
+                second.complete("b");
+            });
+            scope.join();
+        }
+
+        // then
+        assertThat(results.get()).hasSize(2).contains("a", "b");
+    }
+
+    @Test
+    public void forkAsync_stageFails_pendingStagesCancelledAndFailureRethrown() {
+        // given
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        // when
+        try (TaskScope scope = TaskScope.open(Runnable::run, null)) {
+            scope.forkAsync(() -> pending);
+            scope.forkAsync(() -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("boom");
+        }
+
+        // then
+        assertThat(pending).isCancelled();
+    }
+
+    @Test
+    public void forkAsync_deadlineExceeded_stageCancelled() {
+        // given
+        CompletableFuture<String> neverCompleted = new CompletableFuture<>();
+
+        // when
+        try (TaskScope scope = TaskScope.open(Runnable::run, Duration.ofMillis(50))) {
+            scope.forkAsync(() -> neverCompleted);
+
+            assertThatThrownBy(scope::join).isInstanceOf(DeadlineExceededException.class);
+        }
+
+        // then
+        assertThat(neverCompleted).isCancelled();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
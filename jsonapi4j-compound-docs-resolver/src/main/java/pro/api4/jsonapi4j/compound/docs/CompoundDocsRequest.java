@@ -2,6 +2,7 @@ package pro.api4.jsonapi4j.compound.docs;
 
 import lombok.Data;
 import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.principal.Principal;
 
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,7 @@ public final class CompoundDocsRequest {
     private final Map<String, List<String>> customQueryParams;
     private final String selfBaseUrl;
     private final String relationshipNameFromRequestUri;
+    private final Principal principal;
 
     private String relativePath;
     private boolean processable;
@@ -40,6 +42,21 @@ public final class CompoundDocsRequest {
                                String relativePath,
                                Map<String, List<String>> customQueryParams,
                                String selfBaseUrl) {
+        this(method, includes, fieldSets, headers, relativePath, customQueryParams, selfBaseUrl, null);
+    }
+
+    /**
+     * @param principal principal the included resources are read on behalf of when they are fetched in process
+     *                  (see {@link pro.api4.jsonapi4j.compound.docs.client.InProcessResourceFetcher}), nullable
+     */
+    public CompoundDocsRequest(String method,
+                               List<String> includes,
+                               Map<String, List<String>> fieldSets,
+                               Map<String, String> headers,
+                               String relativePath,
+                               Map<String, List<String>> customQueryParams,
+                               String selfBaseUrl,
+                               Principal principal) {
         Validate.notBlank(method, "method must not be blank");
         Validate.notNull(fieldSets, "fieldSets must not be null");
         Validate.notNull(headers, "headers must not be null");
@@ -52,6 +69,7 @@ public final class CompoundDocsRequest {
         this.customQueryParams = customQueryParams;
         this.selfBaseUrl = selfBaseUrl;
         this.relationshipNameFromRequestUri = getRelationshipNameFromRequestUri(relativePath);
+        this.principal = principal;
         this.processable = calculateProcessable(method, headers, includes);
     }
 
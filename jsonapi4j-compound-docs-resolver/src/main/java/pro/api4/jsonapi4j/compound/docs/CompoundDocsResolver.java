@@ -1,13 +1,17 @@
 package pro.api4.jsonapi4j.compound.docs;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.Validate;
 import pro.api4.jsonapi4j.http.cache.CacheControlAggregator;
+import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
 import pro.api4.jsonapi4j.compound.docs.client.BatchFetchResult;
 import pro.api4.jsonapi4j.compound.docs.client.CachingCompoundDocsFetcher;
+import pro.api4.jsonapi4j.compound.docs.client.HttpClientRegistry;
+import pro.api4.jsonapi4j.compound.docs.client.InProcessResourceFetcher;
 import pro.api4.jsonapi4j.compound.docs.client.JsonApi4jCompoundDocsApiHttpClient;
 import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
 import pro.api4.jsonapi4j.compound.docs.exception.DomainResolutionException;
@@ -17,20 +21,30 @@ import pro.api4.jsonapi4j.compound.docs.json.JsonApiResponseParser.IntermediateP
 import pro.api4.jsonapi4j.compound.docs.json.JsonApiResponseWriter;
 import pro.api4.jsonapi4j.compound.docs.json.ParseResult;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static pro.api4.jsonapi4j.http.HttpHeaders.X_DISABLE_COMPOUND_DOCS;
 
 @Slf4j
-public class CompoundDocsResolver {
+public class CompoundDocsResolver implements AutoCloseable {
 
     private final CompoundDocsResolverConfig config;
     private final DomainSettingsResolver domainSettingsResolver;
 
+    private final HttpClientRegistry httpClientRegistry;
     private final CachingCompoundDocsFetcher fetcher;
 
     private final JsonApiResponseParser jsonApiResponseParser;
@@ -38,6 +52,16 @@ public class CompoundDocsResolver {
 
     private final ExecutorService executorService;
 
+    /**
+     * How long a batch of the next hop waits for other parent batches of the same hop to contribute IDs of the same
+     * resource type while unrelated fetches of earlier hops are still in flight.
+     */
+    private static final long HOP_COALESCING_WINDOW_MS = 10;
+
+    private static final Comparator<JsonNode> INCLUDED_RESOURCES_ORDER = Comparator
+            .comparing((JsonNode resource) -> resource.path("type").asText())
+            .thenComparing(resource -> resource.path("id").asText());
+
     public CompoundDocsResolver(CompoundDocsResolverConfig config,
                                 DomainSettingsResolver domainSettingsResolver,
                                 ObjectMapper objectMapper,
@@ -55,6 +79,23 @@ public class CompoundDocsResolver {
                                 ObjectMapper objectMapper,
                                 ExecutorService executorService,
                                 CompoundDocsResourceCache cache) {
+        this(config, domainSettingsResolver, objectMapper, executorService, cache, null);
+    }
+
+    /**
+     * Creates a resolver with caching support that fetches the resource types served by the application itself in
+     * process.
+     *
+     * @param cache            the resource cache, or {@code null} to disable caching
+     * @param inProcessFetcher fetches local resource types without going over HTTP, or {@code null} to fetch
+     *                         everything over HTTP
+     */
+    public CompoundDocsResolver(CompoundDocsResolverConfig config,
+                                DomainSettingsResolver domainSettingsResolver,
+                                ObjectMapper objectMapper,
+                                ExecutorService executorService,
+                                CompoundDocsResourceCache cache,
+                                InProcessResourceFetcher inProcessFetcher) {
         Validate.notNull(config, "CompoundDocsResolverConfig is not configured");
         Validate.notNull(domainSettingsResolver, "DomainSettingsResolver is not configured");
 
@@ -64,9 +105,22 @@ public class CompoundDocsResolver {
         this.config = config;
         this.domainSettingsResolver = domainSettingsResolver;
 
-        JsonApi4jCompoundDocsApiHttpClient httpClient =
-                new JsonApi4jCompoundDocsApiHttpClient(objectMapper, config.getErrorStrategy());
-        this.fetcher = new CachingCompoundDocsFetcher(httpClient, cache, executorService);
+        // the blocking fetches run on executorService, so the clients keep their own JDK default executor
+        this.httpClientRegistry = new HttpClientRegistry(config, null);
+        JsonApi4jCompoundDocsApiHttpClient httpClient = new JsonApi4jCompoundDocsApiHttpClient(
+                objectMapper,
+                config.getErrorStrategy(),
+                httpClientRegistry
+        );
+        this.fetcher = new CachingCompoundDocsFetcher(
+                httpClient,
+                cache,
+                executorService,
+                objectMapper,
+                config.getCacheCoalescingWindowMs(),
+                inProcessFetcher,
+                config.getCacheRefreshAheadFraction()
+        );
 
         this.jsonApiResponseParser = new JsonApiResponseParser(objectMapper);
         this.jsonApiResponseWriter = new JsonApiResponseWriter(objectMapper);
@@ -90,15 +144,60 @@ public class CompoundDocsResolver {
         );
     }
 
+    /**
+     * Resolves compound docs for the raw UTF-8 bytes of the original response and keeps the result in its parsed
+     * form. Use {@link #writeCompoundDocs(CompoundDocsTreeResult, OutputStream)} to stream it to the client.
+     * Unlike {@link #resolveCompoundDocs(String, CompoundDocsRequest)} neither the original response nor the fetched
+     * resources are ever materialized as {@link String}s.
+     *
+     * @param originalJsonApiResponse raw UTF-8 bytes of the original JSON:API document
+     * @param compoundDocsRequest     the original request
+     * @return the parsed original document together with the resolved {@code included} resources, or a result
+     * without included resources and without the parsed document if the request isn't
+     * {@link CompoundDocsRequest#isProcessable() processable}
+     */
+    public CompoundDocsTreeResult resolveCompoundDocsTree(byte[] originalJsonApiResponse,
+                                                          CompoundDocsRequest compoundDocsRequest) throws ErrorJsonApiResponseException {
+        if (!compoundDocsRequest.isProcessable()) {
+            return new CompoundDocsTreeResult(null, Collections.emptyList(), null);
+        }
+        String relationshipName = compoundDocsRequest.getRelationshipNameFromRequestUri();
+        if (relationshipName == null) {
+            return resolveCompoundDocsInternal(
+                    compoundDocsRequest.getIncludes(),
+                    compoundDocsRequest,
+                    () -> jsonApiResponseParser.parsePrimaryResourceDoc(originalJsonApiResponse)
+            );
+        }
+        return resolveCompoundDocsInternal(
+                getRelationshipEffectiveIncludes(compoundDocsRequest, relationshipName),
+                compoundDocsRequest,
+                () -> jsonApiResponseParser.parseRelationshipDoc(originalJsonApiResponse, relationshipName)
+        );
+    }
+
+    /**
+     * Streams the document resolved by {@link #resolveCompoundDocsTree(byte[], CompoundDocsRequest)} into
+     * {@code out}: original top-level members followed by the {@code included} member. Must only be called when
+     * {@link CompoundDocsTreeResult#hasIncludedResources()} is {@code true} - otherwise the original response can be
+     * written as is.
+     */
+    public void writeCompoundDocs(CompoundDocsTreeResult result, OutputStream out) {
+        jsonApiResponseWriter.writeWithIncludedMember(result.rootNode(), result.includedResources(), out);
+    }
+
     public CompoundDocsResult resolveCompoundDocsForPrimaryResourceResponse(
             String originalJsonApiResponse,
             CompoundDocsRequest compoundDocsRequest
     ) throws ErrorJsonApiResponseException {
         if (compoundDocsRequest.isProcessable()) {
-            return resolveCompoundDocsInternal(
+            return toCompoundDocsResult(
                     originalJsonApiResponse,
-                    compoundDocsRequest,
-                    () -> jsonApiResponseParser.parsePrimaryResourceDoc(originalJsonApiResponse)
+                    resolveCompoundDocsInternal(
+                            compoundDocsRequest.getIncludes(),
+                            compoundDocsRequest,
+                            () -> jsonApiResponseParser.parsePrimaryResourceDoc(originalJsonApiResponse)
+                    )
             );
         }
         return new CompoundDocsResult(originalJsonApiResponse, null);
@@ -108,31 +207,52 @@ public class CompoundDocsResolver {
                                                                          CompoundDocsRequest compoundDocsRequest,
                                                                          String relationshipName) throws ErrorJsonApiResponseException {
         if (compoundDocsRequest.isProcessable()) {
-            List<String> effectiveOriginalRequestIncludes =
-                    compoundDocsRequest.getIncludes() == null ?
-                            Collections.emptyList() :
-                            compoundDocsRequest.getIncludes()
-                                    .stream()
-                                    .filter(i -> i.startsWith(relationshipName))
-                                    .toList();
-            return resolveCompoundDocsInternal(
+            return toCompoundDocsResult(
                     originalJsonApiResponse,
-                    effectiveOriginalRequestIncludes,
-                    compoundDocsRequest,
-                    () -> jsonApiResponseParser.parseRelationshipDoc(originalJsonApiResponse, relationshipName)
+                    resolveCompoundDocsInternal(
+                            getRelationshipEffectiveIncludes(compoundDocsRequest, relationshipName),
+                            compoundDocsRequest,
+                            () -> jsonApiResponseParser.parseRelationshipDoc(originalJsonApiResponse, relationshipName)
+                    )
             );
         }
         return new CompoundDocsResult(originalJsonApiResponse, null);
     }
 
+    private List<String> getRelationshipEffectiveIncludes(CompoundDocsRequest compoundDocsRequest,
+                                                          String relationshipName) {
+        return compoundDocsRequest.getIncludes() == null ?
+                Collections.emptyList() :
+                compoundDocsRequest.getIncludes()
+                        .stream()
+                        .filter(i -> i.startsWith(relationshipName))
+                        .toList();
+    }
+
+    private CompoundDocsResult toCompoundDocsResult(String originalJsonApiResponse,
+                                                    CompoundDocsTreeResult treeResult) {
+        if (!treeResult.hasIncludedResources()) {
+            return new CompoundDocsResult(originalJsonApiResponse, treeResult.cacheControlDirectives());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeCompoundDocs(treeResult, out);
+        return new CompoundDocsResult(out.toString(StandardCharsets.UTF_8), treeResult.cacheControlDirectives());
+    }
+
+    /**
+     * @return the pending fetch, cancelling it interrupts the fetch if it's already running so that it gives its
+     * connection permit back right away
+     */
     private CompletableFuture<BatchFetchResult> sendJsonApiRequestAsync(Set<String> ids,
                                                                        String resourceType,
                                                                        Set<String> requestIncludes,
                                                                        CompoundDocsRequest originalRequest,
                                                                        Map<String, String> metaHeaders) {
         DomainSettings domainSettings = resolveDomainSettings(resourceType, originalRequest.getSelfBaseUrl());
-        return CompletableFuture.supplyAsync(
-                () -> fetcher.fetch(
+        CompletableFuture<BatchFetchResult> result = new CompletableFuture<>();
+        Future<?> task = executorService.submit(() -> {
+            try {
+                result.complete(fetcher.fetch(
                         domainSettings,
                         resourceType,
                         ids,
@@ -140,104 +260,69 @@ public class CompoundDocsResolver {
                         originalRequest,
                         config,
                         metaHeaders
-                ),
-                executorService
-        );
-    }
-
-    private CompoundDocsResult resolveCompoundDocsInternal(String originalJsonApiResponse,
-                                                           CompoundDocsRequest request,
-                                                           Supplier<ParseResult> parseResultSupplier) throws ErrorJsonApiResponseException {
-        return resolveCompoundDocsInternal(originalJsonApiResponse, request.getIncludes(), request, parseResultSupplier);
+                ));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((fetchResult, e) -> {
+            if (e instanceof CancellationException) {
+                task.cancel(true);
+            }
+        });
+        return result;
     }
 
-
-    private CompoundDocsResult resolveCompoundDocsInternal(String originalJsonApiResponse,
-                                                          List<String> effectiveRequestIncludes,
-                                                          CompoundDocsRequest request,
-                                                          Supplier<ParseResult> parseResultSupplier) throws ErrorJsonApiResponseException {
+    /**
+     * Walks the include paths as a dependency graph rather than hop by hop: every fetched batch schedules the batches
+     * of the next hop that depend on it as soon as it completes, so a slow resource type on one branch never holds
+     * back unrelated branches. The total latency is the one of the slowest include path instead of the sum of the
+     * slowest fetch of every hop.
+     * <p>
+     * IDs of the same resource type that different parent batches of one hop point at are still merged into a
+     * single downstream fetch: the batch stays open until no fetch of an earlier hop can contribute to it anymore, but
+     * at most {@link #HOP_COALESCING_WINDOW_MS}. The first failed fetch cancels all the others.
+     */
+    private CompoundDocsTreeResult resolveCompoundDocsInternal(List<String> effectiveRequestIncludes,
+                                                               CompoundDocsRequest request,
+                                                               Supplier<ParseResult> parseResultSupplier) throws ErrorJsonApiResponseException {
 
         ParseResult originalParseResult = parseResultSupplier.get();
-        Set<String> allResources = new HashSet<>();
-        CacheControlAggregator aggregator = new CacheControlAggregator();
-        int currentLevel = 1;
-        Map<String, Set<String>> nextLevelIncludes = getNextLevelIncludes(effectiveRequestIncludes, currentLevel);
-        boolean hasNextHops = !nextLevelIncludes.isEmpty();
-
-        RequestedResourceIdsTracker requestedResourceIdsTracker = new RequestedResourceIdsTracker(
-                config.isDeduplicateResources()
-        );
-
-        Set<IntermediateParseResult> currentLevelParseResults = Collections.singleton(
+        IncludesTraversal traversal = new IncludesTraversal(effectiveRequestIncludes, request);
+        traversal.start(
                 new IntermediateParseResult(
                         originalParseResult.typeToIdsMap(),
                         originalParseResult.typeToRelationshipNameMap()
                 )
         );
-        while (hasNextHops
-                && currentLevel <= config.getMaxHops()
-                && allResources.size() <= config.getMaxIncludedResources()) {
-            log.debug("Compound docs resolution hop {}, included resources so far: {}", currentLevel, allResources.size());
-            Map<String, Set<String>> resourceIdsByType = getResourceIdsByType(currentLevelParseResults);
-            Map<String, Set<String>> typeToRelationshipsName = getTypeToRelationships(currentLevelParseResults);
-
-            Set<CompletableFuture<BatchFetchResult>> futures = new HashSet<>();
-            for (Map.Entry<String, Set<String>> e : resourceIdsByType.entrySet()) {
-
-                String resourceType = e.getKey();
-                Set<String> ids = e.getValue();
-
-                ids = requestedResourceIdsTracker.calculateNonRequested(resourceType, ids);
-
-                if (!ids.isEmpty()) {
-                    Set<String> requestIncludes = resolveIncludesToRequest(
-                            typeToRelationshipsName,
-                            nextLevelIncludes,
-                            resourceType
-                    );
-                    futures.add(
-                            sendJsonApiRequestAsync(
-                                    ids,
-                                    resourceType,
-                                    requestIncludes,
-                                    request,
-                                    Map.of(X_DISABLE_COMPOUND_DOCS.getName(), String.valueOf(true))
-                            )
-                    );
-                    log.debug("Queued batch fetch for type '{}', ids: {}, includes: {}", resourceType, ids, requestIncludes);
-                }
-
-            }
-
-            Set<String> currentLevelResources = new HashSet<>();
-            for (CompletableFuture<BatchFetchResult> future : futures) {
-                BatchFetchResult fetchResult = future.join();
-                currentLevelResources.addAll(fetchResult.resources());
-                aggregator.add(fetchResult.directives());
+        try {
+            traversal.completion.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-
-            allResources.addAll(currentLevelResources);
-
-            currentLevelParseResults = currentLevelResources.stream()
-                    .map(jsonApiResponseParser::parseResourceDocData)
-                    .collect(Collectors.toSet());
-
-            currentLevel++;
-            nextLevelIncludes = getNextLevelIncludes(effectiveRequestIncludes, currentLevel);
-            hasNextHops = !nextLevelIncludes.isEmpty();
+            throw e;
         }
 
-        log.debug("Compound docs resolution completed. Total hops: {}, total included resources: {}", currentLevel - 1, allResources.size());
+        log.debug("Compound docs resolution completed. Total hops: {}, total included resources: {}", traversal.deepestHop.get(), traversal.resources.size());
 
-        if (!allResources.isEmpty()) {
-            String responseBody = jsonApiResponseWriter.composeWithIncludedMember(
-                    (ObjectNode) originalParseResult.rootNode(),
-                    allResources
-            );
-            return new CompoundDocsResult(responseBody, aggregator.getResult());
+        List<JsonNode> includedResources = traversal.resources.values()
+                .stream()
+                .sorted(INCLUDED_RESOURCES_ORDER)
+                .toList();
+        CacheControlDirectives cacheControlDirectives;
+        synchronized (traversal.aggregator) {
+            cacheControlDirectives = traversal.aggregator.getResult();
         }
+        return new CompoundDocsTreeResult(originalParseResult.rootNode(), includedResources, cacheControlDirectives);
+    }
 
-        return new CompoundDocsResult(originalJsonApiResponse, aggregator.getResult());
+    /**
+     * Releases the pooled downstream HTTP clients. The resolver must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        httpClientRegistry.close();
     }
 
     private DomainSettings resolveDomainSettings(String resourceType, String selfBaseUrl) {
@@ -256,9 +341,9 @@ public class CompoundDocsResolver {
     private Set<String> resolveIncludesToRequest(Map<String, Set<String>> typeToRelationshipsName,
                                                  Map<String, Set<String>> nextLevelIncludes,
                                                  String resourceType) {
-        return typeToRelationshipsName.get(resourceType)
+        return typeToRelationshipsName.getOrDefault(resourceType, Set.of())
                 .stream()
-                .flatMap(rel -> nextLevelIncludes.get(rel).stream())
+                .flatMap(rel -> nextLevelIncludes.getOrDefault(rel, Set.of()).stream())
                 .collect(Collectors.toSet());
     }
 
@@ -278,34 +363,262 @@ public class CompoundDocsResolver {
         return nextLevelIncludes;
     }
 
-    private Map<String, Set<String>> getResourceIdsByType(Set<IntermediateParseResult> parseResults) {
-        Map<String, Set<String>> resourceIdsByType = new HashMap<>();
-        for (IntermediateParseResult parseResult : parseResults) {
-            parseResult.typeToIdsMap().forEach((key, value) -> {
-                if (resourceIdsByType.containsKey(key)) {
-                    resourceIdsByType.get(key).addAll(value);
-                } else {
-                    resourceIdsByType.put(key, new HashSet<>(value));
+    private IntermediateParseResult parseResources(List<JsonNode> resources) {
+        Map<String, Set<String>> typeToIdsMap = new HashMap<>();
+        Map<String, Set<String>> typeToRelationshipNamesMap = new HashMap<>();
+        for (JsonNode resource : resources) {
+            IntermediateParseResult parseResult = jsonApiResponseParser.parseResourceDocData(resource);
+            parseResult.typeToIdsMap().forEach(
+                    (type, ids) -> typeToIdsMap.computeIfAbsent(type, t -> new HashSet<>()).addAll(ids)
+            );
+            parseResult.typeToRelationshipNamesMap().forEach(
+                    (type, names) -> typeToRelationshipNamesMap.computeIfAbsent(type, t -> new HashSet<>()).addAll(names)
+            );
+        }
+        return new IntermediateParseResult(typeToIdsMap, typeToRelationshipNamesMap);
+    }
+
+    /**
+     * Two fetches of the same resource can carry linkage of different relationships if they were requested with
+     * different includes - keeps the linkage of both.
+     */
+    private static JsonNode mergeRelationships(JsonNode existing, JsonNode fetched) {
+        if (existing.equals(fetched)
+                || !(existing.path("relationships") instanceof ObjectNode existingRelationships)
+                || !(fetched.path("relationships") instanceof ObjectNode fetchedRelationships)) {
+            return existing;
+        }
+        ObjectNode merged = (ObjectNode) existing.deepCopy();
+        ObjectNode mergedRelationships = (ObjectNode) merged.get("relationships");
+        fetchedRelationships.fields().forEachRemaining(e -> {
+            if (existingRelationships.path(e.getKey()).get("data") == null) {
+                mergedRelationships.set(e.getKey(), e.getValue().deepCopy());
+            }
+        });
+        return merged;
+    }
+
+    /**
+     * State of a single compound docs resolution. Fetches complete on executor threads, so everything here is
+     * concurrency-safe.
+     */
+    private final class IncludesTraversal {
+
+        private final List<String> effectiveRequestIncludes;
+        private final CompoundDocsRequest request;
+        private final Map<Integer, Map<String, Set<String>>> nextLevelIncludesByLevel = new ConcurrentHashMap<>();
+        private final RequestedResourceIdsTracker requestedResourceIdsTracker
+                = new RequestedResourceIdsTracker(config.isDeduplicateResources());
+        private final Map<Object, JsonNode> resources = new ConcurrentHashMap<>();
+        private final CacheControlAggregator aggregator = new CacheControlAggregator();
+        // open batches and running fetches per hop, the original document counts as hop 0
+        private final Map<Integer, AtomicInteger> pendingByLevel = new ConcurrentHashMap<>();
+        private final AtomicInteger pendingFetches = new AtomicInteger();
+        private final Map<HopBatchKey, HopBatch> openBatches = new ConcurrentHashMap<>();
+        private final Set<CompletableFuture<BatchFetchResult>> runningFetches = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger deepestHop = new AtomicInteger();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private IncludesTraversal(List<String> effectiveRequestIncludes, CompoundDocsRequest request) {
+            this.effectiveRequestIncludes = effectiveRequestIncludes;
+            this.request = request;
+            completion.whenComplete((result, e) -> {
+                if (e != null) {
+                    runningFetches.forEach(fetch -> fetch.cancel(true));
+                }
+            });
+        }
+
+        private void start(IntermediateParseResult originalParseResult) {
+            // holds the traversal open until the first hop is scheduled
+            hold(0);
+            try {
+                scheduleHop(1, originalParseResult);
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+            } finally {
+                settle(0);
+            }
+        }
+
+        private void scheduleHop(int level, IntermediateParseResult parentParseResult) {
+            Map<String, Set<String>> nextLevelIncludes = nextLevelIncludesByLevel.computeIfAbsent(
+                    level,
+                    l -> getNextLevelIncludes(effectiveRequestIncludes, l)
+            );
+            if (nextLevelIncludes.isEmpty()
+                    || level > config.getMaxHops()
+                    || resources.size() > config.getMaxIncludedResources()
+                    || completion.isDone()) {
+                return;
+            }
+            deepestHop.accumulateAndGet(level, Math::max);
+            for (Map.Entry<String, Set<String>> e : parentParseResult.typeToIdsMap().entrySet()) {
+                String resourceType = e.getKey();
+                Set<String> requestIncludes = resolveIncludesToRequest(
+                        parentParseResult.typeToRelationshipNamesMap(),
+                        nextLevelIncludes,
+                        resourceType
+                );
+                Set<String> ids = requestedResourceIdsTracker.calculateNonRequested(
+                        resourceType,
+                        e.getValue(),
+                        requestIncludes
+                );
+                if (!ids.isEmpty()) {
+                    log.debug("Queued hop {} batch fetch for type '{}', ids: {}, includes: {}", level, resourceType, ids, requestIncludes);
+                    enqueue(new HopBatchKey(level, resourceType), ids, requestIncludes);
+                }
+            }
+        }
+
+        private void enqueue(HopBatchKey key, Set<String> ids, Set<String> requestIncludes) {
+            hold(key.level());
+            while (true) {
+                HopBatch opened = new HopBatch(ids, requestIncludes);
+                HopBatch existing = openBatches.putIfAbsent(key, opened);
+                if (existing == null) {
+                    // flushing only hands the batch over to the executor, so it's fine to run on the shared delayer
+                    CompletableFuture.delayedExecutor(HOP_COALESCING_WINDOW_MS, TimeUnit.MILLISECONDS)
+                            .execute(() -> flush(key, opened));
+                    return;
+                }
+                if (existing.tryJoin(ids, requestIncludes)) {
+                    settle(key.level());
+                    return;
                 }
+                // the batch has just been flushed, open a new one
+            }
+        }
 
+        private void flush(HopBatchKey key, HopBatch batch) {
+            openBatches.remove(key, batch);
+            if (!batch.close()) {
+                // flushed already
+                return;
+            }
+            if (completion.isDone()) {
+                settle(key.level());
+                return;
+            }
+            CompletableFuture<BatchFetchResult> fetch;
+            try {
+                fetch = sendJsonApiRequestAsync(
+                        batch.ids,
+                        key.resourceType(),
+                        batch.includes,
+                        request,
+                        Map.of(X_DISABLE_COMPOUND_DOCS.getName(), String.valueOf(true))
+                );
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+                settle(key.level());
+                return;
+            }
+            runningFetches.add(fetch);
+            if (completion.isCompletedExceptionally()) {
+                fetch.cancel(true);
+            }
+            fetch.whenComplete((fetchResult, e) -> {
+                runningFetches.remove(fetch);
+                onFetched(key.level(), fetchResult, e);
             });
         }
-        return resourceIdsByType;
-    }
 
-    private Map<String, Set<String>> getTypeToRelationships(Set<IntermediateParseResult> parseResults) {
-        Map<String, Set<String>> typeToRelationshipName = new HashMap<>();
-        for (IntermediateParseResult parseResult : parseResults) {
-            parseResult.typeToRelationshipNamesMap().forEach((key, value) -> {
-                if (typeToRelationshipName.containsKey(key)) {
-                    typeToRelationshipName.get(key).addAll(value);
-                } else {
-                    typeToRelationshipName.put(key, new HashSet<>(value));
+        private void onFetched(int level, BatchFetchResult fetchResult, Throwable fetchError) {
+            try {
+                if (fetchError != null) {
+                    completion.completeExceptionally(fetchError);
+                    return;
                 }
+                fetchResult.resources().forEach(resource -> resources.merge(
+                        config.isDeduplicateResources() ? resourceKey(resource) : resource,
+                        resource,
+                        CompoundDocsResolver::mergeRelationships
+                ));
+                synchronized (aggregator) {
+                    aggregator.add(fetchResult.directives());
+                }
+                scheduleHop(level + 1, parseResources(fetchResult.resources()));
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+            } finally {
+                settle(level);
+            }
+        }
+
+        private void hold(int level) {
+            pendingFetches.incrementAndGet();
+            pendingByLevel.computeIfAbsent(level, l -> new AtomicInteger()).incrementAndGet();
+        }
 
+        private void settle(int level) {
+            pendingByLevel.get(level).decrementAndGet();
+            if (pendingFetches.decrementAndGet() == 0) {
+                completion.complete(null);
+                return;
+            }
+            // nothing of an earlier hop can join these batches anymore, no need to wait for the window to pass
+            openBatches.forEach((key, batch) -> {
+                if (key.level() > level && earlierLevelsSettled(key.level())) {
+                    flush(key, batch);
+                }
             });
         }
-        return typeToRelationshipName;
+
+        private boolean earlierLevelsSettled(int level) {
+            for (int l = 0; l < level; l++) {
+                AtomicInteger pending = pendingByLevel.get(l);
+                if (pending != null && pending.get() > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Object resourceKey(JsonNode resource) {
+            return List.of(resource.path("type").asText(), resource.path("id").asText());
+        }
+
+    }
+
+    private record HopBatchKey(int level, String resourceType) {
+    }
+
+    /**
+     * IDs and includes of one resource type that the parent batches of a hop have asked for so far.
+     */
+    private static final class HopBatch {
+
+        private final Set<String> ids;
+        private final Set<String> includes;
+        private boolean closed;
+
+        private HopBatch(Set<String> ids, Set<String> includes) {
+            this.ids = new HashSet<>(ids);
+            this.includes = new HashSet<>(includes);
+        }
+
+        private synchronized boolean tryJoin(Set<String> moreIds, Set<String> moreIncludes) {
+            if (closed) {
+                return false;
+            }
+            ids.addAll(moreIds);
+            includes.addAll(moreIncludes);
+            return true;
+        }
+
+        /**
+         * @return {@code false} if the batch has been closed already
+         */
+        private synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
     }
 
 }
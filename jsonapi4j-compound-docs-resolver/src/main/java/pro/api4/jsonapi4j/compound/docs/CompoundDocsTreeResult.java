@@ -0,0 +1,29 @@
+package pro.api4.jsonapi4j.compound.docs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
+
+import java.util.List;
+
+/**
+ * Result of compound document resolution kept in its parsed form, so it can be streamed straight into
+ * the target output (see {@link CompoundDocsResolver#writeCompoundDocs(CompoundDocsTreeResult, java.io.OutputStream)})
+ * without building any intermediate {@link String} copies of the document.
+ *
+ * @param rootNode               the parsed original JSON:API document, or {@code null} if the request wasn't
+ *                               processable and the original document has been left untouched
+ * @param includedResources      resolved resource objects for the {@code included} member, deduplicated and ordered
+ *                               by type and id; empty if nothing has been resolved
+ * @param cacheControlDirectives the aggregated Cache-Control directives (most restrictive
+ *                               across all downstream fetches), or {@code null} if no
+ *                               caching information is available
+ */
+public record CompoundDocsTreeResult(JsonNode rootNode,
+                                     List<JsonNode> includedResources,
+                                     CacheControlDirectives cacheControlDirectives) {
+
+    public boolean hasIncludedResources() {
+        return !includedResources.isEmpty();
+    }
+
+}
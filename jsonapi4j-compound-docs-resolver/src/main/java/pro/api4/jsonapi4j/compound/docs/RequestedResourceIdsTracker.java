@@ -1,36 +1,55 @@
 package pro.api4.jsonapi4j.compound.docs;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps track of the resources that have already been requested during a single compound docs resolution, so that
+ * the same resource isn't fetched twice. Include paths are traversed concurrently, so the tracker is safe to be used
+ * from multiple threads.
+ */
 public class RequestedResourceIdsTracker {
 
-    private final Map<String, Set<String>> requestedResourceIds;
+    private final Map<String, Map<String, Set<String>>> requestedResourceIds;
     private final boolean deduplicateResources;
 
     public RequestedResourceIdsTracker(boolean deduplicateResources) {
-        this.requestedResourceIds = new HashMap<>();
+        this.requestedResourceIds = new ConcurrentHashMap<>();
         this.deduplicateResources = deduplicateResources;
     }
 
     public Set<String> calculateNonRequested(String resourceType, Set<String> requestedIds) {
+        return calculateNonRequested(resourceType, requestedIds, Collections.emptySet());
+    }
+
+    /**
+     * @param resourceType resource type
+     * @param requestedIds IDs that are about to be requested
+     * @param includes     includes the IDs are about to be requested with
+     * @return IDs that haven't been requested yet, or only with includes that don't cover the given ones. All
+     * returned IDs are marked as requested with the given includes.
+     */
+    public Set<String> calculateNonRequested(String resourceType, Set<String> requestedIds, Set<String> includes) {
         if (!deduplicateResources) {
             return requestedIds;
         }
-        if (this.requestedResourceIds.containsKey(resourceType)) {
-            Set<String> alreadyRequestedIds = this.requestedResourceIds.get(resourceType);
-            Set<String> result = requestedIds.stream()
-                    .filter(id -> !alreadyRequestedIds.contains(id))
-                    .collect(Collectors.toSet());
-            this.requestedResourceIds.computeIfAbsent(resourceType, rt -> new HashSet<>()).addAll(result);
-            return result;
-        } else {
-            this.requestedResourceIds.put(resourceType, new HashSet<>(requestedIds));
-            return requestedIds;
-        }
+        Set<String> result = new HashSet<>();
+        requestedResourceIds.compute(resourceType, (rt, alreadyRequested) -> {
+            Map<String, Set<String>> requested = alreadyRequested != null ? alreadyRequested : new HashMap<>();
+            for (String id : requestedIds) {
+                Set<String> requestedIncludes = requested.get(id);
+                if (requestedIncludes == null || !requestedIncludes.containsAll(includes)) {
+                    result.add(id);
+                    requested.computeIfAbsent(id, i -> new HashSet<>()).addAll(includes);
+                }
+            }
+            return requested;
+        });
+        return result;
     }
 
 }
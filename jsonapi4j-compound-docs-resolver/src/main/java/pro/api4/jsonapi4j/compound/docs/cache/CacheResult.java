@@ -12,6 +12,10 @@ import org.apache.commons.lang3.Validate;
  * <p>The {@link #getRemainingTtlSeconds()} value is used by cache-control aggregation
  * (Epic 5) to compute the most restrictive {@code Cache-Control} header for the
  * final compound document response.
+ *
+ * <p>Caches that honor {@code stale-while-revalidate} / {@code stale-if-error} also return expired entries within
+ * those windows, marked by {@link #getFreshness()}. Caches that keep {@link CacheValidators} return entries past
+ * those windows too, as {@link Freshness#EXPIRED}, so that they can be revalidated.
  */
 @Getter
 @EqualsAndHashCode
@@ -20,17 +24,79 @@ public class CacheResult {
 
     private final String resourceJson;
     private final long remainingTtlSeconds;
+    private final long ageSeconds;
+    private final Freshness freshness;
+    private final CacheValidators validators;
 
     /**
      * @param resourceJson        cached resource JSON, must not be null
      * @param remainingTtlSeconds remaining TTL in seconds, must be >= 0
      */
     public CacheResult(String resourceJson, long remainingTtlSeconds) {
+        this(resourceJson, remainingTtlSeconds, 0, Freshness.FRESH);
+    }
+
+    /**
+     * @param resourceJson        cached resource JSON, must not be null
+     * @param remainingTtlSeconds remaining TTL in seconds, must be >= 0, {@code 0} for stale entries
+     * @param ageSeconds          how long ago the entry has been stored, in seconds, {@code 0} if unknown
+     * @param freshness           whether the entry is fresh or served from one of its stale windows
+     */
+    public CacheResult(String resourceJson, long remainingTtlSeconds, long ageSeconds, Freshness freshness) {
+        this(resourceJson, remainingTtlSeconds, ageSeconds, freshness, null);
+    }
+
+    /**
+     * @param resourceJson        cached resource JSON, must not be null
+     * @param remainingTtlSeconds remaining TTL in seconds, must be >= 0, {@code 0} for stale entries
+     * @param ageSeconds          how long ago the entry has been stored, in seconds, {@code 0} if unknown
+     * @param freshness           whether the entry is fresh or served from one of its stale windows
+     * @param validators          validators of the response the entry came with, may be null
+     */
+    public CacheResult(String resourceJson,
+                       long remainingTtlSeconds,
+                       long ageSeconds,
+                       Freshness freshness,
+                       CacheValidators validators) {
         this.resourceJson = Validate.notNull(resourceJson, "resourceJson must not be null");
         if (remainingTtlSeconds < 0) {
             throw new IllegalArgumentException("remainingTtlSeconds must be >= 0, got: " + remainingTtlSeconds);
         }
         this.remainingTtlSeconds = remainingTtlSeconds;
+        this.ageSeconds = Math.max(0, ageSeconds);
+        this.freshness = Validate.notNull(freshness, "freshness must not be null");
+        this.validators = validators;
+    }
+
+    /**
+     * @return {@code true} if the entry may be served without fetching the resource first
+     */
+    public boolean isServable() {
+        return freshness == Freshness.FRESH || freshness == Freshness.STALE;
+    }
+
+    /**
+     * Freshness of a cached entry, see RFC 5861.
+     */
+    public enum Freshness {
+        /**
+         * Within its TTL.
+         */
+        FRESH,
+        /**
+         * Expired, but within its {@code stale-while-revalidate} window: may be served while it's refreshed in the
+         * background.
+         */
+        STALE,
+        /**
+         * Expired, but within its {@code stale-if-error} window: may only be served if fetching a fresh copy fails.
+         */
+        STALE_IF_ERROR,
+        /**
+         * Expired and past its stale windows, kept for its {@link CacheValidators} only: may be served once a
+         * conditional request confirmed it's still current.
+         */
+        EXPIRED
     }
 
 }
@@ -0,0 +1,49 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time snapshot of {@link InMemoryCompoundDocsResourceCache} or {@link OffHeapCompoundDocsResourceCache}
+ * counters. Counters are cumulative since the cache was created.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long size;
+
+    /**
+     * @param hitCount        number of lookups that returned a cached entry
+     * @param missCount       number of lookups that found no entry, or an expired one
+     * @param evictionCount   number of live entries removed to keep the cache within its max size
+     * @param expirationCount number of entries removed because their TTL has elapsed
+     * @param size            number of entries at the time of the snapshot
+     */
+    public CacheStats(long hitCount,
+                      long missCount,
+                      long evictionCount,
+                      long expirationCount,
+                      long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.size = size;
+    }
+
+    /**
+     * @return ratio of hits to all lookups, or {@code 1.0} if there were no lookups yet
+     */
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+}
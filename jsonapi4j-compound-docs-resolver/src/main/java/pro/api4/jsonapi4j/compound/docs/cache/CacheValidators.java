@@ -0,0 +1,27 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+/**
+ * Validators of the downstream response a cached resource came with, used to revalidate the resource with a
+ * conditional request ({@code If-None-Match} / {@code If-Modified-Since}) instead of downloading it again.
+ *
+ * <p>Validators describe a whole {@code filter[id]=...} response rather than a single resource, so a conditional
+ * request only makes sense for the very same batch: {@code batchSize} tells how many resources that response held.
+ *
+ * @param etag         the {@code ETag} response header, or {@code null} if absent
+ * @param lastModified the {@code Last-Modified} response header, or {@code null} if absent
+ * @param batchSize    number of resources in the response
+ */
+public record CacheValidators(String etag, String lastModified, int batchSize) {
+
+    /**
+     * @return validators of a response, or {@code null} if the response had neither {@code ETag} nor
+     * {@code Last-Modified}
+     */
+    public static CacheValidators ofNullable(String etag, String lastModified, int batchSize) {
+        if (etag == null && lastModified == null) {
+            return null;
+        }
+        return new CacheValidators(etag, lastModified, batchSize);
+    }
+
+}
@@ -75,4 +75,19 @@ public interface CompoundDocsResourceCache {
         resources.forEach((key, json) -> put(key, json, directives));
     }
 
+    /**
+     * Stores multiple resources together with the validators of the response they came with, so that they can be
+     * revalidated with a conditional request once they expire.
+     *
+     * <p>Default implementation ignores the validators and delegates to
+     * {@link #putAll(Map, CacheControlDirectives)}.
+     *
+     * @param resources  map of cache keys to raw JSON strings
+     * @param directives the Cache-Control directives from the downstream response
+     * @param validators the validators from the downstream response, may be null
+     */
+    default void putAll(Map<CacheKey, String> resources, CacheControlDirectives directives, CacheValidators validators) {
+        putAll(resources, directives);
+    }
+
 }
@@ -5,22 +5,46 @@ import org.apache.commons.lang3.Validate;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 
 import java.time.Clock;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
- * Thread-safe, in-memory implementation of {@link CompoundDocsResourceCache}.
+ * Thread-safe, bounded in-memory implementation of {@link CompoundDocsResourceCache}.
  *
- * <p>Stores cached resources in a {@link ConcurrentHashMap} with TTL-based expiration
- * derived from {@link CacheControlDirectives#getEffectiveTtlSeconds()}.
- * When the cache exceeds {@code maxSize}, expired entries are purged first,
- * then the least recently used (LRU) non-expired entry is evicted.
+ * <p>Entries live in a {@link ConcurrentHashMap}, so lookups never block. The eviction policy is kept
+ * aside and maintained in amortised O(1) per operation:
+ * <ul>
+ *     <li><b>Size</b> — a segmented LRU. New entries land in the <i>probation</i> segment and are promoted to
+ *     the <i>protected</i> segment (80% of {@code maxSize}) on their first hit, so a burst of one-off resources
+ *     can't flush frequently requested ones. When the cache exceeds {@code maxSize} the least recently used
+ *     probation entry is evicted.</li>
+ *     <li><b>TTL</b> — a hierarchical timer wheel keyed by the expiration time derived from
+ *     {@link CacheControlDirectives#getEffectiveTtlSeconds()}. Expired entries are purged as the wheel
+ *     advances on writes, before any size-based eviction happens. Reads additionally drop expired entries
+ *     lazily.</li>
+ * </ul>
  *
- * <p>The {@code maxSize} is a soft cap — concurrent writes may briefly exceed it
- * by a small number of entries. This trade-off avoids lock contention on reads.
+ * <p>{@code stale-while-revalidate} and {@code stale-if-error} directives keep an entry around past its TTL: within
+ * those windows it's still returned, marked {@link CacheResult.Freshness#STALE} or
+ * {@link CacheResult.Freshness#STALE_IF_ERROR}, and it's up to the caller to refresh it. An entry is purged once
+ * the longer of the two windows has passed.
+ *
+ * <p>Entries stored with {@link CacheValidators} are kept for another TTL after that, marked
+ * {@link CacheResult.Freshness#EXPIRED}, so that the caller can revalidate them with a conditional request instead of
+ * downloading them again.
+ *
+ * <p>Reads record accesses into a small lossy ring buffer which is replayed against the policy by whichever
+ * thread holds the eviction lock next; under heavy contention some accesses may be dropped, which only
+ * makes the recency order slightly less precise. Writes update the policy under the eviction lock, so
+ * {@code maxSize} is a hard cap.
+ *
+ * <p>Hit, miss, eviction and expiration counters are exposed via {@link #stats()}.
  *
  * @see CompoundDocsResourceCache
  * @see AbstractCompoundDocsResourceCache
@@ -28,14 +52,29 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class InMemoryCompoundDocsResourceCache extends AbstractCompoundDocsResourceCache {
 
-    private final ConcurrentHashMap<CacheKey, CacheEntry> store;
+    private static final double PROTECTED_SEGMENT_RATIO = 0.8;
+
+    private final ConcurrentHashMap<CacheKey, Node> store;
     private final int maxSize;
+    private final int maxProtectedSize;
     private final Clock clock;
 
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AccessOrderDeque probation = new AccessOrderDeque();
+    private final AccessOrderDeque protectedSegment = new AccessOrderDeque();
+    private final TimerWheel timerWheel;
+    private final ReadBuffer readBuffer = new ReadBuffer();
+    private int protectedSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
     /**
      * Creates an in-memory cache with the given max size and clock.
      *
-     * @param maxSize soft cap on number of cached entries, must be &gt; 0
+     * @param maxSize max number of cached entries, must be &gt; 0
      * @param clock   clock for computing expiration timestamps and remaining TTL
      */
     public InMemoryCompoundDocsResourceCache(int maxSize, Clock clock) {
@@ -43,14 +82,16 @@ public class InMemoryCompoundDocsResourceCache extends AbstractCompoundDocsResou
             throw new IllegalArgumentException("maxSize must be > 0, got: " + maxSize);
         }
         this.maxSize = maxSize;
+        this.maxProtectedSize = (int) (maxSize * PROTECTED_SEGMENT_RATIO);
         this.clock = Validate.notNull(clock, "clock must not be null");
         this.store = new ConcurrentHashMap<>();
+        this.timerWheel = new TimerWheel(clock.millis());
     }
 
     /**
      * Creates an in-memory cache with the given max size and system UTC clock.
      *
-     * @param maxSize soft cap on number of cached entries, must be &gt; 0
+     * @param maxSize max number of cached entries, must be &gt; 0
      */
     public InMemoryCompoundDocsResourceCache(int maxSize) {
         this(maxSize, Clock.systemUTC());
@@ -59,47 +100,88 @@ public class InMemoryCompoundDocsResourceCache extends AbstractCompoundDocsResou
     /**
      * Retrieves a cached resource by key.
      *
-     * <p>If the entry exists but is expired, it is lazily removed and empty is returned.
-     * On a cache hit, the entry's last-access time is updated (for LRU eviction)
-     * and the remaining TTL is computed dynamically from the clock.
+     * <p>If the entry exists but is expired (past its stale windows too), it is lazily removed and empty is
+     * returned. On a cache hit, the access is recorded for the eviction policy and the remaining TTL
+     * is computed dynamically from the clock. Entries that can't be served right away - within their
+     * {@code stale-if-error} window or kept for revalidation only - are counted as misses.
      *
      * @param key the cache key
      * @return the cached result with remaining TTL, or empty if not cached or expired
      */
     @Override
     public Optional<CacheResult> get(CacheKey key) {
-        CacheEntry entry = store.get(key);
-        if (entry == null) {
+        Node node = store.get(key);
+        if (node == null) {
+            missCount.increment();
             return Optional.empty();
         }
 
-        Instant now = clock.instant();
-        if (entry.isExpired(now)) {
-            store.remove(key, entry);
+        long now = clock.millis();
+        if (node.isExpired(now)) {
+            missCount.increment();
+            removeExpired(node);
             return Optional.empty();
         }
 
-        entry.touch(now);
-        return Optional.of(new CacheResult(entry.resourceJson, entry.remainingTtlSeconds(now)));
+        CacheResult result = new CacheResult(
+                node.resourceJson,
+                node.remainingTtlSeconds(now),
+                (now - node.storedAtMillis) / 1000,
+                node.freshness(now),
+                node.validators
+        );
+        if (result.isServable()) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        recordAccess(node);
+        return Optional.of(result);
     }
 
     /**
      * Removes all entries from the cache. Primarily useful for tests and administrative
-     * invalidation where a fresh cache is required.
+     * invalidation where a fresh cache is required. Statistics are kept.
      */
     public void clear() {
-        store.clear();
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(node -> {
+            });
+            // retire entries first, so that reads still sitting in the buffer can't touch the reset deques
+            store.values().forEach(node -> node.segment = Segment.RETIRED);
+            store.clear();
+            probation.clear();
+            protectedSegment.clear();
+            timerWheel.clear();
+            protectedSize = 0;
+        } finally {
+            evictionLock.unlock();
+        }
         log.debug("Cache cleared");
     }
 
+    /**
+     * @return a point-in-time snapshot of the cache counters
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                evictionCount.sum(),
+                expirationCount.sum(),
+                store.size()
+        );
+    }
+
     /**
      * Stores a resource in the cache. Only called when directives are cacheable
      * (enforced by {@link AbstractCompoundDocsResourceCache#put}).
      *
      * <p>Computes expiration from {@link CacheControlDirectives#getEffectiveTtlSeconds()}.
-     * If the cache is at or above {@code maxSize}, triggers eviction:
-     * first removes all expired entries, then evicts the least recently used
-     * non-expired entry if still over the limit.
+     * Before inserting, the timer wheel is advanced so that expired entries are purged first;
+     * if the cache is still above {@code maxSize} afterwards, the least recently used probation
+     * entries are evicted.
      *
      * @param key          the cache key
      * @param resourceJson the raw JSON string of the resource object
@@ -107,77 +189,417 @@ public class InMemoryCompoundDocsResourceCache extends AbstractCompoundDocsResou
      */
     @Override
     protected void doPut(CacheKey key, String resourceJson, CacheControlDirectives directives) {
-        Instant now = clock.instant();
-        Instant expiresAt = now.plusSeconds(directives.getEffectiveTtlSeconds());
-        CacheEntry entry = new CacheEntry(resourceJson, expiresAt, now);
-        store.put(key, entry);
+        doPut(key, resourceJson, directives, null);
+    }
+
+    /**
+     * Stores resources together with the validators of the response they came with. Skipped if the directives
+     * aren't cacheable.
+     */
+    @Override
+    public void putAll(Map<CacheKey, String> resources, CacheControlDirectives directives, CacheValidators validators) {
+        if (!directives.isCacheable()) {
+            return;
+        }
+        resources.forEach((key, json) -> doPut(key, json, directives, validators));
+    }
+
+    private void doPut(CacheKey key, String resourceJson, CacheControlDirectives directives, CacheValidators validators) {
+        long now = clock.millis();
+        long expiresAt = now + directives.getEffectiveTtlSeconds() * 1000L;
+        Node node = new Node(
+                key,
+                resourceJson,
+                validators,
+                now,
+                expiresAt,
+                expiresAt + directives.getStaleWhileRevalidateSeconds() * 1000L,
+                expiresAt + directives.getStaleIfErrorSeconds() * 1000L
+        );
+
+        evictionLock.lock();
+        try {
+            maintenance(now);
+
+            Node previous = store.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            probation.addLast(node);
+            node.segment = Segment.PROBATION;
+            timerWheel.schedule(node);
+
+            while (store.size() > maxSize) {
+                evictVictim();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
         log.debug("Cache put: type='{}', id='{}', ttl={}s, store size={}", key.getResourceType(), key.getResourceId(), directives.getEffectiveTtlSeconds(), store.size());
+    }
+
+    private void recordAccess(Node node) {
+        if (evictionLock.tryLock()) {
+            try {
+                readBuffer.drainTo(this::onAccess);
+                onAccess(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        } else {
+            readBuffer.offer(node);
+        }
+    }
 
-        if (store.size() > maxSize) {
-            evict(now);
+    private void removeExpired(Node node) {
+        evictionLock.lock();
+        try {
+            if (store.remove(node.key, node)) {
+                unlink(node);
+                expirationCount.increment();
+            }
+        } finally {
+            evictionLock.unlock();
         }
     }
 
     /**
-     * Two-phase eviction:
-     * <ol>
-     *   <li>Remove all expired entries</li>
-     *   <li>If still over maxSize, remove the least recently used (oldest lastAccessedAt) non-expired entry</li>
-     * </ol>
+     * Replays buffered reads and purges expired entries. Must be called under the eviction lock.
      */
-    private void evict(Instant now) {
-        // Phase 1 — remove all expired entries
-        store.entrySet().removeIf(e -> e.getValue().isExpired(now));
-        log.debug("Cache eviction: removed expired entries, store size={}", store.size());
-
-        // Phase 2 — LRU eviction if still over limit
-        if (store.size() > maxSize) {
-            CacheKey lruKey = null;
-            Instant oldestAccess = null;
-
-            for (Map.Entry<CacheKey, CacheEntry> e : store.entrySet()) {
-                Instant lastAccessed = e.getValue().lastAccessedAt;
-                if (oldestAccess == null || lastAccessed.isBefore(oldestAccess)) {
-                    oldestAccess = lastAccessed;
-                    lruKey = e.getKey();
-                }
+    private void maintenance(long now) {
+        readBuffer.drainTo(this::onAccess);
+        timerWheel.advance(now, node -> {
+            if (store.remove(node.key, node)) {
+                unlink(node);
+                expirationCount.increment();
+                log.debug("Cache expiration: removed entry type='{}', id='{}'", node.key.getResourceType(), node.key.getResourceId());
             }
+        });
+    }
 
-            if (lruKey != null) {
-                store.remove(lruKey);
-                log.debug("Cache LRU eviction: removed entry type='{}', id='{}'", lruKey.getResourceType(), lruKey.getResourceId());
+    /**
+     * Moves an entry to the most recently used position of its segment, promoting probation entries
+     * to the protected segment. Must be called under the eviction lock.
+     */
+    private void onAccess(Node node) {
+        if (node.segment == Segment.PROBATION) {
+            probation.remove(node);
+            if (maxProtectedSize == 0) {
+                probation.addLast(node);
+                return;
+            }
+            protectedSegment.addLast(node);
+            node.segment = Segment.PROTECTED;
+            protectedSize++;
+            while (protectedSize > maxProtectedSize) {
+                Node demoted = protectedSegment.pollFirst();
+                protectedSize--;
+                probation.addLast(demoted);
+                demoted.segment = Segment.PROBATION;
             }
+        } else if (node.segment == Segment.PROTECTED) {
+            protectedSegment.remove(node);
+            protectedSegment.addLast(node);
         }
     }
 
+    private void evictVictim() {
+        Node victim = probation.peekFirst();
+        if (victim == null) {
+            victim = protectedSegment.peekFirst();
+        }
+        store.remove(victim.key, victim);
+        unlink(victim);
+        evictionCount.increment();
+        log.debug("Cache LRU eviction: removed entry type='{}', id='{}'", victim.key.getResourceType(), victim.key.getResourceId());
+    }
+
     /**
-     * Internal cache entry holding the resource JSON, expiration time,
-     * and last access time for LRU eviction.
+     * Detaches a node from the access order and the timer wheel. Must be called under the eviction lock.
      */
-    private static class CacheEntry {
+    private void unlink(Node node) {
+        if (node.segment == Segment.PROBATION) {
+            probation.remove(node);
+        } else if (node.segment == Segment.PROTECTED) {
+            protectedSegment.remove(node);
+            protectedSize--;
+        }
+        node.segment = Segment.RETIRED;
+        timerWheel.deschedule(node);
+    }
+
+    private enum Segment {
+        PROBATION, PROTECTED, RETIRED
+    }
 
+    /**
+     * Internal cache entry. Linked into one access order deque and one timer wheel bucket; all links are
+     * guarded by the eviction lock.
+     */
+    private static final class Node {
+
+        private final CacheKey key;
         private final String resourceJson;
-        private final Instant expiresAt;
-        private volatile Instant lastAccessedAt;
+        private final CacheValidators validators;
+        private final long storedAtMillis;
+        private final long freshUntilMillis;
+        private final long staleWhileRevalidateUntilMillis;
+        private final long staleIfErrorUntilMillis;
+        // when the entry is purged: the end of its longest stale window, or of its revalidation period
+        private final long expiresAtMillis;
+
+        private Segment segment;
+        private Node prevInAccessOrder;
+        private Node nextInAccessOrder;
+        private Node prevInTimerOrder;
+        private Node nextInTimerOrder;
 
-        CacheEntry(String resourceJson,
-                   Instant expiresAt,
-                   Instant insertionTime) {
+        Node(CacheKey key,
+             String resourceJson,
+             CacheValidators validators,
+             long storedAtMillis,
+             long freshUntilMillis,
+             long staleWhileRevalidateUntilMillis,
+             long staleIfErrorUntilMillis) {
+            this.key = key;
             this.resourceJson = resourceJson;
-            this.expiresAt = expiresAt;
-            this.lastAccessedAt = insertionTime;
+            this.validators = validators;
+            this.storedAtMillis = storedAtMillis;
+            this.freshUntilMillis = freshUntilMillis;
+            this.staleWhileRevalidateUntilMillis = staleWhileRevalidateUntilMillis;
+            this.staleIfErrorUntilMillis = staleIfErrorUntilMillis;
+            long staleUntilMillis = Math.max(freshUntilMillis, Math.max(staleWhileRevalidateUntilMillis, staleIfErrorUntilMillis));
+            this.expiresAtMillis = validators != null
+                    ? Math.max(staleUntilMillis, freshUntilMillis + (freshUntilMillis - storedAtMillis))
+                    : staleUntilMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+
+        CacheResult.Freshness freshness(long nowMillis) {
+            if (nowMillis < freshUntilMillis) {
+                return CacheResult.Freshness.FRESH;
+            }
+            if (nowMillis < staleWhileRevalidateUntilMillis) {
+                return CacheResult.Freshness.STALE;
+            }
+            return nowMillis < staleIfErrorUntilMillis
+                    ? CacheResult.Freshness.STALE_IF_ERROR
+                    : CacheResult.Freshness.EXPIRED;
+        }
+
+        long remainingTtlSeconds(long nowMillis) {
+            return Math.max(0, (freshUntilMillis - nowMillis) / 1000);
+        }
+    }
+
+    /**
+     * Doubly linked list ordered from least to most recently used.
+     */
+    private static final class AccessOrderDeque {
+
+        private Node first;
+        private Node last;
+
+        void addLast(Node node) {
+            node.prevInAccessOrder = last;
+            node.nextInAccessOrder = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.nextInAccessOrder = node;
+            }
+            last = node;
+        }
+
+        Node peekFirst() {
+            return first;
+        }
+
+        Node pollFirst() {
+            Node node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node node) {
+            Node prev = node.prevInAccessOrder;
+            Node next = node.nextInAccessOrder;
+            if (prev == null) {
+                first = next;
+            } else {
+                prev.nextInAccessOrder = next;
+            }
+            if (next == null) {
+                last = prev;
+            } else {
+                next.prevInAccessOrder = prev;
+            }
+            node.prevInAccessOrder = null;
+            node.nextInAccessOrder = null;
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    /**
+     * Hierarchical timer wheel with millisecond resolution. Each level is a ring of buckets whose span is a
+     * power of two, so placing, removing and expiring an entry is O(1); entries scheduled on a coarse level
+     * are cascaded down to finer levels as the wheel advances. Levels cover ~65s in ~1s buckets, ~70m in ~65s
+     * buckets, ~37h in ~70m buckets and ~6d in ~37h buckets; anything further away goes to a single overflow bucket.
+     */
+    private static final class TimerWheel {
+
+        private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+        private static final int[] SHIFT = {10, 16, 22, 27, 29};
+
+        private final Node[][] wheel;
+        private long currentMillis;
+
+        TimerWheel(long nowMillis) {
+            this.currentMillis = nowMillis;
+            this.wheel = new Node[BUCKETS.length][];
+            for (int i = 0; i < BUCKETS.length; i++) {
+                wheel[i] = new Node[BUCKETS[i]];
+                for (int j = 0; j < BUCKETS[i]; j++) {
+                    wheel[i][j] = newSentinel();
+                }
+            }
+        }
+
+        void schedule(Node node) {
+            Node sentinel = findBucket(node.expiresAtMillis);
+            node.prevInTimerOrder = sentinel.prevInTimerOrder;
+            node.nextInTimerOrder = sentinel;
+            sentinel.prevInTimerOrder.nextInTimerOrder = node;
+            sentinel.prevInTimerOrder = node;
         }
 
-        boolean isExpired(Instant now) {
-            return now.isAfter(expiresAt) || now.equals(expiresAt);
+        void deschedule(Node node) {
+            if (node.nextInTimerOrder != null) {
+                node.nextInTimerOrder.prevInTimerOrder = node.prevInTimerOrder;
+                node.prevInTimerOrder.nextInTimerOrder = node.nextInTimerOrder;
+                node.nextInTimerOrder = null;
+                node.prevInTimerOrder = null;
+            }
+        }
+
+        /**
+         * Advances the wheel to {@code nowMillis}, handing every expired entry to {@code onExpired} and
+         * rescheduling the rest of the visited entries to finer-grained buckets.
+         */
+        void advance(long nowMillis, Consumer<Node> onExpired) {
+            long previousMillis = currentMillis;
+            currentMillis = nowMillis;
+            for (int level = 0; level < SHIFT.length; level++) {
+                long previousTicks = previousMillis >>> SHIFT[level];
+                long currentTicks = nowMillis >>> SHIFT[level];
+                long delta = currentTicks - previousTicks;
+                if (delta <= 0) {
+                    break;
+                }
+                expire(level, previousTicks, delta, onExpired);
+            }
         }
 
-        long remainingTtlSeconds(Instant now) {
-            return Math.max(0, Duration.between(now, expiresAt).getSeconds());
+        void clear() {
+            for (Node[] level : wheel) {
+                for (Node sentinel : level) {
+                    sentinel.prevInTimerOrder = sentinel;
+                    sentinel.nextInTimerOrder = sentinel;
+                }
+            }
+        }
+
+        private void expire(int level, long previousTicks, long delta, Consumer<Node> onExpired) {
+            Node[] buckets = wheel[level];
+            int mask = buckets.length - 1;
+            int steps = (int) Math.min(1 + delta, buckets.length);
+            int start = (int) (previousTicks & mask);
+            for (int i = start; i < start + steps; i++) {
+                Node sentinel = buckets[i & mask];
+                Node node = sentinel.nextInTimerOrder;
+                sentinel.prevInTimerOrder = sentinel;
+                sentinel.nextInTimerOrder = sentinel;
+                while (node != sentinel) {
+                    Node next = node.nextInTimerOrder;
+                    node.prevInTimerOrder = null;
+                    node.nextInTimerOrder = null;
+                    if (node.isExpired(currentMillis)) {
+                        onExpired.accept(node);
+                    } else {
+                        schedule(node);
+                    }
+                    node = next;
+                }
+            }
+        }
+
+        private Node findBucket(long expiresAtMillis) {
+            long duration = expiresAtMillis - currentMillis;
+            int lastLevel = wheel.length - 1;
+            for (int level = 0; level < lastLevel; level++) {
+                if (duration < 1L << SHIFT[level + 1]) {
+                    long ticks = expiresAtMillis >>> SHIFT[level];
+                    return wheel[level][(int) (ticks & (wheel[level].length - 1))];
+                }
+            }
+            return wheel[lastLevel][0];
         }
 
-        void touch(Instant now) {
-            this.lastAccessedAt = now;
+        private static Node newSentinel() {
+            Node sentinel = new Node(null, null, null, 0, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+            sentinel.prevInTimerOrder = sentinel;
+            sentinel.nextInTimerOrder = sentinel;
+            return sentinel;
+        }
+    }
+
+    /**
+     * Bounded multi-producer / single-consumer ring buffer of recent reads. Producers never block: when the
+     * buffer is full the access is simply dropped. Drained by the eviction lock holder.
+     */
+    private static final class ReadBuffer {
+
+        private static final int CAPACITY = 256;
+        private static final int MASK = CAPACITY - 1;
+
+        private final AtomicReferenceArray<Node> buffer = new AtomicReferenceArray<>(CAPACITY);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        void offer(Node node) {
+            long tail = writeCounter.get();
+            if (tail - readCounter >= CAPACITY) {
+                return;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), node);
+            }
+        }
+
+        void drainTo(Consumer<Node> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            while (head < tail) {
+                int index = (int) (head & MASK);
+                Node node = buffer.get(index);
+                if (node == null) {
+                    // the producer has claimed the slot but not published the node yet
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(node);
+                head++;
+            }
+            readCounter = head;
         }
     }
 
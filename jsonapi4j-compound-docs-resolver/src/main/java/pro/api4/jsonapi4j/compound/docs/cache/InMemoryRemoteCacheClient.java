@@ -0,0 +1,92 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import org.apache.commons.lang3.Validate;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for a remote cache: a {@link RemoteCacheClient} that keeps everything in a local map. Meant for
+ * tests and local development, where several {@link TwoTierCompoundDocsResourceCache}s (e.g. one per simulated node)
+ * can share a single instance in place of Redis.
+ *
+ * <p>The store is unbounded; expired entries are removed lazily when they are read.
+ */
+public class InMemoryRemoteCacheClient implements RemoteCacheClient {
+
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    private final LongAdder getAllCount = new LongAdder();
+    private final LongAdder putAllCount = new LongAdder();
+
+    /**
+     * @param clock clock for computing expiration timestamps and remaining TTL
+     */
+    public InMemoryRemoteCacheClient(Clock clock) {
+        this.clock = Validate.notNull(clock, "clock must not be null");
+    }
+
+    public InMemoryRemoteCacheClient() {
+        this(Clock.systemUTC());
+    }
+
+    @Override
+    public Map<String, CacheResult> getAll(Collection<String> keys) {
+        getAllCount.increment();
+        long now = clock.millis();
+        Map<String, CacheResult> results = new HashMap<>();
+        for (String key : keys) {
+            Entry entry = store.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (now >= entry.expiresAtMillis()) {
+                store.remove(key, entry);
+                continue;
+            }
+            results.put(key, new CacheResult(entry.value(), (entry.expiresAtMillis() - now) / 1000));
+        }
+        return results;
+    }
+
+    @Override
+    public void putAll(Map<String, String> values, long ttlSeconds) {
+        putAllCount.increment();
+        long expiresAt = clock.millis() + ttlSeconds * 1000L;
+        values.forEach((key, value) -> store.put(key, new Entry(value, expiresAt)));
+    }
+
+    /**
+     * @return number of stored entries, including expired ones that haven't been read since
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * @return number of {@link #getAll(Collection)} round trips so far
+     */
+    public long getAllCount() {
+        return getAllCount.sum();
+    }
+
+    /**
+     * @return number of {@link #putAll(Map, long)} round trips so far
+     */
+    public long putAllCount() {
+        return putAllCount.sum();
+    }
+
+    public void clear() {
+        store.clear();
+    }
+
+    private record Entry(String value, long expiresAtMillis) {
+    }
+
+}
@@ -0,0 +1,506 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Thread-safe implementation of {@link CompoundDocsResourceCache} that keeps resources as UTF-8 bytes outside the
+ * Java heap, bounded by size in bytes rather than by number of entries.
+ *
+ * <p>The cache is split into up to 16 shards, each with its own lock. A shard owns a ring of fixed-size direct
+ * {@link ByteBuffer} segments which are filled sequentially with records of the form
+ * {@code [key hash, expiration, lengths, key bytes, value bytes]}. Lookups go through a compact open-addressing
+ * index of primitive {@code long}s (64-bit key hash to segment and offset), so a cached resource costs the heap no
+ * more than two array slots. The full key is stored next to the value and compared on every read, so hash collisions
+ * can't return a wrong resource.
+ *
+ * <p>Eviction is FIFO at segment granularity: once the ring of a shard is full, its oldest segment is dropped as a
+ * whole and reused, unlinking every live entry it held. Overwritten entries simply stay in their segment until it's
+ * dropped. TTL is checked on read, expired entries are removed lazily.
+ *
+ * <p>Values of at least {@value #COMPRESSION_THRESHOLD_BYTES} bytes can optionally be deflate-compressed, which is
+ * worth it for larger resources with many repeated attribute names.
+ *
+ * <p>Direct memory of up to {@code maxSizeBytes} is allocated lazily, segment by segment, and counts against
+ * {@code -XX:MaxDirectMemorySize}. A single resource larger than a segment
+ * ({@code maxSizeBytes / shards / 8}) isn't cached.
+ *
+ * <p>Hit, miss, eviction and expiration counters are exposed via {@link #stats()}.
+ *
+ * @see CompoundDocsResourceCache
+ * @see InMemoryCompoundDocsResourceCache
+ */
+@Slf4j
+public class OffHeapCompoundDocsResourceCache extends AbstractCompoundDocsResourceCache {
+
+    /**
+     * Smallest supported cache size: one 8 KB segment per slot of the ring.
+     */
+    public static final long MIN_SIZE_BYTES = 64 * 1024;
+
+    private static final int MAX_SHARDS = 16;
+    private static final long MIN_SHARD_SIZE_BYTES = 1024 * 1024;
+    private static final int SEGMENTS_PER_SHARD = 8;
+    private static final int COMPRESSION_THRESHOLD_BYTES = 256;
+
+    // record layout: key hash (8), expires at (8), key length (4), stored value length (4), raw value length (4)
+    private static final int HASH_OFFSET = 0;
+    private static final int EXPIRES_AT_OFFSET = 8;
+    private static final int KEY_LENGTH_OFFSET = 16;
+    private static final int VALUE_LENGTH_OFFSET = 20;
+    private static final int RAW_LENGTH_OFFSET = 24;
+    private static final int HEADER_SIZE = 28;
+    private static final int NOT_COMPRESSED = -1;
+
+    private final Shard[] shards;
+    private final int segmentSize;
+    private final boolean compression;
+    private final Clock clock;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    /**
+     * @param maxSizeBytes max number of bytes the cache occupies off heap, must be &gt;= {@link #MIN_SIZE_BYTES}
+     * @param compression  whether larger resources are deflate-compressed
+     * @param clock        clock for computing expiration timestamps and remaining TTL
+     */
+    public OffHeapCompoundDocsResourceCache(long maxSizeBytes, boolean compression, Clock clock) {
+        if (maxSizeBytes < MIN_SIZE_BYTES) {
+            throw new IllegalArgumentException("maxSizeBytes must be >= " + MIN_SIZE_BYTES + ", got: " + maxSizeBytes);
+        }
+        int shardCount = 1;
+        while (shardCount < MAX_SHARDS && maxSizeBytes / (shardCount * 2L) >= MIN_SHARD_SIZE_BYTES) {
+            shardCount *= 2;
+        }
+        long shardSegmentSize = maxSizeBytes / shardCount / SEGMENTS_PER_SHARD;
+        if (shardSegmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxSizeBytes is too large, got: " + maxSizeBytes);
+        }
+        this.segmentSize = (int) shardSegmentSize;
+        this.compression = compression;
+        this.clock = Validate.notNull(clock, "clock must not be null");
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Creates an off-heap cache with the given max size in bytes and system UTC clock.
+     *
+     * @param maxSizeBytes max number of bytes the cache occupies off heap, must be &gt;= {@link #MIN_SIZE_BYTES}
+     * @param compression  whether larger resources are deflate-compressed
+     */
+    public OffHeapCompoundDocsResourceCache(long maxSizeBytes, boolean compression) {
+        this(maxSizeBytes, compression, Clock.systemUTC());
+    }
+
+    /**
+     * Retrieves a cached resource by key.
+     *
+     * <p>If the entry exists but is expired, it is lazily removed and empty is returned.
+     *
+     * @param key the cache key
+     * @return the cached result with remaining TTL, or empty if not cached or expired
+     */
+    @Override
+    public Optional<CacheResult> get(CacheKey key) {
+        byte[] keyBytes = toBytes(key);
+        long hash = hash(keyBytes);
+        Optional<CacheResult> result = shardFor(hash).get(hash, keyBytes, clock.millis());
+        if (result.isPresent()) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Removes all entries from the cache and releases the segments. Statistics are kept.
+     */
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+        log.debug("Cache cleared");
+    }
+
+    /**
+     * @return a point-in-time snapshot of the cache counters
+     */
+    public CacheStats stats() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return new CacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                evictionCount.sum(),
+                expirationCount.sum(),
+                size
+        );
+    }
+
+    /**
+     * Stores a resource in the cache. Only called when directives are cacheable
+     * (enforced by {@link AbstractCompoundDocsResourceCache#put}).
+     *
+     * @param key          the cache key
+     * @param resourceJson the raw JSON string of the resource object
+     * @param directives   the Cache-Control directives (guaranteed cacheable)
+     */
+    @Override
+    protected void doPut(CacheKey key, String resourceJson, CacheControlDirectives directives) {
+        long now = clock.millis();
+        long expiresAt = now + directives.getEffectiveTtlSeconds() * 1000L;
+        byte[] keyBytes = toBytes(key);
+        byte[] rawValue = resourceJson.getBytes(StandardCharsets.UTF_8);
+        byte[] value = rawValue;
+        int rawLength = NOT_COMPRESSED;
+        if (compression && rawValue.length >= COMPRESSION_THRESHOLD_BYTES) {
+            byte[] compressed = deflate(rawValue);
+            if (compressed.length < rawValue.length) {
+                value = compressed;
+                rawLength = rawValue.length;
+            }
+        }
+        if (HEADER_SIZE + keyBytes.length + value.length > segmentSize) {
+            log.debug("Cache put skipped: type='{}', id='{}' takes {} bytes, segment size is {}", key.getResourceType(), key.getResourceId(), value.length, segmentSize);
+            return;
+        }
+        long hash = hash(keyBytes);
+        shardFor(hash).put(hash, keyBytes, value, rawLength, expiresAt, now);
+        log.debug("Cache put: type='{}', id='{}', ttl={}s, bytes={}", key.getResourceType(), key.getResourceId(), directives.getEffectiveTtlSeconds(), value.length);
+    }
+
+    private Shard shardFor(long hash) {
+        return shards[(int) (hash >>> 32) & (shards.length - 1)];
+    }
+
+    private static byte[] toBytes(CacheKey key) {
+        StringBuilder sb = new StringBuilder(64)
+                .append(key.getResourceType()).append('\u0000')
+                .append(key.getResourceId()).append('\u0000');
+        key.getIncludes().forEach(include -> sb.append(include).append('\u0001'));
+        sb.append('\u0000');
+        key.getFields().forEach(field -> sb.append(field).append('\u0001'));
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer. Never returns {@code 0}, which marks free index slots.
+     */
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[Math.min(raw.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted compressed cache entry", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long address(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    /**
+     * A ring of segments and the index of the entries they hold. Reads take the read lock only to copy the bytes out
+     * of the segment, so concurrent reads never block each other.
+     */
+    private final class Shard {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ByteBuffer[] segments = new ByteBuffer[SEGMENTS_PER_SHARD];
+        private final int[] writePositions = new int[SEGMENTS_PER_SHARD];
+        private LongLongIndex index = new LongLongIndex();
+        private int currentSegment;
+
+        Optional<CacheResult> get(long hash, byte[] keyBytes, long now) {
+            long address;
+            byte[] value;
+            int rawLength;
+            long expiresAt;
+            lock.readLock().lock();
+            try {
+                address = index.get(hash);
+                if (address == LongLongIndex.ABSENT) {
+                    return Optional.empty();
+                }
+                ByteBuffer segment = segments[(int) (address >>> 32)];
+                int offset = (int) address;
+                int keyLength = segment.getInt(offset + KEY_LENGTH_OFFSET);
+                if (keyLength != keyBytes.length) {
+                    return Optional.empty();
+                }
+                byte[] storedKey = new byte[keyLength];
+                segment.get(offset + HEADER_SIZE, storedKey);
+                if (!Arrays.equals(storedKey, keyBytes)) {
+                    return Optional.empty();
+                }
+                expiresAt = segment.getLong(offset + EXPIRES_AT_OFFSET);
+                if (now >= expiresAt) {
+                    value = null;
+                    rawLength = NOT_COMPRESSED;
+                } else {
+                    value = new byte[segment.getInt(offset + VALUE_LENGTH_OFFSET)];
+                    rawLength = segment.getInt(offset + RAW_LENGTH_OFFSET);
+                    segment.get(offset + HEADER_SIZE + keyLength, value);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            if (value == null) {
+                removeExpired(hash, address);
+                return Optional.empty();
+            }
+            byte[] raw = rawLength == NOT_COMPRESSED ? value : inflate(value, rawLength);
+            return Optional.of(new CacheResult(
+                    new String(raw, StandardCharsets.UTF_8),
+                    Math.max(0, (expiresAt - now) / 1000)
+            ));
+        }
+
+        void put(long hash, byte[] keyBytes, byte[] value, int rawLength, long expiresAt, long now) {
+            int recordSize = HEADER_SIZE + keyBytes.length + value.length;
+            lock.writeLock().lock();
+            try {
+                if (segments[currentSegment] == null) {
+                    segments[currentSegment] = ByteBuffer.allocateDirect(segmentSize);
+                }
+                if (writePositions[currentSegment] + recordSize > segmentSize) {
+                    currentSegment = (currentSegment + 1) % SEGMENTS_PER_SHARD;
+                    recycle(currentSegment, now);
+                }
+                ByteBuffer segment = segments[currentSegment];
+                int offset = writePositions[currentSegment];
+                segment.putLong(offset + HASH_OFFSET, hash);
+                segment.putLong(offset + EXPIRES_AT_OFFSET, expiresAt);
+                segment.putInt(offset + KEY_LENGTH_OFFSET, keyBytes.length);
+                segment.putInt(offset + VALUE_LENGTH_OFFSET, value.length);
+                segment.putInt(offset + RAW_LENGTH_OFFSET, rawLength);
+                segment.put(offset + HEADER_SIZE, keyBytes);
+                segment.put(offset + HEADER_SIZE + keyBytes.length, value);
+                writePositions[currentSegment] = offset + recordSize;
+                index.put(hash, address(currentSegment, offset));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Unlinks every live entry of the segment and makes it empty. Must be called under the write lock.
+         */
+        private void recycle(int segmentIndex, long now) {
+            ByteBuffer segment = segments[segmentIndex];
+            if (segment == null) {
+                segments[segmentIndex] = ByteBuffer.allocateDirect(segmentSize);
+                return;
+            }
+            int offset = 0;
+            int limit = writePositions[segmentIndex];
+            while (offset < limit) {
+                long hash = segment.getLong(offset + HASH_OFFSET);
+                if (index.remove(hash, address(segmentIndex, offset))) {
+                    if (now >= segment.getLong(offset + EXPIRES_AT_OFFSET)) {
+                        expirationCount.increment();
+                    } else {
+                        evictionCount.increment();
+                    }
+                }
+                offset += HEADER_SIZE
+                        + segment.getInt(offset + KEY_LENGTH_OFFSET)
+                        + segment.getInt(offset + VALUE_LENGTH_OFFSET);
+            }
+            writePositions[segmentIndex] = 0;
+            log.debug("Cache segment eviction: dropped {} bytes", limit);
+        }
+
+        private void removeExpired(long hash, long address) {
+            lock.writeLock().lock();
+            try {
+                if (index.remove(hash, address)) {
+                    expirationCount.increment();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return index.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void clear() {
+            lock.writeLock().lock();
+            try {
+                index = new LongLongIndex();
+                Arrays.fill(segments, null);
+                Arrays.fill(writePositions, 0);
+                currentSegment = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Open-addressing hash table of primitive {@code long} keys and values with linear probing and backward shift
+     * deletion. Keys are expected to be well mixed hashes; {@code 0} is reserved for free slots. Not thread-safe.
+     */
+    private static final class LongLongIndex {
+
+        static final long ABSENT = -1;
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] values = new long[INITIAL_CAPACITY];
+        private int size;
+
+        long get(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) key & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return ABSENT;
+        }
+
+        void put(long key, long value) {
+            if ((size + 1) * 3L > keys.length * 2L) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = (int) key & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        /**
+         * Removes the key only if it's still mapped to the given value.
+         *
+         * @return {@code true} if the key has been removed
+         */
+        boolean remove(long key, long value) {
+            int mask = keys.length - 1;
+            int i = (int) key & mask;
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            if (values[i] != value) {
+                return false;
+            }
+            // shift back the following entries of the probe sequence that would become unreachable otherwise
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (keys[j] == 0) {
+                    break;
+                }
+                int home = (int) keys[j] & mask;
+                boolean reachableWithoutShift = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!reachableWithoutShift) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = 0;
+            values[i] = 0;
+            size--;
+            return true;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * SPI for a shared, remote key-value store (Redis, Memcached, ...) used as the second tier of
+ * {@link TwoTierCompoundDocsResourceCache}.
+ *
+ * <p>Both operations work on batches, so that an implementation can map them to a single round trip: a multi-get
+ * ({@code MGET} + {@code PTTL}, memcached {@code get k1 k2 ...}) and a pipelined write ({@code SET ... EX} for each
+ * entry). Implementations must be thread-safe. They may throw on connectivity problems - the two-tier cache treats
+ * failures as misses and never fails a request because of the remote store.
+ *
+ * @see InMemoryRemoteCacheClient
+ */
+public interface RemoteCacheClient {
+
+    /**
+     * @param keys keys to look up
+     * @return values with their remaining TTL for the keys that are present and not expired; misses are omitted
+     */
+    Map<String, CacheResult> getAll(Collection<String> keys);
+
+    /**
+     * Stores the given values, all with the same TTL.
+     *
+     * @param values     values by key
+     * @param ttlSeconds time to live in seconds, always &gt; 0
+     */
+    void putAll(Map<String, String> values, long ttlSeconds);
+
+}
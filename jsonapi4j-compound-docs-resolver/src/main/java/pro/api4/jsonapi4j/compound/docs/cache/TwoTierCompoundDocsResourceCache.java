@@ -0,0 +1,173 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Two-tier {@link CompoundDocsResourceCache}: a local L1 cache (typically {@link InMemoryCompoundDocsResourceCache}
+ * or {@link OffHeapCompoundDocsResourceCache}) in front of a shared L2 store reached through {@link RemoteCacheClient}.
+ * Every node of a cluster warms the same L2, so a freshly started node is served from it instead of calling
+ * downstream services again.
+ *
+ * <p>Lookups go to L1 first. All L1 misses of a {@link #getAll(Collection)} call are looked up in L2 with a single
+ * multi-get, and L2 hits are copied to L1 with their remaining TTL, so an entry never outlives its L2 copy. Writes go
+ * to both tiers; {@link #putAll(Map, CacheControlDirectives)} writes a whole batch to L2 in one round trip with the TTL
+ * derived from {@link CacheControlDirectives#getEffectiveTtlSeconds()}.
+ *
+ * <p>{@link CacheValidators} are only kept by L1. An L2 hit that replaces an expired L1 entry with the very same
+ * content keeps the validators of that entry.
+ *
+ * <p>L2 writes run on the given {@link Executor}, so they can be taken off the request thread. L2 failures are logged
+ * and treated as misses - the remote store being unavailable only costs hit rate.
+ */
+@Slf4j
+public class TwoTierCompoundDocsResourceCache extends AbstractCompoundDocsResourceCache {
+
+    public static final String DEFAULT_KEY_PREFIX = "jsonapi4j:cd:";
+
+    private final CompoundDocsResourceCache l1;
+    private final RemoteCacheClient l2;
+    private final String keyPrefix;
+    private final Executor l2WriteExecutor;
+
+    /**
+     * @param l1              local cache
+     * @param l2              shared remote store
+     * @param keyPrefix       prefix of every L2 key, lets several applications share one store
+     * @param l2WriteExecutor runs L2 writes, {@code Runnable::run} writes synchronously
+     */
+    public TwoTierCompoundDocsResourceCache(CompoundDocsResourceCache l1,
+                                            RemoteCacheClient l2,
+                                            String keyPrefix,
+                                            Executor l2WriteExecutor) {
+        this.l1 = Validate.notNull(l1, "l1 must not be null");
+        this.l2 = Validate.notNull(l2, "l2 must not be null");
+        this.keyPrefix = Validate.notNull(keyPrefix, "keyPrefix must not be null");
+        this.l2WriteExecutor = Validate.notNull(l2WriteExecutor, "l2WriteExecutor must not be null");
+    }
+
+    /**
+     * Creates a two-tier cache with the {@link #DEFAULT_KEY_PREFIX} that writes to L2 synchronously.
+     *
+     * @param l1 local cache
+     * @param l2 shared remote store
+     */
+    public TwoTierCompoundDocsResourceCache(CompoundDocsResourceCache l1,
+                                            RemoteCacheClient l2) {
+        this(l1, l2, DEFAULT_KEY_PREFIX, Runnable::run);
+    }
+
+    @Override
+    public Optional<CacheResult> get(CacheKey key) {
+        return Optional.ofNullable(getAll(Set.of(key)).get(key));
+    }
+
+    @Override
+    public Map<CacheKey, CacheResult> getAll(Collection<CacheKey> keys) {
+        Map<CacheKey, CacheResult> results = new HashMap<>(l1.getAll(keys));
+        // entries L1 keeps for stale-if-error only are looked up in L2 as well, and kept if L2 misses too
+        Map<String, CacheKey> l1Misses = new LinkedHashMap<>();
+        for (CacheKey key : keys) {
+            CacheResult l1Result = results.get(key);
+            if (l1Result == null || !l1Result.isServable()) {
+                l1Misses.put(toRemoteKey(key), key);
+            }
+        }
+        if (l1Misses.isEmpty()) {
+            return results;
+        }
+        Map<String, CacheResult> l2Hits;
+        try {
+            l2Hits = l2.getAll(l1Misses.keySet());
+        } catch (RuntimeException e) {
+            log.warn("L2 cache lookup of {} keys failed, treating as misses", l1Misses.size(), e);
+            return results;
+        }
+        log.debug("L2 cache lookup: {} hits, {} misses", l2Hits.size(), l1Misses.size() - l2Hits.size());
+
+        l2Hits.forEach((remoteKey, result) -> {
+            CacheKey key = l1Misses.get(remoteKey);
+            if (key != null) {
+                CacheResult l1Result = results.put(key, result);
+                CacheValidators validators = l1Result != null && l1Result.getResourceJson().equals(result.getResourceJson())
+                        ? l1Result.getValidators()
+                        : null;
+                l1.putAll(
+                        Map.of(key, result.getResourceJson()),
+                        CacheControlDirectives.ofMaxAge(result.getRemainingTtlSeconds()),
+                        validators
+                );
+            }
+        });
+        return results;
+    }
+
+    @Override
+    public void putAll(Map<CacheKey, String> resources, CacheControlDirectives directives) {
+        if (resources.isEmpty() || !directives.isCacheable()) {
+            return;
+        }
+        l1.putAll(resources, directives);
+        writeToL2(resources, directives.getEffectiveTtlSeconds());
+    }
+
+    @Override
+    public void putAll(Map<CacheKey, String> resources, CacheControlDirectives directives, CacheValidators validators) {
+        if (resources.isEmpty() || !directives.isCacheable()) {
+            return;
+        }
+        l1.putAll(resources, directives, validators);
+        writeToL2(resources, directives.getEffectiveTtlSeconds());
+    }
+
+    @Override
+    protected void doPut(CacheKey key, String resourceJson, CacheControlDirectives directives) {
+        l1.put(key, resourceJson, directives);
+        writeToL2(Map.of(key, resourceJson), directives.getEffectiveTtlSeconds());
+    }
+
+    private void writeToL2(Map<CacheKey, String> resources, long ttlSeconds) {
+        Map<String, String> remoteValues = resources.entrySet().stream()
+                .collect(Collectors.toMap(e -> toRemoteKey(e.getKey()), Map.Entry::getValue));
+        try {
+            l2WriteExecutor.execute(() -> {
+                try {
+                    l2.putAll(remoteValues, ttlSeconds);
+                } catch (RuntimeException e) {
+                    log.warn("L2 cache write of {} entries failed", remoteValues.size(), e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("L2 cache write of {} entries has been rejected", remoteValues.size(), e);
+        }
+    }
+
+    /**
+     * Encodes a cache key as {@code <prefix><type>/<id>/<includes>/<fields>}. Every part is URL-encoded, so
+     * {@code /} and {@code ,} can only appear as separators.
+     */
+    String toRemoteKey(CacheKey key) {
+        return keyPrefix
+                + encode(key.getResourceType()) + '/'
+                + encode(key.getResourceId()) + '/'
+                + key.getIncludes().stream().map(TwoTierCompoundDocsResourceCache::encode).collect(Collectors.joining(",")) + '/'
+                + key.getFields().stream().map(TwoTierCompoundDocsResourceCache::encode).collect(Collectors.joining(","));
+    }
+
+    private static String encode(String part) {
+        return URLEncoder.encode(part, StandardCharsets.UTF_8);
+    }
+
+}
@@ -1,5 +1,6 @@
 package pro.api4.jsonapi4j.compound.docs.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 
 import java.util.List;
@@ -8,10 +9,10 @@ import java.util.List;
  * Result of a batch resource fetch, potentially combining cache hits with
  * resources fetched via HTTP.
  *
- * @param resources  the merged list of resource JSON strings (cache hits + HTTP results)
+ * @param resources  the merged list of parsed resource objects (cache hits + HTTP results)
  * @param directives the most restrictive Cache-Control directives from this fetch
  *                   (merged from HTTP response and cache hit TTLs), or {@code null}
  *                   if no caching information is available
  */
-public record BatchFetchResult(List<String> resources, CacheControlDirectives directives) {
+public record BatchFetchResult(List<JsonNode> resources, CacheControlDirectives directives) {
 }
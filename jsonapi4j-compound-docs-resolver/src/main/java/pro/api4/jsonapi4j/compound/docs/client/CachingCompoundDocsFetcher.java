@@ -1,5 +1,8 @@
 package pro.api4.jsonapi4j.compound.docs.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.Validate;
@@ -7,16 +10,26 @@ import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
 import pro.api4.jsonapi4j.compound.docs.DomainSettings;
 import pro.api4.jsonapi4j.compound.docs.cache.CacheKey;
 import pro.api4.jsonapi4j.compound.docs.cache.CacheResult;
+import pro.api4.jsonapi4j.compound.docs.cache.CacheValidators;
 import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
 import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
 import pro.api4.jsonapi4j.compound.docs.config.Propagation;
+import pro.api4.jsonapi4j.compound.docs.exception.InvalidJsonApiResponseException;
 import pro.api4.jsonapi4j.http.cache.CacheControlAggregator;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 import pro.api4.jsonapi4j.http.cache.CacheControlParser;
+import pro.api4.jsonapi4j.util.TaskScope;
 
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -31,8 +44,26 @@ import java.util.stream.Collectors;
  * concurrently via the supplied {@link ExecutorService}. Results and {@code Cache-Control}
  * directives are merged across all chunks.
  *
+ * <p>With a cache, concurrent misses for the same {@link CacheKey} are coalesced: the first request to miss a
+ * resource fetches it, concurrent requests missing the same resource await that fetch instead of firing their own
+ * (single-flight). Only responses the cache would share between requests anyway are shared this way, for
+ * non-cacheable responses every awaiting request falls back to its own fetch. Optionally, misses of concurrent
+ * requests for the same resource type are merged into one downstream call within a short coalescing window, see
+ * {@link FetchCoalescer}.
+ *
+ * <p>Cached entries past their TTL are handled per RFC 5861: within {@code stale-while-revalidate} they are served
+ * right away while a background task on the executor refreshes them; within {@code stale-if-error} they are fetched
+ * again, but served if the fetch fails. With a refresh-ahead fraction, fresh entries that have used up that fraction
+ * of their TTL are refreshed in the background as well, so popular resources rarely expire on the request path.
+ * A background refresh claims its resources like a cache miss does, so concurrent misses await it and a resource is
+ * never refreshed twice at a time.
+ *
  * <p>When no cache is configured ({@code null}), acts as a pass-through to the HTTP client
- * (with the same chunking behavior).
+ * (with the same chunking behavior). Nothing is shared between requests in this mode.
+ *
+ * <p>Resource types served by the application itself - the ones resolving to
+ * {@link CompoundDocsRequest#getSelfBaseUrl()} - are fetched through the {@link InProcessResourceFetcher}, if one is
+ * configured, instead of looping back over HTTP.
  */
 @Slf4j
 public class CachingCompoundDocsFetcher {
@@ -40,6 +71,11 @@ public class CachingCompoundDocsFetcher {
     private final JsonApi4jCompoundDocsApiHttpClient httpClient;
     private final CompoundDocsResourceCache cache;
     private final ExecutorService executorService;
+    private final ObjectMapper objectMapper;
+    private final FetchCoalescer coalescer;
+    private final InProcessResourceFetcher inProcessFetcher;
+    private final double refreshAheadFraction;
+    private final ConcurrentMap<CacheKey, CompletableFuture<SharedFetch>> inFlight = new ConcurrentHashMap<>();
 
     /**
      * @param httpClient      the HTTP client for downstream fetches, must not be null
@@ -47,13 +83,56 @@ public class CachingCompoundDocsFetcher {
      *                        (fetcher acts as a pass-through to the HTTP client)
      * @param executorService executor used to fan-out chunked HTTP fetches in parallel,
      *                        must not be null
+     * @param objectMapper    mapper used to read cached resources back into their parsed form,
+     *                        must not be null
+     * @param coalescingWindowMs how long (in milliseconds) cache misses of concurrent requests for the same resource
+     *                           type are collected into one downstream call, {@code 0} disables coalescing.
+     *                           Ignored without a cache
+     * @param inProcessFetcher   fetches resource types served by the application itself without going over HTTP,
+     *                           or {@code null} to fetch everything over HTTP
+     * @param refreshAheadFraction fraction of the TTL after which a fresh cached resource is refreshed in the
+     *                             background, in {@code [0, 1)}; {@code 0} disables refresh-ahead
      */
     public CachingCompoundDocsFetcher(JsonApi4jCompoundDocsApiHttpClient httpClient,
                                       CompoundDocsResourceCache cache,
-                                      ExecutorService executorService) {
+                                      ExecutorService executorService,
+                                      ObjectMapper objectMapper,
+                                      long coalescingWindowMs,
+                                      InProcessResourceFetcher inProcessFetcher,
+                                      double refreshAheadFraction) {
+        Validate.isTrue(refreshAheadFraction >= 0 && refreshAheadFraction < 1, "refreshAheadFraction must be in [0, 1)");
+        this.refreshAheadFraction = refreshAheadFraction;
         this.httpClient = Validate.notNull(httpClient, "httpClient must not be null");
         this.executorService = Validate.notNull(executorService, "executorService must not be null");
+        this.objectMapper = Validate.notNull(objectMapper, "objectMapper must not be null");
+        Validate.isTrue(coalescingWindowMs >= 0, "coalescingWindowMs must not be negative");
         this.cache = cache;
+        this.coalescer = cache != null && coalescingWindowMs > 0 ? new FetchCoalescer(coalescingWindowMs) : null;
+        this.inProcessFetcher = inProcessFetcher;
+    }
+
+    public CachingCompoundDocsFetcher(JsonApi4jCompoundDocsApiHttpClient httpClient,
+                                      CompoundDocsResourceCache cache,
+                                      ExecutorService executorService,
+                                      ObjectMapper objectMapper,
+                                      long coalescingWindowMs,
+                                      InProcessResourceFetcher inProcessFetcher) {
+        this(httpClient, cache, executorService, objectMapper, coalescingWindowMs, inProcessFetcher, 0);
+    }
+
+    public CachingCompoundDocsFetcher(JsonApi4jCompoundDocsApiHttpClient httpClient,
+                                      CompoundDocsResourceCache cache,
+                                      ExecutorService executorService,
+                                      ObjectMapper objectMapper,
+                                      long coalescingWindowMs) {
+        this(httpClient, cache, executorService, objectMapper, coalescingWindowMs, null);
+    }
+
+    public CachingCompoundDocsFetcher(JsonApi4jCompoundDocsApiHttpClient httpClient,
+                                      CompoundDocsResourceCache cache,
+                                      ExecutorService executorService,
+                                      ObjectMapper objectMapper) {
+        this(httpClient, cache, executorService, objectMapper, 0);
     }
 
     /**
@@ -63,7 +142,8 @@ public class CachingCompoundDocsFetcher {
      * <p>Flow when a cache is configured:
      * <ol>
      *   <li>Cache lookup runs against the <em>full</em> ID set</li>
-     *   <li>Cache-miss IDs are chunked by {@code domainSettings.maxBatchSize()}</li>
+     *   <li>Cache-miss IDs already being fetched by a concurrent request are awaited instead of fetched</li>
+     *   <li>Remaining cache-miss IDs are chunked by {@code domainSettings.maxBatchSize()}</li>
      *   <li>Each chunk fires a parallel HTTP request via the executor</li>
      *   <li>Fetched resources are stored back in the cache</li>
      *   <li>Cache hits and HTTP results are merged; {@code Cache-Control} directives are aggregated</li>
@@ -109,13 +189,13 @@ public class CachingCompoundDocsFetcher {
                                                Map<String, String> metaHeaders) {
         List<HttpFetchResult> chunkResults = fetchChunksInParallel(
                 domainSettings, resourceType, ids, includes,
-                originalRequest, config, metaHeaders);
+                originalRequest, config, metaHeaders, Collections.emptyMap());
 
-        List<String> resources = new ArrayList<>();
+        List<JsonNode> resources = new ArrayList<>();
         CacheControlAggregator aggregator = new CacheControlAggregator();
         for (HttpFetchResult chunkResult : chunkResults) {
             for (ParsedResource parsed : chunkResult.resources()) {
-                resources.add(parsed.json());
+                resources.add(parsed.resource());
             }
             aggregator.add(CacheControlParser.parse(chunkResult.cacheControlHeader()));
         }
@@ -138,11 +218,36 @@ public class CachingCompoundDocsFetcher {
                         id -> id
                 ));
 
-        // Cache lookup on the FULL id set
-        Map<CacheKey, CacheResult> cacheHits = cache.getAll(keyToId.keySet());
+        // Cache lookup on the FULL id set; entries kept for stale-if-error only are fetched again
+        Map<CacheKey, CacheResult> cacheHits = new HashMap<>();
+        Map<String, CacheResult> staleIfError = new HashMap<>();
+        // cached copies with validators are revalidated by conditional requests instead of being downloaded again
+        Map<String, CacheResult> revalidatable = new HashMap<>();
+        Set<String> refreshIds = new HashSet<>();
+        cache.getAll(keyToId.keySet()).forEach((key, cached) -> {
+            String id = keyToId.get(key);
+            if (cached.getValidators() != null) {
+                revalidatable.put(id, cached);
+            }
+            if (!cached.isServable()) {
+                if (cached.getFreshness() == CacheResult.Freshness.STALE_IF_ERROR) {
+                    staleIfError.put(id, cached);
+                }
+                return;
+            }
+            cacheHits.put(key, cached);
+            if (isRefreshDue(cached)) {
+                refreshIds.add(id);
+            }
+        });
+        if (!refreshIds.isEmpty()) {
+            refreshInBackground(domainSettings, resourceType, refreshIds, includes, fields,
+                    originalRequest, config, metaHeaders, revalidatable);
+        }
 
-        List<String> cacheHitJsons = cacheHits.values().stream()
+        List<JsonNode> cacheHitResources = cacheHits.values().stream()
                 .map(CacheResult::getResourceJson)
+                .map(this::readCachedResource)
                 .toList();
 
         // Calculate miss IDs
@@ -151,49 +256,312 @@ public class CachingCompoundDocsFetcher {
                 .map(Map.Entry::getValue)
                 .collect(Collectors.toSet());
 
-        log.debug("Cache lookup for type '{}': {} hits, {} misses", resourceType, cacheHits.size(), missIds.size());
+        log.debug("Cache lookup for type '{}': {} hits, {} misses, {} refreshed in background", resourceType, cacheHits.size(), missIds.size(), refreshIds.size());
 
         if (missIds.isEmpty()) {
             log.debug("All resources for type '{}' served from cache", resourceType);
-            return new BatchFetchResult(cacheHitJsons, computeDirectives(cacheHits, Collections.emptyList()));
+            return new BatchFetchResult(cacheHitResources, computeDirectives(cacheHits, Collections.emptyList(), Collections.emptyList(), false));
         }
 
-        // Fetch misses in parallel chunks
-        List<HttpFetchResult> chunkResults = fetchChunksInParallel(
-                domainSettings, resourceType, missIds, includes,
-                originalRequest, config, metaHeaders);
+        // Claim the misses nobody is fetching yet, await the rest
+        Map<String, CompletableFuture<SharedFetch>> owned = new HashMap<>();
+        Map<String, CompletableFuture<SharedFetch>> awaited = new HashMap<>();
+        for (String id : missIds) {
+            CompletableFuture<SharedFetch> claim = new CompletableFuture<>();
+            CompletableFuture<SharedFetch> existing = inFlight.putIfAbsent(new CacheKey(resourceType, id, includes, fields), claim);
+            if (existing == null) {
+                owned.put(id, claim);
+            } else {
+                awaited.put(id, existing);
+            }
+        }
+
+        List<JsonNode> httpResultResources = new ArrayList<>();
+        List<HttpFetchResult> chunkResults = new ArrayList<>();
+        List<CacheControlDirectives> sharedDirectives = new ArrayList<>();
+        Set<String> staleServedIds = new HashSet<>();
+
+        // Own fetches complete before awaiting others, so two requests awaiting each other can't deadlock
+        if (!owned.isEmpty()) {
+            try {
+                chunkResults.addAll(fetchOrServeStale(owned.keySet(), staleIfError, staleServedIds,
+                        () -> fetchOwnedMisses(domainSettings, resourceType, owned, includes, fields,
+                                originalRequest, config, metaHeaders, revalidatable, httpResultResources)));
+            } finally {
+                releaseClaims(resourceType, includes, fields, owned);
+            }
+        }
+
+        Set<String> refetchIds = new HashSet<>();
+        awaited.forEach((id, inFlightFetch) -> {
+            SharedFetch shared = awaitShared(inFlightFetch);
+            if (shared == null || shared.directives() == null || !shared.directives().isCacheable()) {
+                refetchIds.add(id);
+            } else {
+                if (shared.resource() != null) {
+                    httpResultResources.add(shared.resource());
+                }
+                sharedDirectives.add(shared.directives());
+            }
+        });
+        if (!awaited.isEmpty()) {
+            log.debug("Single-flight for type '{}': {} ids awaited, {} refetched", resourceType, awaited.size(), refetchIds.size());
+        }
+        if (!refetchIds.isEmpty()) {
+            List<HttpFetchResult> refetched = fetchOrServeStale(refetchIds, staleIfError, staleServedIds, () -> {
+                List<HttpFetchResult> results = fetchChunksInParallel(
+                        domainSettings, resourceType, refetchIds, includes,
+                        originalRequest, config, metaHeaders, revalidatable);
+                storeFetched(results, resourceType, includes, fields, null, httpResultResources);
+                return results;
+            });
+            chunkResults.addAll(refetched);
+        }
+        if (!staleServedIds.isEmpty()) {
+            log.warn("Fetch of type '{}' failed, serving {} stale resources per stale-if-error", resourceType, staleServedIds.size());
+        }
+
+        // Merge cache hits + HTTP results + stale-if-error fallbacks
+        List<JsonNode> merged = new ArrayList<>(cacheHitResources.size() + httpResultResources.size() + staleServedIds.size());
+        merged.addAll(cacheHitResources);
+        merged.addAll(httpResultResources);
+        staleServedIds.forEach(id -> merged.add(readCachedResource(staleIfError.get(id).getResourceJson())));
+
+        return new BatchFetchResult(merged, computeDirectives(cacheHits, chunkResults, sharedDirectives, !staleServedIds.isEmpty()));
+    }
+
+    /**
+     * Runs the given fetch of {@code ids}. If it fails - by throwing, or by a chunk failure ignored per
+     * {@link pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy#IGNORE} - the IDs that weren't fetched are served
+     * from their {@code stale-if-error} entries instead. A thrown failure only is absorbed if every ID has such an
+     * entry.
+     *
+     * @param staleServedIds collects the IDs to serve from {@code staleIfError}
+     */
+    private List<HttpFetchResult> fetchOrServeStale(Set<String> ids,
+                                                    Map<String, CacheResult> staleIfError,
+                                                    Set<String> staleServedIds,
+                                                    Supplier<List<HttpFetchResult>> fetch) {
+        List<HttpFetchResult> results;
+        try {
+            results = fetch.get();
+        } catch (RuntimeException e) {
+            if (staleIfError.isEmpty() || !staleIfError.keySet().containsAll(ids)) {
+                throw e;
+            }
+            log.debug("Fetch of {} ids failed, all have stale-if-error entries", ids.size(), e);
+            staleServedIds.addAll(ids);
+            return Collections.emptyList();
+        }
+        if (!staleIfError.isEmpty() && results.stream().anyMatch(HttpFetchResult::failed)) {
+            Set<String> fetchedIds = results.stream()
+                    .flatMap(r -> r.resources().stream())
+                    .map(ParsedResource::id)
+                    .collect(Collectors.toSet());
+            ids.stream()
+                    .filter(id -> !fetchedIds.contains(id) && staleIfError.containsKey(id))
+                    .forEach(staleServedIds::add);
+        }
+        return results;
+    }
+
+    private boolean isRefreshDue(CacheResult cached) {
+        if (cached.getFreshness() == CacheResult.Freshness.STALE) {
+            return true;
+        }
+        long ttlSeconds = cached.getAgeSeconds() + cached.getRemainingTtlSeconds();
+        return refreshAheadFraction > 0
+                && ttlSeconds > 0
+                && cached.getAgeSeconds() >= refreshAheadFraction * ttlSeconds;
+    }
+
+    /**
+     * Refetches the given resources on the executor, replacing their cache entries. The resources are claimed only
+     * once the task runs, so requests never wait on a refresh that is still queued behind a busy executor. Resources
+     * already being fetched are skipped. Failures keep the current entries.
+     *
+     * <p>The refresh goes downstream with the propagated headers of the request that triggered it, so its results
+     * replace cached entries and are handed to concurrent requests only if the downstream marked them cacheable.
+     * It's never coalesced with the misses of other requests for the same reason.
+     */
+    private void refreshInBackground(DomainSettings domainSettings,
+                                     String resourceType,
+                                     Set<String> ids,
+                                     Set<String> includes,
+                                     Set<String> fields,
+                                     CompoundDocsRequest originalRequest,
+                                     CompoundDocsResolverConfig config,
+                                     Map<String, String> metaHeaders,
+                                     Map<String, CacheResult> revalidatable) {
+        try {
+            executorService.execute(() -> {
+                Map<String, CompletableFuture<SharedFetch>> claimed = new HashMap<>();
+                for (String id : ids) {
+                    CompletableFuture<SharedFetch> claim = new CompletableFuture<>();
+                    if (inFlight.putIfAbsent(new CacheKey(resourceType, id, includes, fields), claim) == null) {
+                        claimed.put(id, claim);
+                    }
+                }
+                if (claimed.isEmpty()) {
+                    return;
+                }
+                try {
+                    List<HttpFetchResult> results = fetchChunksInParallel(domainSettings, resourceType,
+                            claimed.keySet(), includes, originalRequest, config, metaHeaders, revalidatable);
+                    if (!allCacheable(results)) {
+                        log.debug("Background refresh of type '{}' isn't cacheable, keeping cached entries", resourceType);
+                        return;
+                    }
+                    Map<String, SharedFetch> fetched = storeFetched(results, resourceType, includes, fields,
+                            null, new ArrayList<>());
+                    fetched.forEach((id, shared) -> {
+                        CompletableFuture<SharedFetch> claim = claimed.get(id);
+                        if (claim != null) {
+                            claim.complete(shared);
+                        }
+                    });
+                    log.debug("Background refresh of type '{}': {} ids", resourceType, claimed.size());
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of type '{}' failed, keeping cached entries: {}", resourceType, e.getMessage());
+                } finally {
+                    releaseClaims(resourceType, includes, fields, claimed);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Background refresh of type '{}' rejected by the executor", resourceType);
+        }
+    }
+
+    /**
+     * Releases claims of fetched resources. Claims that haven't been completed by then are failed, so that the
+     * requests awaiting them fetch on their own.
+     */
+    private void releaseClaims(String resourceType,
+                               Set<String> includes,
+                               Set<String> fields,
+                               Map<String, CompletableFuture<SharedFetch>> claims) {
+        claims.forEach((id, claim) -> {
+            claim.completeExceptionally(new CancellationException("Fetch of resource '" + id + "' failed"));
+            inFlight.remove(new CacheKey(resourceType, id, includes, fields), claim);
+        });
+    }
+
+    /**
+     * Fetches the misses claimed by this request, stores them in the cache and hands them over to the concurrent
+     * requests awaiting them.
+     */
+    private List<HttpFetchResult> fetchOwnedMisses(DomainSettings domainSettings,
+                                                   String resourceType,
+                                                   Map<String, CompletableFuture<SharedFetch>> owned,
+                                                   Set<String> includes,
+                                                   Set<String> fields,
+                                                   CompoundDocsRequest originalRequest,
+                                                   CompoundDocsResolverConfig config,
+                                                   Map<String, String> metaHeaders,
+                                                   Map<String, CacheResult> revalidatable,
+                                                   List<JsonNode> httpResultResources) {
+        Set<String> ownedIds = owned.keySet();
+        List<HttpFetchResult> chunkResults;
+        // a coalesced fetch carries resources of other requests too, those requests take care of them
+        Set<String> keptIds = coalescer != null ? ownedIds : null;
+        if (coalescer != null) {
+            chunkResults = coalescer.fetch(
+                    new FetchCoalescer.BatchKey(domainSettings.url(), resourceType, includes, fields),
+                    ownedIds,
+                    batchIds -> fetchChunksInParallel(domainSettings, resourceType, batchIds, includes,
+                            originalRequest, config, metaHeaders, revalidatable),
+                    CachingCompoundDocsFetcher::allCacheable
+            );
+        } else {
+            chunkResults = fetchChunksInParallel(
+                    domainSettings, resourceType, ownedIds, includes,
+                    originalRequest, config, metaHeaders, revalidatable);
+        }
+
+        Map<String, SharedFetch> fetched = storeFetched(chunkResults, resourceType, includes, fields, keptIds, httpResultResources);
+
+        // Resources missing from the response are shared as 'not found' under the merged directives
+        CacheControlAggregator aggregator = new CacheControlAggregator();
+        chunkResults.forEach(r -> aggregator.add(CacheControlParser.parse(r.cacheControlHeader())));
+        CacheControlDirectives notFoundDirectives = aggregator.getResult();
+        owned.forEach((id, claim) -> claim.complete(
+                fetched.getOrDefault(id, new SharedFetch(null, notFoundDirectives))
+        ));
+        return chunkResults;
+    }
+
+    private static boolean allCacheable(List<HttpFetchResult> chunkResults) {
+        return chunkResults.stream()
+                .allMatch(r -> !r.failed() && CacheControlParser.parse(r.cacheControlHeader()).isCacheable());
+    }
 
-        // Store fetched resources in cache (per-chunk Cache-Control governs that chunk's resources)
-        List<String> httpResultJsons = new ArrayList<>();
+    /**
+     * Stores fetched resources in cache (per-chunk Cache-Control governs that chunk's resources) and collects them
+     * into {@code httpResultResources}.
+     *
+     * @param keptIds IDs to keep, {@code null} keeps all fetched resources
+     * @return kept resources by id together with the directives of the chunk they came with
+     */
+    private Map<String, SharedFetch> storeFetched(List<HttpFetchResult> chunkResults,
+                                                  String resourceType,
+                                                  Set<String> includes,
+                                                  Set<String> fields,
+                                                  Set<String> keptIds,
+                                                  List<JsonNode> httpResultResources) {
+        Map<String, SharedFetch> result = new HashMap<>();
         for (HttpFetchResult chunkResult : chunkResults) {
             CacheControlDirectives chunkDirectives =
                     CacheControlParser.parse(chunkResult.cacheControlHeader());
+            // one putAll per chunk, so that a remote cache tier can store the chunk in one round trip
+            Map<CacheKey, String> toCache = new HashMap<>();
             for (ParsedResource parsed : chunkResult.resources()) {
-                httpResultJsons.add(parsed.json());
                 if (parsed.type() != null && parsed.id() != null) {
-                    CacheKey key = new CacheKey(resourceType, parsed.id(), includes, fields);
-                    cache.put(key, parsed.json(), chunkDirectives);
+                    if (keptIds != null && !keptIds.contains(parsed.id())) {
+                        continue;
+                    }
+                    toCache.put(new CacheKey(resourceType, parsed.id(), includes, fields), parsed.json());
+                    result.put(parsed.id(), new SharedFetch(parsed.resource(), chunkDirectives));
                 }
+                httpResultResources.add(parsed.resource());
+            }
+            if (!toCache.isEmpty() && chunkResult.validators() != null) {
+                cache.putAll(toCache, chunkDirectives, chunkResult.validators());
+            } else if (!toCache.isEmpty()) {
+                cache.putAll(toCache, chunkDirectives);
             }
         }
+        return result;
+    }
 
-        // Merge cache hits + HTTP results
-        List<String> merged = new ArrayList<>(cacheHitJsons.size() + httpResultJsons.size());
-        merged.addAll(cacheHitJsons);
-        merged.addAll(httpResultJsons);
+    private SharedFetch awaitShared(CompletableFuture<SharedFetch> inFlightFetch) {
+        try {
+            return inFlightFetch.join();
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
 
-        return new BatchFetchResult(merged, computeDirectives(cacheHits, chunkResults));
+    private JsonNode readCachedResource(String resourceJson) {
+        try {
+            return objectMapper.readTree(resourceJson);
+        } catch (JsonProcessingException e) {
+            throw new InvalidJsonApiResponseException("Failed to parse cached Json:Api resource: " + resourceJson, e);
+        }
     }
 
     /**
      * Splits {@code ids} into chunks of size {@code domainSettings.maxBatchSize()} and fires a
-     * downstream HTTP fetch per chunk via the executor. Blocks on
-     * {@link CompletableFuture#allOf(CompletableFuture[])} and returns each chunk's result.
+     * downstream HTTP fetch per chunk via the executor. All chunks are forked into a single {@link TaskScope}
+     * and joined at once, results are returned in chunk order.
      *
-     * <p>If a chunk fetch throws, the exception propagates from {@link CompletableFuture#join()} —
-     * preserving the same failure semantics as the previous single-call behavior. Under
+     * <p>If a chunk fetch throws, the remaining in-flight chunks are cancelled and the exception propagates
+     * from {@link TaskScope#join()} — preserving the same failure semantics as the previous single-call
+     * behavior. Under
      * {@link pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy#IGNORE} the HTTP client itself
      * absorbs non-200 responses and returns an empty result, so other chunks continue.
+     *
+     * <p>IDs whose {@code revalidatable} cached copies came with the same validators are kept together in a chunk
+     * that is fetched conditionally, if they make up the whole batch those validators belong to.
      */
     private List<HttpFetchResult> fetchChunksInParallel(DomainSettings domainSettings,
                                                        String resourceType,
@@ -201,29 +569,93 @@ public class CachingCompoundDocsFetcher {
                                                        Set<String> includes,
                                                        CompoundDocsRequest originalRequest,
                                                        CompoundDocsResolverConfig config,
-                                                       Map<String, String> metaHeaders) {
-        List<Set<String>> chunks = chunk(ids, domainSettings.maxBatchSize());
+                                                       Map<String, String> metaHeaders,
+                                                       Map<String, CacheResult> revalidatable) {
+        List<Chunk> chunks = chunk(ids, domainSettings.maxBatchSize(), revalidatable);
         if (chunks.size() == 1) {
             // Fast path: no fan-out needed
-            return Collections.singletonList(httpClient.doBatchFetch(
-                    domainSettings.url(), resourceType, chunks.getFirst(),
-                    includes, originalRequest, config, metaHeaders));
+            return Collections.singletonList(doBatchFetch(
+                    domainSettings, resourceType, chunks.getFirst(),
+                    includes, originalRequest, config, metaHeaders, revalidatable));
         }
 
         log.debug("Chunked fetch for type '{}': {} ids → {} chunks (maxBatchSize={})",
                 resourceType, ids.size(), chunks.size(), domainSettings.maxBatchSize());
 
-        List<CompletableFuture<HttpFetchResult>> futures = chunks.stream()
-                .map(chunk -> CompletableFuture.supplyAsync(
-                        () -> httpClient.doBatchFetch(
-                                domainSettings.url(), resourceType, chunk,
-                                includes, originalRequest, config, metaHeaders),
-                        executorService))
-                .toList();
+        HttpFetchResult[] results = new HttpFetchResult[chunks.size()];
+        try (TaskScope scope = TaskScope.open(executorService, null)) {
+            for (int i = 0; i < chunks.size(); i++) {
+                int idx = i;
+                scope.fork(() -> results[idx] = doBatchFetch(
+                        domainSettings, resourceType, chunks.get(idx),
+                        includes, originalRequest, config, metaHeaders, revalidatable));
+            }
+            scope.join();
+        }
+        return Arrays.asList(results);
+    }
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    private HttpFetchResult doBatchFetch(DomainSettings domainSettings,
+                                         String resourceType,
+                                         Chunk chunk,
+                                         Set<String> includes,
+                                         CompoundDocsRequest originalRequest,
+                                         CompoundDocsResolverConfig config,
+                                         Map<String, String> metaHeaders,
+                                         Map<String, CacheResult> revalidatable) {
+        if (inProcessFetcher != null
+                && domainSettings.url().equals(URI.create(originalRequest.getSelfBaseUrl()))
+                && inProcessFetcher.isLocal(resourceType)) {
+            return inProcessFetcher.doBatchFetch(resourceType, chunk.ids(), includes, originalRequest, config);
+        }
+        if (chunk.validators() == null) {
+            return httpClient.doBatchFetch(
+                    domainSettings.url(), resourceType, chunk.ids(),
+                    includes, originalRequest, config, metaHeaders);
+        }
+        HttpFetchResult result = httpClient.doBatchFetch(
+                domainSettings.url(), resourceType, chunk.ids(),
+                includes, originalRequest, config, metaHeaders, chunk.validators());
+        if (!result.notModified()) {
+            return result;
+        }
+        // the cached copies are current: serve them, the 304's Cache-Control extends their TTL once they're stored
+        log.debug("Revalidated {} cached resources of type '{}'", chunk.ids().size(), resourceType);
+        List<ParsedResource> revalidated = chunk.ids().stream()
+                .map(id -> new ParsedResource(resourceType, id, readCachedResource(revalidatable.get(id).getResourceJson())))
+                .toList();
+        return new HttpFetchResult(
+                revalidated,
+                result.cacheControlHeader(),
+                result.validators() != null ? result.validators() : chunk.validators()
+        );
+    }
 
-        return futures.stream().map(CompletableFuture::join).toList();
+    /**
+     * Splits {@code ids} into chunks of at most {@code chunkSize}. IDs with {@code revalidatable} cached copies that
+     * make up the whole batch their validators belong to form conditional chunks of their own, the rest is chunked
+     * by {@link #chunk(Set, int)}.
+     */
+    static List<Chunk> chunk(Set<String> ids, int chunkSize, Map<String, CacheResult> revalidatable) {
+        Map<CacheValidators, Set<String>> byValidators = new HashMap<>();
+        if (!revalidatable.isEmpty()) {
+            for (String id : ids) {
+                CacheResult cached = revalidatable.get(id);
+                if (cached != null && cached.getValidators() != null) {
+                    byValidators.computeIfAbsent(cached.getValidators(), v -> new LinkedHashSet<>()).add(id);
+                }
+            }
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        Set<String> unconditional = new LinkedHashSet<>(ids);
+        byValidators.forEach((validators, batch) -> {
+            if (batch.size() == validators.batchSize() && batch.size() <= chunkSize) {
+                chunks.add(new Chunk(batch, validators));
+                unconditional.removeAll(batch);
+            }
+        });
+        chunk(unconditional, chunkSize).forEach(chunkIds -> chunks.add(new Chunk(chunkIds, null)));
+        return chunks;
     }
 
     /**
@@ -247,13 +679,20 @@ public class CachingCompoundDocsFetcher {
     }
 
     /**
-     * Computes the most restrictive {@code Cache-Control} directives from cache hits
-     * and zero or more chunk HTTP fetch results.
+     * Computes the most restrictive {@code Cache-Control} directives from cache hits,
+     * zero or more chunk HTTP fetch results and the directives of resources fetched by concurrent requests.
+     * Stale resources make the result expire immediately.
      */
     private CacheControlDirectives computeDirectives(Map<CacheKey, CacheResult> cacheHits,
-                                                     List<HttpFetchResult> httpResults) {
+                                                     List<HttpFetchResult> httpResults,
+                                                     List<CacheControlDirectives> sharedDirectives,
+                                                     boolean staleServed) {
         CacheControlAggregator aggregator = new CacheControlAggregator();
 
+        if (staleServed || cacheHits.values().stream().anyMatch(r -> r.getFreshness() != CacheResult.Freshness.FRESH)) {
+            aggregator.add(CacheControlDirectives.ofMaxAge(0));
+        }
+
         if (!cacheHits.isEmpty()) {
             long minTtl = cacheHits.values().stream()
                     .mapToLong(CacheResult::getRemainingTtlSeconds)
@@ -268,6 +707,8 @@ public class CachingCompoundDocsFetcher {
             aggregator.add(CacheControlParser.parse(httpResult.cacheControlHeader()));
         }
 
+        sharedDirectives.forEach(aggregator::add);
+
         return aggregator.getResult();
     }
 
@@ -289,4 +730,19 @@ public class CachingCompoundDocsFetcher {
         }
         return new HashSet<>(fieldSets.get(resourceType));
     }
+
+    /**
+     * IDs fetched by one downstream request, conditionally if {@code validators} are set.
+     */
+    record Chunk(Set<String> ids, CacheValidators validators) {
+    }
+
+    /**
+     * Outcome of a single resource fetch, shared with the concurrent requests that awaited it.
+     *
+     * @param resource   the parsed resource, {@code null} if downstream didn't return it
+     * @param directives the {@code Cache-Control} directives it came with
+     */
+    private record SharedFetch(JsonNode resource, CacheControlDirectives directives) {
+    }
 }
@@ -0,0 +1,138 @@
+package pro.api4.jsonapi4j.compound.docs.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Merges cache-miss IDs of concurrent requests for the same resource type, domain, includes and fields into a
+ * single downstream fetch.
+ *
+ * <p>The first request to arrive opens a batch and holds it open for the coalescing window. IDs of the requests
+ * arriving in the meantime join the batch. Once the window passes, the opening request fetches the union of the IDs
+ * (still chunked by {@link pro.api4.jsonapi4j.compound.docs.DomainSettings#maxBatchSize()}) and shares the results
+ * with everyone who joined. The downstream call carries the propagated headers (e.g. {@code Authorization}) of the
+ * opening request, so the results are only shared if the downstream marked them cacheable - the same rule the
+ * single-flight path applies. Otherwise every joined request fetches its own IDs with its own headers.
+ *
+ * <p>If the shared fetch fails, every joined request falls back to fetching its own IDs, so one request's failure
+ * never fails the others.
+ */
+@Slf4j
+final class FetchCoalescer {
+
+    private final long windowMs;
+    private final ConcurrentMap<BatchKey, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowMs how long a batch stays open for other requests to join, must be positive
+     */
+    FetchCoalescer(long windowMs) {
+        Validate.isTrue(windowMs > 0, "coalescing window must be positive");
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * @param key        what the IDs are fetched for
+     * @param ids        IDs the calling request needs
+     * @param downstream fetches the given IDs downstream
+     * @param shareable  tells whether results fetched on behalf of the opening request may be handed over to the
+     *                   joined ones
+     * @return results of the downstream fetch that covers the requested IDs, may contain resources of other
+     * requests of the same batch
+     */
+    List<HttpFetchResult> fetch(BatchKey key,
+                                Set<String> ids,
+                                Function<Set<String>, List<HttpFetchResult>> downstream,
+                                Predicate<List<HttpFetchResult>> shareable) {
+        while (true) {
+            PendingBatch opened = new PendingBatch(ids);
+            PendingBatch existing = pendingBatches.putIfAbsent(key, opened);
+            if (existing == null) {
+                return runBatch(key, opened, downstream);
+            }
+            if (existing.tryJoin(ids)) {
+                List<HttpFetchResult> shared;
+                try {
+                    shared = existing.result.join();
+                } catch (CompletionException | CancellationException e) {
+                    log.debug("Coalesced fetch for type '{}' failed, fetching {} ids separately", key.resourceType(), ids.size());
+                    return downstream.apply(ids);
+                }
+                if (shareable.test(shared)) {
+                    return shared;
+                }
+                log.debug("Coalesced fetch for type '{}' isn't cacheable, fetching {} ids separately", key.resourceType(), ids.size());
+                return downstream.apply(ids);
+            }
+            // the batch has just been closed, open a new one
+        }
+    }
+
+    private List<HttpFetchResult> runBatch(BatchKey key,
+                                           PendingBatch batch,
+                                           Function<Set<String>, List<HttpFetchResult>> downstream) {
+        Set<String> batchIds;
+        try {
+            TimeUnit.MILLISECONDS.sleep(windowMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pendingBatches.remove(key, batch);
+            batchIds = batch.close();
+        }
+        log.debug("Coalesced fetch for type '{}': {} ids", key.resourceType(), batchIds.size());
+        try {
+            List<HttpFetchResult> results = downstream.apply(batchIds);
+            batch.result.complete(results);
+            return results;
+        } catch (RuntimeException e) {
+            batch.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Identifies downstream fetches that can be merged: same domain, resource type, includes and fields.
+     */
+    record BatchKey(URI url, String resourceType, Set<String> includes, Set<String> fields) {
+    }
+
+    private static final class PendingBatch {
+
+        private final Set<String> ids;
+        private final CompletableFuture<List<HttpFetchResult>> result = new CompletableFuture<>();
+        private boolean closed;
+
+        private PendingBatch(Set<String> ids) {
+            this.ids = new HashSet<>(ids);
+        }
+
+        private synchronized boolean tryJoin(Set<String> moreIds) {
+            if (closed) {
+                return false;
+            }
+            ids.addAll(moreIds);
+            return true;
+        }
+
+        private synchronized Set<String> close() {
+            closed = true;
+            return Set.copyOf(ids);
+        }
+
+    }
+
+}
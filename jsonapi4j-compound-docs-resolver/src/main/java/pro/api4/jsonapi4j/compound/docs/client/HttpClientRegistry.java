@@ -0,0 +1,230 @@
+package pro.api4.jsonapi4j.compound.docs.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+import pro.api4.jsonapi4j.compound.docs.exception.ErrorJsonApiResponseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived registry of {@link HttpClient} instances, one per downstream domain
+ * ({@code scheme://host:port}).
+ *
+ * <p>Each {@link HttpClient} owns a selector thread and a connection pool, so building one per request throws
+ * away keep-alive connections and HTTP/2 multiplexing and makes every downstream call pay a fresh TCP (and TLS)
+ * handshake. The registry keeps one client per domain for the lifetime of the resolver instead:
+ * <ul>
+ *     <li>all clients share the same {@link Executor} (if provided) rather than spawning their own thread pools</li>
+ *     <li>waiting for a free connection and the exchange itself share the request timeout budget</li>
+ *     <li>HTTP/2 is preferred when {@link CompoundDocsResolverConfig#isHttpPreferHttp2()} is enabled; the JDK client
+ *     transparently falls back to HTTP/1.1 when the downstream doesn't support it</li>
+ *     <li>the number of concurrent in-flight requests per domain is capped by
+ *     {@link CompoundDocsResolverConfig#getHttpMaxConnectionsPerDomain()}, which also bounds the number of pooled
+ *     HTTP/1.1 connections towards that domain</li>
+ *     <li>clients that haven't been used for {@link CompoundDocsResolverConfig#getHttpClientIdleTimeoutMs()} are
+ *     closed and removed, releasing their connections and selector thread</li>
+ * </ul>
+ *
+ * <p>Keep-alive of individual pooled connections is still governed by the JDK-wide
+ * {@code jdk.httpclient.keepalive.timeout} system property.
+ */
+@Slf4j
+public class HttpClientRegistry implements AutoCloseable {
+
+    private final ConcurrentHashMap<String, DomainHttpClient> clients = new ConcurrentHashMap<>();
+    private final AtomicLong nextIdleSweepAtMillis;
+
+    private final Duration connectTimeout;
+    private final HttpClient.Version version;
+    private final int maxConnectionsPerDomain;
+    private final long idleTimeoutMillis;
+    private final long totalTimeoutMillis;
+    private final Executor executor;
+    private final Clock clock;
+
+    /**
+     * @param config   resolver configuration holding HTTP client settings, must not be null
+     * @param executor executor shared by all per-domain clients, or {@code null} to let each client use
+     *                 the JDK default. Since callers block on {@link HttpClient#send} while the client completes
+     *                 the exchange on this executor, it must not be a small bounded pool that also runs
+     *                 the blocking fetches
+     * @param clock    clock used to track client idleness, must not be null
+     */
+    public HttpClientRegistry(CompoundDocsResolverConfig config,
+                              Executor executor,
+                              Clock clock) {
+        Validate.notNull(config, "config must not be null");
+        if (config.getHttpMaxConnectionsPerDomain() <= 0) {
+            throw new IllegalArgumentException(
+                    "httpMaxConnectionsPerDomain must be > 0, got: " + config.getHttpMaxConnectionsPerDomain()
+            );
+        }
+        if (config.getHttpClientIdleTimeoutMs() <= 0) {
+            throw new IllegalArgumentException(
+                    "httpClientIdleTimeoutMs must be > 0, got: " + config.getHttpClientIdleTimeoutMs()
+            );
+        }
+        this.connectTimeout = Duration.ofMillis(config.getHttpConnectTimeoutMs());
+        this.version = config.isHttpPreferHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        this.maxConnectionsPerDomain = config.getHttpMaxConnectionsPerDomain();
+        this.idleTimeoutMillis = config.getHttpClientIdleTimeoutMs();
+        this.totalTimeoutMillis = config.getHttpTotalTimeoutMs();
+        this.executor = executor;
+        this.clock = Validate.notNull(clock, "clock must not be null");
+        this.nextIdleSweepAtMillis = new AtomicLong(clock.millis() + idleTimeoutMillis);
+    }
+
+    public HttpClientRegistry(CompoundDocsResolverConfig config,
+                              Executor executor) {
+        this(config, executor, Clock.systemUTC());
+    }
+
+    /**
+     * Sends the request through the pooled client of the given domain, creating the client on first use.
+     * Blocks while the domain already has {@code maxConnectionsPerDomain} requests in flight. Time spent waiting
+     * for a free connection is taken out of the request timeout, so the whole call stays within
+     * {@link CompoundDocsResolverConfig#getHttpTotalTimeoutMs()}.
+     *
+     * @param domainBaseUrl base URL of the downstream domain, used as the pooling key
+     * @param request       the request to send
+     * @param bodyHandler   the response body handler
+     * @return the HTTP response
+     */
+    public <T> HttpResponse<T> send(URI domainBaseUrl,
+                                    HttpRequest request,
+                                    HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        String domainKey = toDomainKey(domainBaseUrl);
+        DomainHttpClient domainClient = clients.compute(domainKey, (key, existing) -> {
+            DomainHttpClient result = existing != null ? existing : createDomainClient(key);
+            result.inFlight.incrementAndGet();
+            return result;
+        });
+        try {
+            long budgetMillis = request.timeout().map(Duration::toMillis).orElse(totalTimeoutMillis);
+            long startedAtNanos = System.nanoTime();
+            if (!domainClient.permits.tryAcquire(budgetMillis, TimeUnit.MILLISECONDS)) {
+                throw connectionWaitTimeout(domainKey);
+            }
+            try {
+                long remainingMillis = budgetMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+                if (remainingMillis <= 0) {
+                    throw connectionWaitTimeout(domainKey);
+                }
+                HttpRequest budgetedRequest = HttpRequest.newBuilder(request, (name, value) -> true)
+                        .timeout(Duration.ofMillis(remainingMillis))
+                        .build();
+                return domainClient.httpClient.send(budgetedRequest, bodyHandler);
+            } finally {
+                domainClient.permits.release();
+            }
+        } finally {
+            domainClient.lastUsedAtMillis = clock.millis();
+            domainClient.inFlight.decrementAndGet();
+            evictIdleClients();
+        }
+    }
+
+    /**
+     * @return number of per-domain clients currently held by the registry
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Closes and removes every client that has no requests in flight and hasn't been used for longer than the
+     * configured idle timeout. Runs at most once per idle timeout period; cheap to call on every request.
+     */
+    void evictIdleClients() {
+        long now = clock.millis();
+        long nextSweepAt = nextIdleSweepAtMillis.get();
+        if (now < nextSweepAt || !nextIdleSweepAtMillis.compareAndSet(nextSweepAt, now + idleTimeoutMillis)) {
+            return;
+        }
+        List<DomainHttpClient> evicted = new ArrayList<>();
+        for (String domainKey : clients.keySet()) {
+            // only decide and unmap under the bin lock, closing waits for exchanges to drain
+            clients.computeIfPresent(domainKey, (key, domainClient) -> {
+                if (domainClient.inFlight.get() == 0 && now - domainClient.lastUsedAtMillis >= idleTimeoutMillis) {
+                    log.debug("Closing idle compound docs HTTP client for domain {}", key);
+                    evicted.add(domainClient);
+                    return null;
+                }
+                return domainClient;
+            });
+        }
+        evicted.forEach(domainClient -> domainClient.httpClient.close());
+    }
+
+    /**
+     * Closes all pooled clients. In-flight requests are allowed to complete.
+     */
+    @Override
+    public void close() {
+        for (String domainKey : clients.keySet()) {
+            DomainHttpClient domainClient = clients.remove(domainKey);
+            if (domainClient != null) {
+                domainClient.httpClient.close();
+            }
+        }
+    }
+
+    private ErrorJsonApiResponseException connectionWaitTimeout(String domainKey) {
+        return new ErrorJsonApiResponseException(
+                "Timed out waiting for a free connection to " + domainKey
+                        + " (httpMaxConnectionsPerDomain=" + maxConnectionsPerDomain + ")"
+        );
+    }
+
+    private DomainHttpClient createDomainClient(String domainKey) {
+        log.debug("Composing compound docs HTTP client for domain {} (version={}, maxConnections={})",
+                domainKey, version, maxConnectionsPerDomain);
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .version(version);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return new DomainHttpClient(builder.build(), new Semaphore(maxConnectionsPerDomain), clock.millis());
+    }
+
+    private static String toDomainKey(URI domainBaseUrl) {
+        String scheme = domainBaseUrl.getScheme() == null ? "http" : domainBaseUrl.getScheme().toLowerCase(Locale.ROOT);
+        String host = domainBaseUrl.getHost() == null ? "" : domainBaseUrl.getHost().toLowerCase(Locale.ROOT);
+        int port = domainBaseUrl.getPort() != -1 ? domainBaseUrl.getPort() : ("https".equals(scheme) ? 443 : 80);
+        return scheme + "://" + host + ":" + port;
+    }
+
+    private static class DomainHttpClient {
+
+        private final HttpClient httpClient;
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastUsedAtMillis;
+
+        DomainHttpClient(HttpClient httpClient,
+                         Semaphore permits,
+                         long createdAtMillis) {
+            this.httpClient = httpClient;
+            this.permits = permits;
+            this.lastUsedAtMillis = createdAtMillis;
+        }
+    }
+
+}
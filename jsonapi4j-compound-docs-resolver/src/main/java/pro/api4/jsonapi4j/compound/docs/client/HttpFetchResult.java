@@ -1,5 +1,8 @@
 package pro.api4.jsonapi4j.compound.docs.client;
 
+import pro.api4.jsonapi4j.compound.docs.cache.CacheValidators;
+
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,6 +14,41 @@ import java.util.List;
  *
  * @param resources          parsed resources from the response {@code data} member
  * @param cacheControlHeader the raw {@code Cache-Control} header value, or {@code null} if absent
+ * @param validators         the {@code ETag} / {@code Last-Modified} validators of the response, or {@code null} if
+ *                           absent
+ * @param failed             {@code true} if the downstream call failed and the failure has been ignored per
+ *                           {@link pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy#IGNORE}
+ * @param notModified        {@code true} if a conditional request has been answered with {@code 304 Not Modified},
+ *                           {@code resources} are empty then
  */
-public record HttpFetchResult(List<ParsedResource> resources, String cacheControlHeader) {
+public record HttpFetchResult(List<ParsedResource> resources,
+                              String cacheControlHeader,
+                              CacheValidators validators,
+                              boolean failed,
+                              boolean notModified) {
+
+    public HttpFetchResult(List<ParsedResource> resources, String cacheControlHeader) {
+        this(resources, cacheControlHeader, null);
+    }
+
+    public HttpFetchResult(List<ParsedResource> resources, String cacheControlHeader, CacheValidators validators) {
+        this(resources, cacheControlHeader, validators, false, false);
+    }
+
+    /**
+     * @return an empty result of a downstream call that failed, but whose failure is ignored
+     */
+    public static HttpFetchResult ignoredFailure() {
+        return new HttpFetchResult(Collections.emptyList(), null, null, true, false);
+    }
+
+    /**
+     * @param cacheControlHeader the raw {@code Cache-Control} header value of the {@code 304} response, may be null
+     * @param validators         validators of the {@code 304} response, may be null
+     * @return an empty result of a conditional request whose cached copy is still current
+     */
+    public static HttpFetchResult notModified(String cacheControlHeader, CacheValidators validators) {
+        return new HttpFetchResult(Collections.emptyList(), cacheControlHeader, validators, false, true);
+    }
+
 }
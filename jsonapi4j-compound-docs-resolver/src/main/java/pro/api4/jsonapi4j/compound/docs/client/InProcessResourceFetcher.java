@@ -0,0 +1,42 @@
+package pro.api4.jsonapi4j.compound.docs.client;
+
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+
+import java.util.Set;
+
+/**
+ * Fetches resources of the types served by the very same application without going over HTTP.
+ *
+ * <p>Used by {@link CachingCompoundDocsFetcher} in place of {@link JsonApi4jCompoundDocsApiHttpClient} for every
+ * resource type {@link #isLocal(String) served locally} that resolves to
+ * {@link CompoundDocsRequest#getSelfBaseUrl()} - explicitly mapped types keep going to their mapped domain.
+ * Everything else - caching, chunking by
+ * {@link pro.api4.jsonapi4j.compound.docs.DomainSettings#maxBatchSize()}, {@code Cache-Control} handling - stays the
+ * same, so an implementation must behave like a {@code GET /<type>?filter[id]=...&include=...} call would: honor
+ * {@link pro.api4.jsonapi4j.compound.docs.config.Propagation} and
+ * {@link pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy} of the given config.
+ */
+public interface InProcessResourceFetcher {
+
+    /**
+     * @param resourceType the JSON:API resource type
+     * @return {@code true} if resources of this type can be fetched in process
+     */
+    boolean isLocal(String resourceType);
+
+    /**
+     * @param resourceType    the JSON:API resource type, {@link #isLocal(String) served locally}
+     * @param ids             IDs of the resources to fetch
+     * @param includes        relationship names to include
+     * @param originalRequest the original compound docs request (for principal, header and field propagation)
+     * @param config          resolver configuration
+     * @return fetched resources together with the {@code Cache-Control} the operation propagated, if any
+     */
+    HttpFetchResult doBatchFetch(String resourceType,
+                                 Set<String> ids,
+                                 Set<String> includes,
+                                 CompoundDocsRequest originalRequest,
+                                 CompoundDocsResolverConfig config);
+
+}
@@ -1,22 +1,22 @@
 package pro.api4.jsonapi4j.compound.docs.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
 import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
+import pro.api4.jsonapi4j.compound.docs.cache.CacheValidators;
 import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
 import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
 import pro.api4.jsonapi4j.compound.docs.config.Propagation;
 import pro.api4.jsonapi4j.compound.docs.exception.ErrorJsonApiResponseException;
+import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,15 +29,26 @@ public class JsonApi4jCompoundDocsApiHttpClient {
             "content-length",
             "expect",
             "host",
-            "upgrade"
+            "upgrade",
+            // conditional headers of the original request don't apply to the downstream one
+            "if-none-match",
+            "if-modified-since"
     );
     private final ObjectMapper objectMapper;
     private final ErrorStrategy errorStrategy;
+    private final HttpClientRegistry httpClientRegistry;
 
+    /**
+     * @param objectMapper       mapper used to parse downstream responses
+     * @param errorStrategy      how to react on non-200 downstream responses
+     * @param httpClientRegistry long-lived registry of pooled per-domain HTTP clients, must not be null
+     */
     public JsonApi4jCompoundDocsApiHttpClient(ObjectMapper objectMapper,
-                                              ErrorStrategy errorStrategy) {
+                                              ErrorStrategy errorStrategy,
+                                              HttpClientRegistry httpClientRegistry) {
         this.objectMapper = objectMapper;
         this.errorStrategy = errorStrategy;
+        this.httpClientRegistry = Validate.notNull(httpClientRegistry, "httpClientRegistry must not be null");
     }
 
     public HttpFetchResult doBatchFetch(URI domainBaseUrl,
@@ -47,7 +58,25 @@ public class JsonApi4jCompoundDocsApiHttpClient {
                                         CompoundDocsRequest originalRequest,
                                         CompoundDocsResolverConfig config,
                                         Map<String, String> metaHeaders) {
-        try (HttpClient client = buildHttpClient(config)) {
+        return doBatchFetch(domainBaseUrl, resourceType, ids, includes, originalRequest, config, metaHeaders, null);
+    }
+
+    /**
+     * Fetches a batch of resources, conditionally if {@code validators} are given: a {@code 304 Not Modified}
+     * response is returned as {@link HttpFetchResult#notModified(String, CacheValidators)}.
+     *
+     * @param validators validators of a cached copy of the very same batch, or {@code null} for an unconditional
+     *                   request
+     */
+    public HttpFetchResult doBatchFetch(URI domainBaseUrl,
+                                        String resourceType,
+                                        Set<String> ids,
+                                        Set<String> includes,
+                                        CompoundDocsRequest originalRequest,
+                                        CompoundDocsResolverConfig config,
+                                        Map<String, String> metaHeaders,
+                                        CacheValidators validators) {
+        try {
 
             JsonApiUrlBuilder urlBuilder = JsonApiUrlBuilder.from(domainBaseUrl)
                     .resourceType(resourceType)
@@ -82,12 +111,32 @@ public class JsonApi4jCompoundDocsApiHttpClient {
                 metaHeaders.forEach(requestBuilder::header);
             }
 
+            if (validators != null) {
+                if (validators.etag() != null) {
+                    requestBuilder.header(HttpHeaders.IF_NONE_MATCH.getName(), validators.etag());
+                }
+                if (validators.lastModified() != null) {
+                    requestBuilder.header(HttpHeaders.IF_MODIFIED_SINCE.getName(), validators.lastModified());
+                }
+            }
+
             HttpRequest request = requestBuilder.uri(URI.create(uri)).GET().build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<byte[]> response = httpClientRegistry.send(
+                    domainBaseUrl,
+                    request,
+                    HttpResponse.BodyHandlers.ofByteArray()
+            );
+            if (validators != null && response.statusCode() == HttpStatusCodes.SC_304_NOT_MODIFIED.getCode()) {
+                log.debug("Compound docs HTTP response: status=304, cached copy of {} resources is current", ids.size());
+                return HttpFetchResult.notModified(
+                        response.headers().firstValue(HttpHeaders.CACHE_CONTROL.getName()).orElse(null),
+                        validatorsOf(response, validators.batchSize())
+                );
+            }
             if (response.statusCode() != 200) {
                 if (errorStrategy == ErrorStrategy.IGNORE) {
                     log.warn("Non-200 response ({}) from GET {}, ignoring per error strategy", response.statusCode(), uri);
-                    return new HttpFetchResult(Collections.emptyList(), null);
+                    return HttpFetchResult.ignoredFailure();
                 } else {
                     throw new ErrorJsonApiResponseException("Got error response from a downstream service on GET " + uri + " url");
                 }
@@ -96,50 +145,27 @@ public class JsonApi4jCompoundDocsApiHttpClient {
             log.debug("Compound docs HTTP response: status={}, resources={}", response.statusCode(), resources.size());
             String cacheControlHeader = response.headers()
                     .firstValue("Cache-Control").orElse(null);
-            return new HttpFetchResult(resources, cacheControlHeader);
+            return new HttpFetchResult(resources, cacheControlHeader, validatorsOf(response, resources.size()));
         } catch (Exception e) {
             log.error("HTTP request failed for compound docs resolution: {}", e.getMessage());
             throw new ErrorJsonApiResponseException("Error during sending HTTP request to resolve JSON:API Compound Docs", e);
         }
     }
 
-    private HttpClient buildHttpClient(CompoundDocsResolverConfig config) {
-        return HttpClient.newBuilder()
-                .connectTimeout(Duration.ofMillis(config.getHttpConnectTimeoutMs()))
-                .build();
+    private CacheValidators validatorsOf(HttpResponse<?> response, int batchSize) {
+        return CacheValidators.ofNullable(
+                response.headers().firstValue(HttpHeaders.ETAG.getName()).orElse(null),
+                response.headers().firstValue(HttpHeaders.LAST_MODIFIED.getName()).orElse(null),
+                batchSize
+        );
     }
 
-    private List<ParsedResource> parseResponse(HttpResponse<String> response) {
+    private List<ParsedResource> parseResponse(HttpResponse<byte[]> response) {
         try {
-            JsonNode rootNode = objectMapper.readTree(response.body());
-            if (rootNode == null || rootNode.isNull() || !rootNode.isObject()) {
-                return Collections.emptyList();
-            }
-            JsonNode dataNode = rootNode.get("data");
-            if (dataNode == null || dataNode.isNull()) {
-                return Collections.emptyList();
-            }
-            if (dataNode.isArray()) {
-                List<ParsedResource> result = new ArrayList<>();
-                for (JsonNode node : dataNode) {
-                    result.add(toParsedResource(node));
-                }
-                return result;
-            } else if (dataNode.isObject()) {
-                return Collections.singletonList(toParsedResource(dataNode));
-            }
-            return Collections.emptyList();
+            return ParsedResource.fromDataMember(objectMapper.readTree(response.body()));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private ParsedResource toParsedResource(JsonNode node) throws IOException {
-        String type = node.has("type") && node.get("type").isTextual()
-                ? node.get("type").asText() : null;
-        String id = node.has("id") && node.get("id").isTextual()
-                ? node.get("id").asText() : null;
-        return new ParsedResource(type, id, objectMapper.writeValueAsString(node));
-    }
-
 }
@@ -1,15 +1,62 @@
 package pro.api4.jsonapi4j.compound.docs.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * A JSON:API resource parsed from a downstream HTTP response, carrying the
- * resource's {@code type} and {@code id} alongside the raw JSON string.
+ * resource's {@code type} and {@code id} alongside the parsed resource object.
  *
  * <p>Used by {@link CachingCompoundDocsFetcher} to construct {@link pro.api4.jsonapi4j.compound.docs.cache.CacheKey}
- * without re-parsing the JSON.
+ * without re-parsing the JSON. The resource stays in its parsed form all the way to the final document and is only
+ * serialized when it has to be stored in the cache.
  *
- * @param type the JSON:API resource type (e.g. {@code "countries"}), may be null for malformed resources
- * @param id   the resource ID (e.g. {@code "FI"}), may be null for malformed resources
- * @param json the raw JSON string of the resource object
+ * @param type     the JSON:API resource type (e.g. {@code "countries"}), may be null for malformed resources
+ * @param id       the resource ID (e.g. {@code "FI"}), may be null for malformed resources
+ * @param resource the parsed resource object
  */
-public record ParsedResource(String type, String id, String json) {
+public record ParsedResource(String type, String id, JsonNode resource) {
+
+    /**
+     * @param document a parsed JSON:API document
+     * @return resources of the document's {@code data} member, empty if there is none
+     */
+    public static List<ParsedResource> fromDataMember(JsonNode document) {
+        if (document == null || !document.isObject()) {
+            return Collections.emptyList();
+        }
+        JsonNode dataNode = document.get("data");
+        if (dataNode == null || dataNode.isNull()) {
+            return Collections.emptyList();
+        }
+        if (dataNode.isArray()) {
+            List<ParsedResource> result = new ArrayList<>(dataNode.size());
+            for (JsonNode node : dataNode) {
+                result.add(of(node));
+            }
+            return result;
+        } else if (dataNode.isObject()) {
+            return Collections.singletonList(of(dataNode));
+        }
+        return Collections.emptyList();
+    }
+
+    private static ParsedResource of(JsonNode node) {
+        String type = node.has("type") && node.get("type").isTextual()
+                ? node.get("type").asText() : null;
+        String id = node.has("id") && node.get("id").isTextual()
+                ? node.get("id").asText() : null;
+        return new ParsedResource(type, id, node);
+    }
+
+    /**
+     * @return the resource object serialized as a compact JSON string
+     */
+    public String json() {
+        return resource.toString();
+    }
+
 }
@@ -0,0 +1,15 @@
+package pro.api4.jsonapi4j.compound.docs.config;
+
+/**
+ * Where the default compound docs resource cache keeps cached resources.
+ */
+public enum CacheStorage {
+    /**
+     * {@link pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache}, bounded by number of entries.
+     */
+    HEAP,
+    /**
+     * {@link pro.api4.jsonapi4j.compound.docs.cache.OffHeapCompoundDocsResourceCache}, bounded by size in bytes.
+     */
+    OFF_HEAP
+}
@@ -15,7 +15,12 @@ public class CompoundDocsResolverConfig {
     private final boolean deduplicateResources;
     private final long httpConnectTimeoutMs;
     private final long httpTotalTimeoutMs;
+    private final boolean httpPreferHttp2;
+    private final int httpMaxConnectionsPerDomain;
+    private final long httpClientIdleTimeoutMs;
     private final boolean cacheEnabled;
     private final int cacheMaxSize;
+    private final long cacheCoalescingWindowMs;
+    private final double cacheRefreshAheadFraction;
 
 }
@@ -7,6 +7,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.api4.jsonapi4j.compound.docs.exception.InvalidJsonApiResponseException;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -27,25 +29,58 @@ public class JsonApiResponseParser {
         return parseDoc(jsonApiResponse, this::parseResourceDocData);
     }
 
+    /**
+     * Same as {@link #parsePrimaryResourceDoc(String)} but reads the raw UTF-8 response bytes directly,
+     * avoiding an intermediate {@link String} copy of the whole response.
+     */
+    public ParseResult parsePrimaryResourceDoc(byte[] jsonApiResponse) {
+        return parseDoc(jsonApiResponse, this::parseResourceDocData);
+    }
+
     public ParseResult parseRelationshipDoc(String jsonApiResponse, String relationshipName) {
         return parseDoc(jsonApiResponse, dataNode -> parseRelationshipDocData(dataNode, relationshipName));
     }
 
+    /**
+     * Same as {@link #parseRelationshipDoc(String, String)} but reads the raw UTF-8 response bytes directly.
+     */
+    public ParseResult parseRelationshipDoc(byte[] jsonApiResponse, String relationshipName) {
+        return parseDoc(jsonApiResponse, dataNode -> parseRelationshipDocData(dataNode, relationshipName));
+    }
+
     private ParseResult parseDoc(String jsonApiResponse,
                                  Function<JsonNode, IntermediateParseResult> dataProcessor) {
         if (jsonApiResponse == null) {
             throw new InvalidJsonApiResponseException("jsonApiResponse is null");
         }
         try {
-            JsonNode rootNode = objectMapper.readTree(jsonApiResponse);
-            IntermediateParseResult parseResult = parseData(rootNode, dataProcessor);
-            return new ParseResult(parseResult.typeToIdsMap, parseResult.typeToRelationshipNamesMap, rootNode);
+            return toParseResult(objectMapper.readTree(jsonApiResponse), dataProcessor);
         } catch (JsonProcessingException e) {
             LOG.error("Failed to parse Json:Api response: {}", jsonApiResponse, e);
             throw new InvalidJsonApiResponseException("Failed to parse Json:Api response: " + jsonApiResponse);
         }
     }
 
+    private ParseResult parseDoc(byte[] jsonApiResponse,
+                                 Function<JsonNode, IntermediateParseResult> dataProcessor) {
+        if (jsonApiResponse == null) {
+            throw new InvalidJsonApiResponseException("jsonApiResponse is null");
+        }
+        try {
+            return toParseResult(objectMapper.readTree(jsonApiResponse), dataProcessor);
+        } catch (IOException e) {
+            String jsonApiResponseStr = new String(jsonApiResponse, StandardCharsets.UTF_8);
+            LOG.error("Failed to parse Json:Api response: {}", jsonApiResponseStr, e);
+            throw new InvalidJsonApiResponseException("Failed to parse Json:Api response: " + jsonApiResponseStr);
+        }
+    }
+
+    private ParseResult toParseResult(JsonNode rootNode,
+                                      Function<JsonNode, IntermediateParseResult> dataProcessor) {
+        IntermediateParseResult parseResult = parseData(rootNode, dataProcessor);
+        return new ParseResult(parseResult.typeToIdsMap, parseResult.typeToRelationshipNamesMap, rootNode);
+    }
+
     public IntermediateParseResult parseResourceDocData(String jsonApiResource) {
         if (jsonApiResource == null) {
             throw new InvalidJsonApiResponseException("jsonApiResource is null");
@@ -59,7 +94,11 @@ public class JsonApiResponseParser {
         }
     }
 
-    private IntermediateParseResult parseResourceDocData(JsonNode dataNode) {
+    /**
+     * Collects related resource identifiers (grouped by type) and the names of relationships they were referenced
+     * from for an already parsed resource object (or an array of them).
+     */
+    public IntermediateParseResult parseResourceDocData(JsonNode dataNode) {
         Map<String, Set<String>> typeToIdsMap = new HashMap<>();
         Map<String, Set<String>> typeToRelationshipNamesMap = new HashMap<>();
         processObjectOrArray(dataNode,
@@ -1,19 +1,23 @@
 package pro.api4.jsonapi4j.compound.docs.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import pro.api4.jsonapi4j.compound.docs.exception.InvalidJsonApiResponseException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
 
 public class JsonApiResponseWriter {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(JsonApiResponseWriter.class);
+    private static final String INCLUDED_MEMBER = "included";
+    private static final SerializableString INCLUDED_MEMBER_NAME = new SerializedString(INCLUDED_MEMBER);
 
     private final ObjectMapper objectMapper;
 
@@ -21,22 +25,38 @@ public class JsonApiResponseWriter {
         this.objectMapper = objectMapper;
     }
 
-    public String composeWithIncludedMember(ObjectNode rootNode, Set<String> resources) {
-        ArrayNode includedNode = objectMapper.createArrayNode();
-        resources.stream().sorted().forEach(r -> {
-            try {
-                JsonNode resourceAsNode = objectMapper.readTree(r);
-                includedNode.add(resourceAsNode);
-            } catch (JsonProcessingException e) {
-                LOGGER.error("JSON:API is not a valid JSON, can't read a JSON tree", e);
+    /**
+     * Streams the original document members followed by the {@code included} member straight into
+     * {@code out} via a {@link JsonGenerator}. Neither the original document nor the included resources
+     * get materialized as an intermediate {@link String} or a merged tree.
+     *
+     * <p>An existing {@code included} member of the original document is replaced.
+     *
+     * @param rootNode  parsed top-level JSON:API document
+     * @param resources already parsed resource objects for the {@code included} member, written in iteration order
+     * @param out       target stream; flushed, but not closed
+     */
+    public void writeWithIncludedMember(JsonNode rootNode,
+                                        Collection<JsonNode> resources,
+                                        OutputStream out) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            for (Iterator<Map.Entry<String, JsonNode>> it = rootNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> member = it.next();
+                if (!INCLUDED_MEMBER.equals(member.getKey())) {
+                    generator.writeFieldName(member.getKey());
+                    objectMapper.writeTree(generator, member.getValue());
+                }
             }
-        });
-
-        rootNode.set("included", includedNode);
-
-        try {
-            return objectMapper.writeValueAsString(rootNode);
-        } catch (JsonProcessingException e) {
+            generator.writeFieldName(INCLUDED_MEMBER_NAME);
+            generator.writeStartArray();
+            for (JsonNode resource : resources) {
+                objectMapper.writeTree(generator, resource);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
             throw new InvalidJsonApiResponseException("Can't compose the final Json:Api response", e);
         }
     }
@@ -0,0 +1,316 @@
+package pro.api4.jsonapi4j.compound.docs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
+import pro.api4.jsonapi4j.compound.docs.exception.ErrorJsonApiResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CompoundDocsResolverTests {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String SELF_BASE_URL = "http://localhost/jsonapi";
+
+    private static final String USERS_DOC = """
+            {"data":[
+              {"type":"users","id":"1","relationships":{
+                "citizenships":{"data":[{"type":"countries","id":"FI"},{"type":"countries","id":"NO"}]}}},
+              {"type":"users","id":"2","relationships":{
+                "citizenships":{"data":[{"type":"countries","id":"FI"}]}}}
+            ]}""";
+
+    private static final String USERS_WITH_EMPLOYER_DOC = """
+            {"data":[
+              {"type":"users","id":"1","relationships":{
+                "citizenships":{"data":[{"type":"countries","id":"FI"},{"type":"countries","id":"NO"}]},
+                "employer":{"data":{"type":"companies","id":"acme"}}}}
+            ]}""";
+
+    private static final String USERS_WITH_FOREIGN_EMPLOYER_DOC = """
+            {"data":[
+              {"type":"users","id":"1","relationships":{
+                "citizenships":{"data":[{"type":"countries","id":"FI"}]},
+                "employer":{"data":{"type":"companies","id":"globex"}}}}
+            ]}""";
+
+    private static final Map<String, Map<String, String>> DOWNSTREAM_RESOURCES = Map.of(
+            "countries", Map.of(
+                    "FI", resource("countries", "FI", "currency", "currencies", "EUR"),
+                    "NO", resource("countries", "NO", "currency", "currencies", "NOK")
+            ),
+            "companies", Map.of(
+                    "acme", resource("companies", "acme", "currency", "currencies", "EUR"),
+                    "globex", resource("companies", "globex", "currency", "currencies", "SEK")
+            ),
+            "currencies", Map.of(
+                    "EUR", resource("currencies", "EUR", null, null, null),
+                    "NOK", resource("currencies", "NOK", null, null, null),
+                    "SEK", resource("currencies", "SEK", null, null, null)
+            )
+    );
+
+    private ExecutorService executor;
+    private HttpServer server;
+    private URI serverUrl;
+    private final Queue<String> downstreamRequests = new ConcurrentLinkedQueue<>();
+    private volatile String failingResourceType;
+    private volatile String stalledResourceType;
+    private final AtomicBoolean stalledOnce = new AtomicBoolean();
+    private final CountDownLatch releaseStalled = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/", this::serveDownstream);
+        server.setExecutor(executor);
+        server.start();
+        serverUrl = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseStalled.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void serveDownstream(HttpExchange exchange) throws IOException {
+        String resourceType = exchange.getRequestURI().getPath().substring(1);
+        Map<String, String> query = Arrays.stream(exchange.getRequestURI().getQuery().split("&"))
+                .map(param -> param.split("=", 2))
+                .collect(Collectors.toMap(param -> param[0], param -> param[1]));
+        String ids = query.get("filter[id]");
+        downstreamRequests.add(resourceType + "?" + ids);
+        if (resourceType.equals(stalledResourceType) && stalledOnce.compareAndSet(false, true)) {
+            try {
+                releaseStalled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (resourceType.equals(failingResourceType)) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        String data = Arrays.stream(ids.split(","))
+                .map(id -> DOWNSTREAM_RESOURCES.get(resourceType).get(id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(",", "{\"data\":[", "]}"));
+        byte[] body = data.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/vnd.api+json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static String resource(String type, String id, String relationship, String relatedType, String relatedId) {
+        String relationships = relationship == null ? "" : String.format(
+                ",\"relationships\":{\"%s\":{\"data\":{\"type\":\"%s\",\"id\":\"%s\"}}}",
+                relationship, relatedType, relatedId
+        );
+        return String.format("{\"type\":\"%s\",\"id\":\"%s\"%s}", type, id, relationships);
+    }
+
+    private CompoundDocsResolver newResolver(ErrorStrategy errorStrategy) {
+        return new CompoundDocsResolver(
+                config(errorStrategy, 10),
+                (resourceType, selfBaseUrl) -> DomainSettings.of(serverUrl),
+                OBJECT_MAPPER,
+                executor
+        );
+    }
+
+    private static List<String> includedKeys(CompoundDocsTreeResult result) {
+        return result.includedResources().stream()
+                .map(r -> r.path("type").asText() + ":" + r.path("id").asText())
+                .toList();
+    }
+
+    private static CompoundDocsResolverConfig config(ErrorStrategy errorStrategy, int maxConnectionsPerDomain) {
+        return new CompoundDocsResolverConfig(
+                true, 3, 100, errorStrategy, List.of(), true,
+                1000, 5000, false, maxConnectionsPerDomain, 60_000, false, 100, 0, 0
+        );
+    }
+
+    private static CompoundDocsRequest request(List<String> includes) {
+        return new CompoundDocsRequest(
+                "GET", includes, Collections.emptyMap(), Collections.emptyMap(),
+                "/users", Collections.emptyMap(), SELF_BASE_URL
+        );
+    }
+
+    @Test
+    void resolveCompoundDocsTree_requestNotProcessable_leavesDocumentUntouched() {
+        // given
+        DomainSettingsResolver domainSettingsResolver = mock(DomainSettingsResolver.class);
+        CompoundDocsResolver resolver = new CompoundDocsResolver(
+                config(ErrorStrategy.IGNORE, 10), domainSettingsResolver, OBJECT_MAPPER, executor
+        );
+        byte[] notEvenJson = "not a JSON:API document".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(notEvenJson, request(null));
+
+        // then
+        assertThat(result.hasIncludedResources()).isFalse();
+        assertThat(result.rootNode()).isNull();
+        assertThat(result.cacheControlDirectives()).isNull();
+        verifyNoInteractions(domainSettingsResolver);
+    }
+
+    @Test
+    void resolveCompoundDocsTree_multiHopIncludes_resolvesEveryHop() {
+        // given
+        try (CompoundDocsResolver resolver = newResolver(ErrorStrategy.FAIL)) {
+            // when
+            CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(
+                    USERS_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("citizenships", "citizenships.currency"))
+            );
+
+            // then
+            assertThat(includedKeys(result)).containsExactly(
+                    "countries:FI", "countries:NO", "currencies:EUR", "currencies:NOK"
+            );
+            assertThat(result.rootNode().path("data")).hasSize(2);
+            // FI is referenced by both users but requested once
+            assertThat(downstreamRequests).containsExactlyInAnyOrder("countries?FI,NO", "currencies?EUR,NOK");
+        }
+    }
+
+    @Test
+    void resolveCompoundDocsTree_sameResourceReachedFromDifferentParents_fetchedAndIncludedOnce() {
+        // given
+        try (CompoundDocsResolver resolver = newResolver(ErrorStrategy.FAIL)) {
+            // when - both the 'countries' and the 'companies' batch of hop 1 point at currency EUR
+            CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(
+                    USERS_WITH_EMPLOYER_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("citizenships.currency", "employer.currency"))
+            );
+
+            // then
+            assertThat(includedKeys(result)).containsExactly(
+                    "companies:acme", "countries:FI", "countries:NO", "currencies:EUR", "currencies:NOK"
+            );
+            List<String> currencyIdsRequested = downstreamRequests.stream()
+                    .filter(r -> r.startsWith("currencies?"))
+                    .flatMap(r -> Arrays.stream(r.substring("currencies?".length()).split(",")))
+                    .toList();
+            assertThat(currencyIdsRequested).containsExactlyInAnyOrder("EUR", "NOK");
+        }
+    }
+
+    @Test
+    void resolveCompoundDocsTree_sameTypeFromDifferentParentBatchesOfOneHop_fetchedInSingleRequest() {
+        // given
+        try (CompoundDocsResolver resolver = newResolver(ErrorStrategy.FAIL)) {
+            // when - the 'countries' batch points at EUR, the 'companies' batch at SEK
+            CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(
+                    USERS_WITH_FOREIGN_EMPLOYER_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("citizenships.currency", "employer.currency"))
+            );
+
+            // then
+            assertThat(includedKeys(result)).containsExactly(
+                    "companies:globex", "countries:FI", "currencies:EUR", "currencies:SEK"
+            );
+            assertThat(downstreamRequests).filteredOn(r -> r.startsWith("currencies?")).hasSize(1);
+        }
+    }
+
+    @Test
+    void resolveCompoundDocsTree_downstreamFailure_cancelsFetchesInFlight() {
+        // given - 'companies' is served by its own domain with a single connection that the first fetch never gives
+        // back by itself
+        failingResourceType = "countries";
+        stalledResourceType = "companies";
+        URI companiesUrl = URI.create("http://127.0.0.1:" + serverUrl.getPort());
+        try (CompoundDocsResolver resolver = new CompoundDocsResolver(
+                config(ErrorStrategy.FAIL, 1),
+                (resourceType, selfBaseUrl) -> DomainSettings.of(resourceType.equals("companies") ? companiesUrl : serverUrl),
+                OBJECT_MAPPER,
+                executor
+        )) {
+            assertThatThrownBy(() -> resolver.resolveCompoundDocsTree(
+                    USERS_WITH_EMPLOYER_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("citizenships", "employer"))
+            )).isInstanceOf(ErrorJsonApiResponseException.class);
+
+            // when - the connection is only free again if the stalled fetch has been cancelled
+            failingResourceType = null;
+            long startedAtNanos = System.nanoTime();
+            CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(
+                    USERS_WITH_EMPLOYER_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("employer"))
+            );
+
+            // then
+            assertThat(includedKeys(result)).contains("companies:acme");
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos)).isLessThan(4000);
+        }
+    }
+
+    @Test
+    void resolveCompoundDocsTree_downstreamFailureOnLaterHop_propagatesFailure() {
+        // given
+        failingResourceType = "currencies";
+        try (CompoundDocsResolver resolver = newResolver(ErrorStrategy.FAIL)) {
+            // when - then
+            assertThatThrownBy(() -> resolver.resolveCompoundDocsTree(
+                    USERS_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("citizenships", "citizenships.currency"))
+            )).isInstanceOf(ErrorJsonApiResponseException.class);
+        }
+    }
+
+    @Test
+    void resolveCompoundDocsTree_downstreamFailureIgnored_keepsResourcesOfOtherHops() {
+        // given
+        failingResourceType = "currencies";
+        try (CompoundDocsResolver resolver = newResolver(ErrorStrategy.IGNORE)) {
+            // when
+            CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(
+                    USERS_DOC.getBytes(StandardCharsets.UTF_8),
+                    request(List.of("citizenships", "citizenships.currency"))
+            );
+
+            // then
+            assertThat(includedKeys(result)).containsExactly("countries:FI", "countries:NO");
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package pro.api4.jsonapi4j.compound.docs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestedResourceIdsTrackerTests {
+
+    @Test
+    public void calculateNonRequested_alreadyRequestedIdsAreSkipped() {
+        // given
+        RequestedResourceIdsTracker sut = new RequestedResourceIdsTracker(true);
+        sut.calculateNonRequested("users", Set.of("1", "2"));
+
+        // when
+        Set<String> result = sut.calculateNonRequested("users", Set.of("2", "3"));
+
+        // then
+        assertThat(result).containsExactly("3");
+        assertThat(sut.calculateNonRequested("countries", Set.of("2"))).containsExactly("2");
+    }
+
+    @Test
+    public void calculateNonRequested_idsRequestedWithOtherIncludesAreRequestedAgain() {
+        // given
+        RequestedResourceIdsTracker sut = new RequestedResourceIdsTracker(true);
+        sut.calculateNonRequested("users", Set.of("1", "2"), Set.of("company"));
+
+        // when - then
+        assertThat(sut.calculateNonRequested("users", Set.of("1"), Set.of("company"))).isEmpty();
+        assertThat(sut.calculateNonRequested("users", Set.of("1"), Set.of())).isEmpty();
+        assertThat(sut.calculateNonRequested("users", Set.of("1"), Set.of("posts"))).containsExactly("1");
+        assertThat(sut.calculateNonRequested("users", Set.of("1", "2"), Set.of("company", "posts"))).containsExactly("2");
+    }
+
+    @Test
+    public void calculateNonRequested_deduplicationDisabled_returnsAllIds() {
+        // given
+        RequestedResourceIdsTracker sut = new RequestedResourceIdsTracker(false);
+        sut.calculateNonRequested("users", Set.of("1", "2"));
+
+        // when
+        Set<String> result = sut.calculateNonRequested("users", Set.of("1", "2"));
+
+        // then
+        assertThat(result).containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    public void calculateNonRequested_concurrentCalls_everyIdIsReturnedOnce() throws Exception {
+        // given
+        RequestedResourceIdsTracker sut = new RequestedResourceIdsTracker(true);
+        Set<String> ids = Set.of("1", "2", "3", "4", "5");
+        Set<String> returned = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        try {
+            for (Future<?> f : IntStream.range(0, 64)
+                    .mapToObj(i -> executor.submit(() -> sut.calculateNonRequested("users", ids).forEach(id -> {
+                        assertThat(returned.add(id)).isTrue();
+                    })))
+                    .toList()) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(returned).isEqualTo(ids);
+    }
+
+}
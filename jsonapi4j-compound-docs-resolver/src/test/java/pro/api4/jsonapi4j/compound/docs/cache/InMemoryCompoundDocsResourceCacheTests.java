@@ -6,6 +6,7 @@ import pro.api4.jsonapi4j.http.cache.CacheControlParser;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -169,6 +170,78 @@ class InMemoryCompoundDocsResourceCacheTests {
         assertThat(cache.get(key).get().getRemainingTtlSeconds()).isEqualTo(200);
     }
 
+    // --- Stale windows ---
+
+    @Test
+    void get_withinStaleWhileRevalidate_returnsStaleResult() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, RESOURCE_JSON, CacheControlParser.parse("max-age=60, stale-while-revalidate=30"));
+        assertThat(cache.get(key).get().getFreshness()).isEqualTo(CacheResult.Freshness.FRESH);
+
+        clock.advance(Duration.ofSeconds(75));
+        CacheResult result = cache.get(key).get();
+        assertThat(result.getFreshness()).isEqualTo(CacheResult.Freshness.STALE);
+        assertThat(result.isServable()).isTrue();
+        assertThat(result.getAgeSeconds()).isEqualTo(75);
+        assertThat(result.getRemainingTtlSeconds()).isZero();
+
+        clock.advance(Duration.ofSeconds(15));
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    @Test
+    void get_withinStaleIfError_returnsNonServableResult() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, RESOURCE_JSON, CacheControlParser.parse("max-age=60, stale-while-revalidate=30, stale-if-error=600"));
+
+        clock.advance(Duration.ofSeconds(120));
+        CacheResult result = cache.get(key).get();
+        assertThat(result.getFreshness()).isEqualTo(CacheResult.Freshness.STALE_IF_ERROR);
+        assertThat(result.isServable()).isFalse();
+        assertThat(result.getResourceJson()).isEqualTo(RESOURCE_JSON);
+
+        clock.advance(Duration.ofSeconds(540));
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    @Test
+    void get_expiredWithValidators_keptForRevalidationForAnotherTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+        CacheValidators validators = new CacheValidators("\"v1\"", null, 1);
+
+        cache.putAll(Map.of(key, RESOURCE_JSON), CACHEABLE_60S, validators);
+        assertThat(cache.get(key).get().getValidators()).isEqualTo(validators);
+
+        clock.advance(Duration.ofSeconds(90));
+        CacheResult result = cache.get(key).get();
+        assertThat(result.getFreshness()).isEqualTo(CacheResult.Freshness.EXPIRED);
+        assertThat(result.isServable()).isFalse();
+        assertThat(result.getValidators()).isEqualTo(validators);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    @Test
+    void get_expiredWithoutValidators_returnsEmpty() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.putAll(Map.of(key, RESOURCE_JSON), CACHEABLE_60S, null);
+
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(cache.get(key)).isEmpty();
+    }
+
     // --- TTL source ---
 
     @Test
@@ -385,6 +458,109 @@ class InMemoryCompoundDocsResourceCacheTests {
         assertThat(cache.get(key3)).isPresent();        // just inserted
     }
 
+    @Test
+    void put_burstOfOneOffEntries_frequentlyAccessedEntryKept() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(5, clock);
+        CacheKey hotKey = CacheKey.of("countries", "FI");
+
+        cache.put(hotKey, "{\"id\":\"FI\"}", CACHEABLE_300S);
+        cache.get(hotKey); // promoted to the protected segment
+
+        // one-off entries only ever compete with each other in the probation segment
+        for (int i = 0; i < 20; i++) {
+            cache.put(CacheKey.of("users", String.valueOf(i)), "{\"id\":\"" + i + "\"}", CACHEABLE_300S);
+        }
+
+        assertThat(cache.get(hotKey)).isPresent();
+        assertThat(cache.get(CacheKey.of("users", "0"))).isEmpty();
+        assertThat(cache.get(CacheKey.of("users", "19"))).isPresent();
+        assertThat(cache.stats().getSize()).isEqualTo(5);
+    }
+
+    // --- Timer wheel expiration ---
+
+    @Test
+    void put_longTtlEntryExpired_purgedOnNextWrite() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(10, clock);
+        CacheKey dayKey = CacheKey.of("countries", "FI");
+        CacheKey hourKey = CacheKey.of("countries", "NO");
+
+        cache.put(dayKey, "{\"id\":\"FI\"}", CacheControlParser.parse("max-age=86400"));
+        cache.put(hourKey, "{\"id\":\"NO\"}", CacheControlParser.parse("max-age=3600"));
+
+        // advance in steps so that entries cascade through the coarse wheel levels
+        clock.advance(Duration.ofMinutes(30));
+        cache.put(CacheKey.of("countries", "SE"), "{\"id\":\"SE\"}", CACHEABLE_300S);
+        clock.advance(Duration.ofMinutes(31));
+        cache.put(CacheKey.of("countries", "DK"), "{\"id\":\"DK\"}", CACHEABLE_300S);
+
+        assertThat(cache.stats().getExpirationCount()).isEqualTo(2); // hourKey and SE
+        assertThat(cache.stats().getSize()).isEqualTo(2);
+
+        clock.advance(Duration.ofHours(23));
+        cache.put(CacheKey.of("countries", "IS"), "{\"id\":\"IS\"}", CACHEABLE_300S);
+
+        assertThat(cache.stats().getExpirationCount()).isEqualTo(4); // + dayKey and DK
+        assertThat(cache.get(dayKey)).isEmpty();
+    }
+
+    // --- Stats ---
+
+    @Test
+    void stats_countsHitsMissesAndEvictions() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(1, clock);
+        CacheKey key1 = CacheKey.of("countries", "FI");
+        CacheKey key2 = CacheKey.of("countries", "NO");
+
+        cache.put(key1, "{\"id\":\"FI\"}", CACHEABLE_300S);
+        cache.get(key1);
+        cache.put(key2, "{\"id\":\"NO\"}", CACHEABLE_300S);
+        cache.get(key1);
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getEvictionCount()).isEqualTo(1);
+        assertThat(stats.getExpirationCount()).isZero();
+        assertThat(stats.getSize()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void stats_expiredEntryOnGet_countedAsMissAndExpiration() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new InMemoryCompoundDocsResourceCache(10, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, RESOURCE_JSON, CACHEABLE_60S);
+        clock.advance(Duration.ofSeconds(60));
+
+        assertThat(cache.get(key)).isEmpty();
+        assertThat(cache.stats().getMissCount()).isEqualTo(1);
+        assertThat(cache.stats().getExpirationCount()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isZero();
+    }
+
+    @Test
+    void clear_removesAllEntriesAndCacheRemainsUsable() {
+        var cache = new InMemoryCompoundDocsResourceCache(2);
+        CacheKey key1 = CacheKey.of("countries", "FI");
+        CacheKey key2 = CacheKey.of("countries", "NO");
+        cache.put(key1, "{\"id\":\"FI\"}", CACHEABLE_300S);
+        cache.get(key1);
+
+        cache.clear();
+
+        assertThat(cache.get(key1)).isEmpty();
+        cache.put(key1, "{\"id\":\"FI\"}", CACHEABLE_300S);
+        cache.put(key2, "{\"id\":\"NO\"}", CACHEABLE_300S);
+        assertThat(cache.get(key1)).isPresent();
+        assertThat(cache.get(key2)).isPresent();
+    }
+
     // --- Thread safety ---
 
     @Test
@@ -414,6 +590,7 @@ class InMemoryCompoundDocsResourceCacheTests {
 
         latch.await(10, TimeUnit.SECONDS);
         assertThat(errors.get()).isZero();
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(1000);
     }
 
 }
@@ -10,17 +10,17 @@ import java.util.concurrent.atomic.AtomicReference;
 /**
  * Test utility — a Clock whose instant can be advanced programmatically.
  */
-class MutableClock extends Clock {
+public class MutableClock extends Clock {
 
     private final AtomicReference<Instant> instant;
     private final ZoneId zone;
 
-    MutableClock(Instant initial) {
+    public MutableClock(Instant initial) {
         this.instant = new AtomicReference<>(initial);
         this.zone = ZoneOffset.UTC;
     }
 
-    void advance(Duration duration) {
+    public void advance(Duration duration) {
         instant.updateAndGet(i -> i.plus(duration));
     }
 
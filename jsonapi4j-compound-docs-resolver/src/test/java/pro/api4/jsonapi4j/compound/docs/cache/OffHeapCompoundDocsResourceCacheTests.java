@@ -0,0 +1,216 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
+import pro.api4.jsonapi4j.http.cache.CacheControlParser;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapCompoundDocsResourceCacheTests {
+
+    private static final String RESOURCE_JSON = "{\"type\":\"countries\",\"id\":\"FI\"}";
+    private static final CacheControlDirectives CACHEABLE_300S = CacheControlParser.parse("max-age=300");
+    private static final CacheControlDirectives CACHEABLE_60S = CacheControlParser.parse("max-age=60");
+    private static final long MIN_SIZE = OffHeapCompoundDocsResourceCache.MIN_SIZE_BYTES;
+
+    // --- Constructor ---
+
+    @Test
+    void constructor_tooSmallMaxSizeBytes_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new OffHeapCompoundDocsResourceCache(MIN_SIZE - 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_nullClock_throwsNullPointerException() {
+        assertThatThrownBy(() -> new OffHeapCompoundDocsResourceCache(MIN_SIZE, false, null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    // --- Basic put/get ---
+
+    @Test
+    void get_afterPut_returnsCachedResult() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, RESOURCE_JSON, CACHEABLE_300S);
+
+        assertThat(cache.get(key)).contains(new CacheResult(RESOURCE_JSON, 300));
+    }
+
+    @Test
+    void get_missingKey_returnsEmpty() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+
+        assertThat(cache.get(CacheKey.of("countries", "FI"))).isEmpty();
+        assertThat(cache.stats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void put_sameKeyTwice_overwritesPrevious() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, "{\"version\":1}", CACHEABLE_300S);
+        cache.put(key, "{\"version\":2}", CACHEABLE_300S);
+
+        assertThat(cache.get(key).get().getResourceJson()).isEqualTo("{\"version\":2}");
+        assertThat(cache.stats().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void put_keysDifferingInIncludesAndFields_storedSeparately() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        CacheKey plain = CacheKey.of("users", "1");
+        CacheKey withIncludes = CacheKey.of("users", "1", Set.of("citizenships"));
+        CacheKey withFields = new CacheKey("users", "1", null, Set.of("citizenships"));
+
+        cache.put(plain, "{\"v\":\"plain\"}", CACHEABLE_300S);
+        cache.put(withIncludes, "{\"v\":\"includes\"}", CACHEABLE_300S);
+        cache.put(withFields, "{\"v\":\"fields\"}", CACHEABLE_300S);
+
+        assertThat(cache.get(plain).get().getResourceJson()).isEqualTo("{\"v\":\"plain\"}");
+        assertThat(cache.get(withIncludes).get().getResourceJson()).isEqualTo("{\"v\":\"includes\"}");
+        assertThat(cache.get(withFields).get().getResourceJson()).isEqualTo("{\"v\":\"fields\"}");
+    }
+
+    @Test
+    void put_nonAsciiJson_roundTripsAsUtf8() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        CacheKey key = CacheKey.of("countries", "Å");
+        String json = "{\"name\":\"Åland – Ахвенанмаа 🇦🇽\"}";
+
+        cache.put(key, json, CACHEABLE_300S);
+
+        assertThat(cache.get(key).get().getResourceJson()).isEqualTo(json);
+    }
+
+    @Test
+    void put_nonCacheableDirectives_notStored() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, RESOURCE_JSON, CacheControlParser.parse("no-store"));
+
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    @Test
+    void put_resourceLargerThanSegment_notStored() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        CacheKey key = CacheKey.of("countries", "FI");
+
+        cache.put(key, "x".repeat((int) MIN_SIZE / 8), CACHEABLE_300S);
+
+        assertThat(cache.get(key)).isEmpty();
+    }
+
+    // --- Compression ---
+
+    @Test
+    void put_compressionEnabled_largeResourceRoundTrips() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, true);
+        CacheKey key = CacheKey.of("countries", "FI");
+        String json = "{\"attributes\":{" + IntStream.range(0, 100)
+                .mapToObj(i -> "\"attribute" + i + "\":\"value" + i + "\"")
+                .reduce((a, b) -> a + "," + b)
+                .orElseThrow() + "}}";
+
+        cache.put(key, json, CACHEABLE_300S);
+        cache.put(CacheKey.of("countries", "NO"), RESOURCE_JSON, CACHEABLE_300S);
+
+        assertThat(cache.get(key).get().getResourceJson()).isEqualTo(json);
+        assertThat(cache.get(CacheKey.of("countries", "NO")).get().getResourceJson()).isEqualTo(RESOURCE_JSON);
+    }
+
+    // --- TTL ---
+
+    @Test
+    void get_afterTtlElapsed_returnsEmptyAndCountsExpiration() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false, clock);
+        CacheKey key = CacheKey.of("countries", "FI");
+        cache.put(key, RESOURCE_JSON, CACHEABLE_60S);
+
+        clock.advance(Duration.ofSeconds(20));
+        assertThat(cache.get(key).get().getRemainingTtlSeconds()).isEqualTo(40);
+
+        clock.advance(Duration.ofSeconds(40));
+        assertThat(cache.get(key)).isEmpty();
+        assertThat(cache.stats().getExpirationCount()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isZero();
+    }
+
+    // --- Size bound ---
+
+    @Test
+    void put_beyondMaxSizeBytes_evictsOldestEntries() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        String json = "x".repeat(1000);
+        int count = 200;
+
+        for (int i = 0; i < count; i++) {
+            cache.put(CacheKey.of("countries", String.valueOf(i)), json, CACHEABLE_300S);
+        }
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.getEvictionCount()).isPositive();
+        assertThat(stats.getSize()).isEqualTo(count - stats.getEvictionCount());
+        assertThat(stats.getSize() * json.length()).isLessThanOrEqualTo(MIN_SIZE);
+        assertThat(cache.get(CacheKey.of("countries", "0"))).isEmpty();
+        assertThat(cache.get(CacheKey.of("countries", String.valueOf(count - 1)))).isPresent();
+    }
+
+    @Test
+    void clear_removesAllEntries() {
+        var cache = new OffHeapCompoundDocsResourceCache(MIN_SIZE, false);
+        cache.put(CacheKey.of("countries", "FI"), RESOURCE_JSON, CACHEABLE_300S);
+        cache.put(CacheKey.of("countries", "NO"), RESOURCE_JSON, CACHEABLE_300S);
+
+        cache.clear();
+
+        assertThat(cache.get(CacheKey.of("countries", "FI"))).isEmpty();
+        assertThat(cache.stats().getSize()).isZero();
+    }
+
+    // --- Concurrency ---
+
+    @Test
+    void concurrentPutsAndGets_neverReturnForeignResources() throws Exception {
+        var cache = new OffHeapCompoundDocsResourceCache(4 * 1024 * 1024, true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        for (int i = 0; i < 5_000; i++) {
+                            String id = String.valueOf(i % 500);
+                            CacheKey key = CacheKey.of("countries", id);
+                            cache.put(key, "{\"id\":\"" + id + "\"}", CACHEABLE_300S);
+                            cache.get(key).ifPresent(result ->
+                                    assertThat(result.getResourceJson()).isEqualTo("{\"id\":\"" + id + "\"}"));
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.stats().getSize()).isEqualTo(500);
+    }
+
+}
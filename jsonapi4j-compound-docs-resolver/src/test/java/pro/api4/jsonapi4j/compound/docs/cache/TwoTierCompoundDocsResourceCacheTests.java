@@ -0,0 +1,151 @@
+package pro.api4.jsonapi4j.compound.docs.cache;
+
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
+import pro.api4.jsonapi4j.http.cache.CacheControlParser;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoTierCompoundDocsResourceCacheTests {
+
+    private static final CacheControlDirectives CACHEABLE_300S = CacheControlParser.parse("max-age=300");
+    private static final CacheKey FI = CacheKey.of("countries", "FI");
+    private static final CacheKey NO = CacheKey.of("countries", "NO");
+    private static final String FI_JSON = "{\"type\":\"countries\",\"id\":\"FI\"}";
+    private static final String NO_JSON = "{\"type\":\"countries\",\"id\":\"NO\"}";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final InMemoryRemoteCacheClient l2 = new InMemoryRemoteCacheClient(clock);
+
+    @Test
+    void put_onOneNode_servedFromL2OnAnotherNode() {
+        // given
+        var node1 = new TwoTierCompoundDocsResourceCache(new InMemoryCompoundDocsResourceCache(100, clock), l2);
+        var node2L1 = new InMemoryCompoundDocsResourceCache(100, clock);
+        var node2 = new TwoTierCompoundDocsResourceCache(node2L1, l2);
+        node1.put(FI, FI_JSON, CACHEABLE_300S);
+        clock.advance(Duration.ofSeconds(100));
+
+        // when
+        var result = node2.get(FI);
+
+        // then
+        assertThat(result).contains(new CacheResult(FI_JSON, 200));
+        assertThat(node2L1.get(FI)).contains(new CacheResult(FI_JSON, 200));
+    }
+
+    @Test
+    void getAll_l1Misses_lookedUpInL2WithOneMultiGet() {
+        // given
+        var l1 = new InMemoryCompoundDocsResourceCache(100, clock);
+        var sut = new TwoTierCompoundDocsResourceCache(l1, l2);
+        sut.putAll(Map.of(FI, FI_JSON, NO, NO_JSON), CACHEABLE_300S);
+        l1.clear();
+        sut.put(FI, FI_JSON, CACHEABLE_300S);
+        long getAllsBefore = l2.getAllCount();
+
+        // when
+        Map<CacheKey, CacheResult> results = sut.getAll(List.of(FI, NO, CacheKey.of("countries", "SE")));
+
+        // then
+        assertThat(results).containsOnlyKeys(FI, NO);
+        assertThat(l2.getAllCount() - getAllsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void getAll_allInL1_l2NotCalled() {
+        // given
+        var sut = new TwoTierCompoundDocsResourceCache(new InMemoryCompoundDocsResourceCache(100, clock), l2);
+        sut.put(FI, FI_JSON, CACHEABLE_300S);
+
+        // when
+        sut.getAll(List.of(FI));
+
+        // then
+        assertThat(l2.getAllCount()).isZero();
+    }
+
+    @Test
+    void putAll_writesBatchToL2InOneRoundTrip() {
+        // given
+        var sut = new TwoTierCompoundDocsResourceCache(new InMemoryCompoundDocsResourceCache(100, clock), l2);
+
+        // when
+        sut.putAll(Map.of(FI, FI_JSON, NO, NO_JSON), CACHEABLE_300S);
+
+        // then
+        assertThat(l2.putAllCount()).isEqualTo(1);
+        assertThat(l2.size()).isEqualTo(2);
+    }
+
+    @Test
+    void putAll_nonCacheable_storedNowhere() {
+        // given
+        var l1 = new InMemoryCompoundDocsResourceCache(100, clock);
+        var sut = new TwoTierCompoundDocsResourceCache(l1, l2);
+
+        // when
+        sut.putAll(Map.of(FI, FI_JSON), CacheControlParser.parse("no-store"));
+
+        // then
+        assertThat(l1.get(FI)).isEmpty();
+        assertThat(l2.size()).isZero();
+    }
+
+    @Test
+    void put_l2WritesRunOnGivenExecutor() {
+        // given
+        List<Runnable> deferred = new ArrayList<>();
+        var sut = new TwoTierCompoundDocsResourceCache(new InMemoryCompoundDocsResourceCache(100, clock), l2, "app:", deferred::add);
+
+        // when
+        sut.put(FI, FI_JSON, CACHEABLE_300S);
+
+        // then
+        assertThat(l2.size()).isZero();
+        deferred.forEach(Runnable::run);
+        assertThat(l2.getAll(Set.of(sut.toRemoteKey(FI)))).containsKey("app:countries/FI//");
+    }
+
+    @Test
+    void failingL2_treatedAsMiss() {
+        // given
+        RemoteCacheClient failingL2 = mock(RemoteCacheClient.class);
+        when(failingL2.getAll(anyCollection())).thenThrow(new IllegalStateException("connection refused"));
+        doThrow(new IllegalStateException("connection refused")).when(failingL2).putAll(any(), anyLong());
+        var sut = new TwoTierCompoundDocsResourceCache(new InMemoryCompoundDocsResourceCache(100, clock), failingL2);
+
+        // when
+        sut.put(FI, FI_JSON, CACHEABLE_300S);
+
+        // then
+        assertThat(sut.get(FI)).isPresent();
+        assertThat(sut.get(NO)).isEmpty();
+    }
+
+    @Test
+    void toRemoteKey_encodesEveryPart() {
+        // given
+        var sut = new TwoTierCompoundDocsResourceCache(new InMemoryCompoundDocsResourceCache(100, clock), l2);
+
+        // when
+        String key = sut.toRemoteKey(new CacheKey("users", "a/b,c", Set.of("citizenships", "placeOfBirth"), Set.of("name")));
+
+        // then
+        assertThat(key).isEqualTo("jsonapi4j:cd:users/a%2Fb%2Cc/citizenships,placeOfBirth/name");
+    }
+
+}
@@ -1,5 +1,8 @@
 package pro.api4.jsonapi4j.compound.docs.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,25 +12,35 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
 import pro.api4.jsonapi4j.compound.docs.DomainSettings;
 import pro.api4.jsonapi4j.compound.docs.cache.CacheKey;
+import pro.api4.jsonapi4j.compound.docs.cache.CacheResult;
+import pro.api4.jsonapi4j.compound.docs.cache.CacheValidators;
 import pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.MutableClock;
 import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
 import pro.api4.jsonapi4j.compound.docs.config.Propagation;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 import pro.api4.jsonapi4j.http.cache.CacheControlParser;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -55,8 +68,22 @@ class CachingCompoundDocsFetcherTests {
     private InMemoryCompoundDocsResourceCache cache;
     private ExecutorService executor;
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private static ParsedResource parsedResource(String type, String id, String json) {
-        return new ParsedResource(type, id, json);
+        try {
+            return new ParsedResource(type, id, OBJECT_MAPPER.readTree(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String resourceJson(String name) {
+        return "{\"name\":\"" + name + "\"}";
+    }
+
+    private static List<String> jsonOf(BatchFetchResult result) {
+        return result.resources().stream().map(JsonNode::toString).toList();
     }
 
     @BeforeEach
@@ -71,7 +98,7 @@ class CachingCompoundDocsFetcherTests {
     }
 
     private CachingCompoundDocsFetcher newFetcher(InMemoryCompoundDocsResourceCache cacheArg) {
-        return new CachingCompoundDocsFetcher(httpClient, cacheArg, executor);
+        return new CachingCompoundDocsFetcher(httpClient, cacheArg, executor, OBJECT_MAPPER);
     }
 
     private void stubConfigNoPropagation() {
@@ -94,7 +121,7 @@ class CachingCompoundDocsFetcherTests {
                 Set.of("FI"), Collections.emptySet(),
                 mockRequest, mockConfig, Map.of());
 
-        assertThat(result.resources()).containsExactly(COUNTRY_FI_JSON);
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
         verify(httpClient).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
     }
 
@@ -114,7 +141,7 @@ class CachingCompoundDocsFetcherTests {
                 mockRequest, mockConfig, Map.of());
 
         assertThat(result.resources()).hasSize(2);
-        assertThat(result.resources()).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
+        assertThat(jsonOf(result)).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
     }
 
     // --- All cached ---
@@ -135,7 +162,7 @@ class CachingCompoundDocsFetcherTests {
                 mockRequest, mockConfig, Map.of());
 
         assertThat(result.resources()).hasSize(2);
-        assertThat(result.resources()).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
+        assertThat(jsonOf(result)).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
         verifyNoInteractions(httpClient);
     }
 
@@ -152,7 +179,7 @@ class CachingCompoundDocsFetcherTests {
                 Set.of("FI"), Collections.emptySet(),
                 mockRequest, mockConfig, Map.of());
 
-        assertThat(result.resources()).containsExactly(COUNTRY_FI_JSON);
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
     }
 
     // --- None cached ---
@@ -175,7 +202,7 @@ class CachingCompoundDocsFetcherTests {
                 mockRequest, mockConfig, Map.of());
 
         assertThat(result.resources()).hasSize(2);
-        assertThat(result.resources()).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
+        assertThat(jsonOf(result)).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
         verify(httpClient).doBatchFetch(any(), eq("countries"), eq(Set.of("FI", "NO")),
                 any(), any(), any(), any());
     }
@@ -241,7 +268,7 @@ class CachingCompoundDocsFetcherTests {
                 mockRequest, mockConfig, Map.of());
 
         assertThat(result.resources()).hasSize(2);
-        assertThat(result.resources()).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
+        assertThat(jsonOf(result)).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON);
 
         verify(httpClient).doBatchFetch(any(), eq("countries"), eq(Set.of("NO")),
                 any(), any(), any(), any());
@@ -268,7 +295,7 @@ class CachingCompoundDocsFetcherTests {
                 mockRequest, mockConfig, Map.of());
 
         assertThat(result.resources()).hasSize(3);
-        assertThat(result.resources()).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON, COUNTRY_SE_JSON);
+        assertThat(jsonOf(result)).contains(COUNTRY_FI_JSON, COUNTRY_NO_JSON, COUNTRY_SE_JSON);
     }
 
     @Test
@@ -311,7 +338,7 @@ class CachingCompoundDocsFetcherTests {
                 Set.of("FI"), Collections.emptySet(),
                 mockRequest, mockConfig, Map.of());
 
-        assertThat(result.resources()).containsExactly(COUNTRY_FI_JSON);
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
 
         CacheKey keyFI = CacheKey.of("countries", "FI");
         assertThat(cache.get(keyFI)).isEmpty();
@@ -480,19 +507,19 @@ class CachingCompoundDocsFetcherTests {
                 Set.of("FI"), Collections.emptySet(),
                 mockRequest, mockConfig, Map.of());
 
-        assertThat(result.resources()).containsExactly(malformedJson);
+        assertThat(jsonOf(result)).containsExactly(malformedJson);
     }
 
     @Test
     void constructor_nullHttpClient_throwsNullPointerException() {
-        assertThatThrownBy(() -> new CachingCompoundDocsFetcher(null, cache, executor))
+        assertThatThrownBy(() -> new CachingCompoundDocsFetcher(null, cache, executor, OBJECT_MAPPER))
                 .isInstanceOf(NullPointerException.class)
                 .hasMessage("httpClient must not be null");
     }
 
     @Test
     void constructor_nullExecutor_throwsNullPointerException() {
-        assertThatThrownBy(() -> new CachingCompoundDocsFetcher(httpClient, cache, null))
+        assertThatThrownBy(() -> new CachingCompoundDocsFetcher(httpClient, cache, null, OBJECT_MAPPER))
                 .isInstanceOf(NullPointerException.class)
                 .hasMessage("executorService must not be null");
     }
@@ -675,7 +702,7 @@ class CachingCompoundDocsFetcherTests {
                     @SuppressWarnings("unchecked")
                     Set<String> chunkIds = (Set<String>) inv.getArgument(2);
                     List<ParsedResource> resources = chunkIds.stream()
-                            .map(id -> parsedResource("countries", id, "json-" + id))
+                            .map(id -> parsedResource("countries", id, resourceJson("json-" + id)))
                             .toList();
                     return new HttpFetchResult(resources, "max-age=300");
                 });
@@ -686,7 +713,7 @@ class CachingCompoundDocsFetcherTests {
                 settings, "countries", ids, Collections.emptySet(),
                 mockRequest, mockConfig, Map.of());
 
-        assertThat(result.resources()).containsExactlyInAnyOrder("json-A", "json-B", "json-C", "json-D");
+        assertThat(jsonOf(result)).containsExactlyInAnyOrder(resourceJson("json-A"), resourceJson("json-B"), resourceJson("json-C"), resourceJson("json-D"));
     }
 
     @Test
@@ -695,7 +722,7 @@ class CachingCompoundDocsFetcherTests {
         DomainSettings settings = new DomainSettings(DOMAIN_URL, 2);
 
         // Pre-cache one resource → misses are A, C, D, E (4 ids → 2 chunks of 2)
-        cache.put(CacheKey.of("countries", "B"), "cached-B", CacheControlParser.parse("max-age=300"));
+        cache.put(CacheKey.of("countries", "B"), resourceJson("cached-B"), CacheControlParser.parse("max-age=300"));
 
         when(httpClient.doBatchFetch(any(), eq("countries"), argThat(chunk -> chunk != null && chunk.size() <= 2),
                 any(), any(), any(), any()))
@@ -703,7 +730,7 @@ class CachingCompoundDocsFetcherTests {
                     @SuppressWarnings("unchecked")
                     Set<String> chunkIds = (Set<String>) inv.getArgument(2);
                     List<ParsedResource> resources = chunkIds.stream()
-                            .map(id -> parsedResource("countries", id, "fetched-" + id))
+                            .map(id -> parsedResource("countries", id, resourceJson("fetched-" + id)))
                             .toList();
                     return new HttpFetchResult(resources, "max-age=300");
                 });
@@ -718,7 +745,8 @@ class CachingCompoundDocsFetcherTests {
         // 4 misses (A,C,D,E) split into 2 chunks of 2
         verify(httpClient, times(2)).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
         assertThat(result.resources()).hasSize(5);
-        assertThat(result.resources()).contains("cached-B", "fetched-A", "fetched-C", "fetched-D", "fetched-E");
+        assertThat(jsonOf(result)).contains(resourceJson("cached-B"), resourceJson("fetched-A"), resourceJson("fetched-C"),
+                resourceJson("fetched-D"), resourceJson("fetched-E"));
     }
 
     @Test
@@ -733,7 +761,7 @@ class CachingCompoundDocsFetcherTests {
                     Set<String> chunkIds = (Set<String>) inv.getArgument(2);
                     String header = chunkIds.contains("A") ? "max-age=300" : "max-age=30";
                     List<ParsedResource> resources = chunkIds.stream()
-                            .map(id -> parsedResource("countries", id, "json-" + id))
+                            .map(id -> parsedResource("countries", id, resourceJson("json-" + id)))
                             .toList();
                     return new HttpFetchResult(resources, header);
                 });
@@ -759,7 +787,7 @@ class CachingCompoundDocsFetcherTests {
                     @SuppressWarnings("unchecked")
                     Set<String> chunkIds = (Set<String>) inv.getArgument(2);
                     List<ParsedResource> resources = chunkIds.stream()
-                            .map(id -> parsedResource("countries", id, "json-" + id))
+                            .map(id -> parsedResource("countries", id, resourceJson("json-" + id)))
                             .toList();
                     return new HttpFetchResult(resources, "max-age=300");
                 });
@@ -774,6 +802,407 @@ class CachingCompoundDocsFetcherTests {
         }
     }
 
+    // --- Single-flight and coalescing ---
+
+    @Test
+    void fetch_concurrentMissesOfSameResource_fetchedOnce() throws Exception {
+        stubConfigNoPropagation();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    fetchStarted.countDown();
+                    releaseFetch.await(5, TimeUnit.SECONDS);
+                    return new HttpFetchResult(List.of(parsedResource("countries", "FI", COUNTRY_FI_JSON)), "max-age=300");
+                });
+
+        var fetcher = newFetcher(cache);
+
+        Future<BatchFetchResult> first = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+        assertThat(fetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<BatchFetchResult> second = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+        Thread.sleep(50);
+        releaseFetch.countDown();
+
+        assertThat(jsonOf(first.get(5, TimeUnit.SECONDS))).containsExactly(COUNTRY_FI_JSON);
+        assertThat(jsonOf(second.get(5, TimeUnit.SECONDS))).containsExactly(COUNTRY_FI_JSON);
+        verify(httpClient, times(1)).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void fetch_concurrentMissesOfNonCacheableResource_fetchedPerRequest() throws Exception {
+        stubConfigNoPropagation();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    fetchStarted.countDown();
+                    releaseFetch.await(5, TimeUnit.SECONDS);
+                    return new HttpFetchResult(List.of(parsedResource("countries", "FI", COUNTRY_FI_JSON)), "private");
+                });
+
+        var fetcher = newFetcher(cache);
+
+        Future<BatchFetchResult> first = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+        assertThat(fetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<BatchFetchResult> second = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+        Thread.sleep(50);
+        releaseFetch.countDown();
+
+        assertThat(jsonOf(first.get(5, TimeUnit.SECONDS))).containsExactly(COUNTRY_FI_JSON);
+        assertThat(jsonOf(second.get(5, TimeUnit.SECONDS))).containsExactly(COUNTRY_FI_JSON);
+        verify(httpClient, times(2)).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void fetch_coalescingWindow_mergesMissesOfConcurrentRequests() throws Exception {
+        stubConfigNoPropagation();
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    @SuppressWarnings("unchecked")
+                    Set<String> chunkIds = (Set<String>) inv.getArgument(2);
+                    List<ParsedResource> resources = chunkIds.stream()
+                            .map(id -> parsedResource("countries", id, resourceJson("json-" + id)))
+                            .toList();
+                    return new HttpFetchResult(resources, "max-age=300");
+                });
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, cache, executor, OBJECT_MAPPER, 500);
+
+        Future<BatchFetchResult> first = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+        Thread.sleep(50);
+        Future<BatchFetchResult> second = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("NO"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+
+        assertThat(jsonOf(first.get(5, TimeUnit.SECONDS))).containsExactly(resourceJson("json-FI"));
+        assertThat(jsonOf(second.get(5, TimeUnit.SECONDS))).containsExactly(resourceJson("json-NO"));
+        verify(httpClient, times(1)).doBatchFetch(any(), eq("countries"), eq(Set.of("FI", "NO")),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    void fetch_coalescingWindow_nonCacheableResultsNotShared() throws Exception {
+        stubConfigNoPropagation();
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    @SuppressWarnings("unchecked")
+                    Set<String> chunkIds = (Set<String>) inv.getArgument(2);
+                    List<ParsedResource> resources = chunkIds.stream()
+                            .map(id -> parsedResource("countries", id, resourceJson("json-" + id)))
+                            .toList();
+                    return new HttpFetchResult(resources, "private");
+                });
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, cache, executor, OBJECT_MAPPER, 500);
+
+        Future<BatchFetchResult> first = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+        Thread.sleep(50);
+        Future<BatchFetchResult> second = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("NO"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+
+        assertThat(jsonOf(first.get(5, TimeUnit.SECONDS))).containsExactly(resourceJson("json-FI"));
+        assertThat(jsonOf(second.get(5, TimeUnit.SECONDS))).containsExactly(resourceJson("json-NO"));
+        // the joined request doesn't get resources fetched with the opening request's headers
+        verify(httpClient).doBatchFetch(any(), eq("countries"), eq(Set.of("FI", "NO")),
+                any(), any(), any(), any());
+        verify(httpClient).doBatchFetch(any(), eq("countries"), eq(Set.of("NO")),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    void constructor_negativeCoalescingWindow_throws() {
+        assertThatThrownBy(() -> new CachingCompoundDocsFetcher(httpClient, cache, executor, OBJECT_MAPPER, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // --- In-process fetch ---
+
+    @Test
+    void fetch_localTypeResolvedToSelf_fetchedInProcess() {
+        InProcessResourceFetcher inProcessFetcher = mock(InProcessResourceFetcher.class);
+        when(mockRequest.getSelfBaseUrl()).thenReturn(DOMAIN_URL.toString());
+        when(inProcessFetcher.isLocal("countries")).thenReturn(true);
+        when(inProcessFetcher.doBatchFetch(eq("countries"), eq(Set.of("FI")), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", COUNTRY_FI_JSON)), "max-age=300"));
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, cache, executor, OBJECT_MAPPER, 0, inProcessFetcher);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        assertThat(cache.get(CacheKey.of("countries", "FI"))).isPresent();
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void fetch_localTypeMappedToOtherDomain_fetchedOverHttp() {
+        stubConfigNoPropagation();
+        InProcessResourceFetcher inProcessFetcher = mock(InProcessResourceFetcher.class);
+        when(mockRequest.getSelfBaseUrl()).thenReturn("http://self:8080/jsonapi");
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", COUNTRY_FI_JSON)), "max-age=300"));
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, cache, executor, OBJECT_MAPPER, 0, inProcessFetcher);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        verifyNoInteractions(inProcessFetcher);
+    }
+
+    // --- Stale entries and refresh-ahead ---
+
+    @Test
+    void fetch_withinStaleWhileRevalidate_servesStaleAndRefreshesInBackground() throws Exception {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var staleCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey keyFI = CacheKey.of("countries", "FI");
+        staleCache.put(keyFI, COUNTRY_FI_JSON, CacheControlParser.parse("max-age=60, stale-while-revalidate=600"));
+        clock.advance(Duration.ofSeconds(120));
+        when(httpClient.doBatchFetch(any(), eq("countries"), eq(Set.of("FI")), any(), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", resourceJson("Suomi"))), "max-age=300"));
+
+        var fetcher = newFetcher(staleCache);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        assertThat(result.directives().getMaxAge()).isZero();
+        verify(httpClient, timeout(5000)).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
+        awaitFresh(staleCache, keyFI);
+        assertThat(staleCache.get(keyFI).get().getResourceJson()).isEqualTo(resourceJson("Suomi"));
+    }
+
+    @Test
+    void fetch_withinStaleIfError_fetchFails_servesStale() {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var staleCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        staleCache.put(CacheKey.of("countries", "FI"), COUNTRY_FI_JSON, CacheControlParser.parse("max-age=60, stale-if-error=600"));
+        clock.advance(Duration.ofSeconds(120));
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        var fetcher = newFetcher(staleCache);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        assertThat(result.directives().getMaxAge()).isZero();
+    }
+
+    @Test
+    void fetch_withinStaleIfError_fetchSucceeds_servesFetched() {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var staleCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        staleCache.put(CacheKey.of("countries", "FI"), COUNTRY_FI_JSON, CacheControlParser.parse("max-age=60, stale-if-error=600"));
+        clock.advance(Duration.ofSeconds(120));
+        when(httpClient.doBatchFetch(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", resourceJson("Suomi"))), "max-age=300"));
+
+        var fetcher = newFetcher(staleCache);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(resourceJson("Suomi"));
+        assertThat(result.directives().getMaxAge()).isEqualTo(300L);
+    }
+
+    @Test
+    void fetch_refreshAheadFractionReached_servesCachedAndRefreshesInBackground() throws Exception {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var refreshedCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey keyFI = CacheKey.of("countries", "FI");
+        refreshedCache.put(keyFI, COUNTRY_FI_JSON, CacheControlParser.parse("max-age=100"));
+        clock.advance(Duration.ofSeconds(90));
+        when(httpClient.doBatchFetch(any(), eq("countries"), eq(Set.of("FI")), any(), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", resourceJson("Suomi"))), "max-age=300"));
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, refreshedCache, executor, OBJECT_MAPPER, 0, null, 0.8);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        assertThat(result.directives().getMaxAge()).isEqualTo(10L);
+        verify(httpClient, timeout(5000)).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (refreshedCache.get(keyFI).get().getRemainingTtlSeconds() != 300 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(refreshedCache.get(keyFI).get().getResourceJson()).isEqualTo(resourceJson("Suomi"));
+    }
+
+    @Test
+    void fetch_refreshAheadFractionNotReached_noBackgroundRefresh() {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var refreshedCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        refreshedCache.put(CacheKey.of("countries", "FI"), COUNTRY_FI_JSON, CacheControlParser.parse("max-age=100"));
+        clock.advance(Duration.ofSeconds(50));
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, refreshedCache, executor, OBJECT_MAPPER, 0, null, 0.8);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void fetch_refreshQueuedBehindBusyExecutor_doesNotBlockMisses() throws Exception {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var refreshedCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey keyFI = CacheKey.of("countries", "FI");
+        refreshedCache.put(keyFI, COUNTRY_FI_JSON, CacheControlParser.parse("max-age=100"));
+        clock.advance(Duration.ofSeconds(90));
+        when(httpClient.doBatchFetch(any(), eq("countries"), eq(Set.of("FI")), any(), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", resourceJson("Suomi"))), "max-age=300"));
+        ExecutorService busyExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch releaseExecutor = new CountDownLatch(1);
+        busyExecutor.execute(() -> {
+            try {
+                releaseExecutor.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            var fetcher = new CachingCompoundDocsFetcher(httpClient, refreshedCache, busyExecutor, OBJECT_MAPPER, 0, null, 0.8);
+            // queues a refresh of FI behind the busy executor
+            fetcher.fetch(DOMAIN_SETTINGS, "countries", Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+            clock.advance(Duration.ofSeconds(20));
+
+            Future<BatchFetchResult> miss = executor.submit(() -> fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                    Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of()));
+
+            assertThat(jsonOf(miss.get(2, TimeUnit.SECONDS))).containsExactly(resourceJson("Suomi"));
+        } finally {
+            releaseExecutor.countDown();
+            busyExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fetch_refreshedResponseNotCacheable_keepsCachedEntry() throws Exception {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var refreshedCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey keyFI = CacheKey.of("countries", "FI");
+        refreshedCache.put(keyFI, COUNTRY_FI_JSON, CacheControlParser.parse("max-age=100"));
+        clock.advance(Duration.ofSeconds(90));
+        when(httpClient.doBatchFetch(any(), eq("countries"), eq(Set.of("FI")), any(), any(), any(), any()))
+                .thenReturn(new HttpFetchResult(List.of(parsedResource("countries", "FI", resourceJson("Suomi"))), "private"));
+
+        var fetcher = new CachingCompoundDocsFetcher(httpClient, refreshedCache, executor, OBJECT_MAPPER, 0, null, 0.8);
+
+        fetcher.fetch(DOMAIN_SETTINGS, "countries", Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        verify(httpClient, timeout(5000)).doBatchFetch(any(), any(), any(), any(), any(), any(), any());
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(refreshedCache.get(keyFI).get().getResourceJson()).isEqualTo(COUNTRY_FI_JSON);
+    }
+
+    @Test
+    void constructor_refreshAheadFractionOutOfRange_throws() {
+        assertThatThrownBy(() -> new CachingCompoundDocsFetcher(httpClient, cache, executor, OBJECT_MAPPER, 0, null, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // --- Conditional requests ---
+
+    @Test
+    void fetch_expiredWithValidators_notModified_servesCachedCopyAndExtendsTtl() {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var expiringCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey keyFI = CacheKey.of("countries", "FI");
+        CacheValidators validators = new CacheValidators("\"v1\"", null, 1);
+        expiringCache.putAll(Map.of(keyFI, COUNTRY_FI_JSON), CacheControlParser.parse("max-age=60"), validators);
+        clock.advance(Duration.ofSeconds(90));
+        when(httpClient.doBatchFetch(any(), eq("countries"), eq(Set.of("FI")), any(), any(), any(), any(), eq(validators)))
+                .thenReturn(HttpFetchResult.notModified("max-age=300", null));
+
+        var fetcher = newFetcher(expiringCache);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(COUNTRY_FI_JSON);
+        assertThat(result.directives().getMaxAge()).isEqualTo(300L);
+        CacheResult cached = expiringCache.get(keyFI).get();
+        assertThat(cached.getFreshness()).isEqualTo(CacheResult.Freshness.FRESH);
+        assertThat(cached.getRemainingTtlSeconds()).isEqualTo(300);
+        assertThat(cached.getValidators()).isEqualTo(validators);
+    }
+
+    @Test
+    void fetch_expiredWithValidators_modified_servesAndStoresNewCopy() {
+        stubConfigNoPropagation();
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        var expiringCache = new InMemoryCompoundDocsResourceCache(100, clock);
+        CacheKey keyFI = CacheKey.of("countries", "FI");
+        CacheValidators validators = new CacheValidators("\"v1\"", null, 1);
+        CacheValidators newValidators = new CacheValidators("\"v2\"", null, 1);
+        expiringCache.putAll(Map.of(keyFI, COUNTRY_FI_JSON), CacheControlParser.parse("max-age=60"), validators);
+        clock.advance(Duration.ofSeconds(90));
+        when(httpClient.doBatchFetch(any(), eq("countries"), eq(Set.of("FI")), any(), any(), any(), any(), eq(validators)))
+                .thenReturn(new HttpFetchResult(
+                        List.of(parsedResource("countries", "FI", resourceJson("Suomi"))), "max-age=300", newValidators));
+
+        var fetcher = newFetcher(expiringCache);
+
+        BatchFetchResult result = fetcher.fetch(DOMAIN_SETTINGS, "countries",
+                Set.of("FI"), Collections.emptySet(), mockRequest, mockConfig, Map.of());
+
+        assertThat(jsonOf(result)).containsExactly(resourceJson("Suomi"));
+        assertThat(expiringCache.get(keyFI).get().getValidators()).isEqualTo(newValidators);
+    }
+
+    @Test
+    void chunkHelper_wholeBatchWithSameValidators_formsConditionalChunk() {
+        CacheValidators batchOfTwo = new CacheValidators("\"v1\"", null, 2);
+        CacheValidators batchOfThree = new CacheValidators("\"v2\"", null, 3);
+        Map<String, CacheResult> revalidatable = Map.of(
+                "FI", new CacheResult("{}", 0, 90, CacheResult.Freshness.EXPIRED, batchOfTwo),
+                "NO", new CacheResult("{}", 0, 90, CacheResult.Freshness.EXPIRED, batchOfTwo),
+                "SE", new CacheResult("{}", 0, 90, CacheResult.Freshness.EXPIRED, batchOfThree)
+        );
+
+        List<CachingCompoundDocsFetcher.Chunk> chunks =
+                CachingCompoundDocsFetcher.chunk(Set.of("FI", "NO", "SE", "DK"), 10, revalidatable);
+
+        assertThat(chunks).containsExactlyInAnyOrder(
+                new CachingCompoundDocsFetcher.Chunk(Set.of("FI", "NO"), batchOfTwo),
+                new CachingCompoundDocsFetcher.Chunk(Set.of("SE", "DK"), null)
+        );
+    }
+
+    private static void awaitFresh(InMemoryCompoundDocsResourceCache cacheArg, CacheKey key) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cacheArg.get(key).map(CacheResult::getFreshness).orElse(null) != CacheResult.Freshness.FRESH
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
     @Test
     void chunkHelper_splitsCorrectly() {
         assertThat(CachingCompoundDocsFetcher.chunk(Collections.emptySet(), 5)).isEmpty();
@@ -0,0 +1,193 @@
+package pro.api4.jsonapi4j.compound.docs.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.compound.docs.cache.MutableClock;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
+import pro.api4.jsonapi4j.compound.docs.config.Propagation;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpClientRegistryTests {
+
+    private static final long IDLE_TIMEOUT_MS = 60_000;
+    private static final long SLOW_RESPONSE_MS = 700;
+
+    private HttpServer server;
+    private URI serverUrl;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            byte[] body = "{\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(SLOW_RESPONSE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        serverUrl = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static CompoundDocsResolverConfig config(int maxConnectionsPerDomain, long idleTimeoutMs) {
+        return new CompoundDocsResolverConfig(
+                true, 2, 100, ErrorStrategy.IGNORE, List.of(Propagation.FIELDS), true,
+                1000, 5000, false, maxConnectionsPerDomain, idleTimeoutMs, false, 100, 0, 0
+        );
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri.resolve("/countries")).GET().build();
+    }
+
+    @Test
+    void constructor_nonPositiveMaxConnections_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new HttpClientRegistry(config(0, IDLE_TIMEOUT_MS), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_nonPositiveIdleTimeout_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new HttpClientRegistry(config(10, 0), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void send_sameDomain_reusesSingleClient() throws Exception {
+        try (HttpClientRegistry registry = new HttpClientRegistry(config(10, IDLE_TIMEOUT_MS), null)) {
+            for (int i = 0; i < 3; i++) {
+                HttpResponse<String> response = registry.send(serverUrl, get(serverUrl), HttpResponse.BodyHandlers.ofString());
+                assertThat(response.statusCode()).isEqualTo(200);
+            }
+
+            assertThat(registry.size()).isEqualTo(1);
+            assertThat(requestCount.get()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void send_domainKeyIgnoresPath() throws Exception {
+        try (HttpClientRegistry registry = new HttpClientRegistry(config(10, IDLE_TIMEOUT_MS), null)) {
+            registry.send(serverUrl.resolve("/jsonapi"), get(serverUrl), HttpResponse.BodyHandlers.ofString());
+            registry.send(serverUrl.resolve("/other"), get(serverUrl), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(registry.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void send_differentDomains_composeSeparateClients() throws Exception {
+        HttpServer otherServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        otherServer.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        otherServer.start();
+        try (HttpClientRegistry registry = new HttpClientRegistry(config(10, IDLE_TIMEOUT_MS), null)) {
+            URI otherUrl = URI.create("http://localhost:" + otherServer.getAddress().getPort());
+
+            registry.send(serverUrl, get(serverUrl), HttpResponse.BodyHandlers.ofString());
+            registry.send(otherUrl, get(otherUrl), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(registry.size()).isEqualTo(2);
+        } finally {
+            otherServer.stop(0);
+        }
+    }
+
+    @Test
+    void send_afterIdleTimeout_evictsIdleClients() throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        HttpServer otherServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        otherServer.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        otherServer.start();
+        try (HttpClientRegistry registry = new HttpClientRegistry(config(10, IDLE_TIMEOUT_MS), null, clock)) {
+            URI otherUrl = URI.create("http://localhost:" + otherServer.getAddress().getPort());
+            registry.send(otherUrl, get(otherUrl), HttpResponse.BodyHandlers.ofString());
+            registry.send(serverUrl, get(serverUrl), HttpResponse.BodyHandlers.ofString());
+            assertThat(registry.size()).isEqualTo(2);
+
+            clock.advance(Duration.ofMillis(IDLE_TIMEOUT_MS));
+            registry.send(serverUrl, get(serverUrl), HttpResponse.BodyHandlers.ofString());
+
+            // 'otherUrl' client has been idle for the whole timeout, the active one is kept
+            assertThat(registry.size()).isEqualTo(1);
+        } finally {
+            otherServer.stop(0);
+        }
+    }
+
+    @Test
+    void send_connectionWaitIsTakenFromRequestTimeout() throws Exception {
+        // given - a single connection per domain, occupied by a slow exchange
+        HttpRequest slow = HttpRequest.newBuilder(serverUrl.resolve("/slow"))
+                .timeout(Duration.ofMillis(1000))
+                .GET()
+                .build();
+        try (HttpClientRegistry registry = new HttpClientRegistry(config(1, IDLE_TIMEOUT_MS), null)) {
+            CompletableFuture<HttpResponse<Void>> first = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return registry.send(serverUrl, slow, HttpResponse.BodyHandlers.discarding());
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+            Thread.sleep(100);
+
+            // when - the second exchange alone fits into the timeout, but not together with the wait
+            // then
+            assertThatThrownBy(() -> registry.send(serverUrl, slow, HttpResponse.BodyHandlers.discarding()))
+                    .isInstanceOf(HttpTimeoutException.class);
+            assertThat(first.get().statusCode()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void close_releasesAllClients() throws Exception {
+        HttpClientRegistry registry = new HttpClientRegistry(config(10, IDLE_TIMEOUT_MS), null);
+        registry.send(serverUrl, get(serverUrl), HttpResponse.BodyHandlers.ofString());
+
+        registry.close();
+
+        assertThat(registry.size()).isZero();
+    }
+
+}
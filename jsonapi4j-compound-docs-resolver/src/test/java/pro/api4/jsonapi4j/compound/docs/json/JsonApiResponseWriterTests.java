@@ -0,0 +1,76 @@
+package pro.api4.jsonapi4j.compound.docs.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonApiResponseWriterTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonApiResponseWriter sut = new JsonApiResponseWriter(MAPPER);
+
+    @Test
+    public void writeWithIncludedMember_appendsIncludedAfterOriginalMembers() throws IOException {
+        // given
+        JsonNode rootNode = MAPPER.readTree("{\"data\":{\"type\":\"users\",\"id\":\"1\"},\"links\":{\"self\":\"/users/1\"}}");
+        List<JsonNode> resources = List.of(
+                MAPPER.readTree("{\"type\":\"countries\",\"id\":\"FI\"}"),
+                MAPPER.readTree("{\"type\":\"countries\",\"id\":\"NO\"}")
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        sut.writeWithIncludedMember(rootNode, resources, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"data\":{\"type\":\"users\",\"id\":\"1\"},\"links\":{\"self\":\"/users/1\"},"
+                        + "\"included\":[{\"type\":\"countries\",\"id\":\"FI\"},{\"type\":\"countries\",\"id\":\"NO\"}]}"
+        );
+    }
+
+    @Test
+    public void writeWithIncludedMember_existingIncludedMember_isReplaced() throws IOException {
+        // given
+        JsonNode rootNode = MAPPER.readTree("{\"data\":[],\"included\":[{\"type\":\"stale\",\"id\":\"1\"}]}");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        sut.writeWithIncludedMember(rootNode, List.of(MAPPER.readTree("{\"type\":\"countries\",\"id\":\"FI\"}")), out);
+
+        // then
+        JsonNode written = MAPPER.readTree(out.toByteArray());
+        assertThat(written.get("included")).hasSize(1);
+        assertThat(written.get("included").get(0).get("type").asText()).isEqualTo("countries");
+    }
+
+    @Test
+    public void writeWithIncludedMember_doesNotCloseTargetStream() throws IOException {
+        // given
+        JsonNode rootNode = MAPPER.readTree("{\"data\":null}");
+        boolean[] closed = {false};
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // when
+        sut.writeWithIncludedMember(rootNode, List.of(), out);
+
+        // then
+        assertThat(closed[0]).isFalse();
+        assertThat(out.toString()).isEqualTo("{\"data\":null,\"included\":[]}");
+    }
+
+}
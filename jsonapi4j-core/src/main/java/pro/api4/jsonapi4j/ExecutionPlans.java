@@ -0,0 +1,191 @@
+package pro.api4.jsonapi4j;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import pro.api4.jsonapi4j.domain.DomainRegistry;
+import pro.api4.jsonapi4j.domain.RegisteredRelationship;
+import pro.api4.jsonapi4j.domain.RegisteredResource;
+import pro.api4.jsonapi4j.domain.Resource;
+import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.domain.ToManyRelationship;
+import pro.api4.jsonapi4j.domain.ToOneRelationship;
+import pro.api4.jsonapi4j.operation.BatchReadToManyRelationshipOperation;
+import pro.api4.jsonapi4j.operation.BatchReadToOneRelationshipOperation;
+import pro.api4.jsonapi4j.operation.OperationMeta;
+import pro.api4.jsonapi4j.operation.OperationType;
+import pro.api4.jsonapi4j.operation.OperationsRegistry;
+import pro.api4.jsonapi4j.operation.ReadToManyRelationshipOperation;
+import pro.api4.jsonapi4j.operation.ReadToOneRelationshipOperation;
+import pro.api4.jsonapi4j.operation.RegisteredOperation;
+import pro.api4.jsonapi4j.plugin.JsonApi4jPlugin;
+import pro.api4.jsonapi4j.plugin.JsonApiPluginInfo;
+import pro.api4.jsonapi4j.plugin.PluginSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything {@link JsonApi4j} needs to execute an operation that doesn't depend on the request itself, compiled once
+ * when {@link JsonApi4j} is built:
+ * <ul>
+ *     <li>the plugin chain of every registered operation - enabled plugins only, already sorted by
+ *     {@link JsonApi4jPlugin#precedence()} and bound to the operation, resource and relationship plugin infos</li>
+ *     <li>relationships of every registered resource, split into the ones read one resource at a time and the ones
+ *     read in batches</li>
+ * </ul>
+ * Both registries are immutable once {@link JsonApi4j} is built, so plans never go stale.
+ */
+final class ExecutionPlans {
+
+    private final List<JsonApi4jPlugin> plugins;
+    private final DomainRegistry domainRegistry;
+    private final Map<RegisteredOperation<?>, List<PluginSettings>> pluginSettings;
+    private final Map<ResourceType, ResourcePlan> resourcePlans;
+
+    private ExecutionPlans(List<JsonApi4jPlugin> plugins,
+                           DomainRegistry domainRegistry,
+                           OperationsRegistry operationsRegistry) {
+        this.plugins = plugins.stream()
+                .filter(JsonApi4jPlugin::enabled)
+                .sorted(Comparator.comparingInt(JsonApi4jPlugin::precedence))
+                .toList();
+        this.domainRegistry = domainRegistry;
+
+        Map<RegisteredOperation<?>, List<PluginSettings>> compiledPluginSettings = new IdentityHashMap<>();
+        operationsRegistry.getAllRegisteredOperations().forEach(o -> {
+            RegisteredResource<?> registeredResource = domainRegistry.getResource(o.getOperationMeta().getResourceType());
+            if (registeredResource != null) {
+                compiledPluginSettings.put(
+                        o,
+                        compilePluginSettings(o, registeredResource, findRegisteredRelationship(o.getOperationMeta()))
+                );
+            }
+        });
+        this.pluginSettings = Collections.unmodifiableMap(compiledPluginSettings);
+
+        Map<ResourceType, ResourcePlan> compiledResourcePlans = new HashMap<>();
+        domainRegistry.getResources().forEach(r -> compiledResourcePlans.put(
+                r.getResourceType(),
+                compileResourcePlan(r, domainRegistry, operationsRegistry)
+        ));
+        this.resourcePlans = Collections.unmodifiableMap(compiledResourcePlans);
+    }
+
+    static ExecutionPlans compile(List<JsonApi4jPlugin> plugins,
+                                  DomainRegistry domainRegistry,
+                                  OperationsRegistry operationsRegistry) {
+        return new ExecutionPlans(plugins, domainRegistry, operationsRegistry);
+    }
+
+    /**
+     * @param registeredOperation operation that is about to be executed
+     * @param registeredResource  resource the operation belongs to
+     * @param registeredRelationship relationship the operation belongs to, <code>null</code> for resource operations
+     * @return compiled plugin chain of the operation. Falls back to compiling it on the fly for operations that
+     * weren't registered when {@link JsonApi4j} was built.
+     */
+    List<PluginSettings> getPluginSettings(RegisteredOperation<?> registeredOperation,
+                                           RegisteredResource<?> registeredResource,
+                                           RegisteredRelationship<?> registeredRelationship) {
+        List<PluginSettings> result = pluginSettings.get(registeredOperation);
+        if (result != null) {
+            return result;
+        }
+        return compilePluginSettings(registeredOperation, registeredResource, registeredRelationship);
+    }
+
+    /**
+     * @param resourceType resource type
+     * @return compiled plan of the resource, <code>null</code> if the resource isn't registered
+     */
+    ResourcePlan getResourcePlan(ResourceType resourceType) {
+        return resourcePlans.get(resourceType);
+    }
+
+    private List<PluginSettings> compilePluginSettings(RegisteredOperation<?> registeredOperation,
+                                                       RegisteredResource<?> registeredResource,
+                                                       RegisteredRelationship<?> registeredRelationship) {
+        OperationMeta operationMeta = registeredOperation.getOperationMeta();
+        List<PluginSettings> result = new ArrayList<>(plugins.size());
+        for (JsonApi4jPlugin plugin : plugins) {
+            JsonApiPluginInfo info = new JsonApiPluginInfo(
+                    operationMeta.getPluginInfo().get(plugin.pluginName()),
+                    registeredResource.getPluginInfo().get(plugin.pluginName()),
+                    registeredRelationship != null ? registeredRelationship.getPluginInfo().get(plugin.pluginName()) : null
+            );
+            result.add(PluginSettings.builder().operationMeta(operationMeta).plugin(plugin).info(info).build());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private RegisteredRelationship<?> findRegisteredRelationship(OperationMeta operationMeta) {
+        if (operationMeta.getRelationshipName() == null) {
+            return null;
+        }
+        List<? extends RegisteredRelationship<?>> candidates
+                = operationMeta.getOperationType().getSubType() == OperationType.SubType.TO_ONE_RELATIONSHIP
+                ? domainRegistry.getToOneRelationships(operationMeta.getResourceType())
+                : domainRegistry.getToManyRelationships(operationMeta.getResourceType());
+        return candidates.stream()
+                .filter(r -> r.getRelationshipName().equals(operationMeta.getRelationshipName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static ResourcePlan compileResourcePlan(RegisteredResource<Resource<?>> registeredResource,
+                                                    DomainRegistry domainRegistry,
+                                                    OperationsRegistry operationsRegistry) {
+        ResourceType resourceType = registeredResource.getResourceType();
+        List<RegisteredRelationship<ToManyRelationship<?>>> toManyRelationships = new ArrayList<>();
+        List<RegisteredRelationship<ToManyRelationship<?>>> batchToManyRelationships = new ArrayList<>();
+        for (RegisteredRelationship<ToManyRelationship<?>> r : domainRegistry.getToManyRelationships(resourceType)) {
+            RegisteredOperation<ReadToManyRelationshipOperation<?, ?>> operation
+                    = operationsRegistry.getRegisteredReadToManyRelationshipOperation(resourceType, r.getRelationshipName(), false);
+            if (operation != null && operation.getOperation() instanceof BatchReadToManyRelationshipOperation) {
+                batchToManyRelationships.add(r);
+            } else {
+                toManyRelationships.add(r);
+            }
+        }
+        List<RegisteredRelationship<ToOneRelationship<?>>> toOneRelationships = new ArrayList<>();
+        List<RegisteredRelationship<ToOneRelationship<?>>> batchToOneRelationships = new ArrayList<>();
+        for (RegisteredRelationship<ToOneRelationship<?>> r : domainRegistry.getToOneRelationships(resourceType)) {
+            RegisteredOperation<ReadToOneRelationshipOperation<?, ?>> operation
+                    = operationsRegistry.getRegisteredReadToOneRelationshipOperation(resourceType, r.getRelationshipName(), false);
+            if (operation != null && operation.getOperation() instanceof BatchReadToOneRelationshipOperation) {
+                batchToOneRelationships.add(r);
+            } else {
+                toOneRelationships.add(r);
+            }
+        }
+        return new ResourcePlan(
+                registeredResource,
+                List.copyOf(toManyRelationships),
+                List.copyOf(batchToManyRelationships),
+                List.copyOf(toOneRelationships),
+                List.copyOf(batchToOneRelationships)
+        );
+    }
+
+    /**
+     * Relationships of a single resource type, split by how they are read.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class ResourcePlan {
+
+        private final RegisteredResource<Resource<?>> registeredResource;
+        private final List<RegisteredRelationship<ToManyRelationship<?>>> toManyRelationships;
+        private final List<RegisteredRelationship<ToManyRelationship<?>>> batchToManyRelationships;
+        private final List<RegisteredRelationship<ToOneRelationship<?>>> toOneRelationships;
+        private final List<RegisteredRelationship<ToOneRelationship<?>>> batchToOneRelationships;
+
+    }
+
+}
@@ -4,7 +4,13 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import pro.api4.jsonapi4j.BatchToManyRelationshipsProcessor.BatchMultipleResourcesDataSupplier;
+import pro.api4.jsonapi4j.BatchToManyRelationshipsProcessor.BatchToManyRelationshipsTerminalStage;
+import pro.api4.jsonapi4j.BatchToOneRelationshipProcessor.BatchSingleResourcesDataSupplier;
+import pro.api4.jsonapi4j.BatchToOneRelationshipProcessor.BatchToOneRelationshipTerminalStage;
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.domain.DomainRegistry;
+import pro.api4.jsonapi4j.domain.exception.DomainMisconfigurationException;
 import pro.api4.jsonapi4j.meta.context.MetaContext;
 import pro.api4.jsonapi4j.domain.RegisteredRelationship;
 import pro.api4.jsonapi4j.domain.RegisteredResource;
@@ -16,11 +22,10 @@ import pro.api4.jsonapi4j.domain.ToManyRelationship;
 import pro.api4.jsonapi4j.domain.ToOneRelationship;
 import pro.api4.jsonapi4j.model.document.LinksObject;
 import pro.api4.jsonapi4j.model.document.data.MultipleResourcesDoc;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesStreamDoc;
 import pro.api4.jsonapi4j.model.document.data.SingleResourceDoc;
-import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipObject;
 import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipsDoc;
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipDoc;
-import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
 import pro.api4.jsonapi4j.operation.AddToManyRelationshipOperation;
 import pro.api4.jsonapi4j.operation.BatchReadToManyRelationshipOperation;
 import pro.api4.jsonapi4j.operation.BatchReadToOneRelationshipOperation;
@@ -35,18 +40,20 @@ import pro.api4.jsonapi4j.operation.ReadResourceByIdOperation;
 import pro.api4.jsonapi4j.operation.ReadToManyRelationshipOperation;
 import pro.api4.jsonapi4j.operation.ReadToOneRelationshipOperation;
 import pro.api4.jsonapi4j.operation.RegisteredOperation;
+import pro.api4.jsonapi4j.operation.StreamingReadMultipleResourcesOperation;
 import pro.api4.jsonapi4j.operation.UpdateResourceOperation;
 import pro.api4.jsonapi4j.operation.UpdateToManyRelationshipOperation;
 import pro.api4.jsonapi4j.operation.UpdateToOneRelationshipOperation;
 import pro.api4.jsonapi4j.operation.exception.OperationNotFoundException;
 import pro.api4.jsonapi4j.plugin.JsonApi4jPlugin;
-import pro.api4.jsonapi4j.plugin.JsonApiPluginInfo;
 import pro.api4.jsonapi4j.plugin.PluginSettings;
 import pro.api4.jsonapi4j.processor.IdAndType;
 import pro.api4.jsonapi4j.processor.IdSupplier;
 import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsSupplier;
 import pro.api4.jsonapi4j.processor.multi.relationship.ToManyRelationshipsProcessor;
+import pro.api4.jsonapi4j.processor.multi.resource.MultipleResourcesJsonApiConfigurationStage;
 import pro.api4.jsonapi4j.processor.multi.resource.MultipleResourcesProcessor;
+import pro.api4.jsonapi4j.processor.multi.resource.MultipleResourcesTerminalStage;
 import pro.api4.jsonapi4j.processor.resolvers.BatchToManyRelationshipResolver;
 import pro.api4.jsonapi4j.processor.resolvers.BatchToOneRelationshipResolver;
 import pro.api4.jsonapi4j.processor.resolvers.DefaultRelationshipResolver;
@@ -70,16 +77,22 @@ import pro.api4.jsonapi4j.processor.single.resource.SingleResourceProcessor;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
 import pro.api4.jsonapi4j.request.JsonApiRequestBuilder;
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+import pro.api4.jsonapi4j.util.CompletionStages;
+import pro.api4.jsonapi4j.util.ReflectionUtils;
 
+import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
-
-import static java.util.stream.Collectors.toMap;
+import java.util.function.Function;
 
 /**
  * <p>
@@ -106,8 +119,14 @@ public class JsonApi4j {
     private final DomainRegistry domainRegistry;
     private final OperationsRegistry operationsRegistry;
     private final Executor executor;
+    private final int relationshipsChunkSize;
+    private final Duration relationshipsTimeout;
     private final JsonApiBuildInRequestValidator validator;
     private final MetaContext metaContext;
+    @Getter(AccessLevel.NONE)
+    private final ExecutionPlans executionPlans;
+    @Getter(AccessLevel.NONE)
+    private final Map<ResourceType, ResourceTypeStepSelected> resourceTypeSteps = new ConcurrentHashMap<>();
 
     public static JsonApi4jBuilder builder() {
         return new JsonApi4jBuilder();
@@ -122,8 +141,37 @@ public class JsonApi4j {
         }
     }
 
+    /**
+     * Variation of {@link #execute(JsonApiRequest)} for callers that can write the response incrementally. 'Read
+     * multiple resources' requests served by a {@link StreamingReadMultipleResourcesOperation} return a
+     * {@link MultipleResourcesStreamDoc} that must be closed once written. Everything else is executed as usual.
+     *
+     * @param request incoming {@link JsonApiRequest}
+     * @return JSON:API document, nullable
+     */
+    public Object executeStreaming(JsonApiRequest request) {
+        if (request.getTargetRelationshipName() == null
+                && request.getOperationType() == OperationType.READ_MULTIPLE_RESOURCES) {
+            ResourceTypeStepSelected step = forResourceType(request.getTargetResourceType());
+            if (step.isReadMultipleResourcesStreamed()) {
+                log.info("Executing JSON:API request: type={}, operation={}, streamed", request.getTargetResourceType(), request.getOperationType());
+                validator.validateReadMultipleResources(request);
+                return step.streamMultipleResources(request);
+            }
+        }
+        return execute(request);
+    }
+
     public ResourceTypeStepSelected forResourceType(ResourceType resourceType) {
-        return new ResourceTypeStepSelected(resourceType);
+        ResourceTypeStepSelected step = resourceTypeSteps.get(resourceType);
+        if (step != null) {
+            return step;
+        }
+        if (executionPlans.getResourcePlan(resourceType) == null) {
+            // not registered, the operation lookup fails anyway - don't let unknown types grow the cache
+            return new ResourceTypeStepSelected(resourceType);
+        }
+        return resourceTypeSteps.computeIfAbsent(resourceType, ResourceTypeStepSelected::new);
     }
 
     private Object executeResourceOperation(JsonApiRequest request) {
@@ -216,8 +264,23 @@ public class JsonApi4j {
             SingleDataItemSupplier<JsonApiRequest, ?> executable,
             List<PluginSettings> pluginSettings
     ) {
-        RegisteredRelationship<ToOneRelationship<?>> registeredRelationship
-                = domainRegistry.getToOneRelationshipStrict(resourceType, relationshipName);
+        return resolveToOneRelationshipDocCommon(
+                domainRegistry.getToOneRelationshipStrict(resourceType, relationshipName),
+                resourceType,
+                relationshipRequest,
+                executable,
+                pluginSettings
+        );
+    }
+
+    private <RELATIONSHIP_DTO> ToOneRelationshipDoc resolveToOneRelationshipDocCommon(
+            RegisteredRelationship<ToOneRelationship<?>> registeredRelationship,
+            ResourceType resourceType,
+            JsonApiRequest relationshipRequest,
+            SingleDataItemSupplier<JsonApiRequest, ?> executable,
+            List<PluginSettings> pluginSettings
+    ) {
+        RelationshipName relationshipName = registeredRelationship.getRelationshipName();
 
         @SuppressWarnings("unchecked")
         ToOneRelationship<RELATIONSHIP_DTO> toOneRelationshipCasted
@@ -268,8 +331,23 @@ public class JsonApi4j {
             MultipleDataItemsSupplier<JsonApiRequest, ?> executable,
             List<PluginSettings> pluginSettings
     ) {
-        RegisteredRelationship<ToManyRelationship<?>> registeredRelationship =
-                domainRegistry.getToManyRelationshipStrict(resourceType, relationshipName);
+        return resolveToManyRelationshipsDocCommon(
+                domainRegistry.getToManyRelationshipStrict(resourceType, relationshipName),
+                resourceType,
+                relationshipRequest,
+                executable,
+                pluginSettings
+        );
+    }
+
+    private <RELATIONSHIP_DTO> ToManyRelationshipsDoc resolveToManyRelationshipsDocCommon(
+            RegisteredRelationship<ToManyRelationship<?>> registeredRelationship,
+            ResourceType resourceType,
+            JsonApiRequest relationshipRequest,
+            MultipleDataItemsSupplier<JsonApiRequest, ?> executable,
+            List<PluginSettings> pluginSettings
+    ) {
+        RelationshipName relationshipName = registeredRelationship.getRelationshipName();
 
         @SuppressWarnings("unchecked")
         ToManyRelationship<RELATIONSHIP_DTO> toManyRelationshipCasted
@@ -342,25 +420,18 @@ public class JsonApi4j {
             RegisteredOperation<?> registeredOperation,
             RegisteredResource<?> registeredResource,
             RegisteredRelationship<?> registeredRelationship) {
-        List<PluginSettings> result = new ArrayList<>();
-        for (JsonApi4jPlugin plugin : plugins) {
-            OperationMeta operationMeta = registeredOperation.getOperationMeta();
-            JsonApiPluginInfo info = new JsonApiPluginInfo(
-                    operationMeta.getPluginInfo().get(plugin.pluginName()),
-                    registeredResource.getPluginInfo().get(plugin.pluginName()),
-                    registeredRelationship != null ? registeredRelationship.getPluginInfo().get(plugin.pluginName()) : null
-            );
-            result.add(PluginSettings.builder().operationMeta(operationMeta).plugin(plugin).info(info).build());
-        }
-        return result.stream().sorted(Comparator.comparingInt(p -> p.getPlugin().precedence())).toList();
+        return executionPlans.getPluginSettings(registeredOperation, registeredResource, registeredRelationship);
     }
 
     public class ResourceTypeStepSelected {
 
         private final ResourceType resourceType;
+        private final BoundResource<?> boundResource;
 
         public ResourceTypeStepSelected(ResourceType resourceType) {
             this.resourceType = resourceType;
+            ExecutionPlans.ResourcePlan resourcePlan = executionPlans.getResourcePlan(resourceType);
+            this.boundResource = resourcePlan != null ? bindResource(resourcePlan) : null;
         }
 
         public ToManyRelationshipsOperationStepSelected forToManyRelationship(RelationshipName relationshipName) {
@@ -393,7 +464,7 @@ public class JsonApi4j {
             return processSingleResource(
                     request,
                     resourceConfig,
-                    executable::readById,
+                    req -> CompletionStages.join(executable.readByIdAsync(req)),
                     pluginSettings
             );
         }
@@ -481,22 +552,24 @@ public class JsonApi4j {
                 SingleDataItemSupplier<JsonApiRequest, RESOURCE_DTO> dataSupplier,
                 List<PluginSettings> pluginSettings
         ) {
+            BoundResource<RESOURCE_DTO> bound = boundResource();
             return new SingleResourceProcessor()
                     .forRequest(request)
                     .concurrentRelationshipResolution(executor)
+                    .relationshipsTimeout(relationshipsTimeout)
                     .plugins(pluginSettings)
                     .dataSupplier(dataSupplier)
-                    .defaultRelationships(getDefaultRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .toManyRelationshipResolvers(getToManyRelationshipsResolvers(resourceConfig::resolveResourceId))
-                    .batchToManyRelationshipResolvers(getBatchToManyRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .toOneRelationshipResolvers(getToOneRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .batchToOneRelationshipResolvers(getBatchToOneRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .topLevelLinksResolver(getSingleDataItemTopLevelLinksResolver(resourceType, resourceConfig))
+                    .defaultRelationships(bound.defaultRelationshipResolvers)
+                    .toManyRelationshipResolvers(bound.toManyRelationshipResolvers)
+                    .batchToManyRelationshipResolvers(bound.batchToManyRelationshipResolvers)
+                    .toOneRelationshipResolvers(bound.toOneRelationshipResolvers)
+                    .batchToOneRelationshipResolvers(bound.batchToOneRelationshipResolvers)
+                    .topLevelLinksResolver(bound.singleResourceDocLinksResolver)
                     .topLevelMetaResolver(resourceConfig::resolveTopLevelMetaForSingleResourceDoc)
-                    .resourceLinksResolver(getResourceLinksResolver(resourceType, resourceConfig))
+                    .resourceLinksResolver(bound.resourceLinksResolver)
                     .resourceMetaResolver(resourceConfig::resolveResourceMeta)
                     .attributesResolver(resourceConfig::resolveAttributes)
-                    .resourceTypeAndIdResolver(getResourceTypeAndIdResolver(resourceConfig))
+                    .resourceTypeAndIdResolver(bound.resourceTypeAndIdResolver)
                     .toSingleResourceDoc();
         }
 
@@ -548,7 +621,7 @@ public class JsonApi4j {
                 );
                 return processMultipleResources(
                         request,
-                        readAllExecutable::readPage,
+                        req -> CompletionStages.join(readAllExecutable.readPageAsync(req)),
                         pluginSettings
                 );
             } else if (request.getFilters().size() == 1
@@ -556,10 +629,10 @@ public class JsonApi4j {
                 RegisteredOperation<ReadResourceByIdOperation<?>> registeredReadByIdOperation
                         = operationsRegistry.getRegisteredReadResourceByIdOperation(resourceType, false);
 
-                @SuppressWarnings("unchecked")
-                ReadResourceByIdOperation<RESOURCE_DTO> readByIdExecutable
-                        = (ReadResourceByIdOperation<RESOURCE_DTO>) registeredReadByIdOperation.getOperation();
-                if (readByIdExecutable != null) {
+                if (registeredReadByIdOperation != null) {
+                    @SuppressWarnings("unchecked")
+                    ReadResourceByIdOperation<RESOURCE_DTO> readByIdExecutable
+                            = (ReadResourceByIdOperation<RESOURCE_DTO>) registeredReadByIdOperation.getOperation();
                     ReadMultipleResourcesOperation<RESOURCE_DTO> mimickedReadAllExecutable = mimicReadMultipleResourcesOperationViaSequentialReadByIds(readByIdExecutable);
                     mimickedReadAllExecutable.validate(request);
                     List<PluginSettings> pluginSettings = getPluginSettings(
@@ -576,11 +649,46 @@ public class JsonApi4j {
             throw new OperationNotFoundException(OperationType.READ_MULTIPLE_RESOURCES, resourceType);
         }
 
+        public boolean isReadMultipleResourcesStreamed() {
+            RegisteredOperation<ReadMultipleResourcesOperation<?>> registeredReadMultipleOperation
+                    = operationsRegistry.getRegisteredReadMultipleResourcesOperation(resourceType, false);
+            return registeredReadMultipleOperation != null
+                    && registeredReadMultipleOperation.getOperation() instanceof StreamingReadMultipleResourcesOperation<?>;
+        }
+
+        public <RESOURCE_DTO> MultipleResourcesStreamDoc<?> streamMultipleResources(JsonApiRequest request) {
+            RegisteredOperation<ReadMultipleResourcesOperation<?>> registeredReadMultipleOperation
+                    = operationsRegistry.getRegisteredReadMultipleResourcesOperation(resourceType, false);
+            if (registeredReadMultipleOperation != null
+                    && registeredReadMultipleOperation.getOperation() instanceof StreamingReadMultipleResourcesOperation<?>) {
+                @SuppressWarnings("unchecked")
+                StreamingReadMultipleResourcesOperation<RESOURCE_DTO> streamExecutable
+                        = (StreamingReadMultipleResourcesOperation<RESOURCE_DTO>) registeredReadMultipleOperation.getOperation();
+                streamExecutable.validate(request);
+                List<PluginSettings> pluginSettings = getPluginSettings(
+                        registeredReadMultipleOperation,
+                        domainRegistry.getResource(resourceType)
+                );
+                return multipleResourcesTerminalStage(
+                        new MultipleResourcesProcessor()
+                                .forRequest(request)
+                                .concurrentRelationshipResolution(executor)
+                                .relationshipsChunkSize(relationshipsChunkSize)
+                                .relationshipsTimeout(relationshipsTimeout)
+                                .plugins(pluginSettings)
+                                .streamSupplier(streamExecutable::readPageStream, streamExecutable.windowSize())
+                ).toMultipleResourcesStreamDoc();
+            }
+            throw new OperationNotFoundException(OperationType.READ_MULTIPLE_RESOURCES, resourceType);
+        }
+
         private <RESOURCE_DTO> ReadMultipleResourcesOperation<RESOURCE_DTO> mimicReadMultipleResourcesOperationViaSequentialReadByIds(
                 ReadResourceByIdOperation<RESOURCE_DTO> readByIdExecutable
         ) {
             return request -> {
-                List<RESOURCE_DTO> result = request.getFilters().get(ReadMultipleResourcesOperation.ID_FILTER_NAME).stream().map(id -> {
+                // all reads are started before waiting for any of them, so non-blocking operations run concurrently
+                List<CompletableFuture<RESOURCE_DTO>> reads = new ArrayList<>();
+                for (String id : request.getFilters().get(ReadMultipleResourcesOperation.ID_FILTER_NAME)) {
                     JsonApiRequest readByIdRequest = new JsonApiRequestBuilder(request)
                             .resourceId(id)
                             .operationType(OperationType.READ_RESOURCE_BY_ID)
@@ -590,8 +698,14 @@ public class JsonApi4j {
                             .offset(null)
                             .sortBy(Collections.emptyMap())
                             .build();
-                    return readByIdExecutable.readById(readByIdRequest);
-                }).toList();
+                    CompletableFuture<RESOURCE_DTO> read = readByIdExecutable.readByIdAsync(readByIdRequest).toCompletableFuture();
+                    if (read.isCompletedExceptionally()) {
+                        // a synchronous read has already failed, there is no point in starting the rest
+                        CompletionStages.join(read);
+                    }
+                    reads.add(read);
+                }
+                List<RESOURCE_DTO> result = reads.stream().map(CompletionStages::join).toList();
                 return PaginationAwareResponse.fromItemsNotPageable(result);
             };
         }
@@ -601,27 +715,34 @@ public class JsonApi4j {
                 MultipleDataItemsSupplier<JsonApiRequest, DATA_SOURCE_DTO> dataSupplier,
                 List<PluginSettings> pluginSettings
         ) {
-            RegisteredResource<Resource<?>> registeredResource = domainRegistry.getResource(resourceType);
-            @SuppressWarnings("unchecked")
-            Resource<DATA_SOURCE_DTO> resourceConfig
-                    = (Resource<DATA_SOURCE_DTO>) registeredResource.getResource();
-            return new MultipleResourcesProcessor()
-                    .forRequest(request)
-                    .concurrentRelationshipResolution(executor)
-                    .plugins(pluginSettings)
-                    .dataSupplier(dataSupplier)
-                    .defaultRelationships(getDefaultRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .toManyRelationshipResolvers(getToManyRelationshipsResolvers(resourceConfig::resolveResourceId))
-                    .batchToManyRelationshipResolvers(getBatchToManyRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .toOneRelationshipResolvers(getToOneRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .batchToOneRelationshipResolvers(getBatchToOneRelationshipResolvers(resourceConfig::resolveResourceId))
-                    .topLevelLinksResolver(getMultiDataItemTopLevelLinksResolver(resourceType, resourceConfig))
-                    .topLevelMetaResolver(getMultiDataItemTopLevelMetaResolver(resourceConfig))
-                    .resourceLinksResolver(getResourceLinksResolver(resourceType, resourceConfig))
+            return multipleResourcesTerminalStage(
+                    new MultipleResourcesProcessor()
+                            .forRequest(request)
+                            .concurrentRelationshipResolution(executor)
+                            .relationshipsChunkSize(relationshipsChunkSize)
+                            .relationshipsTimeout(relationshipsTimeout)
+                            .plugins(pluginSettings)
+                            .dataSupplier(dataSupplier)
+            ).toMultipleResourcesDoc();
+        }
+
+        private <DATA_SOURCE_DTO> MultipleResourcesTerminalStage<JsonApiRequest, DATA_SOURCE_DTO, ?> multipleResourcesTerminalStage(
+                MultipleResourcesJsonApiConfigurationStage<JsonApiRequest, DATA_SOURCE_DTO> jsonApiConfigurationStage
+        ) {
+            BoundResource<DATA_SOURCE_DTO> bound = boundResource();
+            Resource<DATA_SOURCE_DTO> resourceConfig = bound.resourceConfig;
+            return jsonApiConfigurationStage
+                    .defaultRelationships(bound.defaultRelationshipResolvers)
+                    .toManyRelationshipResolvers(bound.toManyRelationshipResolvers)
+                    .batchToManyRelationshipResolvers(bound.batchToManyRelationshipResolvers)
+                    .toOneRelationshipResolvers(bound.toOneRelationshipResolvers)
+                    .batchToOneRelationshipResolvers(bound.batchToOneRelationshipResolvers)
+                    .topLevelLinksResolver(bound.multipleResourcesDocLinksResolver)
+                    .topLevelMetaResolver(bound.multipleResourcesDocMetaResolver)
+                    .resourceLinksResolver(bound.resourceLinksResolver)
                     .resourceMetaResolver(resourceConfig::resolveResourceMeta)
                     .attributesResolver(resourceConfig::resolveAttributes)
-                    .resourceTypeAndIdResolver(getResourceTypeAndIdResolver(resourceConfig))
-                    .toMultipleResourcesDoc();
+                    .resourceTypeAndIdResolver(bound.resourceTypeAndIdResolver);
         }
 
         private <DATA_SOURCE_DTO> ResourceLinksResolver<JsonApiRequest, DATA_SOURCE_DTO> getResourceLinksResolver(
@@ -668,107 +789,123 @@ public class JsonApi4j {
             };
         }
 
-        private <REQUEST, DATA_SOURCE_DTO> Map<RelationshipName, DefaultRelationshipResolver<REQUEST, DATA_SOURCE_DTO>> getDefaultRelationshipResolvers(
-                IdSupplier<DATA_SOURCE_DTO> resourceIdSupplier
-        ) {
-            return domainRegistry.getRelationshipNames(resourceType).stream()
-                    .collect(
-                            toMap(
-                                    r -> r,
-                                    r -> DefaultRelationshipResolvers.defaultRelationshipResolver(
-                                            resourceType,
-                                            resourceIdSupplier
-                                    )
-                            )
-                    );
+        @SuppressWarnings("unchecked")
+        private <RESOURCE_DTO> BoundResource<RESOURCE_DTO> boundResource() {
+            if (boundResource == null) {
+                throw new DomainMisconfigurationException(MessageFormat.format("Resource ({0}) is not registered in the Domain Registry.", resourceType.getType()));
+            }
+            return (BoundResource<RESOURCE_DTO>) boundResource;
         }
 
-        private <RESOURCE_DTO> Map<RelationshipName, ToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> getToManyRelationshipsResolvers(
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier
-        ) {
-            return domainRegistry.getToManyRelationships(resourceType)
-                    .stream()
-                    .filter(r -> !hasReadToManyRelationshipsBatchImplementation(r))
-                    .collect(
-                            toMap(
-                                    RegisteredRelationship::getRelationshipName,
-                                    registeredRelationship ->
-                                            (req, dataSourceDto) ->
-                                                    resolveToManyRelationships(
-                                                            registeredRelationship.getRelationshipName(),
-                                                            dataSourceDto,
-                                                            resourceIdSupplier,
-                                                            req
-                                                    )
-                            )
-                    );
+        private <RESOURCE_DTO> BoundResource<RESOURCE_DTO> bindResource(ExecutionPlans.ResourcePlan resourcePlan) {
+            @SuppressWarnings("unchecked")
+            Resource<RESOURCE_DTO> resourceConfig = (Resource<RESOURCE_DTO>) resourcePlan.getRegisteredResource().getResource();
+            IdSupplier<RESOURCE_DTO> resourceIdSupplier = resourceConfig::resolveResourceId;
+
+            Map<RelationshipName, DefaultRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> defaultRelationshipResolvers = new HashMap<>();
+            DefaultRelationshipResolver<JsonApiRequest, RESOURCE_DTO> defaultRelationshipResolver
+                    = DefaultRelationshipResolvers.defaultRelationshipResolver(resourceType, resourceIdSupplier);
+
+            Map<RelationshipName, ToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> toManyRelationshipResolvers = new HashMap<>();
+            for (RegisteredRelationship<ToManyRelationship<?>> r : resourcePlan.getToManyRelationships()) {
+                defaultRelationshipResolvers.put(r.getRelationshipName(), defaultRelationshipResolver);
+                toManyRelationshipResolvers.put(r.getRelationshipName(), bindToManyRelationshipResolver(resourcePlan, r, resourceIdSupplier));
+            }
+            Map<RelationshipName, BatchToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> batchToManyRelationshipResolvers = new HashMap<>();
+            for (RegisteredRelationship<ToManyRelationship<?>> r : resourcePlan.getBatchToManyRelationships()) {
+                defaultRelationshipResolvers.put(r.getRelationshipName(), defaultRelationshipResolver);
+                batchToManyRelationshipResolvers.put(r.getRelationshipName(), bindBatchToManyRelationshipResolver(resourcePlan, r, resourceIdSupplier));
+            }
+            Map<RelationshipName, ToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> toOneRelationshipResolvers = new HashMap<>();
+            for (RegisteredRelationship<ToOneRelationship<?>> r : resourcePlan.getToOneRelationships()) {
+                defaultRelationshipResolvers.put(r.getRelationshipName(), defaultRelationshipResolver);
+                toOneRelationshipResolvers.put(r.getRelationshipName(), bindToOneRelationshipResolver(resourcePlan, r, resourceIdSupplier));
+            }
+            Map<RelationshipName, BatchToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> batchToOneRelationshipResolvers = new HashMap<>();
+            for (RegisteredRelationship<ToOneRelationship<?>> r : resourcePlan.getBatchToOneRelationships()) {
+                defaultRelationshipResolvers.put(r.getRelationshipName(), defaultRelationshipResolver);
+                batchToOneRelationshipResolvers.put(r.getRelationshipName(), bindBatchToOneRelationshipResolver(resourcePlan, r, resourceIdSupplier));
+            }
+
+            return new BoundResource<>(
+                    resourceConfig,
+                    Collections.unmodifiableMap(defaultRelationshipResolvers),
+                    Collections.unmodifiableMap(toManyRelationshipResolvers),
+                    Collections.unmodifiableMap(batchToManyRelationshipResolvers),
+                    Collections.unmodifiableMap(toOneRelationshipResolvers),
+                    Collections.unmodifiableMap(batchToOneRelationshipResolvers),
+                    getSingleDataItemTopLevelLinksResolver(resourceType, resourceConfig),
+                    getMultiDataItemTopLevelLinksResolver(resourceType, resourceConfig),
+                    getMultiDataItemTopLevelMetaResolver(resourceConfig),
+                    getResourceLinksResolver(resourceType, resourceConfig),
+                    getResourceTypeAndIdResolver(resourceConfig)
+            );
         }
 
-        private <RESOURCE_DTO, RELATIONSHIP_DTO> ToManyRelationshipsDoc resolveToManyRelationships(
-                RelationshipName relationshipName,
-                RESOURCE_DTO dataSourceDto,
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier,
-                JsonApiRequest parentRequest
+        private <RESOURCE_DTO, RELATIONSHIP_DTO> ToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO> bindToManyRelationshipResolver(
+                ExecutionPlans.ResourcePlan resourcePlan,
+                RegisteredRelationship<ToManyRelationship<?>> registeredRelationship,
+                IdSupplier<RESOURCE_DTO> resourceIdSupplier
         ) {
+            RelationshipName relationshipName = registeredRelationship.getRelationshipName();
             RegisteredOperation<ReadToManyRelationshipOperation<?, ?>> registeredOperation
-                    = operationsRegistry.getRegisteredReadToManyRelationshipOperation(resourceType, relationshipName, true);
+                    = operationsRegistry.getRegisteredReadToManyRelationshipOperation(resourceType, relationshipName, false);
+            if (registeredOperation == null) {
+                return (req, dataSourceDto) -> {
+                    throw new OperationNotFoundException(OperationType.READ_TO_MANY_RELATIONSHIP, resourceType, relationshipName);
+                };
+            }
 
             @SuppressWarnings("unchecked")
             ReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO> executable
                     = (ReadToManyRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO>) registeredOperation.getOperation();
 
-            JsonApiRequest relationshipRequest = getRelationshipRequestSupplier(
+            RelationshipRequestSupplier<JsonApiRequest, RESOURCE_DTO> relationshipRequestSupplier = getRelationshipRequestSupplier(
                     resourceIdSupplier,
                     registeredOperation.getOperationMeta(),
                     executable::validate
-            ).create(parentRequest, dataSourceDto);
-
-            MultipleDataItemsSupplier<JsonApiRequest, RELATIONSHIP_DTO> dataSupplier
-                    = relRequest -> executable.readManyForResource(relRequest, dataSourceDto);
+            );
 
             List<PluginSettings> pluginSettings = getPluginSettings(
                     registeredOperation,
-                    domainRegistry.getResource(resourceType),
-                    domainRegistry.getToManyRelationshipStrict(resourceType, relationshipName)
+                    resourcePlan.getRegisteredResource(),
+                    registeredRelationship
             );
 
-            return resolveToManyRelationshipsDocCommon(
+            if (ReflectionUtils.isMethodOverridden(
+                    executable.getClass(),
+                    ReadToManyRelationshipOperation.READ_MANY_FOR_RESOURCE_ASYNC_METHOD_NAME,
+                    JsonApiRequest.class,
+                    Object.class
+            )) {
+                return (ToManyRelationshipResolver.Async<JsonApiRequest, RESOURCE_DTO>) (req, dataSourceDto) -> {
+                    JsonApiRequest relationshipRequest = relationshipRequestSupplier.create(req, dataSourceDto);
+                    RequestContext context = RequestContext.current();
+                    return executable.readManyForResourceAsync(relationshipRequest, dataSourceDto)
+                            .handle((response, failure) -> context.call(() -> resolveToManyRelationshipsDocCommon(
+                                    registeredRelationship,
+                                    resourceType,
+                                    relationshipRequest,
+                                    (MultipleDataItemsSupplier<JsonApiRequest, RELATIONSHIP_DTO>) relRequest -> completed(response, failure),
+                                    pluginSettings
+                            )));
+                };
+            }
+
+            return (req, dataSourceDto) -> resolveToManyRelationshipsDocCommon(
+                    registeredRelationship,
                     resourceType,
-                    relationshipName,
-                    relationshipRequest,
-                    dataSupplier,
+                    relationshipRequestSupplier.create(req, dataSourceDto),
+                    (MultipleDataItemsSupplier<JsonApiRequest, RELATIONSHIP_DTO>) relRequest -> executable.readManyForResource(relRequest, dataSourceDto),
                     pluginSettings
             );
         }
 
-        private <RESOURCE_DTO> Map<RelationshipName, BatchToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> getBatchToManyRelationshipResolvers(
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier
-        ) {
-            return domainRegistry.getToManyRelationships(resourceType)
-                    .stream()
-                    .filter(this::hasReadToManyRelationshipsBatchImplementation)
-                    .collect(
-                            toMap(
-                                    RegisteredRelationship::getRelationshipName,
-                                    registeredRelationship ->
-                                            (req, dataSourceDtos) ->
-                                                    resolveToManyRelationshipsInBatch(
-                                                            registeredRelationship,
-                                                            dataSourceDtos,
-                                                            resourceIdSupplier,
-                                                            req
-                                                    )
-                            )
-                    );
-        }
-
-        private <RESOURCE_DTO, RELATIONSHIP_DTO> Map<RESOURCE_DTO, ToManyRelationshipObject> resolveToManyRelationshipsInBatch(
+        private <RESOURCE_DTO, RELATIONSHIP_DTO> BatchToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO> bindBatchToManyRelationshipResolver(
+                ExecutionPlans.ResourcePlan resourcePlan,
                 RegisteredRelationship<ToManyRelationship<?>> registeredRelationship,
-                List<RESOURCE_DTO> dataSourceDtos,
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier,
-                JsonApiRequest parentRequest
+                IdSupplier<RESOURCE_DTO> resourceIdSupplier
         ) {
-
             RelationshipName relationshipName = registeredRelationship.getRelationshipName();
 
             @SuppressWarnings("unchecked")
@@ -799,115 +936,108 @@ public class JsonApi4j {
 
             List<PluginSettings> pluginSettings = getPluginSettings(
                     registeredOperation,
-                    domainRegistry.getResource(resourceType),
-                    domainRegistry.getToManyRelationshipStrict(resourceType, relationshipName)
+                    resourcePlan.getRegisteredResource(),
+                    registeredRelationship
             );
 
-            return new BatchToManyRelationshipsProcessor()
+            Function<BatchMultipleResourcesDataSupplier<JsonApiRequest, RESOURCE_DTO, RELATIONSHIP_DTO>,
+                    BatchToManyRelationshipsTerminalStage<JsonApiRequest, RESOURCE_DTO, RELATIONSHIP_DTO>> processor
+                    = dataSupplier -> new BatchToManyRelationshipsProcessor()
                     .plugins(pluginSettings)
-                    .dataSupplier(executable::readBatches)
+                    .dataSupplier(dataSupplier)
                     .resourceIdentifierMetaResolver(toManyRelationshipCasted::resolveResourceIdentifierMeta)
                     .topLevelLinksResolver(topLevelLinksResolver)
                     .topLevelMetaResolver(topLevelMetaResolver)
-                    .resourceIdentifierTypeAndIdResolver(resourceIdentifierTypeAndIdResolver)
-                    .toManyRelationshipsDocBatch(parentRequest, dataSourceDtos, relationshipRequestSupplier);
-        }
+                    .resourceIdentifierTypeAndIdResolver(resourceIdentifierTypeAndIdResolver);
+
+            if (ReflectionUtils.isMethodOverridden(
+                    executable.getClass(),
+                    BatchReadToManyRelationshipOperation.READ_BATCHES_ASYNC_METHOD_NAME,
+                    JsonApiRequest.class,
+                    List.class
+            )) {
+                return (BatchToManyRelationshipResolver.Async<JsonApiRequest, RESOURCE_DTO>) (req, dataSourceDtos) -> {
+                    if (dataSourceDtos.isEmpty()) {
+                        return CompletableFuture.completedFuture(Collections.emptyMap());
+                    }
+                    RequestContext context = RequestContext.current();
+                    return executable.readBatchesAsync(req, dataSourceDtos)
+                            .handle((responseMap, failure) -> context.call(() -> processor
+                                    .apply((r, dtos) -> completed(responseMap, failure))
+                                    .toManyRelationshipsDocBatch(req, dataSourceDtos, relationshipRequestSupplier)));
+                };
+            }
 
-        private boolean hasReadToManyRelationshipsBatchImplementation(RegisteredRelationship<?> registeredRelationship) {
-            RegisteredOperation<ReadToManyRelationshipOperation<?, ?>> operation = operationsRegistry.getRegisteredReadToManyRelationshipOperation(
-                    resourceType,
-                    registeredRelationship.getRelationshipName(),
-                    false
-            );
-            return operation != null && operation.getOperation() instanceof BatchReadToManyRelationshipOperation;
+            BatchToManyRelationshipsTerminalStage<JsonApiRequest, RESOURCE_DTO, RELATIONSHIP_DTO> syncProcessor
+                    = processor.apply(executable::readBatches);
+            return (req, dataSourceDtos) -> syncProcessor
+                    .toManyRelationshipsDocBatch(req, dataSourceDtos, relationshipRequestSupplier);
         }
 
-        private <RESOURCE_DTO> Map<RelationshipName, ToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> getToOneRelationshipResolvers(
+        private <RESOURCE_DTO, RELATIONSHIP_DTO> ToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO> bindToOneRelationshipResolver(
+                ExecutionPlans.ResourcePlan resourcePlan,
+                RegisteredRelationship<ToOneRelationship<?>> registeredRelationship,
                 IdSupplier<RESOURCE_DTO> resourceIdSupplier
         ) {
-            return domainRegistry.getToOneRelationships(resourceType)
-                    .stream()
-                    .filter(r -> !hasReadToOneRelationshipBatchImplementation(r))
-                    .collect(
-                            toMap(
-                                    RegisteredRelationship::getRelationshipName,
-                                    registeredRelationship ->
-                                            (req, dataSourceDto) ->
-                                                    resolveToOneRelationshipDoc(
-                                                            registeredRelationship.getRelationshipName(),
-                                                            dataSourceDto,
-                                                            resourceIdSupplier,
-                                                            req
-                                                    )
-                            )
-                    );
-        }
-
-        private <RESOURCE_DTO, RELATIONSHIP_DTO> ToOneRelationshipDoc resolveToOneRelationshipDoc(
-                RelationshipName relationshipName,
-                RESOURCE_DTO dataSourceDto,
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier,
-                JsonApiRequest parentRequest
-        ) {
+            RelationshipName relationshipName = registeredRelationship.getRelationshipName();
             RegisteredOperation<ReadToOneRelationshipOperation<?, ?>> registeredOperation
-                    = operationsRegistry.getRegisteredReadToOneRelationshipOperation(resourceType, relationshipName, true);
+                    = operationsRegistry.getRegisteredReadToOneRelationshipOperation(resourceType, relationshipName, false);
+            if (registeredOperation == null) {
+                return (req, dataSourceDto) -> {
+                    throw new OperationNotFoundException(OperationType.READ_TO_ONE_RELATIONSHIP, resourceType, relationshipName);
+                };
+            }
 
             @SuppressWarnings("unchecked")
             ReadToOneRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO> executable
                     = (ReadToOneRelationshipOperation<RESOURCE_DTO, RELATIONSHIP_DTO>) registeredOperation.getOperation();
 
-            JsonApiRequest relationshipRequest = getRelationshipRequestSupplier(
+            RelationshipRequestSupplier<JsonApiRequest, RESOURCE_DTO> relationshipRequestSupplier = getRelationshipRequestSupplier(
                     resourceIdSupplier,
                     registeredOperation.getOperationMeta(),
                     executable::validate
-            ).create(parentRequest, dataSourceDto);
-
-            SingleDataItemSupplier<JsonApiRequest, RELATIONSHIP_DTO> dataSupplier
-                    = relRequest -> executable.readOneForResource(relRequest, dataSourceDto);
+            );
 
             List<PluginSettings> pluginSettings = getPluginSettings(
                     registeredOperation,
-                    domainRegistry.getResource(resourceType),
-                    domainRegistry.getToOneRelationshipStrict(resourceType, relationshipName)
+                    resourcePlan.getRegisteredResource(),
+                    registeredRelationship
             );
 
-            return resolveToOneRelationshipDocCommon(
+            if (ReflectionUtils.isMethodOverridden(
+                    executable.getClass(),
+                    ReadToOneRelationshipOperation.READ_ONE_FOR_RESOURCE_ASYNC_METHOD_NAME,
+                    JsonApiRequest.class,
+                    Object.class
+            )) {
+                return (ToOneRelationshipResolver.Async<JsonApiRequest, RESOURCE_DTO>) (req, dataSourceDto) -> {
+                    JsonApiRequest relationshipRequest = relationshipRequestSupplier.create(req, dataSourceDto);
+                    RequestContext context = RequestContext.current();
+                    return executable.readOneForResourceAsync(relationshipRequest, dataSourceDto)
+                            .handle((response, failure) -> context.call(() -> resolveToOneRelationshipDocCommon(
+                                    registeredRelationship,
+                                    resourceType,
+                                    relationshipRequest,
+                                    (SingleDataItemSupplier<JsonApiRequest, RELATIONSHIP_DTO>) relRequest -> completed(response, failure),
+                                    pluginSettings
+                            )));
+                };
+            }
+
+            return (req, dataSourceDto) -> resolveToOneRelationshipDocCommon(
+                    registeredRelationship,
                     resourceType,
-                    relationshipName,
-                    relationshipRequest,
-                    dataSupplier,
+                    relationshipRequestSupplier.create(req, dataSourceDto),
+                    (SingleDataItemSupplier<JsonApiRequest, RELATIONSHIP_DTO>) relRequest -> executable.readOneForResource(relRequest, dataSourceDto),
                     pluginSettings
             );
         }
 
-        private <RESOURCE_DTO> Map<RelationshipName, BatchToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> getBatchToOneRelationshipResolvers(
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier
-        ) {
-            return domainRegistry.getToOneRelationships(resourceType)
-                    .stream()
-                    .filter(this::hasReadToOneRelationshipBatchImplementation)
-                    .collect(
-                            toMap(
-                                    RegisteredRelationship::getRelationshipName,
-                                    registeredRelationship ->
-                                            (req, dataSourceDtos) ->
-                                                    resolveToOneRelationshipInBatch(
-                                                            registeredRelationship,
-                                                            dataSourceDtos,
-                                                            resourceIdSupplier,
-                                                            req
-                                                    )
-                            )
-                    );
-        }
-
-        private <RESOURCE_DTO, RELATIONSHIP_DTO> Map<RESOURCE_DTO, ToOneRelationshipObject> resolveToOneRelationshipInBatch(
+        private <RESOURCE_DTO, RELATIONSHIP_DTO> BatchToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO> bindBatchToOneRelationshipResolver(
+                ExecutionPlans.ResourcePlan resourcePlan,
                 RegisteredRelationship<ToOneRelationship<?>> registeredRelationship,
-                List<RESOURCE_DTO> dataSourceDtos,
-                IdSupplier<RESOURCE_DTO> resourceIdSupplier,
-                JsonApiRequest request
+                IdSupplier<RESOURCE_DTO> resourceIdSupplier
         ) {
-
             RelationshipName relationshipName = registeredRelationship.getRelationshipName();
 
             @SuppressWarnings("unchecked")
@@ -923,8 +1053,8 @@ public class JsonApi4j {
 
             List<PluginSettings> pluginSettings = getPluginSettings(
                     registeredOperation,
-                    domainRegistry.getResource(resourceType),
-                    domainRegistry.getToOneRelationshipStrict(resourceType, relationshipName)
+                    resourcePlan.getRegisteredResource(),
+                    registeredRelationship
             );
 
             RelationshipRequestSupplier<JsonApiRequest, RESOURCE_DTO> relationshipRequestSupplier = getRelationshipRequestSupplier(
@@ -939,23 +1069,49 @@ public class JsonApi4j {
             SingleDataItemDocLinksResolver<JsonApiRequest, RELATIONSHIP_DTO> topLevelLinksResolver
                     = getToOneRelationshipObjectLinksResolver(toOneRelationshipCasted, resourceType, relationshipName);
 
-            return new BatchToOneRelationshipProcessor()
+            Function<BatchSingleResourcesDataSupplier<JsonApiRequest, RESOURCE_DTO, RELATIONSHIP_DTO>,
+                    BatchToOneRelationshipTerminalStage<JsonApiRequest, RESOURCE_DTO, RELATIONSHIP_DTO>> processor
+                    = dataSupplier -> new BatchToOneRelationshipProcessor()
                     .plugins(pluginSettings)
-                    .dataSupplier(executable::readBatches)
+                    .dataSupplier(dataSupplier)
                     .resourceIdentifierMetaResolver(toOneRelationshipCasted::resolveResourceIdentifierMeta)
                     .topLevelLinksResolver(topLevelLinksResolver)
                     .topLevelMetaResolver(toOneRelationshipCasted::resolveRelationshipMeta)
-                    .resourceIdentifierTypeAndIdResolver(resourceIdentifierTypeAndIdResolver)
-                    .toOneRelationshipDocBatch(request, dataSourceDtos, relationshipRequestSupplier);
+                    .resourceIdentifierTypeAndIdResolver(resourceIdentifierTypeAndIdResolver);
+
+            if (ReflectionUtils.isMethodOverridden(
+                    executable.getClass(),
+                    BatchReadToOneRelationshipOperation.READ_BATCHES_ASYNC_METHOD_NAME,
+                    JsonApiRequest.class,
+                    List.class
+            )) {
+                return (BatchToOneRelationshipResolver.Async<JsonApiRequest, RESOURCE_DTO>) (req, dataSourceDtos) -> {
+                    if (dataSourceDtos.isEmpty()) {
+                        return CompletableFuture.completedFuture(Collections.emptyMap());
+                    }
+                    RequestContext context = RequestContext.current();
+                    return executable.readBatchesAsync(req, dataSourceDtos)
+                            .handle((responseMap, failure) -> context.call(() -> processor
+                                    .apply((r, dtos) -> completed(responseMap, failure))
+                                    .toOneRelationshipDocBatch(req, dataSourceDtos, relationshipRequestSupplier)));
+                };
+            }
+
+            BatchToOneRelationshipTerminalStage<JsonApiRequest, RESOURCE_DTO, RELATIONSHIP_DTO> syncProcessor
+                    = processor.apply(executable::readBatches);
+            return (req, dataSourceDtos) -> syncProcessor
+                    .toOneRelationshipDocBatch(req, dataSourceDtos, relationshipRequestSupplier);
         }
 
-        private boolean hasReadToOneRelationshipBatchImplementation(RegisteredRelationship<?> registeredRelationship) {
-            RegisteredOperation<ReadToOneRelationshipOperation<?, ?>> registeredOperation = operationsRegistry.getRegisteredReadToOneRelationshipOperation(
-                    resourceType,
-                    registeredRelationship.getRelationshipName(),
-                    false
-            );
-            return registeredOperation != null && registeredOperation.getOperation() instanceof BatchReadToOneRelationshipOperation;
+        /**
+         * Hands the outcome of an asynchronous operation over to a processor as if its data supplier was invoked
+         * synchronously, so that a failure is reported the same way.
+         */
+        private static <T> T completed(T result, Throwable failure) {
+            if (failure != null) {
+                throw CompletionStages.rethrow(failure);
+            }
+            return result;
         }
 
         private <RESOURCE_DTO> RelationshipRequestSupplier<JsonApiRequest, RESOURCE_DTO> getRelationshipRequestSupplier(
@@ -992,6 +1148,27 @@ public class JsonApi4j {
             );
         }
 
+        /**
+         * Resolvers of a registered resource and its relationships, bound once per resource type and shared by all
+         * requests.
+         */
+        @AllArgsConstructor(access = AccessLevel.PRIVATE)
+        private static final class BoundResource<RESOURCE_DTO> {
+
+            private final Resource<RESOURCE_DTO> resourceConfig;
+            private final Map<RelationshipName, DefaultRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> defaultRelationshipResolvers;
+            private final Map<RelationshipName, ToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> toManyRelationshipResolvers;
+            private final Map<RelationshipName, BatchToManyRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> batchToManyRelationshipResolvers;
+            private final Map<RelationshipName, ToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> toOneRelationshipResolvers;
+            private final Map<RelationshipName, BatchToOneRelationshipResolver<JsonApiRequest, RESOURCE_DTO>> batchToOneRelationshipResolvers;
+            private final SingleDataItemDocLinksResolver<JsonApiRequest, RESOURCE_DTO> singleResourceDocLinksResolver;
+            private final MultipleDataItemsDocLinksResolver<JsonApiRequest, RESOURCE_DTO> multipleResourcesDocLinksResolver;
+            private final MultipleDataItemsDocMetaResolver<JsonApiRequest, RESOURCE_DTO> multipleResourcesDocMetaResolver;
+            private final ResourceLinksResolver<JsonApiRequest, RESOURCE_DTO> resourceLinksResolver;
+            private final ResourceTypeAndIdResolver<RESOURCE_DTO> resourceTypeAndIdResolver;
+
+        }
+
     }
 
     public class ToManyRelationshipsOperationStepSelected {
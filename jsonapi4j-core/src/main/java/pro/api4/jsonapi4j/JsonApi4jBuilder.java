@@ -1,6 +1,7 @@
 package pro.api4.jsonapi4j;
 
 import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.config.ExecutionMode;
 import pro.api4.jsonapi4j.domain.DomainRegistry;
 import pro.api4.jsonapi4j.meta.context.MetaContext;
 import pro.api4.jsonapi4j.meta.context.MetaRuntime;
@@ -10,6 +11,7 @@ import pro.api4.jsonapi4j.plugin.JsonApi4jPlugin;
 import pro.api4.jsonapi4j.processor.ResourceProcessorContext;
 
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -19,7 +21,10 @@ public class JsonApi4jBuilder {
     private List<JsonApi4jPlugin> plugins = Collections.emptyList();
     private DomainRegistry domainRegistry = DomainRegistry.empty();
     private OperationsRegistry operationsRegistry = OperationsRegistry.empty();
-    private Executor executor = ResourceProcessorContext.DEFAULT_EXECUTOR;
+    private Executor executor = null;
+    private int relationshipsChunkSize = ResourceProcessorContext.DEFAULT_RELATIONSHIPS_CHUNK_SIZE;
+    private ExecutionMode executionMode = ExecutionMode.EXECUTOR;
+    private Duration relationshipsTimeout = null;
     private JsonApiBuildInRequestValidatorFactory validatorFactory = JsonApiBuildInRequestValidatorFactory.NO_OP;
     private MetaContext metaContext = null;
 
@@ -49,6 +54,50 @@ public class JsonApi4jBuilder {
         return this;
     }
 
+    /**
+     * Number of resources a single executor task resolves a basic (non-batch) relationship for when reading
+     * multiple resources. Only makes sense together with a non-default {@link #executor(Executor)}.
+     *
+     * @param relationshipsChunkSize positive chunk size, {@link ResourceProcessorContext#DEFAULT_RELATIONSHIPS_CHUNK_SIZE} by default
+     * @return self link
+     */
+    public JsonApi4jBuilder relationshipsChunkSize(int relationshipsChunkSize) {
+        Validate.isTrue(relationshipsChunkSize > 0, "Relationships chunk size must be positive");
+        this.relationshipsChunkSize = relationshipsChunkSize;
+        return this;
+    }
+
+    /**
+     * Defines what threads run relationship resolvers. {@link ExecutionMode#EXECUTOR} (default) relies on
+     * {@link #executor(Executor)}, {@link ExecutionMode#VIRTUAL_THREADS} runs every resolver task on its own virtual
+     * thread. In the latter mode an explicitly configured executor still takes precedence - it's expected to be the
+     * caller-owned executor of that mode, e.g. one created by {@link ExecutionMode#newExecutorService()}. Otherwise a
+     * single JVM-wide virtual-thread-per-task executor is used, which keeps no idle threads and never needs shutting
+     * down.
+     *
+     * @param executionMode execution mode
+     * @return self link
+     */
+    public JsonApi4jBuilder executionMode(ExecutionMode executionMode) {
+        Validate.notNull(executionMode, "Execution mode must not be null");
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    /**
+     * Deadline for all relationship resolvers of a single request. Once it's exceeded unfinished resolvers are
+     * cancelled and the request fails with 504. Only makes sense together with a non-default
+     * {@link #executor(Executor)} or {@link ExecutionMode#VIRTUAL_THREADS}.
+     *
+     * @param relationshipsTimeout deadline, <code>null</code> or zero (default) means no deadline
+     * @return self link
+     */
+    public JsonApi4jBuilder relationshipsTimeout(Duration relationshipsTimeout) {
+        Validate.isTrue(relationshipsTimeout == null || !relationshipsTimeout.isNegative(), "Relationships timeout must not be negative");
+        this.relationshipsTimeout = relationshipsTimeout;
+        return this;
+    }
+
     public JsonApi4jBuilder validatorFactory(JsonApiBuildInRequestValidatorFactory validatorFactory) {
         Validate.notNull(validatorFactory, "JsonApiBuildInRequestValidatorFactory must not be null");
         this.validatorFactory = validatorFactory;
@@ -70,7 +119,20 @@ public class JsonApi4jBuilder {
         // Materialize the validator against the final (meta-augmented) domain registry, so it never validates
         // requests against a stale, pre-meta view of the registered resources/relationships.
         JsonApiBuildInRequestValidator validator = validatorFactory.create(domainRegistry);
-        return new JsonApi4j(plugins, domainRegistry, operationsRegistry, executor, validator, metaContext);
+        Executor relationshipsExecutor = resolveRelationshipsExecutor();
+        // Plugin chains and relationship resolvers never change once both registries are final, compile them upfront
+        // instead of on every request.
+        ExecutionPlans executionPlans = ExecutionPlans.compile(plugins, domainRegistry, operationsRegistry);
+        return new JsonApi4j(plugins, domainRegistry, operationsRegistry, relationshipsExecutor, relationshipsChunkSize, relationshipsTimeout, validator, metaContext, executionPlans);
+    }
+
+    private Executor resolveRelationshipsExecutor() {
+        if (executor != null) {
+            return executor;
+        }
+        return executionMode == ExecutionMode.VIRTUAL_THREADS
+                ? VirtualThreadsExecutorHolder.INSTANCE
+                : ResourceProcessorContext.DEFAULT_EXECUTOR;
     }
 
     private void validateIntegrity() {
@@ -88,4 +150,10 @@ public class JsonApi4jBuilder {
         });
     }
 
+    private static final class VirtualThreadsExecutorHolder {
+
+        private static final Executor INSTANCE = ExecutionMode.VIRTUAL_THREADS.newExecutorService();
+
+    }
+
 }
@@ -734,6 +734,13 @@ public class OperationsRegistry {
                     JsonApiRequest.class
             );
         } else if (operationType == OperationType.READ_MULTIPLE_RESOURCES) {
+            if (StreamingReadMultipleResourcesOperation.class.isAssignableFrom(operationClass)) {
+                return ReflectionUtils.isMethodOverridden(
+                        operationClass,
+                        StreamingReadMultipleResourcesOperation.READ_PAGE_STREAM_METHOD_NAME,
+                        JsonApiRequest.class
+                );
+            }
             return ReflectionUtils.isMethodOverridden(
                     operationClass,
                     ReadMultipleResourcesOperation.READ_PAGE_METHOD_NAME,
@@ -1,16 +1,21 @@
 package pro.api4.jsonapi4j.processor;
 
 import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.domain.RelationshipName;
+import pro.api4.jsonapi4j.exception.ResourceNotFoundException;
 import pro.api4.jsonapi4j.model.document.LinksObject;
 import pro.api4.jsonapi4j.model.document.data.RelationshipObject;
 import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipObject;
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
 import pro.api4.jsonapi4j.processor.resolvers.*;
 import pro.api4.jsonapi4j.processor.util.MappingUtil;
+import pro.api4.jsonapi4j.util.CompletionStages;
+import pro.api4.jsonapi4j.util.TaskScope;
 
 import java.util.Map;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
@@ -44,6 +49,63 @@ public abstract class ResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
         }
     }
 
+    /**
+     * Forks the task into the given scope, which propagates the context of the request, or runs it in the calling
+     * thread if there is no scope.
+     */
+    protected static void run(TaskScope scope,
+                              Runnable task) {
+        if (scope != null) {
+            scope.fork(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Registers the non-blocking task in the given scope, or waits for it in the calling thread if there is no scope.
+     */
+    protected static void runAsync(TaskScope scope,
+                                   Supplier<? extends CompletionStage<?>> task) {
+        if (scope != null) {
+            scope.forkAsync(task);
+        } else {
+            CompletionStages.join(task.get());
+        }
+    }
+
+    /**
+     * @return true if the resolver is one of the non-blocking ({@code Async}) relationship resolvers
+     */
+    protected static boolean isAsync(Object relationshipResolver) {
+        return relationshipResolver instanceof ToManyRelationshipResolver.Async
+                || relationshipResolver instanceof ToOneRelationshipResolver.Async
+                || relationshipResolver instanceof BatchToManyRelationshipResolver.Async
+                || relationshipResolver instanceof BatchToOneRelationshipResolver.Async;
+    }
+
+    /**
+     * Replaces {@link ResourceNotFoundException} the stage completes with by the fallback value, which is computed
+     * with the context of the calling thread - the stage may complete in any thread.
+     */
+    protected static <T> CompletionStage<T> recoverNotFound(CompletionStage<T> stage,
+                                                            Supplier<T> fallback) {
+        RequestContext context = RequestContext.current();
+        return stage.exceptionally(t -> {
+            if (CompletionStages.unwrap(t) instanceof ResourceNotFoundException) {
+                return context.call(fallback);
+            }
+            throw CompletionStages.rethrow(t);
+        });
+    }
+
+    protected boolean hasAsyncRelationshipResolvers() {
+        return getToManyRelationshipResolvers().values().stream().anyMatch(ResourceJsonApiMembersResolver::isAsync)
+                || getToOneRelationshipResolvers().values().stream().anyMatch(ResourceJsonApiMembersResolver::isAsync)
+                || getBatchToManyRelationshipResolvers().values().stream().anyMatch(ResourceJsonApiMembersResolver::isAsync)
+                || getBatchToOneRelationshipResolvers().values().stream().anyMatch(ResourceJsonApiMembersResolver::isAsync);
+    }
+
     private void validateRelationshipResolvers() {
         jsonApiContext.getDefaultRelationshipResolvers()
                 .keySet()
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import pro.api4.jsonapi4j.plugin.PluginSettings;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executor;
@@ -16,10 +17,17 @@ import java.util.concurrent.Executor;
 public class ResourceProcessorContext {
 
     public static final Executor DEFAULT_EXECUTOR = Runnable::run; // no parallelization
+    public static final int DEFAULT_RELATIONSHIPS_CHUNK_SIZE = 8;
+    public static final int DEFAULT_STREAM_WINDOW_SIZE = 500;
 
     @Builder.Default
     private Executor executor = DEFAULT_EXECUTOR;
     @Builder.Default
+    private int relationshipsChunkSize = DEFAULT_RELATIONSHIPS_CHUNK_SIZE;
+    private Duration relationshipsTimeout; // no deadline by default
+    @Builder.Default
+    private int streamWindowSize = DEFAULT_STREAM_WINDOW_SIZE;
+    @Builder.Default
     private List<PluginSettings> plugins = Collections.emptyList();
 
 }
@@ -23,6 +23,7 @@ public class MultipleResourcesAttributesAwareJsonApiConfigurationStage<REQUEST,
     public MultipleResourcesAttributesAwareJsonApiConfigurationStage(MultipleResourcesJsonApiConfigurationStage<REQUEST, DATA_SOURCE_DTO> from,
                                                                      AttributesResolver<DATA_SOURCE_DTO, ATTRIBUTES> attributesResolver) {
         super(from.getRequest(), from.getDataSupplier(), from.getProcessorContext());
+        setStreamSupplier(from.getStreamSupplier());
         setTopLevelLinksResolver(from.getTopLevelLinksResolver());
         setTopLevelMetaResolver(from.getTopLevelMetaResolver());
         setResourceLinksResolver(from.getResourceLinksResolver());
@@ -134,6 +135,7 @@ public class MultipleResourcesAttributesAwareJsonApiConfigurationStage<REQUEST,
         return new MultipleResourcesTerminalStage<>(
                 getRequest(),
                 getDataSupplier(),
+                getStreamSupplier(),
                 getProcessorContext(),
                 MultipleResourcesJsonApiContext.<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES>builder()
                         .attributesResolver(attributesResolver)
@@ -2,6 +2,7 @@ package pro.api4.jsonapi4j.processor.multi.resource;
 
 import pro.api4.jsonapi4j.processor.ResourceJsonApiConfigurationStage;
 import pro.api4.jsonapi4j.processor.ResourceProcessorContext;
+import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsStreamSupplier;
 import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsSupplier;
 import pro.api4.jsonapi4j.processor.resolvers.AttributesResolver;
 import pro.api4.jsonapi4j.processor.resolvers.BatchToManyRelationshipResolver;
@@ -31,6 +32,7 @@ public class MultipleResourcesJsonApiConfigurationStage<REQUEST, DATA_SOURCE_DTO
 
     private final MultipleDataItemsSupplier<REQUEST, DATA_SOURCE_DTO> dataSupplier;
     private final ResourceProcessorContext processorContext;
+    private MultipleDataItemsStreamSupplier<REQUEST, DATA_SOURCE_DTO> streamSupplier;
 
     private MultipleDataItemsDocLinksResolver<REQUEST, DATA_SOURCE_DTO> topLevelLinksResolver;
     private MultipleDataItemsDocMetaResolver<REQUEST, DATA_SOURCE_DTO> topLevelMetaResolver;
@@ -329,6 +331,7 @@ public class MultipleResourcesJsonApiConfigurationStage<REQUEST, DATA_SOURCE_DTO
         return new MultipleResourcesTerminalStage<>(
                 getRequest(),
                 dataSupplier,
+                streamSupplier,
                 processorContext,
                 MultipleResourcesJsonApiContext.<REQUEST, DATA_SOURCE_DTO, Object>builder()
                         .attributesResolver(dto -> null)
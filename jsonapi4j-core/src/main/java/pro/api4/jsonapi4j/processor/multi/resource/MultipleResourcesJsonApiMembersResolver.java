@@ -5,28 +5,33 @@ import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
 import pro.api4.jsonapi4j.processor.IdAndType;
 import pro.api4.jsonapi4j.processor.RelationshipsSupplier;
 import pro.api4.jsonapi4j.processor.ResourceJsonApiMembersResolver;
+import pro.api4.jsonapi4j.processor.ResourceProcessorContext;
 import pro.api4.jsonapi4j.exception.ResourceNotFoundException;
+import pro.api4.jsonapi4j.processor.resolvers.BatchToManyRelationshipResolver;
+import pro.api4.jsonapi4j.processor.resolvers.BatchToOneRelationshipResolver;
 import pro.api4.jsonapi4j.processor.resolvers.DefaultRelationshipResolver;
+import pro.api4.jsonapi4j.processor.resolvers.ToManyRelationshipResolver;
+import pro.api4.jsonapi4j.processor.resolvers.ToOneRelationshipResolver;
 import pro.api4.jsonapi4j.domain.RelationshipName;
 import pro.api4.jsonapi4j.model.document.LinksObject;
-import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
-import pro.api4.jsonapi4j.principal.Principal;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.api4.jsonapi4j.response.PaginationContext;
 import pro.api4.jsonapi4j.util.CustomCollectors;
+import pro.api4.jsonapi4j.util.TaskScope;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static pro.api4.jsonapi4j.util.CustomCollectors.toOrderedMap;
 import static java.util.Collections.unmodifiableMap;
-import static java.util.stream.Collectors.toMap;
 
 public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES>
         extends ResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> {
@@ -35,14 +40,46 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
 
     private final MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext;
     private final Executor executor;
+    private final int relationshipsChunkSize;
+    private final Duration relationshipsTimeout;
 
     public MultipleResourcesJsonApiMembersResolver(
             MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext,
             Executor executor
+    ) {
+        this(jsonApiContext, executor, ResourceProcessorContext.DEFAULT_RELATIONSHIPS_CHUNK_SIZE);
+    }
+
+    public MultipleResourcesJsonApiMembersResolver(
+            MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext,
+            Executor executor,
+            int relationshipsChunkSize
+    ) {
+        this(jsonApiContext, executor, relationshipsChunkSize, null);
+    }
+
+    /**
+     * @param jsonApiContext         JSON:API context of the processed resource
+     * @param executor               executor for the relationship resolvers. If it's
+     *                               {@link ResourceProcessorContext#DEFAULT_EXECUTOR} all resolvers are invoked
+     *                               in the calling thread without any task scheduling
+     * @param relationshipsChunkSize how many resources a single task resolves a basic (non-batch) relationship for
+     * @param relationshipsTimeout   deadline for all relationship resolvers of a request, <code>null</code> means
+     *                               no deadline. Ignored if neither an executor nor non-blocking resolvers are
+     *                               configured
+     */
+    public MultipleResourcesJsonApiMembersResolver(
+            MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext,
+            Executor executor,
+            int relationshipsChunkSize,
+            Duration relationshipsTimeout
     ) {
         super(jsonApiContext);
+        Validate.isTrue(relationshipsChunkSize > 0, "relationshipsChunkSize must be positive");
         this.jsonApiContext = jsonApiContext;
         this.executor = executor;
+        this.relationshipsChunkSize = relationshipsChunkSize;
+        this.relationshipsTimeout = relationshipsTimeout;
     }
 
     public LinksObject resolveDocLinks(REQUEST request,
@@ -72,25 +109,21 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
 
         log.debug("Running Parallel resolving of resource relationships in pipeline for request {}", request);
 
-        MultipleResourcesRelationshipFutures<DATA_SOURCE_DTO> futures
-                = supplyAsyncRelationshipFutures(request, dtos);
+        MultipleResourcesRelationshipsData<DATA_SOURCE_DTO> relationshipsData
+                = resolveRelationshipsData(request, dtos);
 
-        Map<DATA_SOURCE_DTO, Map<RelationshipName, ToOneRelationshipObject>> toOneRelationshipByDto = unwrapCompletionException(
-                () -> resolveToOneRelationships(
-                        request,
-                        dtos,
-                        futures.toOneRelationshipBatchFutures(),
-                        futures.toOneRelationshipBasicFutures()
-                )
+        Map<DATA_SOURCE_DTO, Map<RelationshipName, ToOneRelationshipObject>> toOneRelationshipByDto = resolveToOneRelationships(
+                request,
+                dtos,
+                relationshipsData.toOneRelationshipBatchResults(),
+                relationshipsData.toOneRelationshipBasicResults()
         );
 
-        Map<DATA_SOURCE_DTO, Map<RelationshipName, ToManyRelationshipObject>> toManyRelationshipsByDto = unwrapCompletionException(
-                () -> resolveToManyRelationships(
-                        request,
-                        dtos,
-                        futures.toManyRelationshipBatchFutures(),
-                        futures.toManyRelationshipBasicFutures()
-                )
+        Map<DATA_SOURCE_DTO, Map<RelationshipName, ToManyRelationshipObject>> toManyRelationshipsByDto = resolveToManyRelationships(
+                request,
+                dtos,
+                relationshipsData.toManyRelationshipBatchResults(),
+                relationshipsData.toManyRelationshipBasicResults()
         );
 
         Map<IdAndType, RELATIONSHIPS> result = dtos.stream()
@@ -113,115 +146,152 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
         return result;
     }
 
-    private MultipleResourcesRelationshipFutures<DATA_SOURCE_DTO> supplyAsyncRelationshipFutures(
+    /**
+     * Invokes all requested relationship resolvers. Basic (non-batch) resolvers are grouped into tasks of
+     * {@link #relationshipsChunkSize} resources per relationship, every batch resolver is a separate task.
+     * All tasks are forked into a single {@link TaskScope} and joined at a single point: a failed task cancels
+     * its siblings, the whole scope is bounded by {@link #relationshipsTimeout}. If no executor is configured
+     * everything is invoked sequentially in the calling thread.
+     * <p>
+     * Non-blocking ({@code Async}) resolvers are invoked in the calling thread once per resource (or once per batch),
+     * their stages are joined together with the other tasks without occupying executor threads. They are in flight
+     * concurrently even if no executor is configured.
+     */
+    private MultipleResourcesRelationshipsData<DATA_SOURCE_DTO> resolveRelationshipsData(
             REQUEST request,
             List<DATA_SOURCE_DTO> dtos
     ) {
-        Map<DATA_SOURCE_DTO, Map<RelationshipName, CompletableFuture<ToManyRelationshipObject>>> toManyRelationshipsBasicFutures
-                = new HashMap<>();
-        Map<DATA_SOURCE_DTO, Map<RelationshipName, CompletableFuture<ToOneRelationshipObject>>> toOneRelationshipBasicFutures
-                = new HashMap<>();
-
-        for (DATA_SOURCE_DTO dto : dtos) {
-            // to many relationships - basic resolvers
-            toManyRelationshipsBasicFutures.put(
-                    dto,
-                    getToManyRelationshipResolvers().entrySet()
-                            .stream()
-                            .collect(Collectors.toMap(
-                                    Map.Entry::getKey,
-                                    e -> {
-                                        Principal principalCopy = AuthenticatedPrincipalContextHolder.copy();
-                                        return CompletableFuture.supplyAsync(() -> {
-                                            AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principalCopy);
-                                            try {
-                                                return e.getValue().resolveRequestedData(request, dto);
-                                            } catch (ResourceNotFoundException nfe) {
-                                                return createToManyRelationshipsWithEmptyData(e.getKey(), request, dto);
-                                            }
-                                        }, executor);
-                                    })
-                            )
-            );
-
-            // to one relationship - basic resolvers
-            toOneRelationshipBasicFutures.put(
-                    dto,
-                    getToOneRelationshipResolvers().entrySet()
-                            .stream()
-                            .collect(Collectors.toMap(
-                                    Map.Entry::getKey,
-                                    e -> {
-                                        Principal principalCopy = AuthenticatedPrincipalContextHolder.copy();
-                                        return CompletableFuture.supplyAsync(() -> {
-                                            AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principalCopy);
-                                            try {
-                                                return e.getValue().resolveRequestedData(request, dto);
-                                            } catch (ResourceNotFoundException nfe) {
-                                                return createToOneRelationshipWithNullData(e.getKey(), request, dto);
-                                            }
-                                        }, executor);
-                                    })
-                            )
-            );
+        boolean async = executor != ResourceProcessorContext.DEFAULT_EXECUTOR;
+        int chunkSize = async ? relationshipsChunkSize : Math.max(dtos.size(), 1);
+        boolean scoped = async || hasAsyncRelationshipResolvers();
+        try (TaskScope scope = scoped ? TaskScope.open(executor, relationshipsTimeout) : null) {
+            return resolveRelationshipsData(request, dtos, chunkSize, scope);
         }
+    }
+
+    private MultipleResourcesRelationshipsData<DATA_SOURCE_DTO> resolveRelationshipsData(
+            REQUEST request,
+            List<DATA_SOURCE_DTO> dtos,
+            int chunkSize,
+            TaskScope scope
+    ) {
+
+        // to many relationships - basic resolvers
+        Map<RelationshipName, ToManyRelationshipObject[]> toManyRelationshipsBasicResults = new HashMap<>();
+        getToManyRelationshipResolvers().forEach((relName, resolver) -> {
+            ToManyRelationshipObject[] results = new ToManyRelationshipObject[dtos.size()];
+            toManyRelationshipsBasicResults.put(relName, results);
+            if (resolver instanceof ToManyRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> asyncResolver) {
+                for (int i = 0; i < dtos.size(); i++) {
+                    int idx = i;
+                    DATA_SOURCE_DTO dto = dtos.get(i);
+                    runAsync(scope, () -> recoverNotFound(
+                            asyncResolver.resolveRequestedDataAsync(request, dto),
+                            () -> createToManyRelationshipsWithEmptyData(relName, request, dto)
+                    ).thenAccept(result -> results[idx] = result));
+                }
+                return;
+            }
+            for (int from = 0; from < dtos.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, dtos.size());
+                int chunkFrom = from;
+                run(scope, () -> {
+                    for (int i = chunkFrom; i < to; i++) {
+                        DATA_SOURCE_DTO dto = dtos.get(i);
+                        try {
+                            results[i] = resolver.resolveRequestedData(request, dto);
+                        } catch (ResourceNotFoundException nfe) {
+                            results[i] = createToManyRelationshipsWithEmptyData(relName, request, dto);
+                        }
+                    }
+                });
+            }
+        });
+
+        // to one relationship - basic resolvers
+        Map<RelationshipName, ToOneRelationshipObject[]> toOneRelationshipBasicResults = new HashMap<>();
+        getToOneRelationshipResolvers().forEach((relName, resolver) -> {
+            ToOneRelationshipObject[] results = new ToOneRelationshipObject[dtos.size()];
+            toOneRelationshipBasicResults.put(relName, results);
+            if (resolver instanceof ToOneRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> asyncResolver) {
+                for (int i = 0; i < dtos.size(); i++) {
+                    int idx = i;
+                    DATA_SOURCE_DTO dto = dtos.get(i);
+                    runAsync(scope, () -> recoverNotFound(
+                            asyncResolver.resolveRequestedDataAsync(request, dto),
+                            () -> createToOneRelationshipWithNullData(relName, request, dto)
+                    ).thenAccept(result -> results[idx] = result));
+                }
+                return;
+            }
+            for (int from = 0; from < dtos.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, dtos.size());
+                int chunkFrom = from;
+                run(scope, () -> {
+                    for (int i = chunkFrom; i < to; i++) {
+                        DATA_SOURCE_DTO dto = dtos.get(i);
+                        try {
+                            results[i] = resolver.resolveRequestedData(request, dto);
+                        } catch (ResourceNotFoundException nfe) {
+                            results[i] = createToOneRelationshipWithNullData(relName, request, dto);
+                        }
+                    }
+                });
+            }
+        });
 
         // to many relationships - batch resolvers
-        Map<RelationshipName, CompletableFuture<Map<DATA_SOURCE_DTO, ToManyRelationshipObject>>> toManyRelationshipsBatchFutures =
-                getBatchToManyRelationshipResolvers().entrySet()
-                        .stream()
-                        .collect(toMap(
-                                Map.Entry::getKey,
-                                e -> {
-                                    Principal principalCopy = AuthenticatedPrincipalContextHolder.copy();
-                                    return CompletableFuture.supplyAsync(
-                                            () -> {
-                                                AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principalCopy);
-                                                log.debug("Batch processing of '{}' To-Many relationship", e.getKey());
-                                                Map<DATA_SOURCE_DTO, ToManyRelationshipObject> result
-                                                        = new HashMap<>(e.getValue().resolveRequestedData(request, dtos));
-                                                return unmodifiableMap(result);
-                                            },
-                                            executor
-                                    );
-                                }));
+        Map<RelationshipName, Map<DATA_SOURCE_DTO, ToManyRelationshipObject>> toManyRelationshipsBatchResults
+                = new ConcurrentHashMap<>();
+        getBatchToManyRelationshipResolvers().forEach((relName, resolver) -> {
+            log.debug("Batch processing of '{}' To-Many relationship", relName);
+            if (resolver instanceof BatchToManyRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> asyncResolver) {
+                runAsync(scope, () -> asyncResolver.resolveRequestedDataAsync(request, dtos)
+                        .thenAccept(result -> toManyRelationshipsBatchResults.put(relName, unmodifiableMap(new HashMap<>(result)))));
+            } else {
+                run(scope, () -> {
+                    Map<DATA_SOURCE_DTO, ToManyRelationshipObject> result
+                            = new HashMap<>(resolver.resolveRequestedData(request, dtos));
+                    toManyRelationshipsBatchResults.put(relName, unmodifiableMap(result));
+                });
+            }
+        });
 
         // to one relationship - batch resolvers
-        Map<RelationshipName, CompletableFuture<Map<DATA_SOURCE_DTO, ToOneRelationshipObject>>> toOneRelationshipBatchFutures =
-                getBatchToOneRelationshipResolvers().entrySet()
-                        .stream()
-                        .collect(toMap(
-                                Map.Entry::getKey,
-                                e -> {
-                                    Principal principalCopy = AuthenticatedPrincipalContextHolder.copy();
-                                    return CompletableFuture.supplyAsync(
-                                            () -> {
-                                                AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principalCopy);
-                                                log.debug("Batch processing of '{}' To-One relationship", e.getKey());
-                                                Map<DATA_SOURCE_DTO, ToOneRelationshipObject> resolvedResult
-                                                        = e.getValue().resolveRequestedData(request, dtos);
-                                                Map<DATA_SOURCE_DTO, ToOneRelationshipObject> result
-                                                        = new HashMap<>(resolvedResult);
-                                                return unmodifiableMap(result);
-                                            },
-                                            executor
-                                    );
-                                })
-                        );
-
-        return new MultipleResourcesRelationshipFutures<>(
-                toManyRelationshipsBatchFutures,
-                toManyRelationshipsBasicFutures,
-                toOneRelationshipBatchFutures,
-                toOneRelationshipBasicFutures
+        Map<RelationshipName, Map<DATA_SOURCE_DTO, ToOneRelationshipObject>> toOneRelationshipBatchResults
+                = new ConcurrentHashMap<>();
+        getBatchToOneRelationshipResolvers().forEach((relName, resolver) -> {
+            log.debug("Batch processing of '{}' To-One relationship", relName);
+            if (resolver instanceof BatchToOneRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> asyncResolver) {
+                runAsync(scope, () -> asyncResolver.resolveRequestedDataAsync(request, dtos)
+                        .thenAccept(result -> toOneRelationshipBatchResults.put(relName, unmodifiableMap(new HashMap<>(result)))));
+            } else {
+                run(scope, () -> {
+                    Map<DATA_SOURCE_DTO, ToOneRelationshipObject> result
+                            = new HashMap<>(resolver.resolveRequestedData(request, dtos));
+                    toOneRelationshipBatchResults.put(relName, unmodifiableMap(result));
+                });
+            }
+        });
+
+        if (scope != null) {
+            log.debug("Waiting for relationship resolution tasks");
+            scope.join();
+        }
+
+        return new MultipleResourcesRelationshipsData<>(
+                toManyRelationshipsBatchResults,
+                toManyRelationshipsBasicResults,
+                toOneRelationshipBatchResults,
+                toOneRelationshipBasicResults
         );
     }
 
     private Map<DATA_SOURCE_DTO, Map<RelationshipName, ToManyRelationshipObject>> resolveToManyRelationships(
             REQUEST request,
             List<DATA_SOURCE_DTO> dtos,
-            Map<RelationshipName, CompletableFuture<Map<DATA_SOURCE_DTO, ToManyRelationshipObject>>> batchFutures,
-            Map<DATA_SOURCE_DTO, Map<RelationshipName, CompletableFuture<ToManyRelationshipObject>>> basicFutures) {
+            Map<RelationshipName, Map<DATA_SOURCE_DTO, ToManyRelationshipObject>> batchResults,
+            Map<RelationshipName, ToManyRelationshipObject[]> basicResults) {
 
         Map<RelationshipName, DefaultRelationshipResolver<REQUEST, DATA_SOURCE_DTO>> defaultRelationshipResolvers
                 = getDefaultRelationshipResolvers();
@@ -243,17 +313,18 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
                 if (getBatchToManyRelationshipResolvers().containsKey(relName)) {
                     // relationship was requested and Batch To Many Relationship Resolver is configured
                     log.debug("Processing '{}' relationship. Relationship was requested in 'include'. Batch To-many-relationship resolver is found. Executing.", relName);
-                    Map<DATA_SOURCE_DTO, ToManyRelationshipObject> docsMap = batchFutures.get(relName).join();
+                    Map<DATA_SOURCE_DTO, ToManyRelationshipObject> docsMap = batchResults.get(relName);
                     for (DATA_SOURCE_DTO dto : dtos) {
                         ToManyRelationshipObject toManyRelationshipObject = docsMap.get(dto);
                         toManyRelationshipObjectsMap.get(dto).put(relName, toManyRelationshipObject);
                     }
                 } else {
-                    for (DATA_SOURCE_DTO dto : dtos) {
-                        if (getToManyRelationshipResolvers().containsKey(relName)) {
+                    ToManyRelationshipObject[] relBasicResults = basicResults.get(relName);
+                    for (int i = 0; i < dtos.size(); i++) {
+                        DATA_SOURCE_DTO dto = dtos.get(i);
+                        if (relBasicResults != null) {
                             log.debug("Processing '{}' relationship. Relationship was requested in 'include'. Simple To-many-relationship resolver is found. Executing.", relName);
-                            ToManyRelationshipObject toManyRelationshipObject = basicFutures.get(dto).get(relName).join();
-                            toManyRelationshipObjectsMap.get(dto).put(relName, toManyRelationshipObject);
+                            toManyRelationshipObjectsMap.get(dto).put(relName, relBasicResults[i]);
                         } else {
                             log.debug("Processing '{}' relationship. Relationship wasn't requested in 'include'. To-many-relationship resolvers is not invoking. Relying on the default relationship resolver.", relName);
                             toManyRelationshipObjectsMap.get(dto).put(relName, createToManyRelationshipsWithNullData(relName, request, dto));
@@ -268,8 +339,8 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
     private Map<DATA_SOURCE_DTO, Map<RelationshipName, ToOneRelationshipObject>> resolveToOneRelationships(
             REQUEST request,
             List<DATA_SOURCE_DTO> dtos,
-            Map<RelationshipName, CompletableFuture<Map<DATA_SOURCE_DTO, ToOneRelationshipObject>>> batchFutures,
-            Map<DATA_SOURCE_DTO, Map<RelationshipName, CompletableFuture<ToOneRelationshipObject>>> basicFutures) {
+            Map<RelationshipName, Map<DATA_SOURCE_DTO, ToOneRelationshipObject>> batchResults,
+            Map<RelationshipName, ToOneRelationshipObject[]> basicResults) {
 
         Map<RelationshipName, DefaultRelationshipResolver<REQUEST, DATA_SOURCE_DTO>> defaultRelationshipResolvers = getDefaultRelationshipResolvers();
 
@@ -289,18 +360,19 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
             if (isToOneRelationship(relName)) {
                 if (getBatchToOneRelationshipResolvers().containsKey(relName)) {
                     log.debug("Processing '{}' relationship. Relationship was requested in 'include'. Batch To-one-relationship resolver is found. Executing.", relName);
-                    Map<DATA_SOURCE_DTO, ToOneRelationshipObject> docsMap = batchFutures.get(relName).join();
+                    Map<DATA_SOURCE_DTO, ToOneRelationshipObject> docsMap = batchResults.get(relName);
                     for (DATA_SOURCE_DTO dto : dtos) {
                         ToOneRelationshipObject toOneRelationshipObject = docsMap.get(dto);
                         toOneRelationshipObjectsMap.get(dto).put(relName, toOneRelationshipObject);
                     }
                 } else {
                     // relationship wasn't requested
-                    for (DATA_SOURCE_DTO dto : dtos) {
-                        if (getToOneRelationshipResolvers().containsKey(relName)) {
+                    ToOneRelationshipObject[] relBasicResults = basicResults.get(relName);
+                    for (int i = 0; i < dtos.size(); i++) {
+                        DATA_SOURCE_DTO dto = dtos.get(i);
+                        if (relBasicResults != null) {
                             log.debug("Processing '{}' relationship. Relationship was requested in 'include'. Simple To-one-relationship resolver is found. Executing.", relName);
-                            ToOneRelationshipObject toOneRelationshipObject = basicFutures.get(dto).get(relName).join();
-                            toOneRelationshipObjectsMap.get(dto).put(relName, toOneRelationshipObject);
+                            toOneRelationshipObjectsMap.get(dto).put(relName, relBasicResults[i]);
                         } else {
                             log.debug("Processing '{}' relationship. Relationship wasn't requested in 'include'. To-one-relationship resolvers is not invoking. Relying on the default relationship resolver.", relName);
                             toOneRelationshipObjectsMap.get(dto).put(relName, createToOneRelationshipWithNullData(relName, request, dto));
@@ -312,11 +384,11 @@ public class MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, A
         return toOneRelationshipObjectsMap;
     }
 
-    record MultipleResourcesRelationshipFutures<DATA_SOURCE_DTO>(
-            Map<RelationshipName, CompletableFuture<Map<DATA_SOURCE_DTO, ToManyRelationshipObject>>> toManyRelationshipBatchFutures,
-            Map<DATA_SOURCE_DTO, Map<RelationshipName, CompletableFuture<ToManyRelationshipObject>>> toManyRelationshipBasicFutures,
-            Map<RelationshipName, CompletableFuture<Map<DATA_SOURCE_DTO, ToOneRelationshipObject>>> toOneRelationshipBatchFutures,
-            Map<DATA_SOURCE_DTO, Map<RelationshipName, CompletableFuture<ToOneRelationshipObject>>> toOneRelationshipBasicFutures) {
+    record MultipleResourcesRelationshipsData<DATA_SOURCE_DTO>(
+            Map<RelationshipName, Map<DATA_SOURCE_DTO, ToManyRelationshipObject>> toManyRelationshipBatchResults,
+            Map<RelationshipName, ToManyRelationshipObject[]> toManyRelationshipBasicResults,
+            Map<RelationshipName, Map<DATA_SOURCE_DTO, ToOneRelationshipObject>> toOneRelationshipBatchResults,
+            Map<RelationshipName, ToOneRelationshipObject[]> toOneRelationshipBasicResults) {
     }
 
 }
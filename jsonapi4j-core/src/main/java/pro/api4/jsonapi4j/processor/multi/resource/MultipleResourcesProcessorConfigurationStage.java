@@ -5,9 +5,12 @@ import pro.api4.jsonapi4j.response.PaginationAwareResponse;
 import pro.api4.jsonapi4j.plugin.PluginSettings;
 import pro.api4.jsonapi4j.processor.ResourceProcessorContext;
 import pro.api4.jsonapi4j.processor.ResourceProcessorContext.ResourceProcessorContextBuilder;
+import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsStreamSupplier;
 import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsSupplier;
+import pro.api4.jsonapi4j.response.PaginationAwareStream;
 import pro.api4.jsonapi4j.processor.single.resource.SingleResourceJsonApiConfigurationStage;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -40,6 +43,43 @@ public class MultipleResourcesProcessorConfigurationStage<REQUEST> {
         return this;
     }
 
+    /**
+     * Optional. Only makes sense together with {@link #concurrentRelationshipResolution(Executor)}. Basic
+     * (non-batch) relationship resolvers are invoked for chunks of resources - one executor task per chunk
+     * and relationship - instead of one task per every resource and relationship. Lower values give more
+     * parallelism to I/O-bound resolvers, higher values reduce the scheduling overhead for cheap ones.
+     * <p/>
+     * {@link ResourceProcessorContext#DEFAULT_RELATIONSHIPS_CHUNK_SIZE} by default.
+     *
+     * @param relationshipsChunkSize number of resources per task, must be positive
+     * @return self link
+     */
+    public MultipleResourcesProcessorConfigurationStage<REQUEST> relationshipsChunkSize(
+            int relationshipsChunkSize
+    ) {
+        Validate.isTrue(relationshipsChunkSize > 0, "relationshipsChunkSize must be positive");
+        this.processorContextBuilder = this.processorContextBuilder.relationshipsChunkSize(relationshipsChunkSize);
+        return this;
+    }
+
+    /**
+     * Optional. Only makes sense together with {@link #concurrentRelationshipResolution(Executor)}. Sets the deadline
+     * for all relationship resolvers of the request. Once it's exceeded the unfinished resolvers are cancelled
+     * (interrupted) and {@link pro.api4.jsonapi4j.exception.DeadlineExceededException} is thrown. If one of the
+     * resolvers fails all its siblings are cancelled regardless of this setting.
+     * <p/>
+     * No deadline by default.
+     *
+     * @param relationshipsTimeout deadline, <code>null</code> or zero means no deadline
+     * @return self link
+     */
+    public MultipleResourcesProcessorConfigurationStage<REQUEST> relationshipsTimeout(
+            Duration relationshipsTimeout
+    ) {
+        this.processorContextBuilder = this.processorContextBuilder.relationshipsTimeout(relationshipsTimeout);
+        return this;
+    }
+
     public MultipleResourcesProcessorConfigurationStage<REQUEST> plugins(List<PluginSettings> plugins) {
         this.processorContextBuilder.plugins(plugins);
         return this;
@@ -64,5 +104,33 @@ public class MultipleResourcesProcessorConfigurationStage<REQUEST> {
         );
     }
 
+    /**
+     * Streaming alternative to {@link #dataSupplier(MultipleDataItemsSupplier)} for very large pages and exports.
+     * Enables {@link MultipleResourcesTerminalStage#toMultipleResourcesStreamDoc()} that consumes the stream in windows
+     * of the given size. {@link MultipleResourcesTerminalStage#toMultipleResourcesDoc()} still works and consumes the
+     * whole stream into memory.
+     *
+     * @param streamSupplier    stream supplier function, returns {@link PaginationAwareStream}, accepts parameter of type REQUEST
+     * @param windowSize        number of dtos processed at once, must be positive
+     * @param <DATA_SOURCE_DTO> data source dto type, usually represents intermediate dto type of data source service
+     * @return the second configuration state - {@link MultipleResourcesJsonApiConfigurationStage}
+     */
+    public <DATA_SOURCE_DTO> MultipleResourcesJsonApiConfigurationStage<REQUEST, DATA_SOURCE_DTO> streamSupplier(
+            MultipleDataItemsStreamSupplier<REQUEST, DATA_SOURCE_DTO> streamSupplier,
+            int windowSize
+    ) {
+        Validate.notNull(streamSupplier);
+        Validate.isTrue(windowSize > 0, "windowSize must be positive");
+        MultipleResourcesJsonApiConfigurationStage<REQUEST, DATA_SOURCE_DTO> stage = new MultipleResourcesJsonApiConfigurationStage<>(
+                request,
+                req -> {
+                    PaginationAwareStream<DATA_SOURCE_DTO> stream = streamSupplier.get(req);
+                    return stream != null ? stream.toResponse() : null;
+                },
+                processorContextBuilder.streamWindowSize(windowSize).build()
+        );
+        stage.setStreamSupplier(streamSupplier);
+        return stage;
+    }
 
 }
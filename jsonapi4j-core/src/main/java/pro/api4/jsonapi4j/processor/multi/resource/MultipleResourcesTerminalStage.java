@@ -6,6 +6,7 @@ import org.apache.commons.lang3.Validate;
 import pro.api4.jsonapi4j.domain.ResourceType;
 import pro.api4.jsonapi4j.model.document.LinksObject;
 import pro.api4.jsonapi4j.model.document.data.MultipleResourcesDoc;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesStreamDoc;
 import pro.api4.jsonapi4j.model.document.data.ResourceObject;
 import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipsDoc;
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipDoc;
@@ -16,16 +17,20 @@ import pro.api4.jsonapi4j.plugin.MultipleResourcesVisitors.RelationshipsPostRetr
 import pro.api4.jsonapi4j.plugin.MultipleResourcesVisitors.RelationshipsPreRetrievalPhase;
 import pro.api4.jsonapi4j.plugin.PluginSettings;
 import pro.api4.jsonapi4j.plugin.context.MultipleResourcesVisitorContext;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 import pro.api4.jsonapi4j.processor.*;
+import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsStreamSupplier;
 import pro.api4.jsonapi4j.processor.multi.MultipleDataItemsSupplier;
 import pro.api4.jsonapi4j.util.CustomCollectors;
 import pro.api4.jsonapi4j.processor.util.DataRetrievalUtil;
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+import pro.api4.jsonapi4j.response.PaginationAwareStream;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.apache.commons.collections4.ListUtils.emptyIfNull;
 
@@ -35,6 +40,7 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
 
     private final REQUEST request;
     private final MultipleDataItemsSupplier<REQUEST, DATA_SOURCE_DTO> dataSupplier;
+    private final MultipleDataItemsStreamSupplier<REQUEST, DATA_SOURCE_DTO> streamSupplier;
     private final ResourceProcessorContext processorContext;
     private final MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext;
     private final MultipleResourcesJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiMembersResolver;
@@ -43,33 +49,46 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
                                           MultipleDataItemsSupplier<REQUEST, DATA_SOURCE_DTO> dataSupplier,
                                           ResourceProcessorContext processorContext,
                                           MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext) {
+        this(request, dataSupplier, null, processorContext, jsonApiContext);
+    }
+
+    public MultipleResourcesTerminalStage(REQUEST request,
+                                          MultipleDataItemsSupplier<REQUEST, DATA_SOURCE_DTO> dataSupplier,
+                                          MultipleDataItemsStreamSupplier<REQUEST, DATA_SOURCE_DTO> streamSupplier,
+                                          ResourceProcessorContext processorContext,
+                                          MultipleResourcesJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext) {
         this.request = request;
         this.dataSupplier = dataSupplier;
+        this.streamSupplier = streamSupplier;
         this.processorContext = processorContext;
         this.jsonApiContext = jsonApiContext;
         this.jsonApiMembersResolver = new MultipleResourcesJsonApiMembersResolver<>(
                 jsonApiContext,
-                processorContext.getExecutor()
+                processorContext.getExecutor(),
+                processorContext.getRelationshipsChunkSize(),
+                processorContext.getRelationshipsTimeout()
         );
     }
 
     public MultipleResourcesDoc<?> toMultipleResourcesDoc() {
         return toMultipleResourcesDoc(
-                (toManyRelationshipsDocMap, toOneRelationshipDocMap) -> {
-                    if (MapUtils.isEmpty(toManyRelationshipsDocMap) && MapUtils.isEmpty(toOneRelationshipDocMap)) {
-                        return null;
-                    }
-                    return Stream.concat(
-                                    toManyRelationshipsDocMap.entrySet().stream(),
-                                    toOneRelationshipDocMap.entrySet().stream()
-                            ).sorted(Comparator.comparing(Map.Entry::getKey))
-                            .collect(CustomCollectors.toOrderedMapThatSupportsNullValues(
-                                    e -> e.getKey().getName(),
-                                    Map.Entry::getValue
-                            ));
-                },
-                (ResourceSupplier<ATTRIBUTES, Map<String, Object>, ResourceObject<ATTRIBUTES, Map<String, Object>>>) (id, type, attributes, relationships, links, meta) -> new ResourceObject<>(id, null, type, attributes, relationships, links, meta),
-                (MultipleResourcesDocSupplier<ResourceObject<ATTRIBUTES, Map<String, Object>>, MultipleResourcesDoc<ResourceObject<ATTRIBUTES, Map<String, Object>>>>) MultipleResourcesDoc::new
+                defaultRelationshipsSupplier(),
+                defaultResourceSupplier(),
+                defaultDocSupplier()
+        );
+    }
+
+    /**
+     * Streaming counterpart of {@link #toMultipleResourcesDoc()}, see
+     * {@link #toMultipleResourcesStreamDoc(RelationshipsSupplier, ResourceSupplier, MultipleResourcesDocSupplier)}.
+     *
+     * @return Multi-primary-resource JSON:API Document which resources are composed lazily, window by window
+     */
+    public MultipleResourcesStreamDoc<?> toMultipleResourcesStreamDoc() {
+        return toMultipleResourcesStreamDoc(
+                defaultRelationshipsSupplier(),
+                defaultResourceSupplier(),
+                defaultDocSupplier()
         );
     }
 
@@ -105,12 +124,123 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
         Validate.notNull(resourceSupplier, "resourceSupplier can't be null");
         Validate.notNull(docSupplier, "docSupplier can't be null");
 
-        REQUEST effectiveRequest = this.request;
+        // PHASE: onDataPreRetrieval
+        DataPreRetrievalPhase<?> dataPreRetrievalPhase = applyDataPreRetrievalPhase(this.request);
+        if (dataPreRetrievalPhase.getContinuation() == DataPreRetrievalPhase.Continuation.RETURN_DOC) {
+            //noinspection unchecked
+            return ((DataPreRetrievalPhase<DOC>) dataPreRetrievalPhase).getResult();
+        }
+        //noinspection unchecked
+        REQUEST effectiveRequest = ((DataPreRetrievalPhase<REQUEST>) dataPreRetrievalPhase).getResult();
 
-        List<PluginSettings> plugins = this.processorContext.getPlugins();
+        PaginationAwareResponse<DATA_SOURCE_DTO> paginationAwareResponse = retrieveData(effectiveRequest);
+
+        return composeDoc(
+                effectiveRequest,
+                paginationAwareResponse,
+                true,
+                relationshipsSupplier,
+                resourceSupplier,
+                docSupplier
+        );
+    }
+
+    /**
+     * Streaming counterpart of
+     * {@link #toMultipleResourcesDoc(RelationshipsSupplier, ResourceSupplier, MultipleResourcesDocSupplier)}. Requires
+     * a stream supplier to be configured, see
+     * {@link MultipleResourcesProcessorConfigurationStage#streamSupplier(MultipleDataItemsStreamSupplier, int)}.
+     * <p/>
+     * The onDataPreRetrieval phase and the data retrieval are executed eagerly. Everything else is deferred until the
+     * windows of the returned document are consumed: every window of
+     * {@link ResourceProcessorContext#getStreamWindowSize()} dtos goes through the same pipeline as a regular page -
+     * the remaining plugin phases and the relationships resolution, so batch relationship resolvers are invoked once
+     * per window. Doc-level links and meta are resolved at the end of the stream, dtos aren't passed to their
+     * resolvers.
+     *
+     * @param relationshipsSupplier see {@link #toMultipleResourcesDoc(RelationshipsSupplier, ResourceSupplier, MultipleResourcesDocSupplier)}
+     * @param resourceSupplier      see {@link #toMultipleResourcesDoc(RelationshipsSupplier, ResourceSupplier, MultipleResourcesDocSupplier)}
+     * @param docSupplier           function that creates a new instance of a multi-resource JSON:API Document, used
+     *                              to pass every window through the plugins
+     * @param <RELATIONSHIPS>       type of resource related 'relationships' object
+     * @param <RESOURCE>            type of the primary resource, must extend {@link ResourceObject}
+     * @param <DOC>                 type of the per-window multi-primary-resource JSON:API Document, must extend
+     *                              {@link MultipleResourcesDoc}
+     * @return Multi-primary-resource JSON:API Document which resources are composed lazily, window by window. Must be
+     * closed by the caller.
+     */
+    public <RELATIONSHIPS,
+            RESOURCE extends ResourceObject<ATTRIBUTES, RELATIONSHIPS>,
+            DOC extends MultipleResourcesDoc<RESOURCE>> MultipleResourcesStreamDoc<RESOURCE> toMultipleResourcesStreamDoc(
+            RelationshipsSupplier<RELATIONSHIPS> relationshipsSupplier,
+            ResourceSupplier<ATTRIBUTES, RELATIONSHIPS, RESOURCE> resourceSupplier,
+            MultipleResourcesDocSupplier<RESOURCE, DOC> docSupplier
+    ) {
+
+        // validations
+        Validate.validState(streamSupplier != null, "streamSupplier must be configured to stream the doc");
+        Validate.notNull(resourceSupplier, "resourceSupplier can't be null");
+        Validate.notNull(docSupplier, "docSupplier can't be null");
 
         // PHASE: onDataPreRetrieval
-        for (PluginSettings plugin : plugins) {
+        DataPreRetrievalPhase<?> dataPreRetrievalPhase = applyDataPreRetrievalPhase(this.request);
+        if (dataPreRetrievalPhase.getContinuation() == DataPreRetrievalPhase.Continuation.RETURN_DOC) {
+            //noinspection unchecked
+            return MultipleResourcesStreamDoc.of(((DataPreRetrievalPhase<DOC>) dataPreRetrievalPhase).getResult());
+        }
+        //noinspection unchecked
+        REQUEST effectiveRequest = ((DataPreRetrievalPhase<REQUEST>) dataPreRetrievalPhase).getResult();
+
+        PaginationAwareStream<DATA_SOURCE_DTO> paginationAwareStream
+                = DataRetrievalUtil.retrieveDataNullable(() -> streamSupplier.get(effectiveRequest));
+        if (paginationAwareStream == null) {
+            return MultipleResourcesStreamDoc.of(
+                    composeDoc(effectiveRequest, null, true, relationshipsSupplier, resourceSupplier, docSupplier)
+            );
+        }
+
+        AtomicReference<DOC> lastWindowDoc = new AtomicReference<>();
+        Stream<List<RESOURCE>> windows = windows(paginationAwareStream.getItems(), processorContext.getStreamWindowSize())
+                .map(window -> composeDoc(
+                        effectiveRequest,
+                        PaginationAwareResponse.fromItemsNotPageable(window),
+                        false,
+                        relationshipsSupplier,
+                        resourceSupplier,
+                        docSupplier
+                ))
+                .peek(lastWindowDoc::set)
+                .map(doc -> emptyIfNull(doc.getData()))
+                .onClose(paginationAwareStream::close);
+
+        return new MultipleResourcesStreamDoc<>(
+                windows,
+                // top-level links
+                () -> jsonApiMembersResolver.resolveDocLinks(
+                        effectiveRequest,
+                        null,
+                        paginationAwareStream.getPaginationContext()
+                ),
+                // top-level meta
+                () -> jsonApiMembersResolver.resolveDocMeta(
+                        effectiveRequest,
+                        null,
+                        paginationAwareStream.getPaginationContext()
+                ),
+                // top-level jsonapi, the same for every window
+                () -> {
+                    DOC doc = lastWindowDoc.get();
+                    if (doc == null) {
+                        doc = docSupplier.get(Collections.emptyList(), null, null);
+                    }
+                    return doc.getJsonapi();
+                }
+        );
+    }
+
+    private DataPreRetrievalPhase<?> applyDataPreRetrievalPhase(REQUEST request) {
+        REQUEST effectiveRequest = request;
+        for (PluginSettings plugin : this.processorContext.getPlugins()) {
             if (plugin.getPlugin().enabled()) {
                 MultipleResourcesVisitors visitors = plugin.getPlugin().multipleResourcesVisitors();
                 if (visitors != null) {
@@ -121,15 +251,29 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
                         //noinspection unchecked
                         effectiveRequest = ((DataPreRetrievalPhase<REQUEST>) dataPreRetrievalPhase).getResult();
                     } else if (dataPreRetrievalPhase.getContinuation() == DataPreRetrievalPhase.Continuation.RETURN_DOC) {
-                        //noinspection unchecked
-                        return ((DataPreRetrievalPhase<DOC>) dataPreRetrievalPhase).getResult();
+                        return dataPreRetrievalPhase;
                     }
                 }
             }
         }
         log.debug("Multiple resources pipeline: onDataPreRetrieval phase completed");
+        return DataPreRetrievalPhase.mutatedRequest(effectiveRequest);
+    }
 
-        PaginationAwareResponse<DATA_SOURCE_DTO> paginationAwareResponse = retrieveData(effectiveRequest);
+    private <RELATIONSHIPS,
+            RESOURCE extends ResourceObject<ATTRIBUTES, RELATIONSHIPS>,
+            DOC extends MultipleResourcesDoc<RESOURCE>> DOC composeDoc(
+            REQUEST request,
+            PaginationAwareResponse<DATA_SOURCE_DTO> paginationAwareResponse,
+            boolean resolveDocMembers,
+            RelationshipsSupplier<RELATIONSHIPS> relationshipsSupplier,
+            ResourceSupplier<ATTRIBUTES, RELATIONSHIPS, RESOURCE> resourceSupplier,
+            MultipleResourcesDocSupplier<RESOURCE, DOC> docSupplier
+    ) {
+
+        REQUEST effectiveRequest = request;
+
+        List<PluginSettings> plugins = this.processorContext.getPlugins();
 
         // PHASE: onDataPostRetrieval
         for (PluginSettings plugin : plugins) {
@@ -185,18 +329,23 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
                 data.add(resource);
             }
         }
-        // top-level links
-        LinksObject docLinks = jsonApiMembersResolver.resolveDocLinks(
-                effectiveRequest,
-                paginationAwareResponse.getItems(),
-                paginationAwareResponse.getPaginationContext()
-        );
-        // top-level meta
-        Object docMeta = jsonApiMembersResolver.resolveDocMeta(
-                effectiveRequest,
-                paginationAwareResponse.getItems(),
-                paginationAwareResponse.getPaginationContext()
-        );
+        LinksObject docLinks = null;
+        Object docMeta = null;
+        // streamed windows get doc-level members at the end of the stream
+        if (resolveDocMembers) {
+            // top-level links
+            docLinks = jsonApiMembersResolver.resolveDocLinks(
+                    effectiveRequest,
+                    paginationAwareResponse.getItems(),
+                    paginationAwareResponse.getPaginationContext()
+            );
+            // top-level meta
+            docMeta = jsonApiMembersResolver.resolveDocMeta(
+                    effectiveRequest,
+                    paginationAwareResponse.getItems(),
+                    paginationAwareResponse.getPaginationContext()
+            );
+        }
 
         // compose doc
         DOC doc = docSupplier.get(data, docLinks, docMeta);
@@ -252,7 +401,7 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
         relationshipsMap.forEach((idAndType, relationships) -> {
             ResourceObject<?, ?> relatedResource = idAndTypeToResourceMap.get(idAndType);
             if (relatedResource != null) {
-                ReflectionUtils.setFieldValueThrowing(
+                FieldAccessors.setValue(
                         relatedResource,
                         ResourceObject.RELATIONSHIPS_FIELD,
                         relationships
@@ -301,4 +450,51 @@ public class MultipleResourcesTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES
         return DataRetrievalUtil.retrieveDataNullable(() -> dataSupplier.get(req));
     }
 
+    private RelationshipsSupplier<Map<String, Object>> defaultRelationshipsSupplier() {
+        return (toManyRelationshipsDocMap, toOneRelationshipDocMap) -> {
+            if (MapUtils.isEmpty(toManyRelationshipsDocMap) && MapUtils.isEmpty(toOneRelationshipDocMap)) {
+                return null;
+            }
+            return Stream.concat(
+                            toManyRelationshipsDocMap.entrySet().stream(),
+                            toOneRelationshipDocMap.entrySet().stream()
+                    ).sorted(Comparator.comparing(Map.Entry::getKey))
+                    .collect(CustomCollectors.toOrderedMapThatSupportsNullValues(
+                            e -> e.getKey().getName(),
+                            Map.Entry::getValue
+                    ));
+        };
+    }
+
+    private ResourceSupplier<ATTRIBUTES, Map<String, Object>, ResourceObject<ATTRIBUTES, Map<String, Object>>> defaultResourceSupplier() {
+        return (id, type, attributes, relationships, links, meta) -> new ResourceObject<>(id, null, type, attributes, relationships, links, meta);
+    }
+
+    private MultipleResourcesDocSupplier<ResourceObject<ATTRIBUTES, Map<String, Object>>, MultipleResourcesDoc<ResourceObject<ATTRIBUTES, Map<String, Object>>>> defaultDocSupplier() {
+        return MultipleResourcesDoc::new;
+    }
+
+    private static <T> Stream<List<T>> windows(Stream<T> items, int windowSize) {
+        Iterator<T> iterator = items.iterator();
+        Iterator<List<T>> windowsIterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> window = new ArrayList<>();
+                while (window.size() < windowSize && iterator.hasNext()) {
+                    window.add(iterator.next());
+                }
+                return window;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(windowsIterator, Spliterator.ORDERED), false);
+    }
+
 }
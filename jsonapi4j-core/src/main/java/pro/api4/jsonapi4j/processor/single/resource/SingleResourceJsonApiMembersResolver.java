@@ -4,21 +4,27 @@ import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipObject;
 import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
 import pro.api4.jsonapi4j.processor.RelationshipsSupplier;
 import pro.api4.jsonapi4j.processor.ResourceJsonApiMembersResolver;
+import pro.api4.jsonapi4j.processor.ResourceProcessorContext;
 import pro.api4.jsonapi4j.exception.ResourceNotFoundException;
+import pro.api4.jsonapi4j.processor.resolvers.BatchToManyRelationshipResolver;
+import pro.api4.jsonapi4j.processor.resolvers.BatchToOneRelationshipResolver;
+import pro.api4.jsonapi4j.processor.resolvers.ToManyRelationshipResolver;
+import pro.api4.jsonapi4j.processor.resolvers.ToOneRelationshipResolver;
 import pro.api4.jsonapi4j.util.CustomCollectors;
+import pro.api4.jsonapi4j.util.TaskScope;
 import pro.api4.jsonapi4j.domain.RelationshipName;
 import pro.api4.jsonapi4j.model.document.LinksObject;
-import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
-import pro.api4.jsonapi4j.principal.Principal;
 import org.apache.commons.collections4.MapUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 
 public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES>
         extends ResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> {
@@ -27,14 +33,33 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
 
     private final SingleResourceJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext;
     private final Executor executor;
+    private final Duration relationshipsTimeout;
 
     public SingleResourceJsonApiMembersResolver(
             SingleResourceJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext,
             Executor executor
+    ) {
+        this(jsonApiContext, executor, null);
+    }
+
+    /**
+     * @param jsonApiContext       JSON:API context of the processed resource
+     * @param executor             executor for the relationship resolvers. If it's
+     *                             {@link ResourceProcessorContext#DEFAULT_EXECUTOR} all resolvers are invoked
+     *                             in the calling thread without any task scheduling
+     * @param relationshipsTimeout deadline for all relationship resolvers of a request, <code>null</code> means
+     *                             no deadline. Ignored if neither an executor nor non-blocking resolvers are
+     *                             configured
+     */
+    public SingleResourceJsonApiMembersResolver(
+            SingleResourceJsonApiContext<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> jsonApiContext,
+            Executor executor,
+            Duration relationshipsTimeout
     ) {
         super(jsonApiContext);
         this.jsonApiContext = jsonApiContext;
         this.executor = executor;
+        this.relationshipsTimeout = relationshipsTimeout;
     }
 
     public LinksObject resolveDocLinks(REQUEST request, DATA_SOURCE_DTO dataSourceDto) {
@@ -60,25 +85,19 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
 
         log.debug("Running Parallel resolving of resource relationships in pipeline for request {}", request);
 
-        // supply async futures and execute everything in parallel
-        SingleResourceRelationshipFutures futures = supplyAsyncRelationshipDataFutures(request, dataSourceDto);
+        // execute all requested relationship resolvers in parallel
+        SingleResourceRelationshipsData relationshipsData = resolveRelationshipsData(request, dataSourceDto);
 
-        // wait for toManyRelationships map
-        Map<RelationshipName, ToManyRelationshipObject> toManyRelationships = unwrapCompletionException(
-                () -> resolveToManyRelationships(
-                        futures.toManyRelationshipBasicFutures(),
-                        request,
-                        dataSourceDto
-                )
+        Map<RelationshipName, ToManyRelationshipObject> toManyRelationships = resolveToManyRelationships(
+                relationshipsData.toManyRelationshipResults(),
+                request,
+                dataSourceDto
         );
 
-        // wait for toOneRelationship map
-        Map<RelationshipName, ToOneRelationshipObject> toOneRelationships = unwrapCompletionException(
-                () -> resolveToOneRelationships(
-                        futures.toOneRelationshipBasicFutures(),
-                        request,
-                        dataSourceDto
-                )
+        Map<RelationshipName, ToOneRelationshipObject> toOneRelationships = resolveToOneRelationships(
+                relationshipsData.toOneRelationshipResults(),
+                request,
+                dataSourceDto
         );
 
         // instantiate RELATIONSHIPS object
@@ -93,80 +112,145 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
         return relationships;
     }
 
-    private SingleResourceRelationshipFutures supplyAsyncRelationshipDataFutures(
+    /**
+     * Invokes all requested relationship resolvers - one {@link TaskScope} task per relationship. A failed task
+     * cancels its siblings, the whole scope is bounded by {@link #relationshipsTimeout}. If no executor is
+     * configured everything is invoked sequentially in the calling thread. Non-blocking ({@code Async}) resolvers
+     * are invoked in the calling thread, their stages are joined without occupying executor threads.
+     */
+    private SingleResourceRelationshipsData resolveRelationshipsData(
             REQUEST request,
             DATA_SOURCE_DTO dto
     ) {
-        // to many relationships - basic resolvers
-        Map<RelationshipName, CompletableFuture<ToManyRelationshipObject>> toManyRelationshipBasicFutures =
-                getDefaultRelationshipResolvers().keySet().stream()
-                        .filter(this::isToManyRelationship)
-                        .filter(rel -> getToManyRelationshipResolvers().containsKey(rel) || getBatchToManyRelationshipResolvers().containsKey(rel))
-                        .collect(Collectors.toMap(
-                                rel -> rel,
-                                rel -> {
-                                    Principal principalCopy = AuthenticatedPrincipalContextHolder.copy();
-                                    return CompletableFuture.supplyAsync(
-                                            () -> {
-                                                AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principalCopy);
-                                                try {
-                                                    if (getToManyRelationshipResolvers().containsKey(rel)) {
-                                                        return getToManyRelationshipResolvers()
-                                                                .get(rel)
-                                                                .resolveRequestedData(request, dto);
-                                                    } else {
-                                                        Map<DATA_SOURCE_DTO, ToManyRelationshipObject> batchResult = getBatchToManyRelationshipResolvers()
-                                                                .get(rel)
-                                                                .resolveRequestedData(request, Collections.singletonList(dto));
-                                                        return MapUtils.emptyIfNull(batchResult).values().stream().findFirst().orElse(null);
-                                                    }
-                                                } catch (ResourceNotFoundException nfe) {
-                                                    return createToManyRelationshipsWithEmptyData(rel, request, dto);
-                                                }
-                                            },
-                                            executor
-                                    );
-                                }));
-
-        // to one relationship - basic resolvers
-        Map<RelationshipName, CompletableFuture<ToOneRelationshipObject>> toOneRelationshipBasicFutures =
-                getDefaultRelationshipResolvers().keySet().stream()
-                        .filter(this::isToOneRelationship)
-                        .filter(rel -> getToOneRelationshipResolvers().containsKey(rel) || getBatchToOneRelationshipResolvers().containsKey(rel))
-                        .collect(Collectors.toMap(
-                                rel -> rel,
-                                rel -> {
-                                    Principal principalCopy = AuthenticatedPrincipalContextHolder.copy();
-                                    return CompletableFuture.supplyAsync(
-                                            () -> {
-                                                AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(principalCopy);
-                                                try {
-                                                    if (getToOneRelationshipResolvers().containsKey(rel)) {
-                                                        return getToOneRelationshipResolvers()
-                                                                .get(rel)
-                                                                .resolveRequestedData(request, dto);
-                                                    } else {
-                                                        Map<DATA_SOURCE_DTO, ToOneRelationshipObject> batchResult = getBatchToOneRelationshipResolvers()
-                                                                .get(rel)
-                                                                .resolveRequestedData(request, Collections.singletonList(dto));
-                                                        return MapUtils.emptyIfNull(batchResult).values().stream().findFirst().orElse(null);
-                                                    }
-                                                } catch (ResourceNotFoundException nfe) {
-                                                    return createToOneRelationshipWithNullData(rel, request, dto);
-                                                }
-                                            },
-                                            executor
-                                    );
-                                }
-                        ));
-
-        return new SingleResourceRelationshipFutures(
-                toManyRelationshipBasicFutures,
-                toOneRelationshipBasicFutures
-        );
+        List<RelationshipName> toManyRelationships = getDefaultRelationshipResolvers().keySet().stream()
+                .filter(this::isToManyRelationship)
+                .filter(rel -> getToManyRelationshipResolvers().containsKey(rel) || getBatchToManyRelationshipResolvers().containsKey(rel))
+                .toList();
+        List<RelationshipName> toOneRelationships = getDefaultRelationshipResolvers().keySet().stream()
+                .filter(this::isToOneRelationship)
+                .filter(rel -> getToOneRelationshipResolvers().containsKey(rel) || getBatchToOneRelationshipResolvers().containsKey(rel))
+                .toList();
+        ToManyRelationshipObject[] toManyResults = new ToManyRelationshipObject[toManyRelationships.size()];
+        ToOneRelationshipObject[] toOneResults = new ToOneRelationshipObject[toOneRelationships.size()];
+
+        boolean async = executor != ResourceProcessorContext.DEFAULT_EXECUTOR;
+        boolean scoped = async || hasAsyncRelationshipResolvers();
+        try (TaskScope scope = scoped ? TaskScope.open(executor, relationshipsTimeout) : null) {
+            for (int i = 0; i < toManyRelationships.size(); i++) {
+                int idx = i;
+                RelationshipName rel = toManyRelationships.get(idx);
+                if (isAsyncToManyRelationship(rel)) {
+                    runAsync(scope, () -> resolveToManyRelationshipAsync(rel, request, dto).thenAccept(result -> toManyResults[idx] = result));
+                } else {
+                    run(scope, () -> toManyResults[idx] = resolveToManyRelationship(rel, request, dto));
+                }
+            }
+            for (int i = 0; i < toOneRelationships.size(); i++) {
+                int idx = i;
+                RelationshipName rel = toOneRelationships.get(idx);
+                if (isAsyncToOneRelationship(rel)) {
+                    runAsync(scope, () -> resolveToOneRelationshipAsync(rel, request, dto).thenAccept(result -> toOneResults[idx] = result));
+                } else {
+                    run(scope, () -> toOneResults[idx] = resolveToOneRelationship(rel, request, dto));
+                }
+            }
+            if (scope != null) {
+                scope.join();
+            }
+        }
+
+        Map<RelationshipName, ToManyRelationshipObject> toManyRelationshipResults = new HashMap<>();
+        for (int i = 0; i < toManyRelationships.size(); i++) {
+            toManyRelationshipResults.put(toManyRelationships.get(i), toManyResults[i]);
+        }
+        Map<RelationshipName, ToOneRelationshipObject> toOneRelationshipResults = new HashMap<>();
+        for (int i = 0; i < toOneRelationships.size(); i++) {
+            toOneRelationshipResults.put(toOneRelationships.get(i), toOneResults[i]);
+        }
+        return new SingleResourceRelationshipsData(toManyRelationshipResults, toOneRelationshipResults);
+    }
+
+    private ToManyRelationshipObject resolveToManyRelationship(RelationshipName rel,
+                                                               REQUEST request,
+                                                               DATA_SOURCE_DTO dto) {
+        try {
+            if (getToManyRelationshipResolvers().containsKey(rel)) {
+                return getToManyRelationshipResolvers()
+                        .get(rel)
+                        .resolveRequestedData(request, dto);
+            } else {
+                Map<DATA_SOURCE_DTO, ToManyRelationshipObject> batchResult = getBatchToManyRelationshipResolvers()
+                        .get(rel)
+                        .resolveRequestedData(request, Collections.singletonList(dto));
+                return MapUtils.emptyIfNull(batchResult).values().stream().findFirst().orElse(null);
+            }
+        } catch (ResourceNotFoundException nfe) {
+            return createToManyRelationshipsWithEmptyData(rel, request, dto);
+        }
+    }
+
+    private boolean isAsyncToManyRelationship(RelationshipName rel) {
+        return getToManyRelationshipResolvers().containsKey(rel)
+                ? isAsync(getToManyRelationshipResolvers().get(rel))
+                : isAsync(getBatchToManyRelationshipResolvers().get(rel));
+    }
+
+    private boolean isAsyncToOneRelationship(RelationshipName rel) {
+        return getToOneRelationshipResolvers().containsKey(rel)
+                ? isAsync(getToOneRelationshipResolvers().get(rel))
+                : isAsync(getBatchToOneRelationshipResolvers().get(rel));
+    }
+
+    private CompletionStage<ToManyRelationshipObject> resolveToManyRelationshipAsync(RelationshipName rel,
+                                                                                     REQUEST request,
+                                                                                     DATA_SOURCE_DTO dto) {
+        CompletionStage<ToManyRelationshipObject> stage;
+        if (getToManyRelationshipResolvers().get(rel) instanceof ToManyRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> resolver) {
+            stage = resolver.resolveRequestedDataAsync(request, dto);
+        } else {
+            BatchToManyRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> resolver
+                    = (BatchToManyRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO>) getBatchToManyRelationshipResolvers().get(rel);
+            stage = resolver.resolveRequestedDataAsync(request, Collections.singletonList(dto))
+                    .thenApply(batchResult -> MapUtils.emptyIfNull(batchResult).values().stream().findFirst().orElse(null));
+        }
+        return recoverNotFound(stage, () -> createToManyRelationshipsWithEmptyData(rel, request, dto));
+    }
+
+    private CompletionStage<ToOneRelationshipObject> resolveToOneRelationshipAsync(RelationshipName rel,
+                                                                                   REQUEST request,
+                                                                                   DATA_SOURCE_DTO dto) {
+        CompletionStage<ToOneRelationshipObject> stage;
+        if (getToOneRelationshipResolvers().get(rel) instanceof ToOneRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> resolver) {
+            stage = resolver.resolveRequestedDataAsync(request, dto);
+        } else {
+            BatchToOneRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO> resolver
+                    = (BatchToOneRelationshipResolver.Async<REQUEST, DATA_SOURCE_DTO>) getBatchToOneRelationshipResolvers().get(rel);
+            stage = resolver.resolveRequestedDataAsync(request, Collections.singletonList(dto))
+                    .thenApply(batchResult -> MapUtils.emptyIfNull(batchResult).values().stream().findFirst().orElse(null));
+        }
+        return recoverNotFound(stage, () -> createToOneRelationshipWithNullData(rel, request, dto));
+    }
+
+    private ToOneRelationshipObject resolveToOneRelationship(RelationshipName rel,
+                                                             REQUEST request,
+                                                             DATA_SOURCE_DTO dto) {
+        try {
+            if (getToOneRelationshipResolvers().containsKey(rel)) {
+                return getToOneRelationshipResolvers()
+                        .get(rel)
+                        .resolveRequestedData(request, dto);
+            } else {
+                Map<DATA_SOURCE_DTO, ToOneRelationshipObject> batchResult = getBatchToOneRelationshipResolvers()
+                        .get(rel)
+                        .resolveRequestedData(request, Collections.singletonList(dto));
+                return MapUtils.emptyIfNull(batchResult).values().stream().findFirst().orElse(null);
+            }
+        } catch (ResourceNotFoundException nfe) {
+            return createToOneRelationshipWithNullData(rel, request, dto);
+        }
     }
 
-    private Map<RelationshipName, ToOneRelationshipObject> resolveToOneRelationships(Map<RelationshipName, CompletableFuture<ToOneRelationshipObject>> futures,
+    private Map<RelationshipName, ToOneRelationshipObject> resolveToOneRelationships(Map<RelationshipName, ToOneRelationshipObject> results,
                                                                                   REQUEST request,
                                                                                   DATA_SOURCE_DTO dto) {
         return getDefaultRelationshipResolvers().keySet()
@@ -175,9 +259,9 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
                 .collect(CustomCollectors.toMapThatSupportsNullValues(
                         relName -> relName,
                         relName -> {
-                            if (futures.containsKey(relName)) {
+                            if (results.containsKey(relName)) {
                                 log.debug("Processing '{}' relationship. Relationship was requested in 'include'. Simple To-one-relationship resolver is found. Executing.", relName);
-                                return futures.get(relName).join();
+                                return results.get(relName);
                             } else {
                                 log.debug("Processing '{}' relationship. Relationship wasn't requested in 'include'. To-one-relationship resolvers is not invoking. Relying on the default relationship resolver.", relName);
                                 return createToOneRelationshipWithNullData(relName, request, dto);
@@ -187,7 +271,7 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
     }
 
     private Map<RelationshipName, ToManyRelationshipObject> resolveToManyRelationships(
-            Map<RelationshipName, CompletableFuture<ToManyRelationshipObject>> futures,
+            Map<RelationshipName, ToManyRelationshipObject> results,
             REQUEST request,
             DATA_SOURCE_DTO dto
     ) {
@@ -197,9 +281,9 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
                 .collect(CustomCollectors.toMapThatSupportsNullValues(
                         relName -> relName,
                         relName -> {
-                            if (futures.containsKey(relName)) {
+                            if (results.containsKey(relName)) {
                                 log.debug("Processing '{}' relationship. Relationship was requested in 'include'. Simple To-many-relationship resolver is found. Executing.", relName);
-                                return futures.get(relName).join();
+                                return results.get(relName);
                             } else {
                                 log.debug("Processing '{}' relationship. Relationship wasn't requested in 'include'. To-many-relationship resolvers is not invoking. Relying on the default relationship resolver.", relName);
                                 return createToManyRelationshipsWithNullData(relName, request, dto);
@@ -208,9 +292,9 @@ public class SingleResourceJsonApiMembersResolver<REQUEST, DATA_SOURCE_DTO, ATTR
                 ));
     }
 
-    record SingleResourceRelationshipFutures(
-            Map<RelationshipName, CompletableFuture<ToManyRelationshipObject>> toManyRelationshipBasicFutures,
-            Map<RelationshipName, CompletableFuture<ToOneRelationshipObject>> toOneRelationshipBasicFutures) {
+    record SingleResourceRelationshipsData(
+            Map<RelationshipName, ToManyRelationshipObject> toManyRelationshipResults,
+            Map<RelationshipName, ToOneRelationshipObject> toOneRelationshipResults) {
     }
 
 }
@@ -6,6 +6,7 @@ import pro.api4.jsonapi4j.processor.ResourceProcessorContext;
 import pro.api4.jsonapi4j.processor.ResourceProcessorContext.ResourceProcessorContextBuilder;
 import pro.api4.jsonapi4j.processor.single.SingleDataItemSupplier;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -39,6 +40,24 @@ public class SingleResourceProcessorConfigurationStage<REQUEST> {
         return this;
     }
 
+    /**
+     * Optional. Only makes sense together with {@link #concurrentRelationshipResolution(Executor)}. Sets the deadline
+     * for all relationship resolvers of the request. Once it's exceeded the unfinished resolvers are cancelled
+     * (interrupted) and {@link pro.api4.jsonapi4j.exception.DeadlineExceededException} is thrown. If one of the
+     * resolvers fails all its siblings are cancelled regardless of this setting.
+     * <p/>
+     * No deadline by default.
+     *
+     * @param relationshipsTimeout deadline, <code>null</code> or zero means no deadline
+     * @return self link
+     */
+    public SingleResourceProcessorConfigurationStage<REQUEST> relationshipsTimeout(
+            Duration relationshipsTimeout
+    ) {
+        this.processorContextBuilder = this.processorContextBuilder.relationshipsTimeout(relationshipsTimeout);
+        return this;
+    }
+
     public SingleResourceProcessorConfigurationStage<REQUEST> plugins(List<PluginSettings> plugins) {
         this.processorContextBuilder = this.processorContextBuilder.plugins(plugins);
         return this;
@@ -14,7 +14,7 @@ import pro.api4.jsonapi4j.plugin.SingleResourceVisitors.DataPreRetrievalPhase;
 import pro.api4.jsonapi4j.plugin.SingleResourceVisitors.RelationshipsPostRetrievalPhase;
 import pro.api4.jsonapi4j.plugin.SingleResourceVisitors.RelationshipsPreRetrievalPhase;
 import pro.api4.jsonapi4j.plugin.context.SingleResourceVisitorContext;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 import pro.api4.jsonapi4j.processor.*;
 import pro.api4.jsonapi4j.processor.single.SingleDataItemSupplier;
 import pro.api4.jsonapi4j.util.CustomCollectors;
@@ -44,7 +44,8 @@ public class SingleResourceTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> {
         this.jsonApiContext = jsonApiContext;
         this.jsonApiMembersResolver = new SingleResourceJsonApiMembersResolver<>(
                 jsonApiContext,
-                processorContext.getExecutor()
+                processorContext.getExecutor(),
+                processorContext.getRelationshipsTimeout()
         );
     }
 
@@ -240,7 +241,7 @@ public class SingleResourceTerminalStage<REQUEST, DATA_SOURCE_DTO, ATTRIBUTES> {
         );
 
         // set relationships
-        ReflectionUtils.setFieldValueThrowing(doc.getData(), ResourceObject.RELATIONSHIPS_FIELD, relationships);
+        FieldAccessors.setValue(doc.getData(), ResourceObject.RELATIONSHIPS_FIELD, relationships);
 
         // PHASE: onRelationshipsPostRetrieval
         for (PluginSettings plugin : plugins) {
@@ -0,0 +1,196 @@
+package pro.api4.jsonapi4j;
+
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.domain.DomainRegistry;
+import pro.api4.jsonapi4j.domain.Relationship;
+import pro.api4.jsonapi4j.domain.RelationshipName;
+import pro.api4.jsonapi4j.domain.Resource;
+import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.domain.ToManyRelationship;
+import pro.api4.jsonapi4j.domain.ToOneRelationship;
+import pro.api4.jsonapi4j.domain.annotation.JsonApiRelationship;
+import pro.api4.jsonapi4j.domain.annotation.JsonApiResource;
+import pro.api4.jsonapi4j.operation.BatchReadToManyRelationshipOperation;
+import pro.api4.jsonapi4j.operation.Operation;
+import pro.api4.jsonapi4j.operation.OperationsRegistry;
+import pro.api4.jsonapi4j.operation.ReadResourceByIdOperation;
+import pro.api4.jsonapi4j.operation.ReadToOneRelationshipOperation;
+import pro.api4.jsonapi4j.operation.RegisteredOperation;
+import pro.api4.jsonapi4j.operation.annotation.JsonApiRelationshipOperation;
+import pro.api4.jsonapi4j.operation.annotation.JsonApiResourceOperation;
+import pro.api4.jsonapi4j.plugin.JsonApi4jPlugin;
+import pro.api4.jsonapi4j.plugin.PluginSettings;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExecutionPlansTests {
+
+    private static final ResourceType FOO = new ResourceType("foo");
+
+    @Test
+    public void compile_pluginChainIsSortedFilteredAndBound() {
+        // given
+        TestPlugin low = new TestPlugin("low", JsonApi4jPlugin.LOW_PRECEDENCE, true);
+        TestPlugin disabled = new TestPlugin("disabled", JsonApi4jPlugin.HIGHEST_PRECEDENCE, false);
+        TestPlugin high = new TestPlugin("high", JsonApi4jPlugin.HIGH_PRECEDENCE, true);
+        List<JsonApi4jPlugin> plugins = List.of(low, disabled, high);
+        DomainRegistry domainRegistry = domainRegistry(plugins);
+        OperationsRegistry operationsRegistry = operationsRegistry(plugins);
+
+        // when
+        ExecutionPlans sut = ExecutionPlans.compile(plugins, domainRegistry, operationsRegistry);
+
+        // then
+        RegisteredOperation<ReadToOneRelationshipOperation<?, ?>> readToOne
+                = operationsRegistry.getRegisteredReadToOneRelationshipOperation(FOO, new RelationshipName("to1"), true);
+        List<PluginSettings> pluginSettings = sut.getPluginSettings(readToOne, domainRegistry.getResource(FOO), null);
+        assertThat(pluginSettings).extracting(PluginSettings::getPlugin).containsExactly(high, low);
+        assertThat(pluginSettings.getFirst().getInfo().getOperationPluginInfo()).isEqualTo("high-operation");
+        assertThat(pluginSettings.getFirst().getInfo().getResourcePluginInfo()).isEqualTo("high-resource");
+        assertThat(pluginSettings.getFirst().getInfo().getRelationshipPluginInfo()).isEqualTo("high-relationship");
+        assertThat(sut.getPluginSettings(readToOne, domainRegistry.getResource(FOO), null)).isSameAs(pluginSettings);
+    }
+
+    @Test
+    public void compile_relationshipsAreSplitByHowTheyAreRead() {
+        // given
+        DomainRegistry domainRegistry = domainRegistry(List.of());
+        OperationsRegistry operationsRegistry = operationsRegistry(List.of());
+
+        // when
+        ExecutionPlans sut = ExecutionPlans.compile(List.of(), domainRegistry, operationsRegistry);
+
+        // then
+        ExecutionPlans.ResourcePlan resourcePlan = sut.getResourcePlan(FOO);
+        assertThat(resourcePlan.getRegisteredResource().getResourceType()).isEqualTo(FOO);
+        assertThat(resourcePlan.getToOneRelationships()).extracting(r -> r.getRelationshipName().getName()).containsExactly("to1");
+        assertThat(resourcePlan.getBatchToOneRelationships()).isEmpty();
+        assertThat(resourcePlan.getToManyRelationships()).isEmpty();
+        assertThat(resourcePlan.getBatchToManyRelationships()).extracting(r -> r.getRelationshipName().getName()).containsExactly("to2");
+        assertThat(sut.getResourcePlan(new ResourceType("non-existing"))).isNull();
+    }
+
+    @Test
+    public void forResourceType_registeredTypeIsBoundOnce() {
+        // given
+        JsonApi4j sut = JsonApi4j.builder()
+                .domainRegistry(domainRegistry(List.of()))
+                .operationsRegistry(operationsRegistry(List.of()))
+                .build();
+
+        // when - then
+        assertThat(sut.forResourceType(FOO)).isSameAs(sut.forResourceType(FOO));
+        assertThat(sut.forResourceType(new ResourceType("non-existing")))
+                .isNotSameAs(sut.forResourceType(new ResourceType("non-existing")));
+    }
+
+    private static DomainRegistry domainRegistry(List<JsonApi4jPlugin> plugins) {
+        return DomainRegistry.builder(plugins)
+                .resource(new TestFooResource())
+                .relationship(new TestToOneRelationship())
+                .relationship(new TestToManyRelationship())
+                .build();
+    }
+
+    private static OperationsRegistry operationsRegistry(List<JsonApi4jPlugin> plugins) {
+        return OperationsRegistry.builder(plugins)
+                .operation(new TestReadByIdOperation())
+                .operation(new TestToOneRelationshipOperation())
+                .operation(new TestBatchToManyRelationshipOperation())
+                .build();
+    }
+
+    private record TestPlugin(String pluginName, int precedence, boolean enabled) implements JsonApi4jPlugin {
+
+        @Override
+        public Object extractPluginInfoFromOperation(Operation operation, Class<?> operationClass) {
+            return pluginName + "-operation";
+        }
+
+        @Override
+        public Object extractPluginInfoFromResource(Resource<?> resource) {
+            return pluginName + "-resource";
+        }
+
+        @Override
+        public Object extractPluginInfoFromRelationship(Relationship<?> relationship) {
+            return pluginName + "-relationship";
+        }
+    }
+
+    @JsonApiResource(resourceType = "foo")
+    private static class TestFooResource implements Resource<String> {
+
+        @Override
+        public String resolveResourceId(String dataSourceDto) {
+            return dataSourceDto;
+        }
+    }
+
+    @JsonApiRelationship(relationshipName = "to1", parentResource = TestFooResource.class)
+    private static class TestToOneRelationship implements ToOneRelationship<String> {
+
+        @Override
+        public String resolveResourceIdentifierType(String s) {
+            return "foo";
+        }
+
+        @Override
+        public String resolveResourceIdentifierId(String s) {
+            return s;
+        }
+    }
+
+    @JsonApiRelationship(relationshipName = "to2", parentResource = TestFooResource.class)
+    private static class TestToManyRelationship implements ToManyRelationship<String> {
+
+        @Override
+        public String resolveResourceIdentifierType(String s) {
+            return "foo";
+        }
+
+        @Override
+        public String resolveResourceIdentifierId(String s) {
+            return s;
+        }
+    }
+
+    @JsonApiResourceOperation(resource = TestFooResource.class)
+    private static class TestReadByIdOperation implements ReadResourceByIdOperation<String> {
+
+        @Override
+        public String readById(JsonApiRequest request) {
+            return request.getResourceId();
+        }
+    }
+
+    @JsonApiRelationshipOperation(relationship = TestToOneRelationship.class)
+    private static class TestToOneRelationshipOperation implements ReadToOneRelationshipOperation<String, String> {
+
+        @Override
+        public String readOne(JsonApiRequest relationshipRequest) {
+            return relationshipRequest.getResourceId();
+        }
+    }
+
+    @JsonApiRelationshipOperation(relationship = TestToManyRelationship.class)
+    private static class TestBatchToManyRelationshipOperation implements BatchReadToManyRelationshipOperation<String, String> {
+
+        @Override
+        public Map<String, PaginationAwareResponse<String>> readBatches(JsonApiRequest originalRequest,
+                                                                        List<String> resourceDtos) {
+            return Map.of();
+        }
+
+        @Override
+        public PaginationAwareResponse<String> readMany(JsonApiRequest relationshipRequest) {
+            return PaginationAwareResponse.empty();
+        }
+    }
+
+}
@@ -9,11 +9,13 @@ import pro.api4.jsonapi4j.operation.annotation.JsonApiResourceOperation;
 import pro.api4.jsonapi4j.operation.exception.OperationNotFoundException;
 import pro.api4.jsonapi4j.operation.exception.OperationsMisconfigurationException;
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+import pro.api4.jsonapi4j.response.PaginationAwareStream;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
 
 import java.util.Collections;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -208,6 +210,22 @@ public class OperationsRegistryTests {
         assertThatThrownBy(() -> sut.getRegisteredDeleteToManyRelationshipOperation(new ResourceType("non-existing"), toManyRelationship,true)).isInstanceOf(OperationNotFoundException.class);
         assertThatThrownBy(() -> sut.getRegisteredDeleteToManyRelationshipOperation(fooResource, toOneRelationship,true)).isInstanceOf(OperationNotFoundException.class);
     }
+
+    @Test
+    public void streamingReadMultipleResources_registeredAsReadMultipleResources() {
+        // given
+        TestStreamingReadMultipleResourcesOperation streamingOperation = new TestStreamingReadMultipleResourcesOperation();
+
+        // when
+        OperationsRegistry sut = OperationsRegistry.builder(Collections.emptyList())
+                .operation(streamingOperation)
+                .build();
+
+        // then
+        assertThat(sut.getRegisteredReadMultipleResourcesOperation(new ResourceType("foo"), true))
+                .extracting(RegisteredOperation::getOperation)
+                .isEqualTo(streamingOperation);
+    }
     
     @JsonApiResource(resourceType = "foo")
     private static class TestFooResource implements Resource<String> {
@@ -302,6 +320,16 @@ public class OperationsRegistryTests {
 
     }
 
+    @JsonApiResourceOperation(resource = TestFooResource.class)
+    private static class TestStreamingReadMultipleResourcesOperation implements StreamingReadMultipleResourcesOperation<String> {
+
+        @Override
+        public PaginationAwareStream<String> readPageStream(JsonApiRequest request) {
+            return PaginationAwareStream.fromItemsNotPageable(Stream.empty());
+        }
+
+    }
+
     @JsonApiResourceOperation(resource = TestFooResource.class)
     private static class TestCreateResourceOperation implements CreateResourceOperation<String> {
 
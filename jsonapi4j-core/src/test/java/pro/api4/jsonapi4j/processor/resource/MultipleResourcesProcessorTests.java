@@ -9,6 +9,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import pro.api4.jsonapi4j.domain.RelationshipName;
 import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.exception.DeadlineExceededException;
+import pro.api4.jsonapi4j.exception.ResourceNotFoundException;
 import pro.api4.jsonapi4j.model.document.LinksObject;
 import pro.api4.jsonapi4j.model.document.data.*;
 import pro.api4.jsonapi4j.processor.IdAndType;
@@ -19,9 +21,24 @@ import pro.api4.jsonapi4j.processor.resolvers.ToManyRelationshipResolver;
 import pro.api4.jsonapi4j.processor.resolvers.ToOneRelationshipResolver;
 import pro.api4.jsonapi4j.request.IncludeAwareRequest;
 import pro.api4.jsonapi4j.response.PaginationAwareResponse;
+import pro.api4.jsonapi4j.response.PaginationAwareStream;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -278,6 +295,343 @@ public class MultipleResourcesProcessorTests {
         verify(barsRelSupplier, never()).resolveRequestedData(any(), any());
     }
 
+    @Test
+    public void multipleResourcesWithRelationships_concurrentResolution_basicResolversChunked() {
+        // given
+        List<Dto> dtos = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new Dto(String.valueOf(i), "name" + i))
+                .toList();
+        when(ds.get(REQUEST_ALL_INCLUDES)).thenReturn(PaginationAwareResponse.fromItemsNotPageable(dtos));
+        AtomicInteger submittedTasks = new AtomicInteger();
+
+        // when
+        MultipleResourcesDoc<?> result;
+        try (ExecutorService executorService = Executors.newFixedThreadPool(4)) {
+            result = new MultipleResourcesProcessor()
+                    .forRequest(REQUEST_ALL_INCLUDES)
+                    .concurrentRelationshipResolution(task -> {
+                        submittedTasks.incrementAndGet();
+                        executorService.execute(task);
+                    })
+                    .relationshipsChunkSize(2)
+                    .dataSupplier(ds)
+                    .defaultRelationships(all(SILVER, dto -> String.valueOf(dto.getId()), new RelationshipName[]{FOO, BARS}))
+                    .toOneRelationshipResolver(FOO, (req, dto) -> new ToOneRelationshipObject(
+                            new ResourceIdentifierObject("foo-" + dto.getId(), null, FOO.getName(), null),
+                            null,
+                            null
+                    ))
+                    .toManyRelationshipResolver(BARS, (req, dto) -> new ToManyRelationshipObject(
+                            List.of(new ResourceIdentifierObject("bar-" + dto.getId(), null, BARS.getName(), null)),
+                            null,
+                            null
+                    ))
+                    .attributesResolver(dto -> new Attributes(dto.getId(), dto.getName()))
+                    .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                    .toMultipleResourcesDoc();
+        }
+
+        // then - 3 chunks per relationship instead of 5 tasks
+        assertThat(submittedTasks.get()).isEqualTo(6);
+        assertThat(result.getData()).hasSize(5);
+        for (ResourceObject<?, ?> resource : result.getData()) {
+            Map<?, ?> relationships = (Map<?, ?>) resource.getRelationships();
+            assertThat(((ToOneRelationshipObject) relationships.get(FOO.getName())).getData().getId())
+                    .isEqualTo("foo-" + resource.getId());
+            assertThat(((ToManyRelationshipObject) relationships.get(BARS.getName())).getData().get(0).getId())
+                    .isEqualTo("bar-" + resource.getId());
+        }
+    }
+
+    @Test
+    public void multipleResourcesWithRelationships_defaultExecutor_resolvedInCallingThread() {
+        // given
+        when(ds.get(REQUEST_ALL_INCLUDES)).thenReturn(PaginationAwareResponse.fromItemsNotPageable(List.of(DTO_1, DTO_2)));
+        when(attributesResolver.resolveAttributes(any())).thenReturn(ATTRIBUTES_1);
+        Thread callingThread = Thread.currentThread();
+        List<Thread> resolverThreads = new CopyOnWriteArrayList<>();
+
+        // when
+        new MultipleResourcesProcessor()
+                .forRequest(REQUEST_ALL_INCLUDES)
+                .dataSupplier(ds)
+                .defaultRelationships(all(SILVER, dto -> String.valueOf(dto.getId()), new RelationshipName[]{FOO, BARS}))
+                .toOneRelationshipResolver(FOO, (req, dto) -> {
+                    resolverThreads.add(Thread.currentThread());
+                    return new ToOneRelationshipObject(null, null, null);
+                })
+                .toManyRelationshipResolver(BARS, (req, dto) -> {
+                    resolverThreads.add(Thread.currentThread());
+                    return new ToManyRelationshipObject(List.of(), null, null);
+                })
+                .attributesResolver(attributesResolver)
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .toMultipleResourcesDoc();
+
+        // then
+        assertThat(resolverThreads).hasSize(4).containsOnly(callingThread);
+    }
+
+    @Test
+    public void multipleResourcesWithRelationships_resolverFails_siblingsCancelled() throws Exception {
+        // given
+        when(ds.get(REQUEST_ALL_INCLUDES)).thenReturn(PaginationAwareResponse.fromItemsNotPageable(List.of(DTO_1)));
+        CountDownLatch slowResolverStarted = new CountDownLatch(1);
+        AtomicBoolean slowResolverInterrupted = new AtomicBoolean();
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThatThrownBy(() -> new MultipleResourcesProcessor()
+                    .forRequest(REQUEST_ALL_INCLUDES)
+                    .concurrentRelationshipResolution(executor)
+                    .dataSupplier(ds)
+                    .defaultRelationships(all(SILVER, dto -> String.valueOf(dto.getId()), new RelationshipName[]{FOO, BARS}))
+                    .toOneRelationshipResolver(FOO, (req, dto) -> {
+                        slowResolverStarted.countDown();
+                        try {
+                            Thread.sleep(10_000L);
+                        } catch (InterruptedException e) {
+                            slowResolverInterrupted.set(true);
+                        }
+                        return new ToOneRelationshipObject(null, null, null);
+                    })
+                    .toManyRelationshipResolver(BARS, (req, dto) -> {
+                        awaitQuietly(slowResolverStarted);
+                        throw new IllegalStateException("downstream is down");
+                    })
+                    .attributesResolver(attributesResolver)
+                    .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                    .toMultipleResourcesDoc()
+            ).isInstanceOf(IllegalStateException.class).hasMessage("downstream is down");
+        }
+
+        // then
+        assertThat(slowResolverInterrupted).isTrue();
+    }
+
+    @Test
+    public void multipleResourcesWithRelationships_timeoutExceeded_checkThrowsDeadlineExceededException() {
+        // given
+        when(ds.get(REQUEST_ALL_INCLUDES)).thenReturn(PaginationAwareResponse.fromItemsNotPageable(List.of(DTO_1)));
+
+        // when/then
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThatThrownBy(() -> new MultipleResourcesProcessor()
+                    .forRequest(REQUEST_ALL_INCLUDES)
+                    .concurrentRelationshipResolution(executor)
+                    .relationshipsTimeout(Duration.ofMillis(50))
+                    .dataSupplier(ds)
+                    .defaultRelationships(all(SILVER, dto -> String.valueOf(dto.getId()), new RelationshipName[]{FOO, BARS}))
+                    .toOneRelationshipResolver(FOO, (req, dto) -> new ToOneRelationshipObject(null, null, null))
+                    .toManyRelationshipResolver(BARS, (req, dto) -> {
+                        awaitQuietly(new CountDownLatch(1));
+                        return new ToManyRelationshipObject(List.of(), null, null);
+                    })
+                    .attributesResolver(attributesResolver)
+                    .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                    .toMultipleResourcesDoc()
+            ).isInstanceOf(DeadlineExceededException.class)
+                    .satisfies(e -> assertThat(((DeadlineExceededException) e).getHttpStatus()).isEqualTo(504));
+        }
+    }
+
+    @Test
+    public void multipleResourcesWithRelationships_asyncResolvers_allDownstreamCallsInFlightAtOnce() {
+        // given
+        when(ds.get(REQUEST_ALL_INCLUDES)).thenReturn(PaginationAwareResponse.fromItemsNotPageable(List.of(DTO_1, DTO_2)));
+        List<CompletableFuture<Void>> downstreamCalls = new CopyOnWriteArrayList<>();
+        ToOneRelationshipResolver.Async<Request, Dto> fooResolver = (req, dto) -> {
+            CompletableFuture<Void> call = new CompletableFuture<>();
+            downstreamCalls.add(call);
+            return call.thenApply(ignored -> new ToOneRelationshipObject(
+                    new ResourceIdentifierObject("foo-" + dto.getId(), null, FOO.getName(), null),
+                    null,
+                    null
+            ));
+        };
+        ToManyRelationshipResolver.Async<Request, Dto> barsResolver = (req, dto) -> {
+            CompletableFuture<Void> call = new CompletableFuture<>();
+            downstreamCalls.add(call);
+            return call.thenApply(ignored -> {
+                throw new ResourceNotFoundException(dto.getId(), SILVER);
+            });
+        };
+        // downstream responds only once all 4 calls have been sent
+        CompletableFuture.runAsync(() -> {
+            while (downstreamCalls.size() < 4) {
+                Thread.onSpinWait();
+            }
+            downstreamCalls.forEach(call -> call.complete(null));
+        });
+
+        // when
+        MultipleResourcesDoc<?> result = new MultipleResourcesProcessor()
+                .forRequest(REQUEST_ALL_INCLUDES)
+                .relationshipsTimeout(Duration.ofSeconds(10))
+                .dataSupplier(ds)
+                .defaultRelationships(all(SILVER, dto -> String.valueOf(dto.getId()), new RelationshipName[]{FOO, BARS}))
+                .toOneRelationshipResolver(FOO, fooResolver)
+                .toManyRelationshipResolver(BARS, barsResolver)
+                .attributesResolver(dto -> new Attributes(dto.getId(), dto.getName()))
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .toMultipleResourcesDoc();
+
+        // then
+        assertThat(result.getData()).hasSize(2);
+        for (ResourceObject<?, ?> resource : result.getData()) {
+            Map<?, ?> relationships = (Map<?, ?>) resource.getRelationships();
+            assertThat(((ToOneRelationshipObject) relationships.get(FOO.getName())).getData().getId())
+                    .isEqualTo("foo-" + resource.getId());
+            assertThat(((ToManyRelationshipObject) relationships.get(BARS.getName())).getData()).isEmpty();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void relationshipsChunkSize_nonPositive_checkThrowsIllegalArgumentException() {
+        // when/then
+        assertThatThrownBy(() -> new MultipleResourcesProcessor()
+                .forRequest(REQUEST_NO_INCLUDES)
+                .relationshipsChunkSize(0)
+        ).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // --- Streaming ---
+
+    @Test
+    public void streamSupplier_windowsComposedLazily_batchResolverInvokedPerWindow() {
+        // given
+        List<Dto> dtos = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new Dto(String.valueOf(i), "name" + i))
+                .toList();
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        // when
+        MultipleResourcesStreamDoc<?> result = new MultipleResourcesProcessor()
+                .forRequest(REQUEST_ALL_INCLUDES)
+                .streamSupplier(
+                        req -> PaginationAwareStream.fromItemsNotPageable(dtos.stream().onClose(() -> streamClosed.set(true))),
+                        2
+                )
+                .defaultRelationships(all(SILVER, dto -> String.valueOf(dto.getId()), new RelationshipName[]{BARS}))
+                .batchToManyRelationshipResolver(BARS, (req, window) -> {
+                    batchSizes.add(window.size());
+                    return window.stream().collect(Collectors.toMap(
+                            dto -> dto,
+                            dto -> new ToManyRelationshipObject(List.of(), null, null)
+                    ));
+                })
+                .attributesResolver(dto -> new Attributes(dto.getId(), dto.getName()))
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .toMultipleResourcesStreamDoc();
+
+        // then
+        assertThat(batchSizes).isEmpty();
+        List<String> ids = new ArrayList<>();
+        Iterator<? extends List<? extends ResourceObject<?, ?>>> windows = result.getWindows();
+        while (windows.hasNext()) {
+            for (ResourceObject<?, ?> resource : windows.next()) {
+                assertThat(resource.getRelationships()).isNotNull();
+                ids.add(resource.getId());
+            }
+        }
+        assertThat(ids).containsExactly("1", "2", "3", "4", "5");
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+        assertThat(streamClosed).isFalse();
+        result.close();
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    public void streamSupplier_topLevelLinksResolvedAtEndOfStream() {
+        // given
+        AtomicInteger consumed = new AtomicInteger();
+        Stream<Dto> dtos = Stream.of(DTO_1, DTO_2).peek(dto -> consumed.incrementAndGet());
+
+        // when
+        MultipleResourcesStreamDoc<?> result = new MultipleResourcesProcessor()
+                .forRequest(REQUEST_NO_INCLUDES)
+                .streamSupplier(req -> PaginationAwareStream.cursorAware(dtos, () -> "next-after-" + consumed.get()), 1)
+                .topLevelLinksResolver((req, items, ctx) -> {
+                    assertThat(items).isNull();
+                    return LinksObject.builder().next(ctx.getNextCursor()).build();
+                })
+                .attributesResolver(attributesResolver)
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .toMultipleResourcesStreamDoc();
+        result.getWindows().forEachRemaining(window -> assertThat(window).hasSize(1));
+
+        // then
+        assertThat(result.getLinks()).isEqualTo(LinksObject.builder().next("next-after-2").build());
+        verify(attributesResolver, times(1)).resolveAttributes(DTO_1);
+        verify(attributesResolver, times(1)).resolveAttributes(DTO_2);
+    }
+
+    @Test
+    public void streamSupplier_jsonapiTakenFromComposedDocs() {
+        // given
+        JsonApiObject jsonapi = new JsonApiObject("1.1", null, null, null);
+
+        // when
+        MultipleResourcesStreamDoc<?> result = new MultipleResourcesProcessor()
+                .forRequest(REQUEST_NO_INCLUDES)
+                .streamSupplier(req -> PaginationAwareStream.fromItemsNotPageable(Stream.of(DTO_1, DTO_2)), 1)
+                .attributesResolver(attributesResolver)
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .<Object, ResourceObject<Attributes, Object>, MultipleResourcesDoc<ResourceObject<Attributes, Object>>>toMultipleResourcesStreamDoc(
+                        (toMany, toOne) -> toMany,
+                        (id, type, att, rel, links, meta) -> new ResourceObject<>(id, null, type, att, rel, links, meta),
+                        (data, links, meta) -> new MultipleResourcesDoc<>(data, links, meta, null, jsonapi)
+                );
+        result.getWindows().forEachRemaining(window -> assertThat(window).hasSize(1));
+
+        // then
+        assertThat(result.getJsonapi()).isSameAs(jsonapi);
+    }
+
+    @Test
+    public void streamSupplier_toMultipleResourcesDoc_consumesWholeStream() {
+        // when
+        MultipleResourcesDoc<?> result = new MultipleResourcesProcessor()
+                .forRequest(REQUEST_NO_INCLUDES)
+                .streamSupplier(req -> PaginationAwareStream.limitOffsetAware(Stream.of(DTO_1, DTO_2), 10), 1)
+                .attributesResolver(attributesResolver)
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .toMultipleResourcesDoc();
+
+        // then
+        assertThat(result.getData()).extracting(ResourceObject::getId).containsExactly(ID_1, ID_2);
+    }
+
+    @Test
+    public void streamDocWithoutStreamSupplier_checkThrowsIllegalStateException() {
+        // when/then
+        assertThatThrownBy(() -> new MultipleResourcesProcessor()
+                .forRequest(REQUEST_NO_INCLUDES)
+                .dataSupplier(ds)
+                .attributesResolver(attributesResolver)
+                .resourceTypeAndIdResolver(dto -> new IdAndType(dto.getId(), SILVER))
+                .toMultipleResourcesStreamDoc()
+        ).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void streamWindowSize_nonPositive_checkThrowsIllegalArgumentException() {
+        // when/then
+        assertThatThrownBy(() -> new MultipleResourcesProcessor()
+                .forRequest(REQUEST_NO_INCLUDES)
+                .streamSupplier(req -> PaginationAwareStream.fromItemsNotPageable(Stream.of(DTO_1)), 0)
+        ).isInstanceOf(IllegalArgumentException.class);
+    }
+
     // --- Validation ---
 
     @Test
@@ -13,7 +13,7 @@ import pro.api4.jsonapi4j.operation.OperationType;
 import pro.api4.jsonapi4j.plugin.MultipleResourcesVisitors;
 import pro.api4.jsonapi4j.plugin.ac.model.AccessControlModel;
 import pro.api4.jsonapi4j.plugin.context.MultipleResourcesVisitorContext;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 import pro.api4.jsonapi4j.processor.IdAndType;
 
 import java.util.ArrayList;
@@ -104,7 +104,7 @@ public class AccessControlMultipleResourcesVisitors implements MultipleResources
         }
 
         // data
-        ReflectionUtils.setFieldValueThrowing(doc, ToManyRelationshipsDoc.DATA_FIELD, anonymizedData);
+        FieldAccessors.setValue(doc, ToManyRelationshipsDoc.DATA_FIELD, anonymizedData);
 
         // top-level links
         LinksObject docLinks = ctx.getJsonApiContext().getTopLevelLinksResolver().resolve(
@@ -112,7 +112,7 @@ public class AccessControlMultipleResourcesVisitors implements MultipleResources
                 nonAnonymizedDtos,
                 ctx.getPaginationAwareResponse().getPaginationContext()
         );
-        ReflectionUtils.setFieldValueThrowing(doc, ToManyRelationshipsDoc.LINKS_FIELD, docLinks);
+        FieldAccessors.setValue(doc, ToManyRelationshipsDoc.LINKS_FIELD, docLinks);
 
         // top-level meta
         Object docMeta = ctx.getJsonApiContext().getTopLevelMetaResolver().resolve(
@@ -120,7 +120,7 @@ public class AccessControlMultipleResourcesVisitors implements MultipleResources
                 nonAnonymizedDtos,
                 ctx.getPaginationAwareResponse().getPaginationContext()
         );
-        ReflectionUtils.setFieldValueThrowing(doc, ToManyRelationshipsDoc.META_FIELD, docMeta);
+        FieldAccessors.setValue(doc, ToManyRelationshipsDoc.META_FIELD, docMeta);
 
         return RelationshipsPreRetrievalPhase.mutatedDoc(doc);
     }
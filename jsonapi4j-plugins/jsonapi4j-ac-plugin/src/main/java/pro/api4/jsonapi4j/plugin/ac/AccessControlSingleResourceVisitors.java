@@ -10,7 +10,7 @@ import pro.api4.jsonapi4j.operation.OperationType;
 import pro.api4.jsonapi4j.plugin.SingleResourceVisitors;
 import pro.api4.jsonapi4j.plugin.ac.model.AccessControlModel;
 import pro.api4.jsonapi4j.plugin.context.SingleResourceVisitorContext;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 
 import static pro.api4.jsonapi4j.plugin.ac.AccessControlEvaluator.anonymizeObjectIfNeeded;
 import static pro.api4.jsonapi4j.plugin.ac.AccessControlVisitorsUtils.getInboundAccessControlModel;
@@ -86,11 +86,11 @@ public class AccessControlSingleResourceVisitors implements SingleResourceVisito
         }
 
         if (anonymizationResult.isFullyAnonymized()) {
-            ReflectionUtils.setFieldValueThrowing(doc, SingleResourceDoc.DATA_FIELD, null);
+            FieldAccessors.setValue(doc, SingleResourceDoc.DATA_FIELD, null);
             return RelationshipsPreRetrievalPhase.returnDoc(doc);
         }
 
-        ReflectionUtils.setFieldValueThrowing(doc, SingleResourceDoc.DATA_FIELD, anonymizationResult.targetObject());
+        FieldAccessors.setValue(doc, SingleResourceDoc.DATA_FIELD, anonymizationResult.targetObject());
         return RelationshipsPreRetrievalPhase.mutatedDoc(doc);
     }
 
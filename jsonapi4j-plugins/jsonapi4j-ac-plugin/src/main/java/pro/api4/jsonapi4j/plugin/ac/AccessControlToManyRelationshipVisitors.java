@@ -14,7 +14,7 @@ import pro.api4.jsonapi4j.plugin.ToManyRelationshipVisitors;
 import pro.api4.jsonapi4j.plugin.ac.model.AccessControlModel;
 import pro.api4.jsonapi4j.plugin.ac.model.outbound.OutboundAccessControlForJsonApiResourceIdentifier;
 import pro.api4.jsonapi4j.plugin.context.ToManyRelationshipVisitorContext;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 import pro.api4.jsonapi4j.processor.IdAndType;
 
 import java.util.ArrayList;
@@ -107,7 +107,7 @@ public class AccessControlToManyRelationshipVisitors implements ToManyRelationsh
         }
 
         // data
-        ReflectionUtils.setFieldValueThrowing(doc, ToManyRelationshipsDoc.DATA_FIELD, anonymizedData);
+        FieldAccessors.setValue(doc, ToManyRelationshipsDoc.DATA_FIELD, anonymizedData);
 
         // top-level links
         LinksObject docLinks = ctx.getJsonApiContext().getTopLevelLinksResolver().resolve(
@@ -115,7 +115,7 @@ public class AccessControlToManyRelationshipVisitors implements ToManyRelationsh
                 nonAnonymizedDtos,
                 ctx.getPaginationAwareResponse().getPaginationContext()
         );
-        ReflectionUtils.setFieldValueThrowing(doc, ToManyRelationshipsDoc.LINKS_FIELD, docLinks);
+        FieldAccessors.setValue(doc, ToManyRelationshipsDoc.LINKS_FIELD, docLinks);
 
         // top-level meta
         Object docMeta = ctx.getJsonApiContext().getTopLevelMetaResolver().resolve(
@@ -123,7 +123,7 @@ public class AccessControlToManyRelationshipVisitors implements ToManyRelationsh
                 nonAnonymizedDtos,
                 ctx.getPaginationAwareResponse().getPaginationContext()
         );
-        ReflectionUtils.setFieldValueThrowing(doc, ToManyRelationshipsDoc.META_FIELD, docMeta);
+        FieldAccessors.setValue(doc, ToManyRelationshipsDoc.META_FIELD, docMeta);
 
         return DataPostRetrievalPhase.mutatedDoc(doc);
     }
@@ -13,7 +13,7 @@ import pro.api4.jsonapi4j.plugin.ToOneRelationshipVisitors;
 import pro.api4.jsonapi4j.plugin.ac.model.AccessControlModel;
 import pro.api4.jsonapi4j.plugin.ac.model.outbound.OutboundAccessControlForJsonApiResourceIdentifier;
 import pro.api4.jsonapi4j.plugin.context.ToOneRelationshipVisitorContext;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 
 import java.util.Optional;
 
@@ -83,14 +83,14 @@ public class AccessControlToOneRelationshipVisitors implements ToOneRelationship
         if (anonymizationResult.isFullyAnonymized()) {
             // top-level links
             LinksObject docLinks = ctx.getJsonApiContext().getTopLevelLinksResolver().resolve(ctx.getRequest(), null);
-            ReflectionUtils.setFieldValueThrowing(doc, ToOneRelationshipDoc.LINKS_FIELD, docLinks);
+            FieldAccessors.setValue(doc, ToOneRelationshipDoc.LINKS_FIELD, docLinks);
 
             // top-level meta
             Object docMeta = ctx.getJsonApiContext().getTopLevelMetaResolver().resolve(ctx.getRequest(), null);
-            ReflectionUtils.setFieldValueThrowing(doc, ToOneRelationshipDoc.META_FIELD, docMeta);
+            FieldAccessors.setValue(doc, ToOneRelationshipDoc.META_FIELD, docMeta);
         }
 
-        ReflectionUtils.setFieldValueThrowing(doc, ToOneRelationshipDoc.DATA_FIELD, anonymizationResult.targetObject());
+        FieldAccessors.setValue(doc, ToOneRelationshipDoc.DATA_FIELD, anonymizationResult.targetObject());
 
         return DataPostRetrievalPhase.mutatedDoc(doc);
     }
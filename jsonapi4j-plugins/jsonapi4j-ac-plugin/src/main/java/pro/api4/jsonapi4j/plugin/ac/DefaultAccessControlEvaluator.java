@@ -3,7 +3,7 @@ package pro.api4.jsonapi4j.plugin.ac;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 import pro.api4.jsonapi4j.plugin.ac.annotation.AccessControlAccessTier;
 import pro.api4.jsonapi4j.plugin.ac.annotation.Authenticated;
 import pro.api4.jsonapi4j.plugin.ac.exception.AccessControlMisconfigurationException;
@@ -14,7 +14,6 @@ import pro.api4.jsonapi4j.plugin.ac.model.AccessControlOwnershipModel;
 import pro.api4.jsonapi4j.plugin.ac.model.AccessControlScopesModel;
 import pro.api4.jsonapi4j.plugin.ac.ownership.OwnerIdExtractor;
 import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
-import pro.api4.jsonapi4j.plugin.ac.scope.ScopesUtils;
 import pro.api4.jsonapi4j.principal.tier.AccessTier;
 import pro.api4.jsonapi4j.principal.tier.AccessTierRegistry;
 
@@ -71,7 +70,7 @@ public class DefaultAccessControlEvaluator extends AccessControlEvaluator {
     private String extractOwnerIdFromResourceObject(Object resourceObject,
                                                     String ownerIdFieldName) {
         try {
-            Object ownerId = ReflectionUtils.getFieldValueThrowing(resourceObject, ownerIdFieldName);
+            Object ownerId = FieldAccessors.getValue(resourceObject, ownerIdFieldName);
             if (ownerId instanceof String ownerIdStr) {
                 return ownerIdStr;
             } else {
@@ -144,33 +143,18 @@ public class DefaultAccessControlEvaluator extends AccessControlEvaluator {
     }
 
     private boolean evaluateScopes(AccessControlScopesModel ac) {
-        if (ac == null) {
-            return true;
-        }
-        String expectedScopesExpression = ac.getRequiredScopesExpression();
-        Set<String> expectedScopes = ac.getRequiredScopes();
-        Set<String> actualScopes = AuthenticatedPrincipalContextHolder.getScopes().orElse(null);
-
         // no scopes requirements
-        if (StringUtils.isBlank(expectedScopesExpression) && CollectionUtils.isEmpty(expectedScopes)) {
+        if (ac == null || ac.getCompiledScopesExpression() == null) {
             return true;
         }
 
         // no info about the current request's Scopes
+        Set<String> actualScopes = AuthenticatedPrincipalContextHolder.getScopes().orElse(null);
         if (CollectionUtils.isEmpty(actualScopes)) {
             return false;
         }
 
-        if (StringUtils.isNotBlank(expectedScopesExpression)) {
-            // scopes expression has higher priority
-            return ScopesUtils.matches(actualScopes, expectedScopesExpression);
-        } else {
-            // list of scopes has lower priority
-            return ScopesUtils.matches(
-                    actualScopes,
-                    ScopesUtils.toScopesExpression(expectedScopes)
-            );
-        }
+        return ac.getCompiledScopesExpression().matches(actualScopes);
     }
 
 }
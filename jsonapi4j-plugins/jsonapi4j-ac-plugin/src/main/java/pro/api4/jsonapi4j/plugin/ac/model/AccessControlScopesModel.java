@@ -1,13 +1,15 @@
 package pro.api4.jsonapi4j.plugin.ac.model;
 
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import pro.api4.jsonapi4j.plugin.ac.annotation.AccessControlScopes;
+import pro.api4.jsonapi4j.plugin.ac.scope.ScopesExpression;
+import pro.api4.jsonapi4j.plugin.ac.scope.ScopesExpressionCompiler;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -16,12 +18,26 @@ import java.util.Set;
 @EqualsAndHashCode
 @ToString
 @Getter
-@AllArgsConstructor(access = AccessLevel.PRIVATE)
-@Builder(access = AccessLevel.PACKAGE)
 public class AccessControlScopesModel {
 
-    private Set<String> requiredScopes;
-    private String requiredScopesExpression;
+    private final Set<String> requiredScopes;
+    private final String requiredScopesExpression;
+
+    /**
+     * Compiled form of {@link #requiredScopesExpression} or, if it's not set, of {@link #requiredScopes}.
+     * {@code null} if there are no scopes requirements.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ScopesExpression compiledScopesExpression;
+
+    @Builder(access = AccessLevel.PACKAGE)
+    private AccessControlScopesModel(Set<String> requiredScopes,
+                                     String requiredScopesExpression) {
+        this.requiredScopes = requiredScopes;
+        this.requiredScopesExpression = requiredScopesExpression;
+        this.compiledScopesExpression = compile(requiredScopes, requiredScopesExpression);
+    }
 
     static AccessControlScopesModel fromAnnotation(AccessControlScopes annotation) {
         if (annotation == null
@@ -34,6 +50,18 @@ public class AccessControlScopesModel {
                 .build();
     }
 
+    private static ScopesExpression compile(Set<String> requiredScopes,
+                                            String requiredScopesExpression) {
+        if (StringUtils.isNotBlank(requiredScopesExpression)) {
+            // scopes expression has higher priority
+            return ScopesExpressionCompiler.compile(requiredScopesExpression);
+        }
+        if (CollectionUtils.isNotEmpty(requiredScopes)) {
+            return ScopesExpressionCompiler.allOf(requiredScopes);
+        }
+        return null;
+    }
+
     private static boolean isRequiredScopesExpressionDefined(String requiredScopesExpression) {
         return StringUtils.isNotBlank(requiredScopesExpression) && !AccessControlScopes.NOT_SET.equals(requiredScopesExpression);
     }
@@ -31,11 +31,47 @@ public class OutboundAccessControlForCustomClass {
     private final Map<String, AccessControlModel> fieldLevel;
     private final Map<String, OutboundAccessControlForCustomClass> nested;
 
+    /**
+     * Access control metadata depends on the runtime classes only, so the reflection walk is done once per class
+     * and the (immutable) result is reused. {@link ClassValue} keeps the cache classloader-safe.
+     */
+    private static final ClassValue<OutboundAccessControlForCustomClass> FOR_CLASS = new ClassValue<>() {
+        @Override
+        protected OutboundAccessControlForCustomClass computeValue(Class<?> clazz) {
+            return fromClassAnnotations(clazz, null);
+        }
+    };
+
+    /**
+     * Same as {@link #FOR_CLASS}, but for {@link ResourceObject}s whose attributes type is only known at runtime:
+     * resource object class -> attributes class -> metadata.
+     */
+    private static final ClassValue<ClassValue<OutboundAccessControlForCustomClass>> FOR_RESOURCE_OBJECT_CLASS = new ClassValue<>() {
+        @Override
+        protected ClassValue<OutboundAccessControlForCustomClass> computeValue(Class<?> resourceObjectClass) {
+            return new ClassValue<>() {
+                @Override
+                protected OutboundAccessControlForCustomClass computeValue(Class<?> attClazz) {
+                    return fromClassAnnotations(resourceObjectClass, attClazz);
+                }
+            };
+        }
+    };
+
     public static OutboundAccessControlForCustomClass fromClassAnnotationsOf(Object object) {
         if (object == null) {
             return null;
         }
-        Class<?> clazz = object.getClass();
+        // Resolve attributes real type at runtime against constructed object.
+        // Otherwise, always resolved as Class<Object> when use reflection API for Type.
+        if (object instanceof ResourceObject<?, ?> resourceObject && resourceObject.getAttributes() != null) {
+            return FOR_RESOURCE_OBJECT_CLASS.get(object.getClass()).get(resourceObject.getAttributes().getClass());
+        }
+        return FOR_CLASS.get(object.getClass());
+    }
+
+    private static OutboundAccessControlForCustomClass fromClassAnnotations(Class<?> clazz,
+                                                                            Class<?> attClazz) {
         AccessControlModel classLevelAccessControl
                 = AccessControlModel.fromClassAnnotation(clazz);
         Map<String, AccessControlModel> fieldLevelAccessControl
@@ -43,37 +79,42 @@ public class OutboundAccessControlForCustomClass {
         Map<String, OutboundAccessControlForCustomClass> nested
                 = extractNestedRecursively(clazz);
 
-        // Resolve attributes real type at runtime against constructed object.
-        // Otherwise, always resolved as Class<Object> when use reflection API for Type.
-        if (object instanceof ResourceObject<?, ?> resourceObject) {
-            Class<?> attClazz = resourceObject.getAttributes().getClass();
-            AccessControlModel attClassLevelAccessControl
-                    = AccessControlModel.fromClassAnnotation(attClazz);
-            Map<String, AccessControlModel> attFieldLevelAccessControl
-                    = AccessControlModel.fromFieldsAnnotations(attClazz);
-            Map<String, OutboundAccessControlForCustomClass> attNested
-                    = extractNestedRecursively(attClazz);
-            if (attClassLevelAccessControl != null
-                    || MapUtils.isNotEmpty(attFieldLevelAccessControl)
-                    || MapUtils.isNotEmpty(attNested)) {
-                nested.put(
-                        ResourceObject.ATTRIBUTES_FIELD,
-                        OutboundAccessControlForCustomClass.builder()
-                                .classLevel(attClassLevelAccessControl)
-                                .fieldLevel(attFieldLevelAccessControl)
-                                .nested(attNested)
-                                .build()
-                );
-            }
+        OutboundAccessControlForCustomClass attAccessControl = attClazz != null
+                ? fromAttributesClassAnnotations(attClazz)
+                : null;
+        if (attAccessControl != null) {
+            Map<String, OutboundAccessControlForCustomClass> nestedWithAttributes = new HashMap<>(nested);
+            nestedWithAttributes.put(ResourceObject.ATTRIBUTES_FIELD, attAccessControl);
+            nested = nestedWithAttributes;
         }
 
+        // instances are shared across threads through the ClassValue caches, so none of their maps may be mutable
         return OutboundAccessControlForCustomClass.builder()
                 .classLevel(classLevelAccessControl)
-                .fieldLevel(fieldLevelAccessControl)
+                .fieldLevel(Collections.unmodifiableMap(fieldLevelAccessControl))
                 .nested(Collections.unmodifiableMap(nested))
                 .build();
     }
 
+    private static OutboundAccessControlForCustomClass fromAttributesClassAnnotations(Class<?> attClazz) {
+        AccessControlModel attClassLevelAccessControl
+                = AccessControlModel.fromClassAnnotation(attClazz);
+        Map<String, AccessControlModel> attFieldLevelAccessControl
+                = AccessControlModel.fromFieldsAnnotations(attClazz);
+        Map<String, OutboundAccessControlForCustomClass> attNested
+                = extractNestedRecursively(attClazz);
+        if (attClassLevelAccessControl == null
+                && MapUtils.isEmpty(attFieldLevelAccessControl)
+                && MapUtils.isEmpty(attNested)) {
+            return null;
+        }
+        return OutboundAccessControlForCustomClass.builder()
+                .classLevel(attClassLevelAccessControl)
+                .fieldLevel(Collections.unmodifiableMap(attFieldLevelAccessControl))
+                .nested(Collections.unmodifiableMap(attNested))
+                .build();
+    }
+
     private static Map<String, OutboundAccessControlForCustomClass> extractNestedRecursively(Class<?> clazz) {
         return extractNestedRecursively(clazz, new HashSet<>());
     }
@@ -111,8 +152,8 @@ public class OutboundAccessControlForCustomClass {
                                 fieldName,
                                 OutboundAccessControlForCustomClass.builder()
                                         .classLevel(classLevelAccessControl)
-                                        .fieldLevel(fieldLevelAccessControl)
-                                        .nested(nested).build()
+                                        .fieldLevel(Collections.unmodifiableMap(fieldLevelAccessControl))
+                                        .nested(Collections.unmodifiableMap(nested)).build()
                         );
                     }
                 }
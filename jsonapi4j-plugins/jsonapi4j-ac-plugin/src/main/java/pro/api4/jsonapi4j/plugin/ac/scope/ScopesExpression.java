@@ -0,0 +1,21 @@
+package pro.api4.jsonapi4j.plugin.ac.scope;
+
+import java.util.Set;
+
+/**
+ * Compiled form of a scopes requirement - either a {@code requiredScopesExpression} or a list of
+ * {@code requiredScopes}. Instances are immutable and thread-safe, so they are built once per
+ * access control model and evaluated for every resource and field.
+ *
+ * @see ScopesExpressionCompiler
+ */
+@FunctionalInterface
+public interface ScopesExpression {
+
+    /**
+     * @param actualScopes scopes granted to the current principal, must not be null
+     * @return {@code true} if the granted scopes satisfy this requirement
+     */
+    boolean matches(Set<String> actualScopes);
+
+}
@@ -0,0 +1,301 @@
+package pro.api4.jsonapi4j.plugin.ac.scope;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiles scopes expressions into {@link ScopesExpression} trees.
+ *
+ * <p>Expressions built from {@code hasScope('...')} calls, {@code true}/{@code false}, parentheses and the
+ * logical operators {@code and}/{@code &&}, {@code or}/{@code ||}, {@code not}/{@code !} (keywords are
+ * case-insensitive, as in SpEL) are compiled into a small boolean tree that evaluates without any
+ * allocation. Anything else is treated as a generic SpEL expression: it's parsed once and evaluated
+ * against the granted scopes the same way as before.
+ *
+ * <p>Nothing is cached here: expressions are meant to be compiled once, when the access control model that declares
+ * them is built, see {@code AccessControlScopesModel}.
+ */
+@Slf4j
+public final class ScopesExpressionCompiler {
+
+    private static final ExpressionParser SPEL_PARSER = new SpelExpressionParser();
+
+    private static final ScopesExpression ALWAYS_TRUE = actualScopes -> true;
+    private static final ScopesExpression ALWAYS_FALSE = actualScopes -> false;
+
+    private ScopesExpressionCompiler() {
+
+    }
+
+    /**
+     * @param scopesExpression scopes expression, e.g. {@code hasScope('users.read') and not hasScope('guest')}
+     * @return compiled expression. If the expression is not even valid SpEL the returned expression throws
+     * the corresponding {@link ParseException} on evaluation
+     */
+    public static ScopesExpression compile(String scopesExpression) {
+        Validate.notNull(scopesExpression);
+        try {
+            return new Parser(scopesExpression).parse();
+        } catch (IllegalArgumentException e) {
+            log.debug("'{}' is not a plain scopes expression ({}), falling back to SpEL", scopesExpression, e.getMessage());
+            return compileSpel(scopesExpression);
+        }
+    }
+
+    /**
+     * @param requiredScopes scopes that all must be granted
+     * @return compiled expression, equivalent to {@code hasScope('a') AND hasScope('b') ...}
+     */
+    public static ScopesExpression allOf(Set<String> requiredScopes) {
+        Validate.notNull(requiredScopes);
+        String[] scopes = requiredScopes.stream().sorted().toArray(String[]::new);
+        return actualScopes -> {
+            for (String scope : scopes) {
+                if (!actualScopes.contains(scope)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static ScopesExpression compileSpel(String scopesExpression) {
+        Expression expression;
+        try {
+            expression = SPEL_PARSER.parseExpression(scopesExpression);
+        } catch (ParseException e) {
+            // keep the failure lazy, misconfigured expressions used to fail on evaluation only
+            return actualScopes -> {
+                throw e;
+            };
+        }
+        return actualScopes -> {
+            StandardEvaluationContext context = new StandardEvaluationContext(new ScopesContext(actualScopes));
+            return Boolean.TRUE.equals(expression.getValue(context, Boolean.class));
+        };
+    }
+
+    private record HasScope(String scope) implements ScopesExpression {
+        @Override
+        public boolean matches(Set<String> actualScopes) {
+            return actualScopes.contains(scope);
+        }
+    }
+
+    private record Not(ScopesExpression operand) implements ScopesExpression {
+        @Override
+        public boolean matches(Set<String> actualScopes) {
+            return !operand.matches(actualScopes);
+        }
+    }
+
+    private record And(ScopesExpression[] operands) implements ScopesExpression {
+        @Override
+        public boolean matches(Set<String> actualScopes) {
+            for (ScopesExpression operand : operands) {
+                if (!operand.matches(actualScopes)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Or(ScopesExpression[] operands) implements ScopesExpression {
+        @Override
+        public boolean matches(Set<String> actualScopes) {
+            for (ScopesExpression operand : operands) {
+                if (operand.matches(actualScopes)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Recursive descent parser for the plain scopes grammar:
+     * <pre>
+     * or      := and (('or' | '||') and)*
+     * and     := unary (('and' | '&amp;&amp;') unary)*
+     * unary   := ('not' | '!') unary | primary
+     * primary := '(' or ')' | 'hasScope' '(' string ')' | 'true' | 'false'
+     * </pre>
+     * Throws {@link IllegalArgumentException} on anything it doesn't recognize.
+     */
+    private static final class Parser {
+
+        private final String input;
+        private int pos;
+
+        Parser(String input) {
+            this.input = input;
+        }
+
+        ScopesExpression parse() {
+            ScopesExpression result = parseOr();
+            skipWhitespace();
+            if (pos != input.length()) {
+                throw unexpected();
+            }
+            return result;
+        }
+
+        private ScopesExpression parseOr() {
+            List<ScopesExpression> operands = new ArrayList<>();
+            operands.add(parseAnd());
+            while (acceptKeyword("or") || accept("||")) {
+                operands.add(parseAnd());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(operands.toArray(ScopesExpression[]::new));
+        }
+
+        private ScopesExpression parseAnd() {
+            List<ScopesExpression> operands = new ArrayList<>();
+            operands.add(parseUnary());
+            while (acceptKeyword("and") || accept("&&")) {
+                operands.add(parseUnary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(operands.toArray(ScopesExpression[]::new));
+        }
+
+        private ScopesExpression parseUnary() {
+            if (acceptKeyword("not") || acceptBang()) {
+                return new Not(parseUnary());
+            }
+            return parsePrimary();
+        }
+
+        private ScopesExpression parsePrimary() {
+            if (accept("(")) {
+                ScopesExpression inner = parseOr();
+                expect(")");
+                return inner;
+            }
+            if (acceptKeyword("true")) {
+                return ALWAYS_TRUE;
+            }
+            if (acceptKeyword("false")) {
+                return ALWAYS_FALSE;
+            }
+            if (acceptIdentifier("hasScope")) {
+                expect("(");
+                String scope = parseString();
+                expect(")");
+                return new HasScope(scope);
+            }
+            throw unexpected();
+        }
+
+        private String parseString() {
+            skipWhitespace();
+            if (pos >= input.length() || (input.charAt(pos) != '\'' && input.charAt(pos) != '"')) {
+                throw unexpected();
+            }
+            char quote = input.charAt(pos++);
+            StringBuilder sb = new StringBuilder();
+            while (pos < input.length()) {
+                char c = input.charAt(pos++);
+                if (c == quote) {
+                    // a doubled quote is an escaped quote, as in SpEL string literals
+                    if (pos < input.length() && input.charAt(pos) == quote) {
+                        sb.append(quote);
+                        pos++;
+                    } else {
+                        return sb.toString();
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string literal");
+        }
+
+        private boolean acceptBang() {
+            skipWhitespace();
+            // '!=' is not a negation
+            if (pos < input.length() && input.charAt(pos) == '!'
+                    && (pos + 1 >= input.length() || input.charAt(pos + 1) != '=')) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean accept(String token) {
+            skipWhitespace();
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw unexpected();
+            }
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            skipWhitespace();
+            int end = pos + keyword.length();
+            if (end <= input.length()
+                    && input.substring(pos, end).toLowerCase(Locale.ROOT).equals(keyword)
+                    && (end == input.length() || !Character.isJavaIdentifierPart(input.charAt(end)))) {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptIdentifier(String identifier) {
+            skipWhitespace();
+            int end = pos + identifier.length();
+            if (input.startsWith(identifier, pos)
+                    && (end == input.length() || !Character.isJavaIdentifierPart(input.charAt(end)))) {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException unexpected() {
+            return new IllegalArgumentException("Unexpected input at position " + pos);
+        }
+    }
+
+    /**
+     * Root object for SpEL evaluation of non-plain expressions.
+     */
+    private static class ScopesContext {
+
+        private final Set<String> actualScopes;
+
+        public ScopesContext(Set<String> actualScopes) {
+            this.actualScopes = actualScopes;
+        }
+
+        public boolean hasScope(String scope) {
+            return actualScopes.contains(scope);
+        }
+
+    }
+
+}
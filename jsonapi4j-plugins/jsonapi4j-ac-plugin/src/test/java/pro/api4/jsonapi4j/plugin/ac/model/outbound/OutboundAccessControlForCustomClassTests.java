@@ -2,12 +2,14 @@ package pro.api4.jsonapi4j.plugin.ac.model.outbound;
 
 import lombok.Data;
 import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.model.document.data.ResourceObject;
 import pro.api4.jsonapi4j.plugin.ac.annotation.AccessControl;
 import pro.api4.jsonapi4j.plugin.ac.annotation.AccessControlScopes;
 
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class OutboundAccessControlForCustomClassTests {
 
@@ -111,6 +113,51 @@ public class OutboundAccessControlForCustomClassTests {
         assertThat(actualResult.getNested().get("child")).isNotNull();
     }
 
+    @Test
+    public void fromClassAnnotationsOf_sameClass_metadataComputedOnceAndReused() {
+        // given - when
+        OutboundAccessControlForCustomClass first
+                = OutboundAccessControlForCustomClass.fromClassAnnotationsOf(new TargetClass());
+        OutboundAccessControlForCustomClass second
+                = OutboundAccessControlForCustomClass.fromClassAnnotationsOf(new TargetClass());
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThatThrownBy(() -> first.getNested().put("foo", null))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> first.getFieldLevel().put("foo", null))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> first.getNested().get("t2").getFieldLevel().put("foo", null))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void fromClassAnnotationsOf_resourceObject_cachedPerAttributesClass() {
+        // given
+        ResourceObject<NestedClassB, Object> withAnnotatedAttributes
+                = new ResourceObject<>("1", null, "type", new NestedClassB(), null, null, null);
+        ResourceObject<String, Object> withPlainAttributes
+                = new ResourceObject<>("1", null, "type", "plain", null, null, null);
+
+        // when
+        OutboundAccessControlForCustomClass annotated
+                = OutboundAccessControlForCustomClass.fromClassAnnotationsOf(withAnnotatedAttributes);
+        OutboundAccessControlForCustomClass plain
+                = OutboundAccessControlForCustomClass.fromClassAnnotationsOf(withPlainAttributes);
+
+        // then
+        assertThat(annotated.getNested().get(ResourceObject.ATTRIBUTES_FIELD)).isNotNull();
+        assertThat(annotated.getNested().get(ResourceObject.ATTRIBUTES_FIELD).getFieldLevel()).containsOnlyKeys("b1");
+        assertThat(plain.getNested()).doesNotContainKey(ResourceObject.ATTRIBUTES_FIELD);
+        assertThatThrownBy(() -> annotated.getNested().get(ResourceObject.ATTRIBUTES_FIELD).getFieldLevel().put("foo", null))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> annotated.getNested().remove(ResourceObject.ATTRIBUTES_FIELD))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(OutboundAccessControlForCustomClass.fromClassAnnotationsOf(
+                new ResourceObject<>("2", null, "type", new NestedClassB(), null, null, null)
+        )).isSameAs(annotated);
+    }
+
     @AccessControl(scopes = @AccessControlScopes(requiredScopes = "Status"))
     private enum Status {
         ACTIVE, INACTIVE
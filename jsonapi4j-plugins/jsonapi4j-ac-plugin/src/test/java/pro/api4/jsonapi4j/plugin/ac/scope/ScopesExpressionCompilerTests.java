@@ -0,0 +1,90 @@
+package pro.api4.jsonapi4j.plugin.ac.scope;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScopesExpressionCompilerTests {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', quoteCharacter = '`', value = {
+            "hasScope('a')                                  ; a     ; true",
+            "hasScope('a')                                  ; b     ; false",
+            "hasScope(\"a\")                                ; a     ; true",
+            "hasScope('a') AND hasScope('b')                ; a b   ; true",
+            "hasScope('a') and hasScope('b')                ; a     ; false",
+            "hasScope('a') && hasScope('b')                 ; a     ; false",
+            "hasScope('a') OR hasScope('b')                 ; b     ; true",
+            "hasScope('a') || hasScope('b')                 ; c     ; false",
+            "not hasScope('a')                              ; b     ; true",
+            "!hasScope('a')                                 ; a     ; false",
+            "hasScope('a') or hasScope('b') and hasScope('c') ; a   ; true",
+            "(hasScope('a') or hasScope('b')) and hasScope('c') ; a ; false",
+            "NOT (hasScope('a') AND hasScope('b'))          ; a b   ; false",
+            "true                                           ; a     ; true",
+            "false or hasScope('a')                         ; a     ; true",
+            "hasScope('it''s')                              ; it's  ; true",
+    })
+    public void compile_plainExpression_matchesLikeSpel(String expression, String actualScopes, boolean expected) {
+        // given
+        Set<String> scopes = Arrays.stream(actualScopes.split(" ")).collect(Collectors.toSet());
+
+        // when
+        boolean actual = ScopesExpressionCompiler.compile(expression).matches(scopes);
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+        assertThat(evaluateWithSpel(expression, scopes)).isEqualTo(expected);
+    }
+
+    @Test
+    public void compile_nonPlainSpelExpression_fallsBackToSpel() {
+        // when
+        ScopesExpression expression = ScopesExpressionCompiler.compile("hasScope('a') == true and 1 < 2");
+
+        // then
+        assertThat(expression.matches(Set.of("a"))).isTrue();
+        assertThat(expression.matches(Set.of("b"))).isFalse();
+    }
+
+    @Test
+    public void compile_invalidExpression_failsOnEvaluation() {
+        // when
+        ScopesExpression expression = ScopesExpressionCompiler.compile("bla bla");
+
+        // then
+        assertThatThrownBy(() -> expression.matches(Set.of("a"))).isInstanceOf(ParseException.class);
+    }
+
+    @Test
+    public void allOf_requiresEveryScope() {
+        // when
+        ScopesExpression expression = ScopesExpressionCompiler.allOf(Set.of("a", "b"));
+
+        // then
+        assertThat(expression.matches(Set.of("a", "b", "c"))).isTrue();
+        assertThat(expression.matches(Set.of("a"))).isFalse();
+    }
+
+    private static boolean evaluateWithSpel(String expression, Set<String> scopes) {
+        return Boolean.TRUE.equals(new SpelExpressionParser()
+                .parseExpression(expression)
+                .getValue(new SpelRoot(scopes), Boolean.class));
+    }
+
+    public record SpelRoot(Set<String> scopes) {
+        public boolean hasScope(String scope) {
+            return scopes.contains(scope);
+        }
+    }
+
+}
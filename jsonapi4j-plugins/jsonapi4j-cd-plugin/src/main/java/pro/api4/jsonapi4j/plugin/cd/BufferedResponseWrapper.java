@@ -20,6 +20,11 @@ public class BufferedResponseWrapper extends HttpServletResponseWrapper implemen
             buffer.write(b);
         }
 
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.write(b, off, len);
+        }
+
         @Override
         public boolean isReady() {
             return true;
@@ -45,8 +50,26 @@ public class BufferedResponseWrapper extends HttpServletResponseWrapper implemen
         return writer;
     }
 
+    @Override
+    public void resetBuffer() {
+        writer.flush();
+        buffer.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetBuffer();
+    }
+
     public String getCaptureAsString() {
-        return buffer.toString();
+        writer.flush();
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    public byte[] getCaptureAsBytes() {
+        writer.flush();
+        return buffer.toByteArray();
     }
 
     @Override
@@ -3,25 +3,44 @@ package pro.api4.jsonapi4j.plugin.cd;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pro.api4.jsonapi4j.JsonApi4j;
 import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
 import pro.api4.jsonapi4j.compound.docs.CompoundDocsResolver;
-import pro.api4.jsonapi4j.compound.docs.CompoundDocsResult;
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsTreeResult;
 import pro.api4.jsonapi4j.compound.docs.DomainSettingsResolver;
+import pro.api4.jsonapi4j.compound.docs.client.InProcessResourceFetcher;
+import pro.api4.jsonapi4j.compound.docs.config.Propagation;
+import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
 import pro.api4.jsonapi4j.http.cache.CacheControlAggregator;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 import pro.api4.jsonapi4j.http.cache.CacheControlParser;
+import pro.api4.jsonapi4j.http.cache.EntityTags;
 import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
 import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
 import pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties;
+import pro.api4.jsonapi4j.principal.DefaultPrincipal;
+import pro.api4.jsonapi4j.principal.DefaultPrincipalResolver;
+import pro.api4.jsonapi4j.principal.Principal;
+import pro.api4.jsonapi4j.principal.PrincipalResolver;
+import pro.api4.jsonapi4j.request.IncludeAwareRequest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
+import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.JSONAPI4J_ATT_NAME;
+import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.PRINCIPAL_RESOLVER_ATT_NAME;
 import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.initExecutorService;
 import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.initObjectMapper;
 import static pro.api4.jsonapi4j.plugin.cd.init.JsonApi4jCompoundDocsServletContainerInitializer.COMPOUND_DOCS_PLUGIN_CACHE_ATT_NAME;
@@ -33,9 +52,13 @@ import static pro.api4.jsonapi4j.plugin.cd.init.JsonApi4jCompoundDocsServletCont
 public class CompoundDocsFilter implements Filter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CompoundDocsFilter.class);
+    private static final PrincipalResolver DEFAULT_PRINCIPAL_RESOLVER = new DefaultPrincipalResolver();
 
     private CompoundDocsRequestSupplier requestSupplier;
     private CompoundDocsResolver resolver;
+    private ServletContext servletContext;
+    private boolean inProcessIncludes;
+    private boolean propagateHeaders;
 
     @Override
     public void init(FilterConfig filterConfig) {
@@ -63,8 +86,13 @@ public class CompoundDocsFilter implements Filter {
                 cdProperties.deduplicateResources(),
                 cdProperties.httpConnectTimeoutMs(),
                 cdProperties.httpTotalTimeoutMs(),
+                cdProperties.httpPreferHttp2(),
+                cdProperties.httpMaxConnectionsPerDomain(),
+                cdProperties.httpClientIdleTimeoutMs(),
                 cdProperties.cache() != null ? cdProperties.cache().enabled() : Boolean.parseBoolean(CompoundDocsProperties.Cache.DEFAULT_CACHE_ENABLED),
-                cdProperties.cache() != null ? cdProperties.cache().maxSize() : Integer.parseInt(CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE)
+                cdProperties.cache() != null ? cdProperties.cache().maxSize() : Integer.parseInt(CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE),
+                cdProperties.cache() != null ? cdProperties.cache().coalescingWindowMs() : Long.parseLong(CompoundDocsProperties.Cache.DEFAULT_CACHE_COALESCING_WINDOW_MS),
+                cdProperties.cache() != null ? cdProperties.cache().refreshAheadFraction() : Double.parseDouble(CompoundDocsProperties.Cache.DEFAULT_CACHE_REFRESH_AHEAD_FRACTION)
         );
 
         log.debug("Effective compound docs settings: {}", config);
@@ -77,12 +105,22 @@ public class CompoundDocsFilter implements Filter {
                     .getServletContext()
                     .getAttribute(COMPOUND_DOCS_PLUGIN_CACHE_ATT_NAME);
 
+            InProcessResourceFetcher inProcessFetcher = composeInProcessFetcher(
+                    filterConfig.getServletContext(),
+                    cdProperties,
+                    objectMapper
+            );
+            this.servletContext = filterConfig.getServletContext();
+            this.inProcessIncludes = inProcessFetcher != null;
+            this.propagateHeaders = config.getPropagation().contains(Propagation.HEADERS);
+
             resolver = new CompoundDocsResolver(
                     config,
                     domainSettingsResolver,
                     objectMapper,
                     executorService,
-                    cache
+                    cache,
+                    inProcessFetcher
             );
 
             log.debug("{} has been successfully composed", CompoundDocsResolver.class.getSimpleName());
@@ -99,19 +137,39 @@ public class CompoundDocsFilter implements Filter {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
 
-        CompoundDocsRequest compoundDocsRequest = requestSupplier.toCompoundDocsRequest(httpServletRequest);
+        Principal includesPrincipal = inProcessIncludes
+                && httpServletRequest.getParameter(IncludeAwareRequest.INCLUDE_PARAM) != null
+                ? resolveIncludesPrincipal(httpServletRequest)
+                : null;
+        CompoundDocsRequest compoundDocsRequest = requestSupplier.toCompoundDocsRequest(
+                httpServletRequest,
+                includesPrincipal
+        );
 
         if (resolver != null && compoundDocsRequest.isProcessable()) {
             try (BufferedResponseWrapper responseWrapper = new BufferedResponseWrapper(httpServletResponse)) {
-                chain.doFilter(servletRequest, responseWrapper);
+                // the servlet's ETag only covers the primary document, conditional requests are answered below
+                chain.doFilter(new ConditionalHeadersHidingRequestWrapper(httpServletRequest), responseWrapper);
 
-                String responseBody = responseWrapper.getCaptureAsString();
+                byte[] responseBody = responseWrapper.getCaptureAsBytes();
                 if (is2xxResponseCode(responseWrapper.getStatus())) {
-                    CompoundDocsResult result = resolver.resolveCompoundDocs(responseBody, compoundDocsRequest);
-                    applyCacheControlHeader(httpServletResponse, responseWrapper, result);
-                    servletResponse.getWriter().write(result.responseBody());
+                    CompoundDocsTreeResult result = resolver.resolveCompoundDocsTree(responseBody, compoundDocsRequest);
+                    applyCacheControlHeader(httpServletResponse, responseWrapper, result.cacheControlDirectives());
+                    if (isConditionalGet(httpServletRequest, responseWrapper, result.hasIncludedResources())) {
+                        byte[] compoundDocsBody = responseBody;
+                        if (result.hasIncludedResources()) {
+                            ByteArrayOutputStream out = new ByteArrayOutputStream(responseBody.length * 2);
+                            resolver.writeCompoundDocs(result, out);
+                            compoundDocsBody = out.toByteArray();
+                        }
+                        writeConditionally(httpServletRequest, httpServletResponse, compoundDocsBody, result.hasIncludedResources());
+                    } else if (result.hasIncludedResources()) {
+                        resolver.writeCompoundDocs(result, servletResponse.getOutputStream());
+                    } else {
+                        servletResponse.getOutputStream().write(responseBody);
+                    }
                 } else {
-                    servletResponse.getWriter().write(responseBody);
+                    servletResponse.getOutputStream().write(responseBody);
                 }
             } catch (Exception e) {
                 LOGGER.error("Compound Document resolution process failed.", e);
@@ -122,9 +180,56 @@ public class CompoundDocsFilter implements Filter {
         }
     }
 
+    @Override
+    public void destroy() {
+        if (resolver != null) {
+            resolver.close();
+            log.info("{} has been destroyed", CompoundDocsFilter.class.getSimpleName());
+        }
+    }
+
+    private InProcessResourceFetcher composeInProcessFetcher(ServletContext servletContext,
+                                                             CompoundDocsProperties cdProperties,
+                                                             ObjectMapper objectMapper) {
+        if (!cdProperties.inProcessIncludes()) {
+            log.info("In-process includes are disabled, all includes are resolved over HTTP");
+            return null;
+        }
+        JsonApi4j jsonApi4j = (JsonApi4j) servletContext.getAttribute(JSONAPI4J_ATT_NAME);
+        if (jsonApi4j == null) {
+            log.warn("JsonApi4j not found in servlet context, all includes are resolved over HTTP");
+            return null;
+        }
+        return new JsonApi4jInProcessResourceFetcher(jsonApi4j, objectMapper);
+    }
+
+    private Principal resolveIncludesPrincipal(HttpServletRequest request) {
+        PrincipalResolver principalResolver = (PrincipalResolver) servletContext.getAttribute(PRINCIPAL_RESOLVER_ATT_NAME);
+        if (principalResolver == null) {
+            principalResolver = DEFAULT_PRINCIPAL_RESOLVER;
+        }
+        return resolveIncludesPrincipal(principalResolver, request, propagateHeaders);
+    }
+
+    /**
+     * Resolves the principal an HTTP request for the included resources would be authenticated as: the original
+     * request headers are only sent downstream if {@link Propagation#HEADERS} is enabled.
+     */
+    static Principal resolveIncludesPrincipal(PrincipalResolver principalResolver,
+                                              HttpServletRequest request,
+                                              boolean propagateHeaders) {
+        HttpServletRequest downstreamRequest = propagateHeaders ? request : new HeadersHidingRequestWrapper(request);
+        return new DefaultPrincipal(
+                principalResolver.resolveAccessTier(downstreamRequest),
+                principalResolver.resolveScopes(downstreamRequest),
+                principalResolver.resolveUserId(downstreamRequest),
+                principalResolver.resolveAttributes(downstreamRequest)
+        );
+    }
+
     private void applyCacheControlHeader(HttpServletResponse response,
                                          BufferedResponseWrapper responseWrapper,
-                                         CompoundDocsResult result) {
+                                         CacheControlDirectives includedCacheControl) {
         CacheControlAggregator aggregator = new CacheControlAggregator();
 
         String primaryCacheControl = responseWrapper.getHeader("Cache-Control");
@@ -132,7 +237,7 @@ public class CompoundDocsFilter implements Filter {
             aggregator.add(CacheControlParser.parse(primaryCacheControl));
         }
 
-        aggregator.add(result.cacheControlDirectives());
+        aggregator.add(includedCacheControl);
 
         CacheControlDirectives aggregated = aggregator.getResult();
         if (aggregated != null) {
@@ -143,8 +248,128 @@ public class CompoundDocsFilter implements Filter {
         }
     }
 
+    /**
+     * The document is only buffered and tagged for a {@code GET} that carries {@code If-None-Match}, or if the
+     * operation propagated an {@code ETag} that must be replaced since it doesn't cover the {@code included} member.
+     */
+    private boolean isConditionalGet(HttpServletRequest request,
+                                     HttpServletResponse response,
+                                     boolean rewritten) {
+        if (response.getStatus() != HttpStatusCodes.SC_200_OK.getCode() || !"GET".equals(request.getMethod())) {
+            return false;
+        }
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH.getName()) != null
+                || (rewritten && response.getHeader(HttpHeaders.ETAG.getName()) != null);
+    }
+
+    /**
+     * Tags the compound document with a strong {@code ETag} and answers {@code 304 Not Modified} if the request's
+     * {@code If-None-Match} matches it. The tag propagated by the operation is kept if the document hasn't been
+     * rewritten.
+     */
+    private void writeConditionally(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    byte[] body,
+                                    boolean rewritten) throws IOException {
+        String etag = rewritten ? null : response.getHeader(HttpHeaders.ETAG.getName());
+        if (etag == null) {
+            etag = EntityTags.strong(body);
+            response.setHeader(HttpHeaders.ETAG.getName(), etag);
+        }
+        if (EntityTags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH.getName()), etag)) {
+            response.setStatus(HttpStatusCodes.SC_304_NOT_MODIFIED.getCode());
+            return;
+        }
+        response.getOutputStream().write(body);
+    }
+
     private boolean is2xxResponseCode(int statusCode) {
         return statusCode >= 200 && statusCode < 300;
     }
 
+    private static final class ConditionalHeadersHidingRequestWrapper extends HttpServletRequestWrapper {
+
+        private ConditionalHeadersHidingRequestWrapper(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isConditional(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isConditional(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        private static boolean isConditional(String name) {
+            return HttpHeaders.IF_NONE_MATCH.getName().equalsIgnoreCase(name);
+        }
+
+    }
+
+    /**
+     * Request view without headers. Attributes are kept apart from the original request too: principal resolvers may
+     * cache what they've resolved as request attributes, which mustn't leak between the caller and the includes.
+     */
+    private static final class HeadersHidingRequestWrapper extends HttpServletRequestWrapper {
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private HeadersHidingRequestWrapper(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                removeAttribute(name);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return null;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.emptyEnumeration();
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            return -1;
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            return -1;
+        }
+
+    }
+
 }
@@ -3,15 +3,15 @@ package pro.api4.jsonapi4j.plugin.cd;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.collections4.MapUtils;
 import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
+import pro.api4.jsonapi4j.principal.Principal;
 import pro.api4.jsonapi4j.request.IncludeAwareRequest;
+import pro.api4.jsonapi4j.request.util.JsonApiQueryParams;
 import pro.api4.jsonapi4j.request.util.JsonApiRequestParsingUtil;
 import pro.api4.jsonapi4j.util.BaseUrls;
 
 import java.text.MessageFormat;
 import java.util.*;
 
-import static java.util.stream.Collectors.toMap;
-
 public class CompoundDocsRequestSupplier {
 
     private final String rootPath;
@@ -21,16 +21,25 @@ public class CompoundDocsRequestSupplier {
     }
 
     public CompoundDocsRequest toCompoundDocsRequest(HttpServletRequest servletRequest) {
-        Map<String, List<String>> allParams = getParams(servletRequest);
+        return toCompoundDocsRequest(servletRequest, null);
+    }
+
+    /**
+     * @param principal principal the included resources are read on behalf of when they are fetched in process,
+     *                  nullable
+     */
+    public CompoundDocsRequest toCompoundDocsRequest(HttpServletRequest servletRequest, Principal principal) {
+        JsonApiQueryParams params = JsonApiRequestParsingUtil.parseQueryParams(servletRequest.getParameterMap());
 
         return new CompoundDocsRequest(
                 servletRequest.getMethod(),
-                getIncludesQueryParam(servletRequest),
-                JsonApiRequestParsingUtil.parseFieldSets(allParams),
+                getIncludesQueryParam(servletRequest, params),
+                params.fieldSets(),
                 getOriginalRequestHeaders(servletRequest),
                 servletRequest.getRequestURI(),
-                JsonApiRequestParsingUtil.parseCustomQueryParams(allParams),
-                resolveSelfBaseUrl(servletRequest)
+                params.customQueryParams(),
+                resolveSelfBaseUrl(servletRequest),
+                principal
         );
     }
 
@@ -50,12 +59,11 @@ public class CompoundDocsRequestSupplier {
         return BaseUrls.join(baseUrl + servletRequest.getContextPath(), rootPath);
     }
 
-    private List<String> getIncludesQueryParam(HttpServletRequest httpRequest) {
-        String[] value = httpRequest.getParameterValues(IncludeAwareRequest.INCLUDE_PARAM);
-        if (value == null) {
+    private List<String> getIncludesQueryParam(HttpServletRequest httpRequest, JsonApiQueryParams params) {
+        if (httpRequest.getParameterValues(IncludeAwareRequest.INCLUDE_PARAM) == null) {
             return null;
         }
-        return JsonApiRequestParsingUtil.parseOriginalIncludes(Arrays.asList(value));
+        return params.includes();
     }
 
     private Map<String, String> getOriginalRequestHeaders(HttpServletRequest httpRequest) {
@@ -67,11 +75,4 @@ public class CompoundDocsRequestSupplier {
         return MapUtils.unmodifiableMap(originalRequestHeaders);
     }
 
-    private Map<String, List<String>> getParams(HttpServletRequest request) {
-        return request.getParameterMap()
-                .entrySet()
-                .stream()
-                .collect(toMap(Map.Entry::getKey, e -> Arrays.asList(e.getValue())));
-    }
-
 }
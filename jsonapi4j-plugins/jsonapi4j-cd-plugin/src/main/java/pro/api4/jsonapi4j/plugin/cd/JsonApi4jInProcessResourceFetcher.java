@@ -0,0 +1,118 @@
+package pro.api4.jsonapi4j.plugin.cd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Validate;
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
+import pro.api4.jsonapi4j.compound.docs.client.HttpFetchResult;
+import pro.api4.jsonapi4j.compound.docs.client.InProcessResourceFetcher;
+import pro.api4.jsonapi4j.compound.docs.client.ParsedResource;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
+import pro.api4.jsonapi4j.compound.docs.config.Propagation;
+import pro.api4.jsonapi4j.compound.docs.exception.ErrorJsonApiResponseException;
+import pro.api4.jsonapi4j.context.RequestContext;
+import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.operation.OperationType;
+import pro.api4.jsonapi4j.operation.ReadMultipleResourcesOperation;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.request.JsonApiRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves includes of the resource types registered in the application's own {@link JsonApi4j} by executing
+ * {@code filter[id]} requests directly, instead of looping back over HTTP through the servlet container. Saves a full
+ * HTTP round trip, the servlet filters and a serialize/parse pass of every included resource.
+ *
+ * <p>The synthesized request carries what the HTTP request would carry according to the configured
+ * {@link Propagation}. Operations run on behalf of {@link CompoundDocsRequest#getPrincipal()} which is resolved from
+ * the very same headers the HTTP request would send.
+ */
+@Slf4j
+public class JsonApi4jInProcessResourceFetcher implements InProcessResourceFetcher {
+
+    private final JsonApi4j jsonApi4j;
+    private final ObjectMapper objectMapper;
+
+    public JsonApi4jInProcessResourceFetcher(JsonApi4j jsonApi4j,
+                                             ObjectMapper objectMapper) {
+        this.jsonApi4j = Validate.notNull(jsonApi4j, "jsonApi4j must not be null");
+        this.objectMapper = Validate.notNull(objectMapper, "objectMapper must not be null");
+    }
+
+    @Override
+    public boolean isLocal(String resourceType) {
+        return jsonApi4j.getDomainRegistry().getResource(new ResourceType(resourceType)) != null;
+    }
+
+    @Override
+    public HttpFetchResult doBatchFetch(String resourceType,
+                                        Set<String> ids,
+                                        Set<String> includes,
+                                        CompoundDocsRequest originalRequest,
+                                        CompoundDocsResolverConfig config) {
+        JsonApiRequest request = toJsonApiRequest(resourceType, ids, includes, originalRequest, config);
+        log.debug("Compound docs in-process request: type={}, ids={}, includes={}", resourceType, ids, includes);
+
+        // an own request context keeps the status and headers of the in-process request apart from the caller's
+        RequestContext context = RequestContext.of(originalRequest.getPrincipal());
+        try (RequestContext.Scope ignored = context.bind()) {
+            Object dataDoc = jsonApi4j.execute(request);
+            Optional<HttpStatusCodes> overriddenStatus = context.drainResponseStatus();
+            if (overriddenStatus.isPresent() && overriddenStatus.get().getCode() != 200) {
+                return onError(resourceType, "status " + overriddenStatus.get().getCode(), config, null);
+            }
+            List<ParsedResource> resources = ParsedResource.fromDataMember(objectMapper.valueToTree(dataDoc));
+            List<String> cacheControl = context.drainResponseHeaders().get(HttpHeaders.CACHE_CONTROL.getName());
+            return new HttpFetchResult(
+                    resources,
+                    cacheControl != null && cacheControl.size() == 1 ? cacheControl.getFirst() : null
+            );
+        } catch (RuntimeException e) {
+            return onError(resourceType, e.getMessage(), config, e);
+        }
+    }
+
+    private JsonApiRequest toJsonApiRequest(String resourceType,
+                                            Set<String> ids,
+                                            Set<String> includes,
+                                            CompoundDocsRequest originalRequest,
+                                            CompoundDocsResolverConfig config) {
+        JsonApiRequestBuilder builder = new JsonApiRequestBuilder()
+                .targetResourceType(new ResourceType(resourceType))
+                .operationType(OperationType.READ_MULTIPLE_RESOURCES)
+                .filterBy(Map.of(ReadMultipleResourcesOperation.ID_FILTER_NAME, ids.stream().sorted().toList()))
+                .includes(new ArrayList<>(includes));
+        if (config.getPropagation().contains(Propagation.FIELDS)) {
+            builder.fieldSets(originalRequest.getFieldSets());
+        }
+        if (config.getPropagation().contains(Propagation.CUSTOM_QUERY_PARAMS)) {
+            builder.customQueryParams(originalRequest.getCustomQueryParams());
+        }
+        builder.headers(config.getPropagation().contains(Propagation.HEADERS)
+                ? originalRequest.getHeaders()
+                : Collections.emptyMap());
+        return builder.build();
+    }
+
+    private HttpFetchResult onError(String resourceType,
+                                    String reason,
+                                    CompoundDocsResolverConfig config,
+                                    RuntimeException cause) {
+        if (config.getErrorStrategy() == ErrorStrategy.IGNORE) {
+            log.warn("In-process fetch of '{}' failed ({}), ignoring per error strategy", resourceType, reason);
+            return HttpFetchResult.ignoredFailure();
+        }
+        throw new ErrorJsonApiResponseException("In-process fetch of '" + resourceType + "' failed: " + reason, cause);
+    }
+
+}
@@ -1,10 +1,17 @@
 package pro.api4.jsonapi4j.plugin.cd.config;
 
+import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.OffHeapCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.RemoteCacheClient;
+import pro.api4.jsonapi4j.compound.docs.cache.TwoTierCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.config.CacheStorage;
 import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
 import pro.api4.jsonapi4j.compound.docs.config.Propagation;
 import pro.api4.jsonapi4j.config.PluginProperties;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 
 public interface CompoundDocsProperties extends PluginProperties {
 
@@ -21,9 +28,13 @@ public interface CompoundDocsProperties extends PluginProperties {
     String DEFAULT_ERROR_STRATEGY = "IGNORE";
     String DEFAULT_PROPAGATION = "FIELDS,CUSTOM_QUERY_PARAMS,HEADERS";
     String DEFAULT_DEDUPLICATE_RESOURCES = "true";
+    String DEFAULT_IN_PROCESS_INCLUDES = "true";
     String DEFAULT_HTTP_CONNECT_TIMEOUT_MS = "5000";
     String DEFAULT_HTTP_TOTAL_TIMEOUT_MS = "10000";
     String DEFAULT_MAX_BATCH_SIZE = "20";
+    String DEFAULT_HTTP_PREFER_HTTP2 = "true";
+    String DEFAULT_HTTP_MAX_CONNECTIONS_PER_DOMAIN = "64";
+    String DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS = "300000";
 
     default boolean enabled() {
         return Boolean.parseBoolean(DEFAULT_ENABLED);
@@ -68,6 +79,16 @@ public interface CompoundDocsProperties extends PluginProperties {
         return Boolean.parseBoolean(DEFAULT_DEDUPLICATE_RESOURCES);
     }
 
+    /**
+     * Resource types registered in the application's own {@link pro.api4.jsonapi4j.JsonApi4j} are resolved by
+     * executing the operations directly instead of looping back over HTTP.
+     *
+     * @return {@code true} if same-app includes are resolved in process
+     */
+    default boolean inProcessIncludes() {
+        return Boolean.parseBoolean(DEFAULT_IN_PROCESS_INCLUDES);
+    }
+
     default long httpConnectTimeoutMs() {
         return Long.parseLong(DEFAULT_HTTP_CONNECT_TIMEOUT_MS);
     }
@@ -76,17 +97,137 @@ public interface CompoundDocsProperties extends PluginProperties {
         return Long.parseLong(DEFAULT_HTTP_TOTAL_TIMEOUT_MS);
     }
 
+    default boolean httpPreferHttp2() {
+        return Boolean.parseBoolean(DEFAULT_HTTP_PREFER_HTTP2);
+    }
+
+    default int httpMaxConnectionsPerDomain() {
+        return Integer.parseInt(DEFAULT_HTTP_MAX_CONNECTIONS_PER_DOMAIN);
+    }
+
+    default long httpClientIdleTimeoutMs() {
+        return Long.parseLong(DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS);
+    }
+
     Cache cache();
 
     interface Cache {
 
         String DEFAULT_CACHE_ENABLED = "true";
         String DEFAULT_CACHE_MAX_SIZE = "1000";
+        String DEFAULT_CACHE_COALESCING_WINDOW_MS = "0";
+        String DEFAULT_CACHE_REFRESH_AHEAD_FRACTION = "0";
+        String DEFAULT_CACHE_STORAGE = "HEAP";
+        String DEFAULT_CACHE_MAX_SIZE_BYTES = "268435456";
+        String DEFAULT_CACHE_COMPRESSION = "false";
 
         boolean enabled();
 
         int maxSize();
 
+        /**
+         * Cache misses of concurrent requests for the same resource type are merged into one downstream call
+         * within this window (in milliseconds). {@code 0} disables merging, concurrent misses of the very same
+         * resource are still fetched only once.
+         *
+         * @return coalescing window in milliseconds
+         */
+        default long coalescingWindowMs() {
+            return Long.parseLong(DEFAULT_CACHE_COALESCING_WINDOW_MS);
+        }
+
+        /**
+         * A cached resource that has used up this fraction of its TTL is refreshed in the background while it's
+         * still being served, e.g. {@code 0.8} refreshes a resource cached for 60 seconds once it's 48 seconds old.
+         * {@code 0} disables refresh-ahead, resources are then only refreshed in the background within their
+         * {@code stale-while-revalidate} window.
+         *
+         * @return refresh-ahead fraction in {@code [0, 1)}
+         */
+        default double refreshAheadFraction() {
+            return Double.parseDouble(DEFAULT_CACHE_REFRESH_AHEAD_FRACTION);
+        }
+
+        /**
+         * @return where the default cache keeps resources: on heap, bounded by {@link #maxSize()}, or off heap,
+         * bounded by {@link #maxSizeBytes()}
+         */
+        default CacheStorage storage() {
+            return CacheStorage.valueOf(DEFAULT_CACHE_STORAGE);
+        }
+
+        /**
+         * @return max number of bytes the {@link CacheStorage#OFF_HEAP off-heap} cache occupies
+         */
+        default long maxSizeBytes() {
+            return Long.parseLong(DEFAULT_CACHE_MAX_SIZE_BYTES);
+        }
+
+        /**
+         * @return whether the {@link CacheStorage#OFF_HEAP off-heap} cache deflate-compresses larger resources
+         */
+        default boolean compression() {
+            return Boolean.parseBoolean(DEFAULT_CACHE_COMPRESSION);
+        }
+
+        /**
+         * Composes the default cache for the given settings.
+         *
+         * @param cache cache settings, may be null (defaults are used)
+         * @return a new cache instance
+         */
+        static CompoundDocsResourceCache composeDefaultCache(Cache cache) {
+            return composeDefaultCache(cache, null);
+        }
+
+        /**
+         * Composes the default cache for the given settings, layered over a shared remote store if there is one.
+         * Writes to the remote store happen synchronously on the calling thread.
+         *
+         * @param cache       cache settings, may be null (defaults are used)
+         * @param remoteCache shared second-tier store, may be null
+         * @return a new cache instance
+         */
+        static CompoundDocsResourceCache composeDefaultCache(Cache cache, RemoteCacheClient remoteCache) {
+            return composeDefaultCache(cache, remoteCache, Runnable::run);
+        }
+
+        /**
+         * Composes the default cache for the given settings, layered over a shared remote store if there is one.
+         *
+         * @param cache               cache settings, may be null (defaults are used)
+         * @param remoteCache         shared second-tier store, may be null
+         * @param remoteWriteExecutor runs writes to the remote store off the request thread, must not be null
+         * @return a new cache instance
+         */
+        static CompoundDocsResourceCache composeDefaultCache(Cache cache,
+                                                             RemoteCacheClient remoteCache,
+                                                             Executor remoteWriteExecutor) {
+            CompoundDocsResourceCache localCache = composeLocalCache(cache);
+            if (remoteCache == null) {
+                return localCache;
+            }
+            return new TwoTierCompoundDocsResourceCache(
+                    localCache,
+                    remoteCache,
+                    TwoTierCompoundDocsResourceCache.DEFAULT_KEY_PREFIX,
+                    remoteWriteExecutor
+            );
+        }
+
+        private static CompoundDocsResourceCache composeLocalCache(Cache cache) {
+            CacheStorage storage = cache != null ? cache.storage() : CacheStorage.valueOf(DEFAULT_CACHE_STORAGE);
+            if (storage == CacheStorage.OFF_HEAP) {
+                return new OffHeapCompoundDocsResourceCache(
+                        cache != null ? cache.maxSizeBytes() : Long.parseLong(DEFAULT_CACHE_MAX_SIZE_BYTES),
+                        cache != null ? cache.compression() : Boolean.parseBoolean(DEFAULT_CACHE_COMPRESSION)
+                );
+            }
+            return new InMemoryCompoundDocsResourceCache(
+                    cache != null ? cache.maxSize() : Integer.parseInt(DEFAULT_CACHE_MAX_SIZE)
+            );
+        }
+
     }
 
 }
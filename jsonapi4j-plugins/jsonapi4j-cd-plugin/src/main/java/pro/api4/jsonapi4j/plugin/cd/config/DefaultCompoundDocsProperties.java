@@ -3,6 +3,7 @@ package pro.api4.jsonapi4j.plugin.cd.config;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import pro.api4.jsonapi4j.compound.docs.config.CacheStorage;
 import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
 import pro.api4.jsonapi4j.compound.docs.config.Propagation;
 import pro.api4.jsonapi4j.config.JsonApi4jConfigReader;
@@ -26,8 +27,12 @@ public class DefaultCompoundDocsProperties implements CompoundDocsProperties {
     private int defaultMaxBatchSize = Integer.parseInt(DEFAULT_MAX_BATCH_SIZE);
     private List<Propagation> propagation = parsePropagationString(DEFAULT_PROPAGATION);
     private boolean deduplicateResources = Boolean.parseBoolean(DEFAULT_DEDUPLICATE_RESOURCES);
+    private boolean inProcessIncludes = Boolean.parseBoolean(DEFAULT_IN_PROCESS_INCLUDES);
     private long httpConnectTimeoutMs = Long.parseLong(DEFAULT_HTTP_CONNECT_TIMEOUT_MS);
     private long httpTotalTimeoutMs = Long.parseLong(DEFAULT_HTTP_TOTAL_TIMEOUT_MS);
+    private boolean httpPreferHttp2 = Boolean.parseBoolean(DEFAULT_HTTP_PREFER_HTTP2);
+    private int httpMaxConnectionsPerDomain = Integer.parseInt(DEFAULT_HTTP_MAX_CONNECTIONS_PER_DOMAIN);
+    private long httpClientIdleTimeoutMs = Long.parseLong(DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS);
     private DefaultCache cache;
 
     @Getter
@@ -36,6 +41,11 @@ public class DefaultCompoundDocsProperties implements CompoundDocsProperties {
 
         private boolean enabled = Boolean.parseBoolean(DEFAULT_CACHE_ENABLED);
         private int maxSize = Integer.parseInt(DEFAULT_CACHE_MAX_SIZE);
+        private long coalescingWindowMs = Long.parseLong(DEFAULT_CACHE_COALESCING_WINDOW_MS);
+        private double refreshAheadFraction = Double.parseDouble(DEFAULT_CACHE_REFRESH_AHEAD_FRACTION);
+        private CacheStorage storage = CacheStorage.valueOf(DEFAULT_CACHE_STORAGE);
+        private long maxSizeBytes = Long.parseLong(DEFAULT_CACHE_MAX_SIZE_BYTES);
+        private boolean compression = Boolean.parseBoolean(DEFAULT_CACHE_COMPRESSION);
 
         @Override
         public boolean enabled() {
@@ -46,6 +56,31 @@ public class DefaultCompoundDocsProperties implements CompoundDocsProperties {
         public int maxSize() {
             return maxSize;
         }
+
+        @Override
+        public long coalescingWindowMs() {
+            return coalescingWindowMs;
+        }
+
+        @Override
+        public double refreshAheadFraction() {
+            return refreshAheadFraction;
+        }
+
+        @Override
+        public CacheStorage storage() {
+            return storage;
+        }
+
+        @Override
+        public long maxSizeBytes() {
+            return maxSizeBytes;
+        }
+
+        @Override
+        public boolean compression() {
+            return compression;
+        }
     }
 
     public static CompoundDocsProperties toCdProperties(Map<String, Object> jsonApi4jPropertiesRaw) {
@@ -102,6 +137,11 @@ public class DefaultCompoundDocsProperties implements CompoundDocsProperties {
         return deduplicateResources;
     }
 
+    @Override
+    public boolean inProcessIncludes() {
+        return inProcessIncludes;
+    }
+
     @Override
     public long httpConnectTimeoutMs() {
         return httpConnectTimeoutMs;
@@ -112,6 +152,21 @@ public class DefaultCompoundDocsProperties implements CompoundDocsProperties {
         return httpTotalTimeoutMs;
     }
 
+    @Override
+    public boolean httpPreferHttp2() {
+        return httpPreferHttp2;
+    }
+
+    @Override
+    public int httpMaxConnectionsPerDomain() {
+        return httpMaxConnectionsPerDomain;
+    }
+
+    @Override
+    public long httpClientIdleTimeoutMs() {
+        return httpClientIdleTimeoutMs;
+    }
+
     @Override
     public Cache cache() {
         return cache;
@@ -7,7 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import pro.api4.jsonapi4j.compound.docs.DefaultDomainSettingsResolver;
 import pro.api4.jsonapi4j.compound.docs.DomainSettingsResolver;
 import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
-import pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.RemoteCacheClient;
 import pro.api4.jsonapi4j.config.JsonApi4jProperties;
 import pro.api4.jsonapi4j.init.JsonApi4jPropertiesLoader;
 import pro.api4.jsonapi4j.plugin.cd.CompoundDocsFilter;
@@ -17,6 +17,8 @@ import pro.api4.jsonapi4j.plugin.cd.config.DefaultCompoundDocsProperties;
 import java.util.Map;
 import java.util.Set;
 
+import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.initExecutorService;
+
 @Slf4j
 public class JsonApi4jCompoundDocsServletContainerInitializer implements ServletContainerInitializer {
 
@@ -25,6 +27,7 @@ public class JsonApi4jCompoundDocsServletContainerInitializer implements Servlet
     public static final String COMPOUND_DOCS_PLUGIN_PROPERTIES_ATT_NAME = "jsonApi4jCdPluginProperties";
     public static final String COMPOUND_DOCS_PLUGIN_DOMAIN_SETTINGS_RESOLVER_ATT_NAME = "jsonApi4jCdPluginDomainResolver";
     public static final String COMPOUND_DOCS_PLUGIN_CACHE_ATT_NAME = "jsonApi4jCdPluginCache";
+    public static final String COMPOUND_DOCS_PLUGIN_REMOTE_CACHE_CLIENT_ATT_NAME = "jsonApi4jCdPluginRemoteCacheClient";
 
     @Override
     public void onStartup(Set<Class<?>> hooks, ServletContext servletContext) {
@@ -52,11 +55,12 @@ public class JsonApi4jCompoundDocsServletContainerInitializer implements Servlet
             return;
         }
         if (servletContext.getAttribute(COMPOUND_DOCS_PLUGIN_CACHE_ATT_NAME) == null) {
-            log.warn("CD Cache is not found in servlet context. Composing a default InMemoryCompoundDocsResourceCache...");
-            int maxSize = cdProperties.cache() != null
-                    ? cdProperties.cache().maxSize()
-                    : Integer.parseInt(CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE);
-            CompoundDocsResourceCache cache = new InMemoryCompoundDocsResourceCache(maxSize);
+            log.warn("CD Cache is not found in servlet context. Composing a default one...");
+            RemoteCacheClient remoteCache = (RemoteCacheClient) servletContext
+                    .getAttribute(COMPOUND_DOCS_PLUGIN_REMOTE_CACHE_CLIENT_ATT_NAME);
+            CompoundDocsResourceCache cache = remoteCache != null
+                    ? CompoundDocsProperties.Cache.composeDefaultCache(cdProperties.cache(), remoteCache, initExecutorService(servletContext))
+                    : CompoundDocsProperties.Cache.composeDefaultCache(cdProperties.cache());
             servletContext.setAttribute(COMPOUND_DOCS_PLUGIN_CACHE_ATT_NAME, cache);
         }
     }
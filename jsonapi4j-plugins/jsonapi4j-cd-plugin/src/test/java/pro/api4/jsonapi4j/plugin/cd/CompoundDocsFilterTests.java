@@ -0,0 +1,96 @@
+package pro.api4.jsonapi4j.plugin.cd;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.principal.JwtPrincipalResolver;
+import pro.api4.jsonapi4j.principal.Principal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompoundDocsFilterTests {
+
+    private final JwtPrincipalResolver principalResolver = new JwtPrincipalResolver();
+
+    private HttpServletRequest request;
+    private Map<String, Object> requestAttributes;
+
+    @BeforeEach
+    void setUp() {
+        request = mock(HttpServletRequest.class);
+        requestAttributes = new HashMap<>();
+        doAnswer(invocation -> requestAttributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(any(), any());
+        when(request.getAttribute(any())).thenAnswer(invocation -> requestAttributes.get(invocation.getArgument(0)));
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwtWithPayload(
+                "{\"sub\":\"user-42\",\"scope\":\"read write\"}"
+        ));
+    }
+
+    private static String jwtWithPayload(String payloadJson) {
+        String header = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\"}");
+        String payload = encode(payloadJson);
+        return String.format("%s.%s.%s", header, payload, "not-a-verified-signature");
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void resolveIncludesPrincipal_headersPropagated_resolvesCallersPrincipal() {
+        // when
+        Principal principal = CompoundDocsFilter.resolveIncludesPrincipal(principalResolver, request, true);
+
+        // then
+        assertThat(principal.authenticatedUserId()).isEqualTo("user-42");
+        assertThat(principal.authenticatedClientScopes()).containsExactlyInAnyOrder("read", "write");
+    }
+
+    @Test
+    void resolveIncludesPrincipal_headersNotPropagated_resolvesAnonymousPrincipal() {
+        // when
+        Principal principal = CompoundDocsFilter.resolveIncludesPrincipal(principalResolver, request, false);
+
+        // then
+        assertThat(principal.authenticatedUserId()).isNull();
+        assertThat(principal.authenticatedClientScopes()).isNullOrEmpty();
+    }
+
+    @Test
+    void resolveIncludesPrincipal_headersNotPropagatedAndCallerResolvedFirst_ignoresCachedClaims() {
+        // given - the caller's principal has been resolved before and its claims are cached on the request
+        assertThat(principalResolver.resolveUserId(request)).isEqualTo("user-42");
+
+        // when
+        Principal principal = CompoundDocsFilter.resolveIncludesPrincipal(principalResolver, request, false);
+
+        // then
+        assertThat(principal.authenticatedUserId()).isNull();
+        assertThat(principal.authenticatedClientScopes()).isNullOrEmpty();
+    }
+
+    @Test
+    void resolveIncludesPrincipal_headersNotPropagatedAndCallerResolvedAfterwards_keepsCallersPrincipal() {
+        // given
+        CompoundDocsFilter.resolveIncludesPrincipal(principalResolver, request, false);
+
+        // when
+        String callerUserId = principalResolver.resolveUserId(request);
+
+        // then
+        assertThat(callerUserId).isEqualTo("user-42");
+        assertThat(requestAttributes).hasSize(1);
+    }
+
+}
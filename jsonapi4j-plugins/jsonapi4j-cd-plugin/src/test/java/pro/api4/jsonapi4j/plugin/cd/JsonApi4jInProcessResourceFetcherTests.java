@@ -0,0 +1,204 @@
+package pro.api4.jsonapi4j.plugin.cd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.compound.docs.CompoundDocsRequest;
+import pro.api4.jsonapi4j.compound.docs.client.HttpFetchResult;
+import pro.api4.jsonapi4j.compound.docs.client.ParsedResource;
+import pro.api4.jsonapi4j.compound.docs.config.CompoundDocsResolverConfig;
+import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
+import pro.api4.jsonapi4j.compound.docs.config.Propagation;
+import pro.api4.jsonapi4j.compound.docs.exception.ErrorJsonApiResponseException;
+import pro.api4.jsonapi4j.context.RequestContext;
+import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.principal.DefaultPrincipal;
+import pro.api4.jsonapi4j.principal.Principal;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JsonApi4jInProcessResourceFetcherTests {
+
+    private static final Map<String, Object> USERS_DOC = Map.of("data", List.of(
+            Map.of("type", "users", "id", "1"),
+            Map.of("type", "users", "id", "2")
+    ));
+
+    private final JsonApi4j jsonApi4j = mock(JsonApi4j.class);
+    private final JsonApi4jInProcessResourceFetcher fetcher
+            = new JsonApi4jInProcessResourceFetcher(jsonApi4j, new ObjectMapper());
+
+    private static CompoundDocsResolverConfig config(ErrorStrategy errorStrategy, List<Propagation> propagation) {
+        return new CompoundDocsResolverConfig(
+                true, 3, 100, errorStrategy, propagation, true,
+                1000, 5000, false, 10, 60_000, false, 100, 0, 0
+        );
+    }
+
+    private static CompoundDocsRequest request(Principal principal) {
+        return new CompoundDocsRequest(
+                "GET", List.of("users"), Collections.emptyMap(), Map.of("Authorization", "Bearer token"),
+                "/posts", Collections.emptyMap(), "http://localhost/jsonapi", principal
+        );
+    }
+
+    private HttpFetchResult fetchUsers(ErrorStrategy errorStrategy) {
+        return fetcher.doBatchFetch(
+                "users", Set.of("2", "1"), Set.of(), request(null), config(errorStrategy, List.of())
+        );
+    }
+
+    @Test
+    void doBatchFetch_operationSucceeds_returnsResourcesAndCacheControl() {
+        // given
+        when(jsonApi4j.execute(any())).thenAnswer(invocation -> {
+            RequestContext.current().setResponseHeader(HttpHeaders.CACHE_CONTROL.getName(), "max-age=60");
+            return USERS_DOC;
+        });
+
+        // when
+        HttpFetchResult result = fetchUsers(ErrorStrategy.FAIL);
+
+        // then
+        assertThat(result.resources()).extracting(ParsedResource::id).containsExactly("1", "2");
+        assertThat(result.cacheControlHeader()).isEqualTo("max-age=60");
+        assertThat(result.failed()).isFalse();
+    }
+
+    @Test
+    void doBatchFetch_noCacheControlSet_returnsNoCacheControl() {
+        // given
+        when(jsonApi4j.execute(any())).thenReturn(USERS_DOC);
+
+        // when
+        HttpFetchResult result = fetchUsers(ErrorStrategy.FAIL);
+
+        // then
+        assertThat(result.resources()).hasSize(2);
+        assertThat(result.cacheControlHeader()).isNull();
+    }
+
+    @Test
+    void doBatchFetch_statusOverriddenAndFailStrategy_throws() {
+        // given
+        when(jsonApi4j.execute(any())).thenAnswer(invocation -> {
+            RequestContext.current().setResponseStatus(HttpStatusCodes.SC_403_FORBIDDEN);
+            return USERS_DOC;
+        });
+
+        // when - then
+        assertThatThrownBy(() -> fetchUsers(ErrorStrategy.FAIL))
+                .isInstanceOf(ErrorJsonApiResponseException.class)
+                .hasMessageContaining("status 403");
+    }
+
+    @Test
+    void doBatchFetch_statusOverriddenAndIgnoreStrategy_returnsIgnoredFailure() {
+        // given
+        when(jsonApi4j.execute(any())).thenAnswer(invocation -> {
+            RequestContext.current().setResponseStatus(HttpStatusCodes.SC_403_FORBIDDEN);
+            return USERS_DOC;
+        });
+
+        // when
+        HttpFetchResult result = fetchUsers(ErrorStrategy.IGNORE);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.resources()).isEmpty();
+    }
+
+    @Test
+    void doBatchFetch_operationThrowsAndFailStrategy_throwsWithCause() {
+        // given
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(jsonApi4j.execute(any())).thenThrow(failure);
+
+        // when - then
+        assertThatThrownBy(() -> fetchUsers(ErrorStrategy.FAIL))
+                .isInstanceOf(ErrorJsonApiResponseException.class)
+                .hasCause(failure);
+    }
+
+    @Test
+    void doBatchFetch_operationThrowsAndIgnoreStrategy_returnsIgnoredFailure() {
+        // given
+        when(jsonApi4j.execute(any())).thenThrow(new IllegalStateException("boom"));
+
+        // when
+        HttpFetchResult result = fetchUsers(ErrorStrategy.IGNORE);
+
+        // then
+        assertThat(result.failed()).isTrue();
+    }
+
+    @Test
+    void doBatchFetch_runsOnBehalfOfRequestPrincipalInOwnContext() {
+        // given
+        Principal principal = new DefaultPrincipal(null, Set.of("read"), "user-42");
+        AtomicReference<Principal> operationPrincipal = new AtomicReference<>();
+        when(jsonApi4j.execute(any())).thenAnswer(invocation -> {
+            operationPrincipal.set(RequestContext.currentPrincipal().orElse(null));
+            RequestContext.current().setResponseStatus(HttpStatusCodes.SC_200_OK);
+            RequestContext.current().setResponseHeader(HttpHeaders.CACHE_CONTROL.getName(), "max-age=60");
+            return USERS_DOC;
+        });
+        RequestContext callerContext = RequestContext.of(null);
+
+        // when
+        try (RequestContext.Scope ignored = callerContext.bind()) {
+            fetcher.doBatchFetch("users", Set.of("1"), Set.of(), request(principal), config(ErrorStrategy.FAIL, List.of()));
+        }
+
+        // then
+        assertThat(operationPrincipal.get()).isEqualTo(principal);
+        assertThat(callerContext.drainResponseStatus()).isEmpty();
+        assertThat(callerContext.drainResponseHeaders()).isEmpty();
+    }
+
+    @Test
+    void doBatchFetch_headersNotPropagated_sendsNoHeaders() {
+        // given
+        when(jsonApi4j.execute(any())).thenReturn(USERS_DOC);
+
+        // when
+        fetcher.doBatchFetch("users", Set.of("2", "1"), Set.of(), request(null), config(ErrorStrategy.FAIL, List.of()));
+
+        // then
+        ArgumentCaptor<JsonApiRequest> captor = ArgumentCaptor.forClass(JsonApiRequest.class);
+        verify(jsonApi4j).execute(captor.capture());
+        assertThat(captor.getValue().getHeaders()).isEmpty();
+        assertThat(captor.getValue().getFilters()).containsEntry("id", List.of("1", "2"));
+    }
+
+    @Test
+    void doBatchFetch_headersPropagated_sendsOriginalHeaders() {
+        // given
+        when(jsonApi4j.execute(any())).thenReturn(USERS_DOC);
+
+        // when
+        fetcher.doBatchFetch(
+                "users", Set.of("1"), Set.of(), request(null), config(ErrorStrategy.FAIL, List.of(Propagation.HEADERS))
+        );
+
+        // then
+        ArgumentCaptor<JsonApiRequest> captor = ArgumentCaptor.forClass(JsonApiRequest.class);
+        verify(jsonApi4j).execute(captor.capture());
+        assertThat(captor.getValue().getHeaders()).containsEntry("Authorization", "Bearer token");
+    }
+
+}
@@ -5,7 +5,7 @@ import pro.api4.jsonapi4j.model.document.data.ResourceObject;
 import pro.api4.jsonapi4j.plugin.sf.config.SfProperties;
 import pro.api4.jsonapi4j.plugin.sf.config.SfProperties.RequestedFieldsDontExistMode;
 import pro.api4.jsonapi4j.request.JsonApiRequest;
-import pro.api4.jsonapi4j.util.ReflectionUtils;
+import pro.api4.jsonapi4j.util.FieldAccessors;
 
 import java.util.*;
 
@@ -43,14 +43,14 @@ class SparseFieldsetsHelper {
 
     private void sparseAllFields(ResourceObject<?, ?> resourceObject) {
         log.debug("Sparse fieldsets: removing all attributes for resource type '{}'", resourceObject.getType());
-        ReflectionUtils.setFieldPathValueSilent(resourceObject, ResourceObject.ATTRIBUTES_FIELD, null);
+        FieldAccessors.setValue(resourceObject, ResourceObject.ATTRIBUTES_FIELD, null);
     }
 
     private void nonEmptyFieldsParamRequested(ResourceObject<?, ?> resourceObject,
                                               List<String> requestedPaths,
                                               RequestedFieldsDontExistMode requestedFieldsDontExistMode) {
         List<String> existingPathsToInclude = requestedPaths.stream()
-                .filter(p -> ReflectionUtils.fieldPathExists(resourceObject.getAttributes(), p))
+                .filter(p -> FieldAccessors.pathExists(resourceObject.getAttributes(), p))
                 .toList();
         if (existingPathsToInclude.isEmpty()) {
             switch (requestedFieldsDontExistMode) {
@@ -67,16 +67,7 @@ class SparseFieldsetsHelper {
     private void sparseNonRequestedFields(ResourceObject<?, ?> resourceObject,
                                           List<String> existingPathsToInclude) {
         Object attributes = resourceObject.getAttributes();
-        List<String> denormalizedPathsToInclude = existingPathsToInclude.stream()
-                .flatMap(p -> denormalizePath(p).stream())
-                .distinct()
-                .toList();
-        Set<String> allPaths = ReflectionUtils.getAllFieldPaths(attributes.getClass());
-        for (String path : allPaths) {
-            if (!denormalizedPathsToInclude.contains(path)) {
-                ReflectionUtils.setFieldPathValueSilent(attributes, path, null);
-            }
-        }
+        SparseFieldsetsProjection.forPaths(attributes.getClass(), existingPathsToInclude).apply(attributes);
     }
 
     /**
@@ -86,18 +77,7 @@ class SparseFieldsetsHelper {
      * @return denormalized list of paths
      */
     List<String> denormalizePath(String path) {
-        String[] pathFragments = path.split("\\.");
-        if (pathFragments.length == 1) {
-            return Collections.singletonList(path);
-        }
-        List<String> result = new ArrayList<>();
-        String currentSubpath = pathFragments[0];
-        result.add(pathFragments[0]);
-        for (int i = 1; i < pathFragments.length; i++) {
-            result.add(currentSubpath + "." + pathFragments[i]);
-            currentSubpath = currentSubpath + "." + pathFragments[i];
-        }
-        return Collections.unmodifiableList(result);
+        return SparseFieldsetsProjection.denormalizePath(path);
     }
 
 }
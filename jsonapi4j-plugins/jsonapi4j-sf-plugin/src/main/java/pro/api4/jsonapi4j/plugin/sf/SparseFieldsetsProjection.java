@@ -0,0 +1,161 @@
+package pro.api4.jsonapi4j.plugin.sf;
+
+import lombok.extern.slf4j.Slf4j;
+import pro.api4.jsonapi4j.util.FieldAccessors;
+import pro.api4.jsonapi4j.util.FieldAccessors.FieldAccessor;
+import pro.api4.jsonapi4j.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled sparse fieldsets projection for a particular (attributes class, requested paths) pair.
+ *
+ * <p>All field paths of the attributes class are arranged into a tree once. Applying the projection walks
+ * that tree and nulls every branch that is not requested, without descending into branches that have
+ * already been cleared. Projections are immutable and cached per attributes class, so repeated requests
+ * with the same {@code fields[type]} value reuse them across all resource objects.
+ */
+@Slf4j
+final class SparseFieldsetsProjection {
+
+    // requested paths come from the query string, so the number of cached projections per class is bounded
+    private static final int CACHE_LIMIT_PER_CLASS = 128;
+
+    private static final ClassValue<ConcurrentMap<List<String>, SparseFieldsetsProjection>> CACHE = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<List<String>, SparseFieldsetsProjection> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Node[] roots;
+
+    private SparseFieldsetsProjection(Node[] roots) {
+        this.roots = roots;
+    }
+
+    /**
+     * @param attributesClass attributes type
+     * @param pathsToKeep     existing requested paths, e.g. {"a.b", "c"}
+     * @return cached or freshly compiled projection
+     */
+    static SparseFieldsetsProjection forPaths(Class<?> attributesClass,
+                                              List<String> pathsToKeep) {
+        ConcurrentMap<List<String>, SparseFieldsetsProjection> projections = CACHE.get(attributesClass);
+        SparseFieldsetsProjection projection = projections.get(pathsToKeep);
+        if (projection == null) {
+            projection = compile(attributesClass, pathsToKeep);
+            if (projections.size() < CACHE_LIMIT_PER_CLASS) {
+                SparseFieldsetsProjection existing = projections.putIfAbsent(List.copyOf(pathsToKeep), projection);
+                if (existing != null) {
+                    projection = existing;
+                }
+            }
+        }
+        return projection;
+    }
+
+    private static SparseFieldsetsProjection compile(Class<?> attributesClass,
+                                                     List<String> requestedPaths) {
+        Set<String> pathsToKeep = new HashSet<>();
+        requestedPaths.forEach(p -> pathsToKeep.addAll(denormalizePath(p)));
+        Map<String, MutableNode> roots = new LinkedHashMap<>();
+        // sorting guarantees that parents are registered before their children
+        ReflectionUtils.getAllFieldPaths(attributesClass).stream().sorted().forEach(path -> {
+            String[] segments = path.split("\\.");
+            Map<String, MutableNode> level = roots;
+            for (int i = 0; i < segments.length - 1; i++) {
+                level = level.get(segments[i]).children;
+            }
+            level.put(segments[segments.length - 1], new MutableNode(pathsToKeep.contains(path)));
+        });
+        log.debug("Compiled sparse fieldsets projection for {} keeping {}", attributesClass.getSimpleName(), requestedPaths);
+        return new SparseFieldsetsProjection(MutableNode.freeze(roots));
+    }
+
+    /**
+     * Denormalizes path like "a.b.c" to {"a", "a.b", "a.b.c"} so previous subpaths will not be set to null.
+     *
+     * @param path original path e.g. "a.b.c"
+     * @return denormalized list of paths
+     */
+    static List<String> denormalizePath(String path) {
+        List<String> result = new ArrayList<>();
+        int delimiterIdx = path.indexOf('.');
+        while (delimiterIdx >= 0) {
+            result.add(path.substring(0, delimiterIdx));
+            delimiterIdx = path.indexOf('.', delimiterIdx + 1);
+        }
+        result.add(path);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Nulls all non-requested fields of the given attributes object.
+     *
+     * @param attributes attributes object of the type this projection was compiled for
+     */
+    void apply(Object attributes) {
+        apply(attributes, roots);
+    }
+
+    private static void apply(Object target, Node[] nodes) {
+        for (Node node : nodes) {
+            FieldAccessor accessor = FieldAccessors.find(target.getClass(), node.fieldName);
+            if (accessor == null) {
+                continue;
+            }
+            if (!node.keep && tryClear(target, accessor)) {
+                continue;
+            }
+            // kept branch or a field that can't be nulled (e.g. primitive) - descend
+            if (node.children.length > 0) {
+                Object value = accessor.getValue(target);
+                if (value != null) {
+                    apply(value, node.children);
+                }
+            }
+        }
+    }
+
+    private static boolean tryClear(Object target, FieldAccessor accessor) {
+        if (accessor.getFieldType().isPrimitive() || !accessor.isWritable()) {
+            return false;
+        }
+        try {
+            accessor.setValue(target, null);
+            return true;
+        } catch (RuntimeException e) {
+            log.trace("Can't sparse '{}' field: {}", accessor.getFieldName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private record Node(String fieldName, boolean keep, Node[] children) {
+    }
+
+    private static final class MutableNode {
+
+        private final boolean keep;
+        private final Map<String, MutableNode> children = new LinkedHashMap<>();
+
+        private MutableNode(boolean keep) {
+            this.keep = keep;
+        }
+
+        private static Node[] freeze(Map<String, MutableNode> nodes) {
+            List<Node> result = new ArrayList<>(nodes.size());
+            nodes.forEach((name, node) -> result.add(new Node(name, node.keep, freeze(node.children))));
+            return result.toArray(Node[]::new);
+        }
+    }
+
+}
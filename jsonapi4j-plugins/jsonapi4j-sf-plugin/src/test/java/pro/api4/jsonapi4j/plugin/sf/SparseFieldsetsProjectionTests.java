@@ -0,0 +1,76 @@
+package pro.api4.jsonapi4j.plugin.sf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SparseFieldsetsProjectionTests {
+
+    private static class Att {
+
+        String name = "name";
+        String email = "email";
+        int age = 42;
+        Address address = new Address();
+
+        private static class Address {
+            String city = "city";
+            String street = "street";
+        }
+    }
+
+    @Test
+    public void forPaths_samePaths_returnsCachedProjection() {
+        // when
+        SparseFieldsetsProjection first = SparseFieldsetsProjection.forPaths(Att.class, List.of("name"));
+        SparseFieldsetsProjection second = SparseFieldsetsProjection.forPaths(Att.class, List.of("name"));
+        SparseFieldsetsProjection other = SparseFieldsetsProjection.forPaths(Att.class, List.of("email"));
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(other).isNotSameAs(first);
+    }
+
+    @Test
+    public void apply_multipleObjects_onlyRequestedFieldsKept() {
+        // given
+        SparseFieldsetsProjection projection = SparseFieldsetsProjection.forPaths(Att.class, List.of("name", "address.city"));
+        Att first = new Att();
+        Att second = new Att();
+        second.address = null;
+
+        // when
+        projection.apply(first);
+        projection.apply(second);
+
+        // then
+        assertThat(first.name).isEqualTo("name");
+        assertThat(first.email).isNull();
+        assertThat(first.age).isEqualTo(42);
+        assertThat(first.address).isNotNull();
+        assertThat(first.address.city).isEqualTo("city");
+        assertThat(first.address.street).isNull();
+        assertThat(second.name).isEqualTo("name");
+        assertThat(second.email).isNull();
+        assertThat(second.address).isNull();
+    }
+
+    @Test
+    public void apply_parentNotRequested_wholeBranchCleared() {
+        // given
+        SparseFieldsetsProjection projection = SparseFieldsetsProjection.forPaths(Att.class, List.of("email"));
+        Att att = new Att();
+        Att.Address address = att.address;
+
+        // when
+        projection.apply(att);
+
+        // then
+        assertThat(att.address).isNull();
+        // children of a cleared branch are not touched
+        assertThat(address.city).isEqualTo("city");
+    }
+
+}
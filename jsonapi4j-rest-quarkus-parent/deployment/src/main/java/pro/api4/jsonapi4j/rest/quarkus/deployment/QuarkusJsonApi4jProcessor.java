@@ -3,12 +3,19 @@ package pro.api4.jsonapi4j.rest.quarkus.deployment;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.NativeImageProxyDefinitionBuildItem;
+import io.quarkus.runtime.configuration.ConfigurationException;
 import io.quarkus.undertow.deployment.FilterBuildItem;
 import io.quarkus.undertow.deployment.IgnoredServletContainerInitializerBuildItem;
 import io.quarkus.undertow.deployment.ListenerBuildItem;
 import io.quarkus.undertow.deployment.ServletBuildItem;
+import io.quarkus.vertx.http.deployment.BodyHandlerBuildItem;
+import io.quarkus.vertx.http.deployment.RouteBuildItem;
 import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.api4.jsonapi4j.filter.principal.PrincipalResolvingFilter;
@@ -24,8 +31,14 @@ import pro.api4.jsonapi4j.rest.quarkus.runtime.oas.QuarkusJsonApi4jOasProperties
 import pro.api4.jsonapi4j.rest.quarkus.runtime.oas.QuarkusJsonApi4jOasServletContextListener;
 import pro.api4.jsonapi4j.rest.quarkus.runtime.sf.QuarkusJsonApi4jSfPluginBeans;
 import pro.api4.jsonapi4j.rest.quarkus.runtime.sf.QuarkusJsonApi4jSfProperties;
+import pro.api4.jsonapi4j.rest.quarkus.runtime.vertx.QuarkusJsonApi4jVertxDispatcher;
+import pro.api4.jsonapi4j.rest.quarkus.runtime.vertx.QuarkusJsonApi4jVertxRecorder;
 import pro.api4.jsonapi4j.servlet.JsonApi4jDispatcherServlet;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.*;
 
 class QuarkusJsonApi4jProcessor {
@@ -45,13 +58,51 @@ class QuarkusJsonApi4jProcessor {
     }
 
     @BuildStep
-    ServletBuildItem registersJsonApi4jDispatcherServlet(QuarkusJsonApi4jProperties props) {
+    void registersJsonApi4jDispatcherServlet(QuarkusJsonApi4jProperties props,
+                                             BuildProducer<ServletBuildItem> servlets) {
+        if (isVertxRouteMode(props)) {
+            return;
+        }
         String mapping = toServletMapping(props.rootPath());
         LOG.info("Registering JsonApi4jDispatcherServlet on '{}'", mapping);
-        return ServletBuildItem.builder(JSONAPI4J_DISPATCHER_SERVLET_NAME, JsonApi4jDispatcherServlet.class.getName())
-                .addMapping(mapping)
-                .setLoadOnStartup(1)
-                .build();
+        servlets.produce(
+                ServletBuildItem.builder(JSONAPI4J_DISPATCHER_SERVLET_NAME, JsonApi4jDispatcherServlet.class.getName())
+                        .addMapping(mapping)
+                        .setLoadOnStartup(1)
+                        .build()
+        );
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void registerJsonApi4jVertxRoute(QuarkusJsonApi4jProperties props,
+                                     QuarkusJsonApi4jOasProperties oasProperties,
+                                     QuarkusJsonApi4jVertxRecorder recorder,
+                                     BodyHandlerBuildItem bodyHandler,
+                                     BuildProducer<RouteBuildItem> routes) {
+        if (!isVertxRouteMode(props)) {
+            return;
+        }
+        String mapping = toServletMapping(props.rootPath());
+        List<String> servletPaths = new ArrayList<>();
+        if (isOasPluginEnabled(oasProperties)) {
+            relativeTo(props.rootPath(), oasProperties.oasRootPath()).ifPresent(servletPaths::add);
+        }
+        LOG.info("Registering JsonApi4j Vert.x route on '{}'", mapping);
+        routes.produce(
+                RouteBuildItem.builder()
+                        .routeFunction(mapping, recorder.bodyHandling(bodyHandler.getHandler()))
+                        .handler(recorder.dispatcherHandler(servletPaths))
+                        .build()
+        );
+    }
+
+    @BuildStep
+    void registerServletRequestViewProxy(QuarkusJsonApi4jProperties props,
+                                         BuildProducer<NativeImageProxyDefinitionBuildItem> proxies) {
+        if (isVertxRouteMode(props)) {
+            proxies.produce(new NativeImageProxyDefinitionBuildItem(HttpServletRequest.class.getName()));
+        }
     }
 
     @BuildStep
@@ -80,6 +131,13 @@ class QuarkusJsonApi4jProcessor {
             LOG.info("Compound docs disabled, skipping CompoundDocsFilter registration");
             return;
         }
+        if (isVertxRouteMode(jsonApi4jProperties)) {
+            // 'include' requests would silently get documents without 'included'
+            throw new ConfigurationException(
+                    "Compound docs are resolved by a servlet filter that doesn't apply to the JsonApi4j Vert.x route. "
+                            + "Either set 'jsonapi4j.routeMode=SERVLET' or disable compound docs ('jsonapi4j.cd.enabled=false')"
+            );
+        }
 
         String mapping = toServletMapping(jsonApi4jProperties.rootPath());
         LOG.info("Registering CompoundDocsFilter on '{}'", mapping);
@@ -92,29 +150,42 @@ class QuarkusJsonApi4jProcessor {
     }
 
     @BuildStep
-    FilterBuildItem registerPrincipalResolvingFilter(QuarkusJsonApi4jProperties props) {
+    void registerPrincipalResolvingFilter(QuarkusJsonApi4jProperties props,
+                                          BuildProducer<FilterBuildItem> filters) {
+        if (isVertxRouteMode(props)) {
+            return;
+        }
         String mapping = toServletMapping(props.rootPath());
         LOG.info("Registering PrincipalResolvingFilter on '{}'", mapping);
-        return FilterBuildItem.builder(JSONAPI4J_PRINCIPAL_RESOLVING_FILTER_NAME, PrincipalResolvingFilter.class.getName())
-                .addFilterUrlMapping(mapping, DispatcherType.REQUEST)
-                .setLoadOnStartup(1)
-                .build();
+        filters.produce(
+                FilterBuildItem.builder(JSONAPI4J_PRINCIPAL_RESOLVING_FILTER_NAME, PrincipalResolvingFilter.class.getName())
+                        .addFilterUrlMapping(mapping, DispatcherType.REQUEST)
+                        .setLoadOnStartup(1)
+                        .build()
+        );
     }
 
     @BuildStep
-    FilterBuildItem registerRequestBodyCachingFilter(QuarkusJsonApi4jProperties props) {
+    void registerRequestBodyCachingFilter(QuarkusJsonApi4jProperties props,
+                                          BuildProducer<FilterBuildItem> filters) {
+        if (isVertxRouteMode(props)) {
+            return;
+        }
         String mapping = toServletMapping(props.rootPath());
         LOG.info("Registering RequestBodyCachingFilter on '{}'", mapping);
-        return FilterBuildItem.builder(
-                        JSONAPI4J_REQUEST_BODY_CACHING_FILTER_NAME,
-                        "pro.api4.jsonapi4j.servlet.request.body.RequestBodyCachingFilter"
-                ).addFilterUrlMapping(mapping, DispatcherType.REQUEST)
-                .setLoadOnStartup(1)
-                .build();
+        filters.produce(
+                FilterBuildItem.builder(
+                                JSONAPI4J_REQUEST_BODY_CACHING_FILTER_NAME,
+                                "pro.api4.jsonapi4j.servlet.request.body.RequestBodyCachingFilter"
+                        ).addFilterUrlMapping(mapping, DispatcherType.REQUEST)
+                        .setLoadOnStartup(1)
+                        .build()
+        );
     }
 
     @BuildStep
-    AdditionalBeanBuildItem jsonapi4jCdiBeans(QuarkusJsonApi4jOasProperties oasProperties,
+    AdditionalBeanBuildItem jsonapi4jCdiBeans(QuarkusJsonApi4jProperties props,
+                                              QuarkusJsonApi4jOasProperties oasProperties,
                                               QuarkusJsonApi4jAcProperties acProperties,
                                               QuarkusJsonApi4jSfProperties sfProperties,
                                               QuarkusJsonApi4jCompoundDocsProperties cdProperties) {
@@ -124,6 +195,11 @@ class QuarkusJsonApi4jProcessor {
                 .addBeanClass(QuarkusJsonApi4jDefaultBeans.class)
                 .addBeanClass(QuarkusJsonApi4jProperties.class);
 
+        if (isVertxRouteMode(props)) {
+            LOG.info("JsonApi4j is served by a Vert.x route, registering {}", QuarkusJsonApi4jVertxDispatcher.class.getSimpleName());
+            builder.addBeanClass(QuarkusJsonApi4jVertxDispatcher.class);
+        }
+
         if (isAcPluginEnabled(acProperties)) {
             LOG.info("{} plugin is enabled, registering AC-related CDI beans", AC_PLUGIN_CLASSNAME);
             builder.addBeanClass(QuarkusJsonApi4jAcProperties.class.getName());
@@ -225,6 +301,21 @@ class QuarkusJsonApi4jProcessor {
         return normalized.endsWith("/*") ? normalized : normalized + "/*";
     }
 
+    /**
+     * @return path of the servlet relative to the root path, or an empty {@link Optional} if it's not mounted under it
+     */
+    private static Optional<String> relativeTo(String rootPath, String servletPath) {
+        String root = toServletMapping(rootPath);
+        String prefix = root.substring(0, root.length() - 1);
+        String path = toServletMapping(servletPath);
+        path = path.substring(0, path.length() - 2);
+        return path.startsWith(prefix) ? Optional.of(path.substring(prefix.length() - 1)) : Optional.empty();
+    }
+
+    private static boolean isVertxRouteMode(QuarkusJsonApi4jProperties props) {
+        return props.routeMode() == QuarkusJsonApi4jRouteMode.VERTX;
+    }
+
     private static boolean isClassPresent(String className) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         try {
@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.api4.jsonapi4j.JsonApi4j;
 import pro.api4.jsonapi4j.JsonApiBuildInRequestValidatorFactory;
+import pro.api4.jsonapi4j.config.ExecutionProperties;
 import pro.api4.jsonapi4j.config.MetaConfigComposer;
 import pro.api4.jsonapi4j.domain.DomainRegistry;
 import pro.api4.jsonapi4j.domain.Relationship;
@@ -31,9 +32,9 @@ import pro.api4.jsonapi4j.servlet.response.errorhandling.JsonApi4jErrorHandlerFa
 import pro.api4.jsonapi4j.servlet.response.errorhandling.impl.DefaultErrorHandlerFactory;
 import pro.api4.jsonapi4j.validation.DefaultJsonApiBuildInRequestValidator;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static pro.api4.jsonapi4j.config.JsonApi4jProperties.CONFIG_PREFIX;
@@ -68,9 +69,10 @@ public class QuarkusJsonApi4jDefaultBeans {
     @Named("jsonApi4jExecutorService")
     @Singleton
     @DefaultBean
-    ExecutorService jsonApi4jExecutorService() {
-        LOG.info("Composing common {}...", ExecutorService.class.getSimpleName());
-        return Executors.newCachedThreadPool();
+    ExecutorService jsonApi4jExecutorService(QuarkusJsonApi4jProperties properties) {
+        ExecutionProperties executionProperties = properties.toJsonApi4jProperties().execution();
+        LOG.info("Composing common {} for '{}' execution mode...", ExecutorService.class.getSimpleName(), executionProperties.mode());
+        return executionProperties.mode().newExecutorService();
     }
 
     @Produces
@@ -177,13 +179,16 @@ public class QuarkusJsonApi4jDefaultBeans {
                         List<JsonApi4jPlugin> plugins,
                         @Named("jsonApi4jExecutorService") ExecutorService executorService,
                         JsonApiBuildInRequestValidatorFactory validatorFactory,
-                        Instance<MetaContext> metaContext) {
+                        Instance<MetaContext> metaContext,
+                        QuarkusJsonApi4jProperties properties) {
         LOG.info("Composing {}...", JsonApi4j.class.getSimpleName());
         return JsonApi4j.builder()
                 .plugins(plugins)
                 .domainRegistry(domainRegistry)
                 .operationsRegistry(operationsRegistry)
+                .executionMode(properties.toJsonApi4jProperties().execution().mode())
                 .executor(executorService)
+                .relationshipsTimeout(Duration.ofMillis(properties.toJsonApi4jProperties().execution().relationshipsTimeoutMs()))
                 .validatorFactory(validatorFactory)
                 .meta(metaContext.isResolvable() ? metaContext.get() : null)
                 .build();
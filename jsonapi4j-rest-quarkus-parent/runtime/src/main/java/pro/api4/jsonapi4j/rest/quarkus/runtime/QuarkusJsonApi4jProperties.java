@@ -6,8 +6,11 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import jakarta.inject.Singleton;
 import pro.api4.jsonapi4j.config.DefaultJsonApi4jProperties;
+import pro.api4.jsonapi4j.config.DefaultJsonApi4jProperties.DefaultExecutionProperties;
 import pro.api4.jsonapi4j.config.DefaultJsonApi4jProperties.DefaultMetaProperties;
 import pro.api4.jsonapi4j.config.DefaultJsonApi4jProperties.DefaultValidationProperties;
+import pro.api4.jsonapi4j.config.ExecutionMode;
+import pro.api4.jsonapi4j.config.ExecutionProperties;
 import pro.api4.jsonapi4j.config.JsonApi4jProperties;
 import pro.api4.jsonapi4j.config.MetaProperties;
 import pro.api4.jsonapi4j.operation.validation.ValidationProperties;
@@ -28,6 +31,13 @@ public interface QuarkusJsonApi4jProperties {
     @WithDefault(JsonApi4jProperties.DEFAULT_ROOT_PATH)
     String rootPath();
 
+    /**
+     * How the JsonApi4j endpoint is mounted: `SERVLET` (the blocking dispatcher servlet) or `VERTX` (a non-blocking
+     * Vert.x route running every request on a virtual thread).
+     */
+    @WithDefault("SERVLET")
+    QuarkusJsonApi4jRouteMode routeMode();
+
     /**
      * Default JsonApi4j validator settings. Optional.
      */
@@ -38,6 +48,34 @@ public interface QuarkusJsonApi4jProperties {
      */
     Optional<QuarkusMetaProperties> meta();
 
+    /**
+     * Concurrent request processing settings. Optional.
+     */
+    Optional<QuarkusExecutionProperties> execution();
+
+    interface QuarkusExecutionProperties {
+
+        /**
+         * Threads that run relationship resolvers and compound documents fetches: `EXECUTOR` or `VIRTUAL_THREADS`.
+         */
+        @WithDefault(ExecutionProperties.DEFAULT_MODE)
+        ExecutionMode mode();
+
+        /**
+         * Deadline in milliseconds for all relationship resolvers of a single request. `0` means no deadline.
+         */
+        @WithDefault(ExecutionProperties.DEFAULT_RELATIONSHIPS_TIMEOUT_MS)
+        long relationshipsTimeoutMs();
+
+        default DefaultExecutionProperties toJsonApi4jProperties() {
+            DefaultExecutionProperties dep = new DefaultExecutionProperties();
+            dep.setMode(mode());
+            dep.setRelationshipsTimeoutMs(relationshipsTimeoutMs());
+            return dep;
+        }
+
+    }
+
     interface QuarkusMetaProperties {
 
         /**
@@ -110,6 +148,7 @@ public interface QuarkusJsonApi4jProperties {
         properties.setRootPath(rootPath());
         properties.setValidation(validation().map(QuarkusValidationProperties::toJsonApi4jProperties).orElse(new DefaultValidationProperties()));
         properties.setMeta(meta().map(QuarkusMetaProperties::toJsonApi4jProperties).orElse(new DefaultMetaProperties()));
+        properties.setExecution(execution().map(QuarkusExecutionProperties::toJsonApi4jProperties).orElse(new DefaultExecutionProperties()));
         return properties;
     }
 }
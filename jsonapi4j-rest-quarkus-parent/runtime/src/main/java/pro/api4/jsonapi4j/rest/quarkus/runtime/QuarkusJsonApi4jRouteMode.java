@@ -0,0 +1,21 @@
+package pro.api4.jsonapi4j.rest.quarkus.runtime;
+
+/**
+ * Defines how the JsonApi4j endpoint is mounted into the Quarkus HTTP layer.
+ */
+public enum QuarkusJsonApi4jRouteMode {
+
+    /**
+     * The blocking {@code JsonApi4jDispatcherServlet} is mounted through Undertow. Every request occupies a worker
+     * thread for its whole lifetime. Supports all servlet-based plugin filters, e.g. compound documents.
+     */
+    SERVLET,
+
+    /**
+     * A native Vert.x route reads the request from the Vert.x buffer on the event loop, runs the pipeline on a virtual
+     * thread and writes the response back as a Vert.x buffer. No worker thread is held while the request waits for
+     * downstream I/O. Servlet filters, e.g. compound documents, are not applied to this route.
+     */
+    VERTX
+
+}
@@ -2,18 +2,20 @@ package pro.api4.jsonapi4j.rest.quarkus.runtime.cd;
 
 import io.quarkus.arc.DefaultBean;
 import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.api4.jsonapi4j.compound.docs.DefaultDomainSettingsResolver;
 import pro.api4.jsonapi4j.compound.docs.DomainSettingsResolver;
 import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
-import pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.RemoteCacheClient;
 import pro.api4.jsonapi4j.plugin.cd.JsonApiCompoundDocsPlugin;
-import pro.api4.jsonapi4j.rest.quarkus.runtime.cd.QuarkusJsonApi4jCompoundDocsProperties.CacheConfig;
+import pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties;
 
-import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Optional beans that are only registered when jsonapi4j-oas-plugin is available in the app classpath.
@@ -48,13 +50,15 @@ public class QuarkusJsonApi4jCompoundDocsPluginBeans {
     @DefaultBean
     @IfBuildProperty(name = "jsonapi4j.cd.cache.enabled", stringValue = "true")
     CompoundDocsResourceCache jsonApi4jCompoundDocsResourceCache(
-            QuarkusJsonApi4jCompoundDocsProperties cdProperties
+            QuarkusJsonApi4jCompoundDocsProperties cdProperties,
+            Instance<RemoteCacheClient> remoteCache,
+            @Named("jsonApi4jExecutorService") ExecutorService executorService
     ) {
         LOG.info("CD Plugin Enabled. Composing default {}...", CompoundDocsResourceCache.class.getSimpleName());
-        return new InMemoryCompoundDocsResourceCache(
-                cdProperties.cache()
-                        .map(CacheConfig::maxSize)
-                        .orElse(Integer.parseInt(DEFAULT_CACHE_MAX_SIZE))
+        return CompoundDocsProperties.Cache.composeDefaultCache(
+                cdProperties.toCdProperties().cache(),
+                remoteCache.isResolvable() ? remoteCache.get() : null,
+                executorService
         );
     }
 
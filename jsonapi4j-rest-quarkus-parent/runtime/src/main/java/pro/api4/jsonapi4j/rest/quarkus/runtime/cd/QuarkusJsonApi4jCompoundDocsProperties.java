@@ -5,6 +5,7 @@ import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import jakarta.inject.Singleton;
+import pro.api4.jsonapi4j.compound.docs.config.CacheStorage;
 import pro.api4.jsonapi4j.compound.docs.config.ErrorStrategy;
 import pro.api4.jsonapi4j.compound.docs.config.Propagation;
 import pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties;
@@ -16,8 +17,13 @@ import java.util.Optional;
 
 import static io.smallrye.config.ConfigMapping.NamingStrategy.VERBATIM;
 import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.*;
+import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_COALESCING_WINDOW_MS;
+import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_COMPRESSION;
 import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_ENABLED;
 import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE;
+import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE_BYTES;
+import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_REFRESH_AHEAD_FRACTION;
+import static pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties.Cache.DEFAULT_CACHE_STORAGE;
 
 @Singleton
 @ConfigMapping(prefix = "jsonapi4j.cd", namingStrategy = VERBATIM)
@@ -80,6 +86,12 @@ public interface QuarkusJsonApi4jCompoundDocsProperties {
     @WithDefault(DEFAULT_DEDUPLICATE_RESOURCES)
     boolean deduplicateResources();
 
+    /**
+     * Defines if resource types registered in this application are resolved in process instead of over HTTP
+     */
+    @WithDefault(DEFAULT_IN_PROCESS_INCLUDES)
+    boolean inProcessIncludes();
+
     /**
      * Controls how long to wait when establishing TCP connection (in millisecond).
      * Covers:
@@ -110,6 +122,26 @@ public interface QuarkusJsonApi4jCompoundDocsProperties {
     @WithDefault(DEFAULT_HTTP_TOTAL_TIMEOUT_MS)
     long httpTotalTimeoutMs();
 
+    /**
+     * Whether downstream HTTP clients should prefer HTTP/2 (falls back to HTTP/1.1 if the downstream doesn't
+     * support it).
+     */
+    @WithDefault(DEFAULT_HTTP_PREFER_HTTP2)
+    boolean httpPreferHttp2();
+
+    /**
+     * Maximum number of concurrent in-flight requests (and thus pooled HTTP/1.1 connections) per downstream domain.
+     */
+    @WithDefault(DEFAULT_HTTP_MAX_CONNECTIONS_PER_DOMAIN)
+    int httpMaxConnectionsPerDomain();
+
+    /**
+     * Per-domain HTTP clients that haven't been used for this long (in millisecond) are closed, releasing their
+     * pooled connections.
+     */
+    @WithDefault(DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT_MS)
+    long httpClientIdleTimeoutMs();
+
     /**
      * Cache settings. Optional.
      */
@@ -130,6 +162,39 @@ public interface QuarkusJsonApi4jCompoundDocsProperties {
          */
         @WithDefault(DEFAULT_CACHE_MAX_SIZE)
         int maxSize();
+
+        /**
+         * Window (in milliseconds) within which cache misses of concurrent requests for the same resource type are
+         * merged into one downstream call. {@code 0} disables merging.
+         */
+        @WithDefault(DEFAULT_CACHE_COALESCING_WINDOW_MS)
+        long coalescingWindowMs();
+
+        /**
+         * Fraction of its TTL after which a cached resource is refreshed in the background while it's still being
+         * served. {@code 0} disables refresh-ahead.
+         */
+        @WithDefault(DEFAULT_CACHE_REFRESH_AHEAD_FRACTION)
+        double refreshAheadFraction();
+
+        /**
+         * Where the default cache keeps resources: {@code HEAP} (bounded by {@code maxSize}) or {@code OFF_HEAP}
+         * (bounded by {@code maxSizeBytes}).
+         */
+        @WithDefault(DEFAULT_CACHE_STORAGE)
+        CacheStorage storage();
+
+        /**
+         * Maximum number of bytes the off-heap cache occupies.
+         */
+        @WithDefault(DEFAULT_CACHE_MAX_SIZE_BYTES)
+        long maxSizeBytes();
+
+        /**
+         * Whether the off-heap cache deflate-compresses larger resources.
+         */
+        @WithDefault(DEFAULT_CACHE_COMPRESSION)
+        boolean compression();
     }
 
     default CompoundDocsProperties toCdProperties() {
@@ -143,12 +208,21 @@ public interface QuarkusJsonApi4jCompoundDocsProperties {
         cdProperties.setDefaultMaxBatchSize(defaultMaxBatchSize());
         cdProperties.setPropagation(propagation());
         cdProperties.setDeduplicateResources(deduplicateResources());
+        cdProperties.setInProcessIncludes(inProcessIncludes());
         cdProperties.setHttpConnectTimeoutMs(httpConnectTimeoutMs());
         cdProperties.setHttpTotalTimeoutMs(httpTotalTimeoutMs());
+        cdProperties.setHttpPreferHttp2(httpPreferHttp2());
+        cdProperties.setHttpMaxConnectionsPerDomain(httpMaxConnectionsPerDomain());
+        cdProperties.setHttpClientIdleTimeoutMs(httpClientIdleTimeoutMs());
         cdProperties.setCache(cache().map(c -> {
             DefaultCompoundDocsProperties.DefaultCache dc = new DefaultCompoundDocsProperties.DefaultCache();
             dc.setEnabled(c.enabled());
             dc.setMaxSize(c.maxSize());
+            dc.setCoalescingWindowMs(c.coalescingWindowMs());
+            dc.setRefreshAheadFraction(c.refreshAheadFraction());
+            dc.setStorage(c.storage());
+            dc.setMaxSizeBytes(c.maxSizeBytes());
+            dc.setCompression(c.compression());
             return dc;
         }).orElse(null));
         return cdProperties;
@@ -0,0 +1,49 @@
+package pro.api4.jsonapi4j.rest.quarkus.runtime.vertx;
+
+import io.vertx.core.MultiMap;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only {@link Map} view of the headers of a Vert.x request.
+ *
+ * <p>Single headers are looked up on demand via {@link MultiMap#get(String)}, i.e. case-insensitively. All headers
+ * are copied only once the map is iterated, so requests whose operations never look at headers don't pay for copying
+ * them. The view is only valid while the request is being processed.
+ */
+final class HttpServerRequestHeaders extends AbstractMap<String, String> {
+
+    private final MultiMap requestHeaders;
+    private Map<String, String> headers;
+
+    HttpServerRequestHeaders(MultiMap requestHeaders) {
+        this.requestHeaders = requestHeaders;
+    }
+
+    @Override
+    public String get(Object key) {
+        return key instanceof String headerName ? requestHeaders.get(headerName) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (headers == null) {
+            Map<String, String> copy = new LinkedHashMap<>();
+            for (String headerName : requestHeaders.names()) {
+                copy.put(headerName, requestHeaders.get(headerName));
+            }
+            headers = Collections.unmodifiableMap(copy);
+        }
+        return headers.entrySet();
+    }
+
+}
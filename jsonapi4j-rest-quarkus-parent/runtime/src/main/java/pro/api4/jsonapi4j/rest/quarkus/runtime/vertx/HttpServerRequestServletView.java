@@ -0,0 +1,60 @@
+package pro.api4.jsonapi4j.rest.quarkus.runtime.vertx;
+
+import io.vertx.core.http.HttpServerRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import pro.api4.jsonapi4j.principal.PrincipalResolver;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exposes a Vert.x request as an {@link HttpServletRequest}, so the {@link PrincipalResolver}s written for the servlet
+ * mode resolve the principal of the Vert.x route unchanged.
+ *
+ * <p>Only what principal resolvers rely on is supported: headers, query parameters, method, URI, content type and
+ * request attributes, the latter kept in a map that lives as long as the view. Any other method throws
+ * {@link UnsupportedOperationException}.
+ */
+final class HttpServerRequestServletView {
+
+    private HttpServerRequestServletView() {
+
+    }
+
+    static HttpServletRequest of(HttpServerRequest request) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> request.getHeader((String) args[0]);
+                    case "getHeaders" -> Collections.enumeration(request.headers().getAll((String) args[0]));
+                    case "getHeaderNames" -> Collections.enumeration(request.headers().names());
+                    case "getContentType" -> request.getHeader("Content-Type");
+                    case "getParameter" -> request.getParam((String) args[0]);
+                    case "getMethod" -> request.method().name();
+                    case "getRequestURI" -> request.path();
+                    case "getQueryString" -> request.query();
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "getAttributeNames" -> Collections.enumeration(attributes.keySet());
+                    case "setAttribute" -> {
+                        attributes.put((String) args[0], args[1]);
+                        yield null;
+                    }
+                    case "removeAttribute" -> {
+                        attributes.remove((String) args[0]);
+                        yield null;
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "HttpServletRequest view of " + request.method() + " " + request.uri();
+                    default -> throw new UnsupportedOperationException(
+                            method.getName() + " is not supported by the Vert.x route"
+                    );
+                }
+        );
+    }
+
+}
@@ -0,0 +1,266 @@
+package pro.api4.jsonapi4j.rest.quarkus.runtime.vertx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pro.api4.jsonapi4j.JsonApi4j;
+import pro.api4.jsonapi4j.JsonApi4jReportGenerator;
+import pro.api4.jsonapi4j.config.ExecutionMode;
+import pro.api4.jsonapi4j.context.RequestContext;
+import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.http.cache.EntityTags;
+import pro.api4.jsonapi4j.model.document.data.SingleResourceDoc;
+import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
+import pro.api4.jsonapi4j.operation.OperationType;
+import pro.api4.jsonapi4j.principal.DefaultPrincipal;
+import pro.api4.jsonapi4j.principal.Principal;
+import pro.api4.jsonapi4j.principal.PrincipalResolver;
+import pro.api4.jsonapi4j.request.JsonApiMediaType;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.rest.quarkus.runtime.QuarkusJsonApi4jProperties;
+import pro.api4.jsonapi4j.servlet.request.OperationDetailsResolver;
+import pro.api4.jsonapi4j.servlet.response.ResponseStatus;
+import pro.api4.jsonapi4j.servlet.response.errorhandling.ErrorHandlerFactoriesRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serves JSON:API requests on a native Vert.x route, the {@code VERTX} route mode of the extension.
+ *
+ * <p>The event loop only resolves the principal and hands the request over: the request is parsed from the body
+ * buffer, executed and serialized on a virtual thread, so blocking operations and downstream I/O never occupy an event
+ * loop or a worker thread. The serialized document is written back as a Vert.x {@link Buffer} on the request's Vert.x
+ * context. Status, headers, conditional {@code GET} and error handling follow {@code JsonApi4jDispatcherServlet}.
+ */
+@Singleton
+public class QuarkusJsonApi4jVertxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(QuarkusJsonApi4jVertxDispatcher.class);
+
+    private static final String GET_METHOD = "GET";
+
+    @Inject
+    Provider<JsonApi4j> jsonApi4jProvider;
+    @Inject
+    @Named("jsonApi4jObjectMapper")
+    Provider<ObjectMapper> objectMapperProvider;
+    @Inject
+    Provider<ErrorHandlerFactoriesRegistry> errorHandlerFactoriesRegistryProvider;
+    @Inject
+    Provider<PrincipalResolver> principalResolverProvider;
+    @Inject
+    Provider<QuarkusJsonApi4jProperties> jsonApi4jPropertiesProvider;
+
+    private JsonApi4j jsonApi4j;
+    private ObjectMapper objectMapper;
+    private ErrorHandlerFactoriesRegistry errorHandlerFactory;
+    private PrincipalResolver principalResolver;
+    private RoutingContextJsonApiRequestSupplier jsonApiRequestSupplier;
+    private ExecutorService executorService;
+
+    @PostConstruct
+    void init() {
+        log.info("Initializing {} ...", QuarkusJsonApi4jVertxDispatcher.class.getSimpleName());
+        this.jsonApi4j = jsonApi4jProvider.get();
+        log.info(new JsonApi4jReportGenerator(this.jsonApi4j).generateStateReport());
+        this.objectMapper = objectMapperProvider.get();
+        this.errorHandlerFactory = errorHandlerFactoriesRegistryProvider.get();
+        this.principalResolver = principalResolverProvider.get();
+        this.jsonApiRequestSupplier = new RoutingContextJsonApiRequestSupplier(
+                objectMapper,
+                new OperationDetailsResolver(jsonApi4j.getDomainRegistry()),
+                jsonApi4jPropertiesProvider.get().rootPath()
+        );
+        this.executorService = ExecutionMode.VIRTUAL_THREADS.newExecutorService();
+        log.info("{} has been initialized", QuarkusJsonApi4jVertxDispatcher.class.getSimpleName());
+    }
+
+    @PreDestroy
+    void destroy() {
+        executorService.shutdown();
+    }
+
+    /**
+     * @param servletPaths paths relative to the root path that are served by servlets mounted under it, e.g. the OAS
+     *                     servlet; requests to them are passed on to the next route
+     * @return handler of the JsonApi4j route
+     */
+    public Handler<RoutingContext> routeHandler(List<String> servletPaths) {
+        return routingContext -> {
+            String path = jsonApiRequestSupplier.getPath(routingContext);
+            if (servletPaths.stream().anyMatch(p -> path.equals(p) || path.startsWith(p + "/"))) {
+                routingContext.next();
+            } else {
+                dispatch(routingContext);
+            }
+        };
+    }
+
+    private void dispatch(RoutingContext routingContext) {
+        RequestContext requestContext = RequestContext.of(resolvePrincipal(routingContext.request()));
+        Context vertxContext = routingContext.vertx().getOrCreateContext();
+        try {
+            executorService.execute(() -> {
+                Response response = requestContext.call(() -> process(routingContext));
+                vertxContext.runOnContext(ignored -> write(routingContext.response(), response));
+            });
+        } catch (RejectedExecutionException e) {
+            routingContext.fail(HttpStatusCodes.SC_503_SERVICE_UNAVAILABLE.getCode(), e);
+        }
+    }
+
+    /**
+     * Resolves the principal on the event loop, where the request's security identity is available. Request-scoped
+     * beans the resolver depends on, e.g. the injected {@code JsonWebToken}, get a request context if there is none.
+     */
+    private Principal resolvePrincipal(HttpServerRequest request) {
+        ManagedContext cdiRequestContext = Arc.container().requestContext();
+        boolean activated = !cdiRequestContext.isActive();
+        if (activated) {
+            cdiRequestContext.activate();
+        }
+        try {
+            HttpServletRequest servletRequest = HttpServerRequestServletView.of(request);
+            return new DefaultPrincipal(
+                    principalResolver.resolveAccessTier(servletRequest),
+                    principalResolver.resolveScopes(servletRequest),
+                    principalResolver.resolveUserId(servletRequest),
+                    principalResolver.resolveAttributes(servletRequest)
+            );
+        } finally {
+            if (activated) {
+                cdiRequestContext.terminate();
+            }
+        }
+    }
+
+    private Response process(RoutingContext routingContext) {
+        MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+        try {
+            JsonApiRequest jsonApiRequest = jsonApiRequestSupplier.from(routingContext);
+            OperationType targetOperationType = jsonApiRequest.getOperationType();
+
+            Object dataDoc = jsonApi4j.execute(jsonApiRequest);
+
+            int status = targetOperationType.getHttpStatus();
+            // check if status is overridden
+            status = ResponseStatus.getOverriddenStatus().orElse(status);
+            log.debug("Setting response status code: {}", status);
+
+            if (targetOperationType == OperationType.CREATE_RESOURCE) {
+                SingleResourceDoc<?> singleResourceDoc = (SingleResourceDoc<?>) dataDoc;
+                if (singleResourceDoc != null) {
+                    String location = "/" + jsonApiRequest.getTargetResourceType().getType() + "/" + singleResourceDoc.getData().getId();
+                    headers.set(HttpHeaders.LOCATION.getName(), location);
+                    log.debug("Setting HTTP Location header: {}", location);
+                }
+            }
+
+            // populate custom headers
+            flushResponseHeaders(status, headers);
+
+            if (dataDoc == null) {
+                return new Response(status, headers, null);
+            }
+            String ifNoneMatch = routingContext.request().getHeader(HttpHeaders.IF_NONE_MATCH.getName());
+            boolean conditionalGet = ifNoneMatch != null
+                    && status == HttpStatusCodes.SC_200_OK.getCode()
+                    && GET_METHOD.equals(routingContext.request().method().name());
+            String etag = headers.get(HttpHeaders.ETAG.getName());
+            if (conditionalGet && etag != null && EntityTags.matches(ifNoneMatch, etag)) {
+                log.debug("ETag {} matches If-None-Match, responding with 304", etag);
+                return new Response(HttpStatusCodes.SC_304_NOT_MODIFIED.getCode(), headers, null);
+            }
+            byte[] body = objectMapper.writeValueAsBytes(dataDoc);
+            if (conditionalGet && etag == null) {
+                etag = EntityTags.strong(body);
+                headers.set(HttpHeaders.ETAG.getName(), etag);
+                if (EntityTags.matches(ifNoneMatch, etag)) {
+                    log.debug("ETag {} matches If-None-Match, responding with 304", etag);
+                    return new Response(HttpStatusCodes.SC_304_NOT_MODIFIED.getCode(), headers, null);
+                }
+            }
+            headers.set(HttpHeaders.CONTENT_TYPE.getName(), JsonApiMediaType.MEDIA_TYPE);
+            return new Response(status, headers, Buffer.buffer(body));
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    private Response errorResponse(Exception e) {
+        int errorStatusCode = errorHandlerFactory.resolveStatusCode(e);
+        ErrorsDoc errorsDoc = errorHandlerFactory.resolveErrorsDoc(e);
+        if (errorStatusCode / 100 == 4) {
+            // client-side errors
+            log.warn("{}. Error message: {}", errorStatusCode + " code", e.getMessage());
+        } else {
+            // server-side errors
+            log.error("{}. Error message: {}", errorStatusCode + " code", e.getMessage(), e);
+        }
+        MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+        try {
+            headers.set(HttpHeaders.CONTENT_TYPE.getName(), JsonApiMediaType.MEDIA_TYPE);
+            return new Response(errorStatusCode, headers, Buffer.buffer(objectMapper.writeValueAsBytes(errorsDoc)));
+        } catch (Exception ex) {
+            log.error("Error writing JSON into the Vert.x response. ", ex);
+            return new Response(errorStatusCode, MultiMap.caseInsensitiveMultiMap(), null);
+        }
+    }
+
+    /**
+     * Applies the headers collected in the {@link RequestContext} the same way
+     * {@code ResponseHeaders.flush(HttpServletResponse)} does: {@code Cache-Control} only for {@code 2xx} responses.
+     */
+    private static void flushResponseHeaders(int status, MultiMap headers) {
+        Map<String, List<String>> collected = RequestContext.current().drainResponseHeaders();
+        List<String> cacheControl = collected.remove(HttpHeaders.CACHE_CONTROL.getName());
+        if (status >= 200 && status < 300 && cacheControl != null && cacheControl.size() == 1) {
+            headers.add(HttpHeaders.CACHE_CONTROL.getName(), cacheControl.getFirst());
+        }
+        collected.forEach((header, values) -> values.forEach(v -> {
+            if (v != null) {
+                headers.add(header, v);
+            }
+        }));
+    }
+
+    private static void write(HttpServerResponse response, Response result) {
+        if (response.closed() || response.ended()) {
+            log.debug("Client has gone away, dropping the response");
+            return;
+        }
+        response.setStatusCode(result.status());
+        response.headers().addAll(result.headers());
+        if (result.body() != null) {
+            log.debug("Writing response body of {} bytes", result.body().length());
+            response.end(result.body());
+        } else {
+            response.end();
+        }
+    }
+
+    private record Response(int status, MultiMap headers, Buffer body) {
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package pro.api4.jsonapi4j.rest.quarkus.runtime.vertx;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.runtime.annotations.Recorder;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Wires the {@code VERTX} route mode into the Quarkus router at runtime.
+ */
+@Recorder
+public class QuarkusJsonApi4jVertxRecorder {
+
+    /**
+     * @param bodyHandler Quarkus body handler, honors {@code quarkus.http.limits.max-body-size}
+     * @return route customizer collecting the request body before the JsonApi4j handler runs
+     */
+    public Consumer<Route> bodyHandling(Handler<RoutingContext> bodyHandler) {
+        return route -> route.handler(bodyHandler);
+    }
+
+    /**
+     * @param servletPaths paths relative to the root path that are served by servlets mounted under it
+     * @return handler of the JsonApi4j route
+     */
+    public Handler<RoutingContext> dispatcherHandler(List<String> servletPaths) {
+        return Arc.container().instance(QuarkusJsonApi4jVertxDispatcher.class).get().routeHandler(servletPaths);
+    }
+
+}
@@ -0,0 +1,171 @@
+package pro.api4.jsonapi4j.rest.quarkus.runtime.vertx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pro.api4.jsonapi4j.domain.RelationshipName;
+import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.exception.MethodNotSupportedException;
+import pro.api4.jsonapi4j.http.exception.NotAcceptableException;
+import pro.api4.jsonapi4j.http.exception.UnsupportedMediaTypeException;
+import pro.api4.jsonapi4j.operation.OperationType;
+import pro.api4.jsonapi4j.request.JsonApiMediaType;
+import pro.api4.jsonapi4j.request.JsonApiRequest;
+import pro.api4.jsonapi4j.request.JsonApiRequestBuilder;
+import pro.api4.jsonapi4j.request.JsonApiRequestSupplier;
+import pro.api4.jsonapi4j.request.util.JsonApiQueryParams;
+import pro.api4.jsonapi4j.servlet.request.JacksonRequestBodyDeserializer;
+import pro.api4.jsonapi4j.servlet.request.OperationDetailsResolver;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static pro.api4.jsonapi4j.operation.OperationType.Method.isSupportedMethod;
+import static pro.api4.jsonapi4j.request.util.JsonApiRequestParsingUtil.parseExt;
+import static pro.api4.jsonapi4j.request.util.JsonApiRequestParsingUtil.parseProfile;
+import static pro.api4.jsonapi4j.request.util.JsonApiRequestParsingUtil.parseQueryParams;
+
+/**
+ * Composes a {@link JsonApiRequest} straight from a Vert.x {@link RoutingContext}: the payload is taken from the body
+ * buffer collected by the Quarkus body handler, so no blocking stream is read. Mirrors
+ * {@code HttpServletRequestJsonApiRequestSupplier} of the servlet mode.
+ */
+public class RoutingContextJsonApiRequestSupplier implements JsonApiRequestSupplier<RoutingContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingContextJsonApiRequestSupplier.class);
+
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    private final OperationDetailsResolver operationDetailsResolver;
+    private final JacksonRequestBodyDeserializer bodyDeserializer;
+    private final String rootPath;
+
+    /**
+     * @param jsonMapper               mapper used to deserialize request payloads
+     * @param operationDetailsResolver resolves the target operation from the path relative to the root path
+     * @param rootPath                 path the JsonApi4j route is mounted on, e.g. {@code /jsonapi}
+     */
+    public RoutingContextJsonApiRequestSupplier(ObjectMapper jsonMapper,
+                                                OperationDetailsResolver operationDetailsResolver,
+                                                String rootPath) {
+        this.operationDetailsResolver = operationDetailsResolver;
+        this.bodyDeserializer = new JacksonRequestBodyDeserializer(jsonMapper);
+        this.rootPath = normalizeRootPath(rootPath);
+    }
+
+    @Override
+    public JsonApiRequest from(RoutingContext routingContext) {
+        HttpServerRequest request = routingContext.request();
+        if (!JsonApiMediaType.isAccepted(request.getHeader(HttpHeaders.ACCEPT.getName()))) {
+            throw new NotAcceptableException(request.getHeader(HttpHeaders.ACCEPT.getName()), JsonApiMediaType.MEDIA_TYPE);
+        }
+
+        String method = request.method().name();
+        if (!isSupportedMethod(method)) {
+            throw new MethodNotSupportedException(
+                    method,
+                    Arrays.stream(OperationType.Method.values()).map(Enum::name).collect(Collectors.joining(", "))
+            );
+        }
+
+        Buffer body = routingContext.body().buffer();
+        byte[] payload = body != null ? body.getBytes() : EMPTY_PAYLOAD;
+
+        String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE.getName());
+        if (isMethodSupportBody(method)
+                && payload.length > 0
+                && !JsonApiMediaType.isMatches(contentType)) {
+            throw new UnsupportedMediaTypeException(contentType, JsonApiMediaType.MEDIA_TYPE);
+        }
+
+        String path = getPath(routingContext);
+        log.debug("Received JSON:API request for the path {} and method {}", path, method);
+        log.debug("Converting RoutingContext to JsonApiRequest...");
+
+        OperationDetailsResolver.OperationDetails operationDetails = operationDetailsResolver.fromUrlAndMethod(
+                path,
+                method
+        );
+        JsonApiQueryParams params = parseQueryParams(toParameterMap(routingContext.queryParams()));
+        URI ext = parseExt(contentType);
+        URI profile = parseProfile(contentType);
+
+        ResourceType targetResourceType = operationDetails.getResourceType();
+        RelationshipName targetRelationshipName = operationDetails.getRelationshipName();
+        OperationType targetOperationType = operationDetails.getOperationType();
+        JsonApiRequest jsonApiRequest = new JsonApiRequestBuilder()
+                .payloadAsBytes(bodyDeserializer, payload)
+                .resourceId(operationDetails.getResourceId())
+                .targetResourceType(targetResourceType)
+                .targetRelationship(targetRelationshipName)
+                .operationType(targetOperationType)
+                .filterBy(params.filters())
+                .includes(params.includes())
+                .cursor(params.cursor())
+                .limit(params.limit())
+                .offset(params.offset())
+                .sortBy(params.sortBy())
+                .fieldSets(params.fieldSets())
+                .customQueryParams(params.customQueryParams())
+                .extension(ext)
+                .profile(profile)
+                .headers(new HttpServerRequestHeaders(request.headers()))
+                .build();
+        log.debug("Composed JsonApiRequest: {}", jsonApiRequest);
+        return jsonApiRequest;
+    }
+
+    /**
+     * @param routingContext current routing context
+     * @return request path relative to the HTTP root path and the JsonApi4j root path, never empty
+     */
+    String getPath(RoutingContext routingContext) {
+        String path = routingContext.normalizedPath();
+        String mountPoint = routingContext.mountPoint();
+        if (mountPoint != null && mountPoint.length() > 1 && path.startsWith(mountPoint)) {
+            path = path.substring(mountPoint.length() - (mountPoint.endsWith("/") ? 1 : 0));
+        }
+        if (path.startsWith(rootPath)) {
+            path = path.substring(rootPath.length());
+        }
+        log.debug("Request path: {}", path);
+        return path.isEmpty() ? "/" : path;
+    }
+
+    private static Map<String, String[]> toParameterMap(MultiMap queryParams) {
+        Map<String, String[]> result = new LinkedHashMap<>();
+        for (String name : queryParams.names()) {
+            List<String> values = queryParams.getAll(name);
+            result.put(name, values.toArray(String[]::new));
+        }
+        return result;
+    }
+
+    private static String normalizeRootPath(String rootPath) {
+        String normalized = rootPath == null ? "" : rootPath.trim();
+        if (normalized.endsWith("/*")) {
+            normalized = normalized.substring(0, normalized.length() - 2);
+        }
+        if (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        if (!normalized.isEmpty() && !normalized.startsWith("/")) {
+            normalized = "/" + normalized;
+        }
+        return normalized;
+    }
+
+    private boolean isMethodSupportBody(String method) {
+        return "POST".equals(method) || "PATCH".equals(method) || "PUT".equals(method);
+    }
+
+}
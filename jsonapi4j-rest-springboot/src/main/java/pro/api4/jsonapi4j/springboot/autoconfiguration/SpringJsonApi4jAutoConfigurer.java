@@ -40,10 +40,10 @@ import pro.api4.jsonapi4j.springboot.autoconfiguration.cd.SpringJsonApi4jCompoun
 import pro.api4.jsonapi4j.springboot.autoconfiguration.oas.SpringJsonApi4jOasPluginConfig;
 import pro.api4.jsonapi4j.validation.DefaultJsonApiBuildInRequestValidator;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static pro.api4.jsonapi4j.config.JsonApi4jProperties.CONFIG_PREFIX;
 import static pro.api4.jsonapi4j.config.JsonApi4jProperties.META_PROPERTY;
@@ -127,8 +127,8 @@ public class SpringJsonApi4jAutoConfigurer {
 
     @ConditionalOnMissingBean(name = "jsonApi4jExecutorService")
     @Bean("jsonApi4jExecutorService")
-    public ExecutorService jsonApi4jExecutorService() {
-        return Executors.newCachedThreadPool();
+    public ExecutorService jsonApi4jExecutorService(JsonApi4jProperties properties) {
+        return properties.execution().mode().newExecutorService();
     }
 
     @ConditionalOnMissingBean(JsonApi4j.class)
@@ -139,13 +139,16 @@ public class SpringJsonApi4jAutoConfigurer {
             List<JsonApi4jPlugin> defaultPlugins,
             @Qualifier("jsonApi4jExecutorService") ExecutorService jsonApiExecutorService,
             JsonApiBuildInRequestValidatorFactory validatorFactory,
-            ObjectProvider<MetaContext> metaContextProvider
+            ObjectProvider<MetaContext> metaContextProvider,
+            JsonApi4jProperties properties
     ) {
         return JsonApi4j.builder()
                 .domainRegistry(domainRegistry)
                 .operationsRegistry(operationsRegistry)
                 .plugins(defaultPlugins)
+                .executionMode(properties.execution().mode())
                 .executor(jsonApiExecutorService)
+                .relationshipsTimeout(Duration.ofMillis(properties.execution().relationshipsTimeoutMs()))
                 .validatorFactory(validatorFactory)
                 .meta(metaContextProvider.getIfAvailable())
                 .build();
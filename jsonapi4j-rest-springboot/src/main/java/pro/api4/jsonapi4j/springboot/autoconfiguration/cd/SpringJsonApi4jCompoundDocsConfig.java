@@ -1,5 +1,6 @@
 package pro.api4.jsonapi4j.springboot.autoconfiguration.cd;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -14,12 +15,14 @@ import org.springframework.context.annotation.Configuration;
 import pro.api4.jsonapi4j.compound.docs.DefaultDomainSettingsResolver;
 import pro.api4.jsonapi4j.compound.docs.DomainSettingsResolver;
 import pro.api4.jsonapi4j.compound.docs.cache.CompoundDocsResourceCache;
-import pro.api4.jsonapi4j.compound.docs.cache.InMemoryCompoundDocsResourceCache;
+import pro.api4.jsonapi4j.compound.docs.cache.RemoteCacheClient;
 import pro.api4.jsonapi4j.config.JsonApi4jProperties;
 import pro.api4.jsonapi4j.plugin.cd.CompoundDocsFilter;
 import pro.api4.jsonapi4j.plugin.cd.JsonApiCompoundDocsPlugin;
 import pro.api4.jsonapi4j.plugin.cd.config.CompoundDocsProperties;
 
+import java.util.concurrent.ExecutorService;
+
 import static pro.api4.jsonapi4j.plugin.cd.init.JsonApi4jCompoundDocsServletContainerInitializer.*;
 
 @ConditionalOnProperty(
@@ -51,11 +54,14 @@ public class SpringJsonApi4jCompoundDocsConfig {
     @Bean
     @ConditionalOnMissingBean(CompoundDocsResourceCache.class)
     @ConditionalOnProperty(name = "jsonapi4j.cd.cache.enabled", matchIfMissing = true)
-    public CompoundDocsResourceCache jsonApi4jCompoundDocsResourceCache(CompoundDocsProperties cdProperties) {
-        int maxSize = cdProperties.cache() != null
-                ? cdProperties.cache().maxSize()
-                : Integer.parseInt(CompoundDocsProperties.Cache.DEFAULT_CACHE_MAX_SIZE);
-        return new InMemoryCompoundDocsResourceCache(maxSize);
+    public CompoundDocsResourceCache jsonApi4jCompoundDocsResourceCache(CompoundDocsProperties cdProperties,
+                                                                       ObjectProvider<RemoteCacheClient> remoteCache,
+                                                                       @Qualifier("jsonApi4jExecutorService") ExecutorService executorService) {
+        return CompoundDocsProperties.Cache.composeDefaultCache(
+                cdProperties.cache(),
+                remoteCache.getIfAvailable(),
+                executorService
+        );
     }
 
     @Bean
@@ -15,6 +15,7 @@ public class DefaultJsonApi4jProperties implements JsonApi4jProperties {
     private String rootPath;
     private DefaultValidationProperties validation = new DefaultValidationProperties();
     private DefaultMetaProperties meta = new DefaultMetaProperties();
+    private DefaultExecutionProperties execution = new DefaultExecutionProperties();
 
     @Override
     public String rootPath() {
@@ -31,6 +32,11 @@ public class DefaultJsonApi4jProperties implements JsonApi4jProperties {
         return meta;
     }
 
+    @Override
+    public ExecutionProperties execution() {
+        return execution;
+    }
+
     @Getter
     @Setter
     public static class DefaultMetaProperties implements MetaProperties {
@@ -44,6 +50,25 @@ public class DefaultJsonApi4jProperties implements JsonApi4jProperties {
 
     }
 
+    @Getter
+    @Setter
+    public static class DefaultExecutionProperties implements ExecutionProperties {
+
+        private ExecutionMode mode = ExecutionMode.valueOf(DEFAULT_MODE);
+        private long relationshipsTimeoutMs = Long.parseLong(DEFAULT_RELATIONSHIPS_TIMEOUT_MS);
+
+        @Override
+        public ExecutionMode mode() {
+            return this.mode;
+        }
+
+        @Override
+        public long relationshipsTimeoutMs() {
+            return this.relationshipsTimeoutMs;
+        }
+
+    }
+
     @Getter
     @Setter
     public static class DefaultValidationProperties implements ValidationProperties {
@@ -2,7 +2,7 @@ package pro.api4.jsonapi4j.filter.principal;
 
 import jakarta.servlet.*;
 import lombok.extern.slf4j.Slf4j;
-import pro.api4.jsonapi4j.principal.AuthenticatedPrincipalContextHolder;
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.principal.DefaultPrincipal;
 import pro.api4.jsonapi4j.principal.DefaultPrincipalResolver;
 import pro.api4.jsonapi4j.principal.PrincipalResolver;
@@ -35,7 +35,7 @@ public class PrincipalResolvingFilter implements Filter {
         String userId = resolver.resolveUserId(servletRequest);
         Map<String, Object> attributes = resolver.resolveAttributes(servletRequest);
 
-        AuthenticatedPrincipalContextHolder.setAuthenticatedPrincipalContext(
+        RequestContext context = RequestContext.of(
                 new DefaultPrincipal(
                         accessTierName,
                         scopes,
@@ -43,8 +43,9 @@ public class PrincipalResolvingFilter implements Filter {
                         attributes
                 )
         );
-
-        filterChain.doFilter(servletRequest, servletResponse);
+        try (RequestContext.Scope ignored = context.bind()) {
+            filterChain.doFilter(servletRequest, servletResponse);
+        }
     }
 
     private PrincipalResolver initJsonApi4jPrincipalResolver(ServletContext servletContext) {
@@ -18,6 +18,7 @@ import pro.api4.jsonapi4j.meta.context.MetaContext;
 import pro.api4.jsonapi4j.model.document.data.RelationshipObject;
 import pro.api4.jsonapi4j.JsonApiBuildInRequestValidator;
 import pro.api4.jsonapi4j.JsonApiBuildInRequestValidatorFactory;
+import pro.api4.jsonapi4j.config.ExecutionMode;
 import pro.api4.jsonapi4j.config.JsonApi4jProperties;
 import pro.api4.jsonapi4j.domain.DomainRegistry;
 import pro.api4.jsonapi4j.filter.principal.PrincipalResolvingFilter;
@@ -27,11 +28,11 @@ import pro.api4.jsonapi4j.servlet.JsonApi4jDispatcherServlet;
 import pro.api4.jsonapi4j.servlet.request.body.RequestBodyCachingFilter;
 import pro.api4.jsonapi4j.validation.DefaultJsonApiBuildInRequestValidator;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static pro.api4.jsonapi4j.init.JsonApi4jPropertiesLoader.loadConfigLenient;
 
@@ -58,8 +59,9 @@ public class JsonApi4jServletContainerInitializer implements ServletContainerIni
     public static ExecutorService initExecutorService(ServletContext servletContext) {
         ExecutorService es = (ExecutorService) servletContext.getAttribute(EXECUTOR_SERVICE_ATT_NAME);
         if (es == null) {
-            log.warn("Executor not found in servlet context. Setting a default one (Executors.newCachedThreadPool).");
-            es = Executors.newCachedThreadPool();
+            ExecutionMode mode = initJsonApi4jProperties(servletContext).execution().mode();
+            log.warn("Executor not found in servlet context. Setting a default one for '{}' execution mode.", mode);
+            es = mode.newExecutorService();
             servletContext.setAttribute(EXECUTOR_SERVICE_ATT_NAME, es);
         }
         return es;
@@ -129,6 +131,7 @@ public class JsonApi4jServletContainerInitializer implements ServletContainerIni
         SimpleModule relationshipModule = new SimpleModule();
         relationshipModule.addDeserializer(RelationshipObject.class, new RelationshipObjectDeserializer());
         om.registerModule(relationshipModule);
+        om.registerModule(JsonApiDocumentSerializers.module());
         return om;
     }
 
@@ -160,6 +163,7 @@ public class JsonApi4jServletContainerInitializer implements ServletContainerIni
             OperationsRegistry operationsRegistry = initOperationRegistry(servletContext);
             List<JsonApi4jPlugin> plugins = initPlugins(servletContext);
             ExecutorService executorService = initExecutorService(servletContext);
+            JsonApi4jProperties properties = initJsonApi4jProperties(servletContext);
             JsonApiBuildInRequestValidatorFactory validatorFactory = initValidatorFactory(servletContext);
             // if meta context is null = meta feature is disabled
             MetaContext metaContext = (MetaContext) servletContext.getAttribute(META_CONTEXT_ATT_NAME);
@@ -167,7 +171,9 @@ public class JsonApi4jServletContainerInitializer implements ServletContainerIni
                     .domainRegistry(domainRegistry)
                     .operationsRegistry(operationsRegistry)
                     .plugins(plugins)
+                    .executionMode(properties.execution().mode())
                     .executor(executorService)
+                    .relationshipsTimeout(Duration.ofMillis(properties.execution().relationshipsTimeoutMs()))
                     .validatorFactory(validatorFactory)
                     .meta(metaContext)
                     .build();
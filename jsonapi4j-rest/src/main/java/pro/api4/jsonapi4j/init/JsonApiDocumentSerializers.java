@@ -0,0 +1,461 @@
+package pro.api4.jsonapi4j.init;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import pro.api4.jsonapi4j.model.document.BaseDoc;
+import pro.api4.jsonapi4j.model.document.LinksObject;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesDoc;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesStreamDoc;
+import pro.api4.jsonapi4j.model.document.data.RelationshipObject;
+import pro.api4.jsonapi4j.model.document.data.ResourceIdentifierObject;
+import pro.api4.jsonapi4j.model.document.data.ResourceObject;
+import pro.api4.jsonapi4j.model.document.data.SingleResourceDoc;
+import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipObject;
+import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipsDoc;
+import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipDoc;
+import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming serializers of the JSON:API document model. Every document is written token by token straight into the
+ * {@link JsonGenerator} with pre-encoded member names, instead of going through bean introspection and property
+ * writers for each resource, relationship and resource identifier of the document. Attributes, meta and link objects
+ * are still serialized by the {@link SerializerProvider} of the ongoing serialization.
+ *
+ * <p>The output is the same as the one of the default bean serialization of an {@code ObjectMapper} created by
+ * {@link JsonApi4jServletContainerInitializer#createObjectMapper()}, i.e. {@code null} members are omitted and the
+ * members follow the same order. Serializers are only applied to the document classes themselves; subclasses, which
+ * may carry additional members, fall back to the default bean serialization.
+ *
+ * <p>{@link MultipleResourcesStreamDoc} has no bean representation and is only serializable with these serializers,
+ * see {@link #canSerializeStreamDocs(ObjectMapper)}.
+ */
+public final class JsonApiDocumentSerializers extends Serializers.Base {
+
+    private static final SerializableString ID = new SerializedString(ResourceIdentifierObject.ID_FIELD);
+    private static final SerializableString LID = new SerializedString(ResourceIdentifierObject.LID_FIELD);
+    private static final SerializableString TYPE = new SerializedString(ResourceIdentifierObject.TYPE_FIELD);
+    private static final SerializableString ATTRIBUTES = new SerializedString(ResourceObject.ATTRIBUTES_FIELD);
+    private static final SerializableString RELATIONSHIPS = new SerializedString(ResourceObject.RELATIONSHIPS_FIELD);
+    private static final SerializableString DATA = new SerializedString(RelationshipObject.DATA_FIELD);
+    private static final SerializableString INCLUDED = new SerializedString(MultipleResourcesDoc.INCLUDED_FIELD);
+    private static final SerializableString LINKS = new SerializedString(BaseDoc.LINKS_FIELD);
+    private static final SerializableString META = new SerializedString(BaseDoc.META_FIELD);
+    private static final SerializableString JSONAPI = new SerializedString(BaseDoc.JSONAPI_FIELD);
+
+    private final Map<Class<?>, JsonSerializer<?>> serializers = Map.of(
+            ResourceIdentifierObject.class, new ResourceIdentifierObjectSerializer(),
+            ResourceObject.class, new ResourceObjectSerializer(),
+            RelationshipObject.class, new RelationshipObjectSerializer(),
+            ToOneRelationshipObject.class, new ToOneRelationshipObjectSerializer(),
+            ToManyRelationshipObject.class, new ToManyRelationshipObjectSerializer(),
+            SingleResourceDoc.class, new SingleResourceDocSerializer(),
+            MultipleResourcesDoc.class, new MultipleResourcesDocSerializer(),
+            MultipleResourcesStreamDoc.class, new MultipleResourcesStreamDocSerializer(),
+            ToOneRelationshipDoc.class, new ToOneRelationshipDocSerializer(),
+            ToManyRelationshipsDoc.class, new ToManyRelationshipsDocSerializer()
+    );
+
+    /**
+     * @return module registering the streaming serializers of the JSON:API document model
+     */
+    public static SimpleModule module() {
+        return new SimpleModule(JsonApiDocumentSerializers.class.getSimpleName()) {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.addSerializers(new JsonApiDocumentSerializers());
+            }
+        };
+    }
+
+    /**
+     * Checks whether the given {@code ObjectMapper} writes {@link MultipleResourcesStreamDoc}s with these serializers,
+     * i.e. whether {@link #module()} is registered. Otherwise the mapper would fall back to the bean serialization of
+     * the stream document, which is not a JSON:API document.
+     *
+     * @param objectMapper mapper to check
+     * @return {@code true} if the mapper can write streamed documents
+     */
+    public static boolean canSerializeStreamDocs(ObjectMapper objectMapper) {
+        try {
+            JsonSerializer<?> serializer = objectMapper.getSerializerProviderInstance()
+                    .findValueSerializer(MultipleResourcesStreamDoc.class);
+            return serializer instanceof MultipleResourcesStreamDocSerializer;
+        } catch (JsonMappingException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> findSerializer(SerializationConfig config,
+                                            JavaType type,
+                                            BeanDescription beanDesc) {
+        return serializers.get(type.getRawClass());
+    }
+
+    private static void writeIdentity(ResourceIdentifierObject value,
+                                      JsonGenerator gen) throws IOException {
+        writeString(ID, value.getId(), gen);
+        writeString(LID, value.getLid(), gen);
+        writeString(TYPE, value.getType(), gen);
+    }
+
+    private static void writeResourceIdentifier(ResourceIdentifierObject value,
+                                                JsonGenerator gen,
+                                                SerializerProvider provider) throws IOException {
+        if (value == null || value.getClass() != ResourceIdentifierObject.class) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        gen.writeStartObject(value);
+        writeIdentity(value, gen);
+        writeValue(META, value.getMeta(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void writeResource(ResourceObject<?, ?> value,
+                                      JsonGenerator gen,
+                                      SerializerProvider provider) throws IOException {
+        if (value == null || value.getClass() != ResourceObject.class) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        gen.writeStartObject(value);
+        writeIdentity(value, gen);
+        writeValue(ATTRIBUTES, value.getAttributes(), gen, provider);
+        Object relationships = value.getRelationships();
+        if (relationships instanceof Map<?, ?> relationshipsByName) {
+            gen.writeFieldName(RELATIONSHIPS);
+            gen.writeStartObject(relationshipsByName);
+            for (Map.Entry<?, ?> e : relationshipsByName.entrySet()) {
+                if (e.getValue() != null) {
+                    gen.writeFieldName(String.valueOf(e.getKey()));
+                    if (e.getValue() instanceof RelationshipObject relationship) {
+                        writeRelationship(relationship, gen, provider);
+                    } else {
+                        provider.defaultSerializeValue(e.getValue(), gen);
+                    }
+                }
+            }
+            gen.writeEndObject();
+        } else {
+            writeValue(RELATIONSHIPS, relationships, gen, provider);
+        }
+        writeLinks(value.getLinks(), gen, provider);
+        writeValue(META, value.getMeta(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void writeResources(SerializableString name,
+                                       List<? extends ResourceObject<?, ?>> resources,
+                                       JsonGenerator gen,
+                                       SerializerProvider provider) throws IOException {
+        if (resources == null) {
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeStartArray(resources, resources.size());
+        for (ResourceObject<?, ?> resource : resources) {
+            writeResource(resource, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeRelationship(RelationshipObject value,
+                                          JsonGenerator gen,
+                                          SerializerProvider provider) throws IOException {
+        Class<?> cls = value.getClass();
+        if (cls != RelationshipObject.class && cls != ToOneRelationshipObject.class && cls != ToManyRelationshipObject.class) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        gen.writeStartObject(value);
+        if (value instanceof ToOneRelationshipObject toOne) {
+            writeToOneData(toOne.getData(), gen, provider);
+        } else if (value instanceof ToManyRelationshipObject toMany) {
+            writeToManyData(toMany.getData(), gen, provider);
+        }
+        writeLinks(value.getLinks(), gen, provider);
+        writeValue(META, value.getMeta(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void writeToOneData(ResourceIdentifierObject data,
+                                       JsonGenerator gen,
+                                       SerializerProvider provider) throws IOException {
+        if (data != null) {
+            gen.writeFieldName(DATA);
+            writeResourceIdentifier(data, gen, provider);
+        }
+    }
+
+    private static void writeToManyData(List<ResourceIdentifierObject> data,
+                                        JsonGenerator gen,
+                                        SerializerProvider provider) throws IOException {
+        if (data != null) {
+            gen.writeFieldName(DATA);
+            gen.writeStartArray(data, data.size());
+            for (ResourceIdentifierObject identifier : data) {
+                writeResourceIdentifier(identifier, gen, provider);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static void writeLinks(LinksObject links,
+                                   JsonGenerator gen,
+                                   SerializerProvider provider) throws IOException {
+        if (links == null) {
+            return;
+        }
+        gen.writeFieldName(LINKS);
+        gen.writeStartObject(links);
+        for (Map.Entry<String, Object> e : links.entrySet()) {
+            if (e.getValue() instanceof String href) {
+                gen.writeStringField(e.getKey(), href);
+            } else if (e.getValue() != null) {
+                gen.writeFieldName(e.getKey());
+                provider.defaultSerializeValue(e.getValue(), gen);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeString(SerializableString name,
+                                    String value,
+                                    JsonGenerator gen) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeValue(SerializableString name,
+                                   Object value,
+                                   JsonGenerator gen,
+                                   SerializerProvider provider) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    private static class ResourceIdentifierObjectSerializer extends StdSerializer<ResourceIdentifierObject> {
+
+        ResourceIdentifierObjectSerializer() {
+            super(ResourceIdentifierObject.class);
+        }
+
+        @Override
+        public void serialize(ResourceIdentifierObject value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            writeResourceIdentifier(value, gen, provider);
+        }
+
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class ResourceObjectSerializer extends StdSerializer<ResourceObject> {
+
+        ResourceObjectSerializer() {
+            super(ResourceObject.class);
+        }
+
+        @Override
+        public void serialize(ResourceObject value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            writeResource(value, gen, provider);
+        }
+
+    }
+
+    private static class RelationshipObjectSerializer extends StdSerializer<RelationshipObject> {
+
+        RelationshipObjectSerializer() {
+            super(RelationshipObject.class);
+        }
+
+        @Override
+        public void serialize(RelationshipObject value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            writeRelationship(value, gen, provider);
+        }
+
+    }
+
+    private static class ToOneRelationshipObjectSerializer extends StdSerializer<ToOneRelationshipObject> {
+
+        ToOneRelationshipObjectSerializer() {
+            super(ToOneRelationshipObject.class);
+        }
+
+        @Override
+        public void serialize(ToOneRelationshipObject value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            writeRelationship(value, gen, provider);
+        }
+
+    }
+
+    private static class ToManyRelationshipObjectSerializer extends StdSerializer<ToManyRelationshipObject> {
+
+        ToManyRelationshipObjectSerializer() {
+            super(ToManyRelationshipObject.class);
+        }
+
+        @Override
+        public void serialize(ToManyRelationshipObject value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            writeRelationship(value, gen, provider);
+        }
+
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class SingleResourceDocSerializer extends StdSerializer<SingleResourceDoc> {
+
+        SingleResourceDocSerializer() {
+            super(SingleResourceDoc.class);
+        }
+
+        @Override
+        public void serialize(SingleResourceDoc value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeLinks(value.getLinks(), gen, provider);
+            writeValue(META, value.getMeta(), gen, provider);
+            writeValue(JSONAPI, value.getJsonapi(), gen, provider);
+            if (value.getData() != null) {
+                gen.writeFieldName(DATA);
+                writeResource(value.getData(), gen, provider);
+            }
+            writeResources(INCLUDED, value.getIncluded(), gen, provider);
+            gen.writeEndObject();
+        }
+
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class MultipleResourcesDocSerializer extends StdSerializer<MultipleResourcesDoc> {
+
+        MultipleResourcesDocSerializer() {
+            super(MultipleResourcesDoc.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serialize(MultipleResourcesDoc value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeLinks(value.getLinks(), gen, provider);
+            writeValue(META, value.getMeta(), gen, provider);
+            writeValue(JSONAPI, value.getJsonapi(), gen, provider);
+            writeResources(DATA, value.getData(), gen, provider);
+            writeResources(INCLUDED, value.getIncluded(), gen, provider);
+            gen.writeEndObject();
+        }
+
+    }
+
+    /**
+     * Writes the resources of every window as soon as the window is composed and flushes them, so the response is
+     * sent while the next window is read. Top-level links, meta and jsonapi go after the data since they are only
+     * known at the end of the stream. Closes the document once written.
+     */
+    private static class MultipleResourcesStreamDocSerializer extends StdSerializer<MultipleResourcesStreamDoc> {
+
+        MultipleResourcesStreamDocSerializer() {
+            super(MultipleResourcesStreamDoc.class);
+        }
+
+        @Override
+        public void serialize(MultipleResourcesStreamDoc value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            try (MultipleResourcesStreamDoc<?> doc = value) {
+                gen.writeStartObject(doc);
+                gen.writeFieldName(DATA);
+                gen.writeStartArray();
+                Iterator<? extends List<? extends ResourceObject<?, ?>>> windows = doc.getWindows();
+                while (windows.hasNext()) {
+                    for (ResourceObject<?, ?> resource : windows.next()) {
+                        writeResource(resource, gen, provider);
+                    }
+                    gen.flush();
+                }
+                gen.writeEndArray();
+                writeLinks(doc.getLinks(), gen, provider);
+                writeValue(META, doc.getMeta(), gen, provider);
+                writeValue(JSONAPI, doc.getJsonapi(), gen, provider);
+                gen.writeEndObject();
+            }
+        }
+
+    }
+
+    private static class ToOneRelationshipDocSerializer extends StdSerializer<ToOneRelationshipDoc> {
+
+        ToOneRelationshipDocSerializer() {
+            super(ToOneRelationshipDoc.class);
+        }
+
+        @Override
+        public void serialize(ToOneRelationshipDoc value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeLinks(value.getLinks(), gen, provider);
+            writeValue(META, value.getMeta(), gen, provider);
+            writeToOneData(value.getData(), gen, provider);
+            writeResources(INCLUDED, value.getIncluded(), gen, provider);
+            writeValue(JSONAPI, value.getJsonapi(), gen, provider);
+            gen.writeEndObject();
+        }
+
+    }
+
+    private static class ToManyRelationshipsDocSerializer extends StdSerializer<ToManyRelationshipsDoc> {
+
+        ToManyRelationshipsDocSerializer() {
+            super(ToManyRelationshipsDoc.class);
+        }
+
+        @Override
+        public void serialize(ToManyRelationshipsDoc value,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeLinks(value.getLinks(), gen, provider);
+            writeValue(META, value.getMeta(), gen, provider);
+            writeToManyData(value.getData(), gen, provider);
+            writeResources(INCLUDED, value.getIncluded(), gen, provider);
+            writeValue(JSONAPI, value.getJsonapi(), gen, provider);
+            gen.writeEndObject();
+        }
+
+    }
+
+}
@@ -12,9 +12,14 @@ import org.apache.commons.lang3.Validate;
 import pro.api4.jsonapi4j.JsonApi4j;
 import pro.api4.jsonapi4j.JsonApi4jReportGenerator;
 import pro.api4.jsonapi4j.config.JsonApi4jProperties;
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.domain.DomainRegistry;
 import pro.api4.jsonapi4j.domain.ResourceType;
 import pro.api4.jsonapi4j.http.HttpHeaders;
+import pro.api4.jsonapi4j.http.HttpStatusCodes;
+import pro.api4.jsonapi4j.http.cache.EntityTags;
+import pro.api4.jsonapi4j.init.JsonApiDocumentSerializers;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesStreamDoc;
 import pro.api4.jsonapi4j.model.document.data.SingleResourceDoc;
 import pro.api4.jsonapi4j.model.document.error.ErrorsDoc;
 import pro.api4.jsonapi4j.operation.OperationType;
@@ -30,6 +35,7 @@ import pro.api4.jsonapi4j.servlet.response.errorhandling.JsonApi4jErrorHandlerFa
 import pro.api4.jsonapi4j.servlet.response.errorhandling.impl.DefaultErrorHandlerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 
@@ -38,12 +44,16 @@ import static pro.api4.jsonapi4j.init.JsonApi4jServletContainerInitializer.*;
 @Slf4j
 public class JsonApi4jDispatcherServlet extends HttpServlet {
 
+    private static final String GET_METHOD = "GET";
+
     private JsonApi4j jsonApi4j;
 
     private ErrorHandlerFactoriesRegistry errorHandlerFactory;
 
     private ObjectMapper objectMapper;
 
+    private boolean streamDocsSerializable;
+
     private JsonApiRequestSupplier<HttpServletRequest> jsonApiRequestSupplier;
 
     @Override
@@ -61,6 +71,10 @@ public class JsonApi4jDispatcherServlet extends HttpServlet {
         this.errorHandlerFactory = composeErrorHandlerFactory(config.getServletContext());
 
         this.objectMapper = composeObjectMapper(config.getServletContext());
+        this.streamDocsSerializable = JsonApiDocumentSerializers.canSerializeStreamDocs(objectMapper);
+        if (!streamDocsSerializable) {
+            log.warn("{} isn't registered in the configured ObjectMapper, streaming operations will fail", JsonApiDocumentSerializers.class.getSimpleName());
+        }
 
         this.jsonApiRequestSupplier = composeJsonApiRequestSupplier(
                 config.getServletContext(),
@@ -111,13 +125,22 @@ public class JsonApi4jDispatcherServlet extends HttpServlet {
     @Override
     protected void service(HttpServletRequest req,
                            HttpServletResponse resp) {
+        // propagated headers and status are collected into the context bound by PrincipalResolvingFilter, or into
+        // one bound for this request only if the filter isn't mapped
+        try (RequestContext.Scope ignored = RequestContext.current().bind()) {
+            dispatch(req, resp);
+        }
+    }
+
+    private void dispatch(HttpServletRequest req,
+                          HttpServletResponse resp) {
 
         try {
             JsonApiRequest jsonApiRequest = jsonApiRequestSupplier.from(req);
             OperationType targetOperationType = jsonApiRequest.getOperationType();
             ResourceType targetResourceType = jsonApiRequest.getTargetResourceType();
 
-            Object dataDoc = jsonApi4j.execute(jsonApiRequest);
+            Object dataDoc = jsonApi4j.executeStreaming(jsonApiRequest);
 
             int status = targetOperationType.getHttpStatus();
             // check if status is overridden
@@ -138,7 +161,15 @@ public class JsonApi4jDispatcherServlet extends HttpServlet {
             // populate custom headers
             ResponseHeaders.flush(resp);
 
-            writeResponseBody(resp, dataDoc);
+            if (dataDoc instanceof MultipleResourcesStreamDoc<?> streamDoc) {
+                writeStreamedResponseBody(resp, streamDoc);
+            } else if (status == HttpStatusCodes.SC_200_OK.getCode()
+                    && GET_METHOD.equals(req.getMethod())
+                    && req.getHeader(HttpHeaders.IF_NONE_MATCH.getName()) != null) {
+                writeConditionalResponseBody(req, resp, dataDoc);
+            } else {
+                writeResponseBody(resp, dataDoc);
+            }
 
         } catch (Exception e) {
             if (errorHandlerFactory != null) {
@@ -159,6 +190,71 @@ public class JsonApi4jDispatcherServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Answers a conditional {@code GET} with {@code 304 Not Modified} and no body if the request's
+     * {@code If-None-Match} matches the {@code ETag} the operation propagated. If the operation didn't propagate one,
+     * the body is serialized up front and tagged with a strong {@code ETag} computed from it.
+     */
+    private void writeConditionalResponseBody(HttpServletRequest req, HttpServletResponse resp, Object body) {
+        if (body == null) {
+            return;
+        }
+        String ifNoneMatch = req.getHeader(HttpHeaders.IF_NONE_MATCH.getName());
+        String etag = resp.getHeader(HttpHeaders.ETAG.getName());
+        if (etag != null) {
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                log.debug("ETag {} matches If-None-Match, responding with 304", etag);
+                resp.setStatus(HttpStatusCodes.SC_304_NOT_MODIFIED.getCode());
+            } else {
+                writeResponseBody(resp, body);
+            }
+            return;
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            etag = EntityTags.strong(bytes);
+            resp.setHeader(HttpHeaders.ETAG.getName(), etag);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                log.debug("ETag {} matches If-None-Match, responding with 304", etag);
+                resp.setStatus(HttpStatusCodes.SC_304_NOT_MODIFIED.getCode());
+                return;
+            }
+            resp.setContentType(JsonApiMediaType.MEDIA_TYPE);
+            resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            log.debug("Writing response body: {}", body);
+            resp.getOutputStream().write(bytes);
+        } catch (IOException e) {
+            log.error("Error writing JSON into HttpServletResponse. ", e);
+        }
+    }
+
+    /**
+     * Writes a streamed document window by window, without an {@code ETag} since the body is never buffered as a
+     * whole. A failure before anything has been sent is handled as usual; once the response is committed it can only
+     * be aborted.
+     */
+    private void writeStreamedResponseBody(HttpServletResponse resp, MultipleResourcesStreamDoc<?> body) {
+        try (body) {
+            Validate.validState(
+                    streamDocsSerializable,
+                    "Can't stream the response, register JsonApiDocumentSerializers.module() in the ObjectMapper"
+            );
+            resp.setContentType(JsonApiMediaType.MEDIA_TYPE);
+            resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            log.debug("Streaming response body: {}", body);
+            objectMapper.writeValue(resp.getOutputStream(), body);
+        } catch (IOException e) {
+            if (!resp.isCommitted()) {
+                resp.resetBuffer();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new UncheckedIOException(e);
+            }
+            log.error("Error streaming JSON into HttpServletResponse, the response is aborted. ", e);
+        }
+    }
+
     private void writeResponseBody(HttpServletResponse resp, Object body) {
         try {
             if (body != null) {
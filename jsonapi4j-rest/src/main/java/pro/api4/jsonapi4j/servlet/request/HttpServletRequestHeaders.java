@@ -0,0 +1,54 @@
+package pro.api4.jsonapi4j.servlet.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only {@link Map} view of the headers of an {@link HttpServletRequest}.
+ *
+ * <p>Single headers are looked up on demand via {@link HttpServletRequest#getHeader(String)}, i.e. case-insensitively.
+ * All headers are copied only once the map is iterated, so requests whose operations never look at headers don't
+ * pay for copying them. The view is only valid while the request is being processed.
+ */
+final class HttpServletRequestHeaders extends AbstractMap<String, String> {
+
+    private final HttpServletRequest request;
+    private Map<String, String> headers;
+
+    HttpServletRequestHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public String get(Object key) {
+        return key instanceof String headerName ? request.getHeader(headerName) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (headers == null) {
+            Map<String, String> copy = new LinkedHashMap<>();
+            Enumeration<String> headerNames = request.getHeaderNames();
+            if (headerNames != null) {
+                while (headerNames.hasMoreElements()) {
+                    String headerName = headerNames.nextElement();
+                    copy.put(headerName, request.getHeader(headerName));
+                }
+            }
+            headers = Collections.unmodifiableMap(copy);
+        }
+        return headers.entrySet();
+    }
+
+}
@@ -0,0 +1,53 @@
+package pro.api4.jsonapi4j.servlet.request;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import pro.api4.jsonapi4j.model.document.data.RelationshipObject;
+import pro.api4.jsonapi4j.model.document.data.ResourceObject;
+import pro.api4.jsonapi4j.model.document.data.SingleResourceDoc;
+import pro.api4.jsonapi4j.request.DefaultJsonApiRequest;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+/**
+ * {@link DefaultJsonApiRequest.BodyDeserializer} backed by Jackson. Shared by all transports that turn raw request
+ * bytes into a {@link pro.api4.jsonapi4j.request.JsonApiRequest}.
+ */
+public final class JacksonRequestBodyDeserializer implements DefaultJsonApiRequest.BodyDeserializer {
+
+    private final ObjectMapper jsonMapper;
+
+    public JacksonRequestBodyDeserializer(ObjectMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public <A> SingleResourceDoc<ResourceObject<A, LinkedHashMap<String, RelationshipObject>>> deserializeResourceDoc(byte[] payload,
+                                                                                                                      Class<A> attType) throws IOException {
+        TypeFactory typeFactory = jsonMapper.getTypeFactory();
+        JavaType relJavaType = typeFactory.constructMapType(
+                LinkedHashMap.class,
+                typeFactory.constructType(String.class),
+                typeFactory.constructType(RelationshipObject.class)
+        );
+        JavaType jsonApiPrimaryResourceJavaType = typeFactory.constructParametricType(
+                ResourceObject.class,
+                typeFactory.constructType(attType),
+                relJavaType
+        );
+        JavaType jsonApiSinglePrimaryResourceDocJavaType = typeFactory.constructParametricType(
+                SingleResourceDoc.class,
+                jsonApiPrimaryResourceJavaType
+        );
+        return jsonMapper.readValue(payload, jsonApiSinglePrimaryResourceDocJavaType);
+    }
+
+    @Override
+    public <T> T deserializeRelationshipDoc(byte[] payload,
+                                            Class<T> type) throws IOException {
+        return jsonMapper.readValue(payload, type);
+    }
+
+}
@@ -1,140 +1,212 @@
 package pro.api4.jsonapi4j.servlet.request;
 
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import pro.api4.jsonapi4j.domain.DomainRegistry;
-import pro.api4.jsonapi4j.domain.RelationshipDetails;
 import pro.api4.jsonapi4j.domain.RelationshipName;
-import pro.api4.jsonapi4j.domain.RelationshipType;
 import pro.api4.jsonapi4j.domain.ResourceType;
 import pro.api4.jsonapi4j.http.exception.MethodNotSupportedException;
 import pro.api4.jsonapi4j.operation.OperationType;
 import pro.api4.jsonapi4j.operation.OperationType.Method;
 import pro.api4.jsonapi4j.operation.exception.OperationNotFoundException;
-import lombok.Data;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static pro.api4.jsonapi4j.operation.OperationType.Method.DELETE;
 import static pro.api4.jsonapi4j.operation.OperationType.Method.GET;
 import static pro.api4.jsonapi4j.operation.OperationType.Method.PATCH;
 import static pro.api4.jsonapi4j.operation.OperationType.Method.POST;
-import static pro.api4.jsonapi4j.operation.OperationType.Method.fromString;
+import static pro.api4.jsonapi4j.operation.OperationType.Method.isSupportedMethod;
 
+/**
+ * Resolves the {@link OperationType} of a request from its path and HTTP method.
+ *
+ * <p>A routing table is precompiled from the {@link DomainRegistry} once: a segment trie of resource types, the
+ * resource id wildcard, the {@code relationships} literal and relationship names, where every route holds the
+ * {@link OperationDetails} of each of its methods and the list of allowed methods for a 405 response. Resolution scans
+ * the path once without copying it, so it takes the same time regardless of the number of registered resources.
+ *
+ * <p>Empty segments are skipped, i.e. {@code /users//1/} resolves like {@code /users/1}.
+ */
 @Slf4j
 public class OperationDetailsResolver {
 
-    private final DomainRegistry domainRegistry;
+    private static final String RELATIONSHIPS_SEGMENT = "relationships";
+    private static final int MAX_SEGMENTS = 4;
+
+    private final PathSegmentTable<ResourceRoutes> routes;
 
     public OperationDetailsResolver(DomainRegistry domainRegistry) {
-        this.domainRegistry = domainRegistry;
+        Map<String, ResourceRoutes> resourceRoutes = new HashMap<>();
+        for (ResourceType resourceType : domainRegistry.getResourceTypes()) {
+            resourceRoutes.put(resourceType.getType(), new ResourceRoutes(domainRegistry, resourceType));
+        }
+        this.routes = new PathSegmentTable<>(resourceRoutes);
     }
 
     public OperationDetails fromUrlAndMethod(String appRelativePath,
                                              String methodString) {
         log.debug("Resolving operation for path '{}', method '{}'", appRelativePath, methodString);
-        String path = appRelativePath;
-        if (path.startsWith("/")) {
-            path = path.substring(1);
-        }
-        List<String> pathFragments = Arrays.asList(path.split("/"));
-        if (pathFragments.isEmpty()) {
+        int[] bounds = new int[MAX_SEGMENTS * 2];
+        int segments = scanSegments(appRelativePath, bounds);
+        if (segments == 0) {
             throw new OperationNotFoundException(appRelativePath, methodString, "Invalid JSON:API path");
         }
-        Method methodEnum = fromString(methodString);
-        String resourceTypeStr = pathFragments.getFirst();
-        ResourceType resourceType = domainRegistry.getResourceType(resourceTypeStr);
-        if (resourceType == null) {
-            throw new OperationNotFoundException(appRelativePath, methodString, "Unknown resource type: " + resourceTypeStr);
+        ResourceRoutes resourceRoutes = routes.get(appRelativePath, bounds[0], bounds[1]);
+        if (resourceRoutes == null) {
+            throw new OperationNotFoundException(
+                    appRelativePath,
+                    methodString,
+                    "Unknown resource type: " + appRelativePath.substring(bounds[0], bounds[1])
+            );
         }
-        if (pathFragments.size() == 1) {
-            if (methodEnum == GET) {
-                return resolved(OperationType.READ_MULTIPLE_RESOURCES, resourceType, null);
-            } else if (methodEnum == POST) {
-                return resolved(OperationType.CREATE_RESOURCE, resourceType, null);
-            } else {
-                throw new MethodNotSupportedException(
+        Method method = isSupportedMethod(methodString) ? Method.fromString(methodString) : null;
+        if (segments == 1) {
+            return resolved(resourceRoutes.collection.resolve(method, methodString, null));
+        }
+        String resourceId = appRelativePath.substring(bounds[2], bounds[3]);
+        if (segments == 2 && !resourceId.isBlank()) {
+            return resolved(resourceRoutes.resource.resolve(method, methodString, resourceId));
+        }
+        if (segments == MAX_SEGMENTS
+                && bounds[5] - bounds[4] == RELATIONSHIPS_SEGMENT.length()
+                && appRelativePath.startsWith(RELATIONSHIPS_SEGMENT, bounds[4])) {
+            Route relationshipRoute = resourceRoutes.relationships.get(appRelativePath, bounds[6], bounds[7]);
+            if (relationshipRoute == null) {
+                throw new OperationNotFoundException(
+                        appRelativePath,
                         methodString,
-                        Stream.of(GET, POST).map(Enum::name).collect(Collectors.joining(", "))
+                        "Unknown relationship: " + appRelativePath.substring(bounds[6], bounds[7])
                 );
             }
-        } else if (pathFragments.size() == 2) {
-            String secondFragment = pathFragments.get(1);
-            if (!secondFragment.isBlank()) {
-                if (methodEnum == GET) {
-                    return resolved(OperationType.READ_RESOURCE_BY_ID, resourceType, null);
-                } else if (methodEnum == PATCH) {
-                    return resolved(OperationType.UPDATE_RESOURCE, resourceType, null);
-                } else if (methodEnum == DELETE) {
-                    return resolved(OperationType.DELETE_RESOURCE, resourceType, null);
-                } else {
-                    throw new MethodNotSupportedException(
-                            methodString,
-                            Stream.of(GET, PATCH, DELETE).map(Enum::name).collect(Collectors.joining(", "))
-                    );
-                }
+            return resolved(relationshipRoute.resolve(method, methodString, resourceId));
+        }
+        throw new OperationNotFoundException(appRelativePath, methodString);
+    }
+
+    /**
+     * Stores the start and end index of every non-empty segment of the path into {@code bounds}.
+     *
+     * @return number of segments, or {@code MAX_SEGMENTS + 1} if there are more segments than any route has
+     */
+    private static int scanSegments(String path, int[] bounds) {
+        int segments = 0;
+        int length = path.length();
+        int i = 0;
+        while (i < length) {
+            if (path.charAt(i) == '/') {
+                i++;
+                continue;
             }
-        } else if (pathFragments.size() == 4 && pathFragments.get(2).equals("relationships")) {
-            String relationshipStr = pathFragments.get(3);
-            RelationshipDetails relationshipDetails = domainRegistry.resolveRelationshipDetails(relationshipStr, resourceType);
-            if (relationshipDetails == null) {
-                throw new OperationNotFoundException(appRelativePath, methodString, "Unknown relationship: " + relationshipStr);
+            int end = path.indexOf('/', i);
+            if (end < 0) {
+                end = length;
             }
-            RelationshipName relationshipName = relationshipDetails.getRelationshipName();
-            RelationshipType relationshipType = relationshipDetails.getRelationshipType();
-            if (methodEnum == GET) {
-                if (relationshipType == RelationshipType.TO_ONE) {
-                    return resolved(OperationType.READ_TO_ONE_RELATIONSHIP, resourceType, relationshipName);
-                } else if (relationshipType == RelationshipType.TO_MANY) {
-                    return resolved(OperationType.READ_TO_MANY_RELATIONSHIP, resourceType, relationshipName);
-                }
-            } else if (methodEnum == PATCH) {
-                if (relationshipType == RelationshipType.TO_ONE) {
-                    return resolved(OperationType.UPDATE_TO_ONE_RELATIONSHIP, resourceType, relationshipName);
-                } else if (relationshipType == RelationshipType.TO_MANY) {
-                    return resolved(OperationType.UPDATE_TO_MANY_RELATIONSHIPS, resourceType, relationshipName);
-                }
-            } else if (methodEnum == POST) {
-                if (relationshipType == RelationshipType.TO_MANY) {
-                    return resolved(OperationType.ADD_TO_MANY_RELATIONSHIP, resourceType, relationshipName);
-                } else {
-                    throw new MethodNotSupportedException(
-                            methodString,
-                            Stream.of(GET, PATCH).map(Enum::name).collect(Collectors.joining(", "))
-                    );
-                }
-            } else if (methodEnum == DELETE) {
-                if (relationshipType == RelationshipType.TO_MANY) {
-                    return resolved(OperationType.DELETE_TO_MANY_RELATIONSHIP, resourceType, relationshipName);
-                } else {
-                    throw new MethodNotSupportedException(
-                            methodString,
-                            Stream.of(GET, PATCH).map(Enum::name).collect(Collectors.joining(", "))
-                    );
-                }
-            } else {
-                throw new MethodNotSupportedException(
-                        methodString,
-                        Stream.of(GET, POST, PATCH, DELETE).map(Enum::name).collect(Collectors.joining(", "))
-                );
+            if (segments == MAX_SEGMENTS) {
+                return MAX_SEGMENTS + 1;
             }
+            bounds[segments * 2] = i;
+            bounds[segments * 2 + 1] = end;
+            segments++;
+            i = end;
         }
-        throw new OperationNotFoundException(appRelativePath, methodString);
+        return segments;
     }
 
-    private OperationDetails resolved(OperationType operationType, ResourceType resourceType, RelationshipName relationshipName) {
-        OperationDetails details = new OperationDetails(operationType, resourceType, relationshipName);
+    private OperationDetails resolved(OperationDetails details) {
         log.debug("Resolved operation: {}", details);
         return details;
     }
 
+    private static final class ResourceRoutes {
+
+        private final Route collection;
+        private final Route resource;
+        private final PathSegmentTable<Route> relationships;
+
+        private ResourceRoutes(DomainRegistry domainRegistry, ResourceType resourceType) {
+            this.collection = new Route(Map.of(
+                    GET, new OperationDetails(OperationType.READ_MULTIPLE_RESOURCES, resourceType, null),
+                    POST, new OperationDetails(OperationType.CREATE_RESOURCE, resourceType, null)
+            ));
+            this.resource = new Route(Map.of(
+                    GET, new OperationDetails(OperationType.READ_RESOURCE_BY_ID, resourceType, null),
+                    PATCH, new OperationDetails(OperationType.UPDATE_RESOURCE, resourceType, null),
+                    DELETE, new OperationDetails(OperationType.DELETE_RESOURCE, resourceType, null)
+            ));
+            Map<String, Route> relationshipRoutes = new HashMap<>();
+            for (RelationshipName relationshipName : domainRegistry.getToOneRelationshipNames(resourceType)) {
+                relationshipRoutes.put(relationshipName.getName(), new Route(Map.of(
+                        GET, new OperationDetails(OperationType.READ_TO_ONE_RELATIONSHIP, resourceType, relationshipName),
+                        PATCH, new OperationDetails(OperationType.UPDATE_TO_ONE_RELATIONSHIP, resourceType, relationshipName)
+                )));
+            }
+            // a to-many relationship wins over a to-one relationship of the same name
+            for (RelationshipName relationshipName : domainRegistry.getToManyRelationshipNames(resourceType)) {
+                relationshipRoutes.put(relationshipName.getName(), new Route(Map.of(
+                        GET, new OperationDetails(OperationType.READ_TO_MANY_RELATIONSHIP, resourceType, relationshipName),
+                        POST, new OperationDetails(OperationType.ADD_TO_MANY_RELATIONSHIP, resourceType, relationshipName),
+                        PATCH, new OperationDetails(OperationType.UPDATE_TO_MANY_RELATIONSHIPS, resourceType, relationshipName),
+                        DELETE, new OperationDetails(OperationType.DELETE_TO_MANY_RELATIONSHIP, resourceType, relationshipName)
+                )));
+            }
+            this.relationships = new PathSegmentTable<>(relationshipRoutes);
+        }
+
+    }
+
+    private static final class Route {
+
+        private final EnumMap<Method, OperationDetails> operations;
+        private final String allowedMethods;
+
+        private Route(Map<Method, OperationDetails> operations) {
+            this.operations = new EnumMap<>(operations);
+            this.allowedMethods = this.operations.keySet().stream().map(Enum::name).collect(Collectors.joining(", "));
+        }
+
+        private OperationDetails resolve(Method method, String methodString, String resourceId) {
+            OperationDetails operation = method != null ? operations.get(method) : null;
+            if (operation == null) {
+                throw new MethodNotSupportedException(methodString, allowedMethods);
+            }
+            return resourceId != null ? operation.withResourceId(resourceId) : operation;
+        }
+
+    }
+
     @Data
     public static class OperationDetails {
         private final OperationType operationType;
         private final ResourceType resourceType;
         private final RelationshipName relationshipName;
+        /**
+         * Id of the resource the path addresses, {@code null} for collection paths.
+         */
+        private final String resourceId;
+
+        public OperationDetails(OperationType operationType,
+                                ResourceType resourceType,
+                                RelationshipName relationshipName) {
+            this(operationType, resourceType, relationshipName, null);
+        }
+
+        public OperationDetails(OperationType operationType,
+                                ResourceType resourceType,
+                                RelationshipName relationshipName,
+                                String resourceId) {
+            this.operationType = operationType;
+            this.resourceType = resourceType;
+            this.relationshipName = relationshipName;
+            this.resourceId = resourceId;
+        }
+
+        OperationDetails withResourceId(String resourceId) {
+            return new OperationDetails(operationType, resourceType, relationshipName, resourceId);
+        }
     }
 
 }
@@ -0,0 +1,58 @@
+package pro.api4.jsonapi4j.servlet.request;
+
+import java.util.Map;
+
+/**
+ * Immutable open-addressing hash table keyed by path segments. Looks up a segment given as a region of a path, so
+ * resolving a route doesn't need to cut the path into substrings first.
+ *
+ * @param <V> value type
+ */
+final class PathSegmentTable<V> {
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    PathSegmentTable(Map<String, V> entries) {
+        int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2) - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        entries.forEach((key, value) -> {
+            int i = hash(key, 0, key.length()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        });
+    }
+
+    /**
+     * @param path path the segment is a part of
+     * @param from index of the first character of the segment
+     * @param to   index after the last character of the segment
+     * @return value registered for the segment, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    V get(String path, int from, int to) {
+        int length = to - from;
+        for (int i = hash(path, from, to) & mask; keys[i] != null; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key.length() == length && path.regionMatches(from, key, 0, length)) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    private static int hash(String s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -3,23 +3,20 @@ package pro.api4.jsonapi4j.servlet.response;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 import pro.api4.jsonapi4j.http.cache.CacheControlParser;
 import pro.api4.jsonapi4j.http.HttpHeaders;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-
-import static java.lang.ThreadLocal.withInitial;
+import java.util.Map;
 
 /**
  * Propagates HTTP response headers from downstream service responses to the final client-facing response.
  *
- * <p>Uses a {@link ThreadLocal} store so that headers collected during request processing (potentially across
- * multiple downstream calls) are scoped to the current servlet thread. The thread-level scope matches
- * the request execution scope, giving each concurrent request its own independent header context.</p>
+ * <p>Headers collected during request processing (potentially across multiple downstream calls) are stored in the
+ * {@link RequestContext} of the request, giving each concurrent request its own independent header context. Subtasks
+ * of the request inherit its context, so headers can be propagated from any thread working on the request.</p>
  *
  * <p>Typical lifecycle within a single request:</p>
  * <ol>
@@ -27,7 +24,7 @@ import static java.lang.ThreadLocal.withInitial;
  *         or {@link #propagateHeader(String, String)} — called during request processing to collect headers
  *         for propagation</li>
  *     <li>{@link #flush(HttpServletResponse)} — called by the response filter to apply all collected
- *         headers to the outgoing response and clean up the {@link ThreadLocal} store</li>
+ *         headers to the outgoing response and clear them from the {@link RequestContext}</li>
  * </ol>
  *
  * @see CacheControlParser
@@ -37,14 +34,12 @@ public class ResponseHeaders {
 
     private static final int HARD_LIMIT = 100;
 
-    private static final ThreadLocal<ConcurrentHashMap<String, List<String>>> HEADERS = withInitial(ConcurrentHashMap::new);
-
     /**
      * Extracts the {@code Cache-Control} header from a downstream service response and stores it
      * for later propagation to the client-facing response.
      *
      * <p>If the downstream response contains a non-blank {@code Cache-Control} header, its value is
-     * parsed via {@link CacheControlParser#parse(String)} and stored in the {@link ThreadLocal} context.</p>
+     * parsed via {@link CacheControlParser#parse(String)} and stored in the {@link RequestContext}.</p>
      *
      * @param downstreamServiceResponse the downstream HTTP response to extract {@code Cache-Control} from;
      *                                  {@code null} values are safely ignored
@@ -62,14 +57,14 @@ public class ResponseHeaders {
      * Stores the given {@code Cache-Control} directives for later propagation to the client-facing response.
      *
      * <p>The directives are formatted back into a header string via {@link CacheControlParser#format(CacheControlDirectives)}
-     * and stored in the {@link ThreadLocal} context, replacing any previously stored {@code Cache-Control} value.</p>
+     * and stored in the {@link RequestContext}, replacing any previously stored {@code Cache-Control} value.</p>
      *
      * @param cacheControlDirectives the parsed {@code Cache-Control} directives to propagate
      */
     public static void propagateCacheControl(CacheControlDirectives cacheControlDirectives) {
-        HEADERS.get().put(
+        RequestContext.current().setResponseHeader(
                 HttpHeaders.CACHE_CONTROL.getName(),
-                Collections.singletonList(CacheControlParser.format(cacheControlDirectives))
+                CacheControlParser.format(cacheControlDirectives)
         );
     }
 
@@ -83,17 +78,26 @@ public class ResponseHeaders {
      * @param value  the header value
      */
     public static void propagateHeader(String header, String value) {
-        if (HEADERS.get().size() > HARD_LIMIT) {
+        RequestContext context = RequestContext.current();
+        if (context.getResponseHeaders().size() > HARD_LIMIT) {
             throw new IllegalStateException("Max headers limit reached: " + HARD_LIMIT);
         }
-        HEADERS.get().computeIfAbsent(
-                header,
-                k -> new ArrayList<>()
-        ).add(value);
+        context.addResponseHeader(header, value);
+    }
+
+    /**
+     * Returns all headers collected for the current request and clears them from the {@link RequestContext} without applying
+     * them to a response. For operations that are executed outside the servlet request lifecycle, e.g. when
+     * compound documents are resolved in process.
+     *
+     * @return collected headers by name, {@code Cache-Control} is stored as a single formatted value
+     */
+    public static Map<String, List<String>> drain() {
+        return Map.copyOf(RequestContext.current().drainResponseHeaders());
     }
 
     /**
-     * Applies all collected headers to the outgoing HTTP response and clears the {@link ThreadLocal} store.
+     * Applies all collected headers to the outgoing HTTP response and clears them from the {@link RequestContext}.
      *
      * <p>{@code Cache-Control} receives special treatment:</p>
      * <ul>
@@ -105,16 +109,18 @@ public class ResponseHeaders {
      * <p>All other collected headers are added unconditionally. Multi-valued headers are added
      * as separate header entries.</p>
      *
-     * <p>This method <strong>must</strong> be called at the end of request processing to prevent
-     * {@link ThreadLocal} leaks (e.g. from a servlet filter's {@code finally} block).</p>
+     * <p>This method <strong>must</strong> be called at the end of request processing, so headers of one request
+     * never leak into another (e.g. from a servlet filter's {@code finally} block).</p>
      *
      * @param response the outgoing HTTP response to write headers to
      */
     public static void flush(HttpServletResponse response) {
+        Map<String, List<String>> headers = RequestContext.current().drainResponseHeaders();
+
         // propagate Cache-Control only for 2xx status codes
         if (response.getStatus() >= 200 && response.getStatus() < 300) {
             String originalCacheControlHeaderValue = response.getHeader(HttpHeaders.CACHE_CONTROL.getName());
-            List<String> propagatedControlHeaderValue = HEADERS.get().get(HttpHeaders.CACHE_CONTROL.getName());
+            List<String> propagatedControlHeaderValue = headers.get(HttpHeaders.CACHE_CONTROL.getName());
             if (StringUtils.isBlank(originalCacheControlHeaderValue)
                     && propagatedControlHeaderValue != null
                     && propagatedControlHeaderValue.size() == 1) {
@@ -122,10 +128,10 @@ public class ResponseHeaders {
             }
         }
 
-        HEADERS.get().remove(HttpHeaders.CACHE_CONTROL.getName());
+        headers.remove(HttpHeaders.CACHE_CONTROL.getName());
 
         // propagate other headers
-        HEADERS.get().forEach((header, value) -> {
+        headers.forEach((header, value) -> {
             if (CollectionUtils.isNotEmpty(value)) {
                 if (value.size() == 1) {
                     response.addHeader(header, value.getFirst());
@@ -138,9 +144,6 @@ public class ResponseHeaders {
                 }
             }
         });
-
-        HEADERS.remove();
-
     }
 
 }
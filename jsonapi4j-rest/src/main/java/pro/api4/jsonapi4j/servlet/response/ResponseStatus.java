@@ -1,21 +1,18 @@
 package pro.api4.jsonapi4j.servlet.response;
 
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.http.HttpStatusCodes;
 
 import java.util.Optional;
 
 public class ResponseStatus {
 
-    private static final ThreadLocal<HttpStatusCodes> RESPONSE_STATUS = new ThreadLocal<>();
-
     public static void overrideResponseStatus(HttpStatusCodes statusCode) {
-        RESPONSE_STATUS.set(statusCode);
+        RequestContext.current().setResponseStatus(statusCode);
     }
 
     public static Optional<Integer> getOverriddenStatus() {
-        Optional<Integer> overriddenStatus = Optional.ofNullable(RESPONSE_STATUS.get()).map(HttpStatusCodes::getCode);
-        RESPONSE_STATUS.remove();
-        return overriddenStatus;
+        return RequestContext.current().drainResponseStatus().map(HttpStatusCodes::getCode);
     }
 
 }
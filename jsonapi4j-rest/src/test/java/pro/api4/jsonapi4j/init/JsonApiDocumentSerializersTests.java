@@ -0,0 +1,233 @@
+package pro.api4.jsonapi4j.init;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.model.document.LinkObject;
+import pro.api4.jsonapi4j.model.document.LinksObject;
+import pro.api4.jsonapi4j.model.document.data.JsonApiObject;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesDoc;
+import pro.api4.jsonapi4j.model.document.data.MultipleResourcesStreamDoc;
+import pro.api4.jsonapi4j.model.document.data.RelationshipObject;
+import pro.api4.jsonapi4j.model.document.data.ResourceIdentifierObject;
+import pro.api4.jsonapi4j.model.document.data.ResourceObject;
+import pro.api4.jsonapi4j.model.document.data.SingleResourceDoc;
+import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipObject;
+import pro.api4.jsonapi4j.model.document.data.ToManyRelationshipsDoc;
+import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipDoc;
+import pro.api4.jsonapi4j.model.document.data.ToOneRelationshipObject;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonApiDocumentSerializersTests {
+
+    private final ObjectMapper objectMapper = JsonApi4jServletContainerInitializer.createObjectMapper();
+
+    private final ObjectMapper beanObjectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .registerModule(new ParameterNamesModule(JsonCreator.Mode.PROPERTIES));
+
+    @Test
+    public void multipleResourcesDoc_sameAsBeanSerialization() throws Exception {
+        // given
+        MultipleResourcesDoc<ResourceObject<?, ?>> doc = new MultipleResourcesDoc<>(
+                List.of(user("1"), user("2"), new AuditedResourceObject("3")),
+                LinksObject.builder().self("/users").next("/users?page%5Bcursor%5D=DoJu").build(),
+                Map.of("total", 3),
+                List.of(country("NO")),
+                new JsonApiObject(List.of(URI.create("https://jsonapi.org/ext/atomic")), List.of())
+        );
+
+        // when
+        String json = objectMapper.writeValueAsString(doc);
+
+        // then
+        assertThat(json).isEqualTo(beanObjectMapper.writeValueAsString(doc));
+    }
+
+    @Test
+    public void singleResourceDoc_sameAsBeanSerialization() throws Exception {
+        // given
+        SingleResourceDoc<ResourceObject<?, ?>> doc = new SingleResourceDoc<>(
+                user("1"),
+                LinksObject.builder().self("/users/1").build(),
+                null,
+                List.of(country("NO"), country("FI"))
+        );
+
+        // when
+        String json = objectMapper.writeValueAsString(doc);
+
+        // then
+        assertThat(json).isEqualTo(beanObjectMapper.writeValueAsString(doc));
+    }
+
+    @Test
+    public void relationshipDocs_sameAsBeanSerialization() throws Exception {
+        // given
+        ToManyRelationshipsDoc toManyDoc = new ToManyRelationshipsDoc(
+                List.of(new ResourceIdentifierObject("NO", null, "countries", Map.of("primary", true))),
+                LinksObject.builder().self("/users/1/relationships/citizenships").build(),
+                null,
+                List.of(country("NO")),
+                new JsonApiObject(null, null)
+        );
+        ToOneRelationshipDoc toOneDoc = new ToOneRelationshipDoc(
+                new ResourceIdentifierObject("NO", null, "countries", null),
+                LinksObject.builder().self("/users/1/relationships/placeOfBirth").build()
+        );
+
+        // when
+        String toManyJson = objectMapper.writeValueAsString(toManyDoc);
+        String toOneJson = objectMapper.writeValueAsString(toOneDoc);
+
+        // then
+        assertThat(toManyJson).isEqualTo(beanObjectMapper.writeValueAsString(toManyDoc));
+        assertThat(toOneJson).isEqualTo(beanObjectMapper.writeValueAsString(toOneDoc));
+    }
+
+    @Test
+    public void emptyDocs_sameAsBeanSerialization() throws Exception {
+        // given
+        List<Object> docs = List.of(
+                new MultipleResourcesDoc<>(),
+                new MultipleResourcesDoc<>(List.of()),
+                new SingleResourceDoc<>(),
+                new ToManyRelationshipsDoc(),
+                new ToOneRelationshipDoc()
+        );
+
+        // when
+        for (Object doc : docs) {
+            String json = objectMapper.writeValueAsString(doc);
+
+            // then
+            assertThat(json).isEqualTo(beanObjectMapper.writeValueAsString(doc));
+        }
+    }
+
+    @Test
+    public void multipleResourcesStreamDoc_dataFirstAndClosedOnceWritten() throws Exception {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        LinksObject links = LinksObject.builder().self("/users").build();
+        MultipleResourcesStreamDoc<ResourceObject<?, ?>> doc = new MultipleResourcesStreamDoc<>(
+                Stream.<List<ResourceObject<?, ?>>>of(List.of(user("1"), user("2")), List.of(user("3")))
+                        .onClose(() -> closed.set(true)),
+                () -> links,
+                () -> Map.of("total", 3)
+        );
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("data", List.of(user("1"), user("2"), user("3")));
+        expected.put("links", links);
+        expected.put("meta", Map.of("total", 3));
+
+        // when
+        String json = objectMapper.writeValueAsString(doc);
+
+        // then
+        assertThat(json).isEqualTo(beanObjectMapper.writeValueAsString(expected));
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void multipleResourcesStreamDoc_jsonapiWrittenAfterMeta() throws Exception {
+        // given
+        JsonApiObject jsonapi = new JsonApiObject("1.1", null, null, null);
+        MultipleResourcesStreamDoc<ResourceObject<?, ?>> doc = MultipleResourcesStreamDoc.of(
+                new MultipleResourcesDoc<>(List.of(user("1")), null, Map.of("total", 1), null, jsonapi)
+        );
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("data", List.of(user("1")));
+        expected.put("meta", Map.of("total", 1));
+        expected.put("jsonapi", jsonapi);
+
+        // when
+        String json = objectMapper.writeValueAsString(doc);
+
+        // then
+        assertThat(json).isEqualTo(beanObjectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    public void canSerializeStreamDocs_onlyWithModuleRegistered() {
+        // when/then
+        assertThat(JsonApiDocumentSerializers.canSerializeStreamDocs(objectMapper)).isTrue();
+        assertThat(JsonApiDocumentSerializers.canSerializeStreamDocs(beanObjectMapper)).isFalse();
+    }
+
+    private static ResourceObject<UserAttributes, Map<String, RelationshipObject>> user(String id) {
+        Map<String, RelationshipObject> relationships = new LinkedHashMap<>();
+        relationships.put("citizenships", new ToManyRelationshipObject(
+                List.of(new ResourceIdentifierObject("NO", null, "countries", null)),
+                LinksObject.builder().self("/users/" + id + "/relationships/citizenships").build(),
+                null
+        ));
+        relationships.put("placeOfBirth", new ToOneRelationshipObject(
+                null,
+                LinksObject.builder()
+                        .self("/users/" + id + "/relationships/placeOfBirth")
+                        .related(new LinkObject("/countries/NO", null, null, "Norway", null, null, null))
+                        .href("describedby", null)
+                        .build(),
+                Map.of("resolved", false)
+        ));
+        relationships.put("relatives", new RelationshipObject(null));
+        relationships.put("notResolved", null);
+        return new ResourceObject<>(
+                id,
+                null,
+                "users",
+                new UserAttributes("John", null, LocalDate.of(1990, 1, 1)),
+                relationships,
+                LinksObject.builder().self("/users/" + id).build(),
+                null
+        );
+    }
+
+    private static ResourceObject<Map<String, String>, Object> country(String id) {
+        return new ResourceObject<>(id, null, "countries", Map.of("name", id), null, null, Map.of("source", "iso"));
+    }
+
+    @Getter
+    private static class UserAttributes {
+
+        private final String firstName;
+        private final String lastName;
+        private final LocalDate dateOfBirth;
+
+        UserAttributes(String firstName, String lastName, LocalDate dateOfBirth) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.dateOfBirth = dateOfBirth;
+        }
+
+    }
+
+    @Getter
+    private static class AuditedResourceObject extends ResourceObject<Object, Object> {
+
+        private final String auditedBy = "system";
+
+        AuditedResourceObject(String id) {
+            super(id, null, "users", null, null, null, null);
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package pro.api4.jsonapi4j.servlet.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pro.api4.jsonapi4j.domain.DomainRegistry;
+import pro.api4.jsonapi4j.domain.RelationshipName;
+import pro.api4.jsonapi4j.domain.ResourceType;
+import pro.api4.jsonapi4j.http.exception.MethodNotSupportedException;
+import pro.api4.jsonapi4j.operation.OperationType;
+import pro.api4.jsonapi4j.operation.exception.OperationNotFoundException;
+import pro.api4.jsonapi4j.servlet.request.OperationDetailsResolver.OperationDetails;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OperationDetailsResolverTests {
+
+    private static final ResourceType USERS = new ResourceType("users");
+    private static final ResourceType COUNTRIES = new ResourceType("countries");
+    private static final RelationshipName CITIZENSHIPS = new RelationshipName("citizenships");
+    private static final RelationshipName PLACE_OF_BIRTH = new RelationshipName("placeOfBirth");
+
+    private OperationDetailsResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        DomainRegistry domainRegistry = mock(DomainRegistry.class);
+        when(domainRegistry.getResourceTypes()).thenReturn(Set.of(USERS, COUNTRIES));
+        when(domainRegistry.getToManyRelationshipNames(USERS)).thenReturn(Set.of(CITIZENSHIPS));
+        when(domainRegistry.getToOneRelationshipNames(USERS)).thenReturn(Set.of(PLACE_OF_BIRTH));
+        resolver = new OperationDetailsResolver(domainRegistry);
+    }
+
+    @Test
+    void fromUrlAndMethod_resourcePaths_resolved() {
+        assertThat(resolver.fromUrlAndMethod("/users", "GET"))
+                .isEqualTo(new OperationDetails(OperationType.READ_MULTIPLE_RESOURCES, USERS, null));
+        assertThat(resolver.fromUrlAndMethod("/countries", "POST"))
+                .isEqualTo(new OperationDetails(OperationType.CREATE_RESOURCE, COUNTRIES, null));
+        assertThat(resolver.fromUrlAndMethod("/users/1", "GET"))
+                .isEqualTo(new OperationDetails(OperationType.READ_RESOURCE_BY_ID, USERS, null, "1"));
+        assertThat(resolver.fromUrlAndMethod("/users/1", "patch"))
+                .isEqualTo(new OperationDetails(OperationType.UPDATE_RESOURCE, USERS, null, "1"));
+        assertThat(resolver.fromUrlAndMethod("/users/1", "DELETE"))
+                .isEqualTo(new OperationDetails(OperationType.DELETE_RESOURCE, USERS, null, "1"));
+    }
+
+    @Test
+    void fromUrlAndMethod_relationshipPaths_resolvedByRelationshipType() {
+        assertThat(resolver.fromUrlAndMethod("/users/1/relationships/citizenships", "POST"))
+                .isEqualTo(new OperationDetails(OperationType.ADD_TO_MANY_RELATIONSHIP, USERS, CITIZENSHIPS, "1"));
+        assertThat(resolver.fromUrlAndMethod("/users/1/relationships/placeOfBirth", "GET"))
+                .isEqualTo(new OperationDetails(OperationType.READ_TO_ONE_RELATIONSHIP, USERS, PLACE_OF_BIRTH, "1"));
+    }
+
+    @Test
+    void fromUrlAndMethod_emptySegments_skipped() {
+        assertThat(resolver.fromUrlAndMethod("users//1/", "GET"))
+                .isEqualTo(new OperationDetails(OperationType.READ_RESOURCE_BY_ID, USERS, null, "1"));
+    }
+
+    @Test
+    void fromUrlAndMethod_unsupportedMethod_throwsWithAllowedMethods() {
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/users", "DELETE"))
+                .isInstanceOf(MethodNotSupportedException.class)
+                .hasMessageEndingWith(": GET, POST");
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/users/1/relationships/placeOfBirth", "POST"))
+                .isInstanceOf(MethodNotSupportedException.class)
+                .hasMessageEndingWith(": GET, PATCH");
+    }
+
+    @Test
+    void fromUrlAndMethod_unknownPaths_throwNotFound() {
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/", "GET"))
+                .isInstanceOf(OperationNotFoundException.class);
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/user", "GET"))
+                .isInstanceOf(OperationNotFoundException.class)
+                .hasMessageContaining("Unknown resource type: user");
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/users/1/relationships/relatives", "GET"))
+                .isInstanceOf(OperationNotFoundException.class)
+                .hasMessageContaining("Unknown relationship: relatives");
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/users/1/citizenships", "GET"))
+                .isInstanceOf(OperationNotFoundException.class);
+        assertThatThrownBy(() -> resolver.fromUrlAndMethod("/users/1/relationships/citizenships/2", "GET"))
+                .isInstanceOf(OperationNotFoundException.class);
+    }
+
+}
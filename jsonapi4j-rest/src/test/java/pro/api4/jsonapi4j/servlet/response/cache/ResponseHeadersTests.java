@@ -2,10 +2,12 @@ package pro.api4.jsonapi4j.servlet.response.cache;
 
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pro.api4.jsonapi4j.context.RequestContext;
 import pro.api4.jsonapi4j.http.HttpHeaders;
 import pro.api4.jsonapi4j.http.cache.CacheControlDirectives;
 import pro.api4.jsonapi4j.servlet.response.ResponseHeaders;
@@ -20,10 +22,18 @@ public class ResponseHeadersTests {
     @Mock
     private HttpServletResponse response;
 
+    private RequestContext.Scope scope;
+
+    @BeforeEach
+    void bindContext() {
+        scope = RequestContext.of(null).bind();
+    }
+
     @AfterEach
     void cleanup() {
         // ensure ThreadLocal is always cleaned up between tests
         ResponseHeaders.flush(response);
+        scope.close();
     }
 
     // --- propagateCacheControl(HttpServletResponse) ---